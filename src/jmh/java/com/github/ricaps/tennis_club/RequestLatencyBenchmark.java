@@ -0,0 +1,90 @@
+package com.github.ricaps.tennis_club;
+
+import com.github.ricaps.tennis_club.peristence.dao.definition.UserDao;
+import com.github.ricaps.tennis_club.peristence.entity.User;
+import com.github.ricaps.tennis_club.security.JwtUtils;
+import com.github.ricaps.tennis_club.test_utils.UserTestData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpHeaders;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load test of the running application, many concurrent clients list courts while the
+ * request latency distribution (including p0.99) is sampled. Compares the platform thread
+ * pool of Tomcat with virtual threads, both behind the same database admission limit.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(400)
+@Fork(1)
+public class RequestLatencyBenchmark {
+
+	@Param({ "false", "true" })
+	private boolean virtualThreads;
+
+	private ConfigurableApplicationContext context;
+
+	private HttpClient httpClient;
+
+	private HttpRequest request;
+
+	@Setup
+	public void setup() {
+		context = new SpringApplicationBuilder(Application.class)
+			.properties("server.port=0", "spring.threads.virtual.enabled=" + virtualThreads,
+					"spring.datasource.url=jdbc:h2:mem:request-latency-" + virtualThreads,
+					"logging.level.root=WARN")
+			.run();
+
+		User user = context.getBean(UserDao.class).save(UserTestData.entity(true));
+		String token = context.getBean(JwtUtils.class).generateAccessToken(user);
+		int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+
+		httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+		request = HttpRequest.newBuilder(URI.create("http://localhost:%d/api/v1/court?size=20".formatted(port)))
+			.header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+			.GET()
+			.build();
+	}
+
+	@TearDown
+	public void tearDown() {
+		httpClient.close();
+		context.close();
+	}
+
+	@Benchmark
+	public int listCourts() throws IOException, InterruptedException {
+		HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+		if (response.statusCode() != 200) {
+			throw new IllegalStateException("Unexpected status " + response.statusCode());
+		}
+
+		return response.statusCode();
+	}
+
+}
@@ -0,0 +1,87 @@
+package com.github.ricaps.tennis_club.business.mapping;
+
+import com.github.ricaps.tennis_club.api.reservation.ReservationViewDto;
+import com.github.ricaps.tennis_club.peristence.entity.Court;
+import com.github.ricaps.tennis_club.peristence.entity.MoneyAmount;
+import com.github.ricaps.tennis_club.peristence.entity.Reservation;
+import com.github.ricaps.tennis_club.peristence.entity.User;
+import com.github.ricaps.tennis_club.test_utils.CourtTestData;
+import com.github.ricaps.tennis_club.test_utils.SurfaceTestData;
+import com.github.ricaps.tennis_club.test_utils.UserTestData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapping of reservation listings into views, courts and users are shared by many
+ * reservations as they are in a real listing
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReservationMapperBenchmark {
+
+	private static final OffsetDateTime FROM = Instant.parse("2025-01-01T14:00:00Z").atOffset(ZoneOffset.UTC);
+
+	@Param({ "100", "10000" })
+	private int size;
+
+	private ReservationMapper reservationMapper;
+
+	private List<Reservation> reservations;
+
+	@Setup
+	public void setup() {
+		reservationMapper = new ReservationMapperImpl();
+
+		List<Court> courts = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			courts.add(CourtTestData.entity(SurfaceTestData.createSurface()));
+		}
+
+		List<User> users = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			users.add(UserTestData.entity(true));
+		}
+
+		reservations = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			reservations.add(Reservation.builder()
+				.uid(UUID.randomUUID())
+				.court(courts.get(i % courts.size()))
+				.user(users.get(i % users.size()))
+				.fromTime(FROM.plusHours(i))
+				.toTime(FROM.plusHours(i).plusMinutes(90))
+				.isQuadGame(i % 2 == 0)
+				.totalPrice(new MoneyAmount(new BigDecimal("15.30"), Currency.getInstance("CZK")))
+				.build());
+		}
+	}
+
+	@Benchmark
+	public List<ReservationViewDto> fromEntityListToView() {
+		return reservationMapper.fromEntityListToView(reservations);
+	}
+
+}
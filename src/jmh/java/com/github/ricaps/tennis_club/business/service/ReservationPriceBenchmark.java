@@ -0,0 +1,72 @@
+package com.github.ricaps.tennis_club.business.service;
+
+import com.github.ricaps.tennis_club.business.utils.MoneyUtils;
+import com.github.ricaps.tennis_club.peristence.entity.Court;
+import com.github.ricaps.tennis_club.peristence.entity.Reservation;
+import com.github.ricaps.tennis_club.test_utils.CourtTestData;
+import com.github.ricaps.tennis_club.test_utils.SurfaceTestData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Price calculation done for every created or updated reservation
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReservationPriceBenchmark {
+
+	private static final OffsetDateTime FROM = Instant.parse("2025-01-01T14:00:00Z").atOffset(ZoneOffset.UTC);
+
+	@Param({ "false", "true" })
+	private boolean quadGame;
+
+	private Reservation reservation;
+
+	private BigDecimal minutePrice;
+
+	private BigDecimal minutes;
+
+	@Setup
+	public void setup() {
+		Court court = CourtTestData.entity(SurfaceTestData.createSurface());
+		reservation = Reservation.builder()
+			.court(court)
+			.fromTime(FROM)
+			.toTime(FROM.plusMinutes(95))
+			.isQuadGame(quadGame)
+			.build();
+
+		minutePrice = court.getSurface().getPrice();
+		minutes = new BigDecimal(95 * (quadGame ? ReservationServiceImpl.QUAD_GAME_MULTIPLIER : 1));
+	}
+
+	@Benchmark
+	public BigDecimal calculateTotalPrice() {
+		return ReservationServiceImpl.calculateTotalPrice(reservation);
+	}
+
+	@Benchmark
+	public BigDecimal multiply() {
+		return MoneyUtils.multiply(minutePrice, minutes);
+	}
+
+}
@@ -0,0 +1,105 @@
+package com.github.ricaps.tennis_club.peristence.dao;
+
+import com.github.ricaps.tennis_club.peristence.entity.Court;
+import com.github.ricaps.tennis_club.peristence.entity.Reservation;
+import com.github.ricaps.tennis_club.peristence.entity.Surface;
+import com.github.ricaps.tennis_club.peristence.entity.User;
+import com.github.ricaps.tennis_club.peristence.utils.CountStrategy;
+import com.github.ricaps.tennis_club.peristence.utils.PageableResult;
+import com.github.ricaps.tennis_club.test_utils.CourtTestData;
+import com.github.ricaps.tennis_club.test_utils.SurfaceTestData;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Sort;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the criteria queries built by {@link AbstractDao} for every listing: the
+ * criteria tree alone, the same query written in JPQL (interpretation is cached by
+ * Hibernate) and the whole page including execution on an empty H2 table.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CriteriaConstructionBenchmark {
+
+	private static final int PAGE_SIZE = 25;
+
+	private static final Sort SORT = Sort.by("fromTime", "uid");
+
+	private SessionFactory sessionFactory;
+
+	private EntityManager entityManager;
+
+	private ReservationDaoImpl reservationDao;
+
+	private UUID courtUid;
+
+	@Setup
+	public void setup() {
+		sessionFactory = new Configuration().addAnnotatedClass(Surface.class)
+			.addAnnotatedClass(Court.class)
+			.addAnnotatedClass(User.class)
+			.addAnnotatedClass(Reservation.class)
+			.setProperty("hibernate.connection.url", "jdbc:h2:mem:criteria-benchmark;DB_CLOSE_DELAY=-1")
+			.setProperty("hibernate.hbm2ddl.auto", "create")
+			.buildSessionFactory();
+
+		entityManager = sessionFactory.createEntityManager();
+		reservationDao = new ReservationDaoImpl(entityManager);
+		courtUid = CourtTestData.entity(SurfaceTestData.createSurface()).getUid();
+	}
+
+	@TearDown
+	public void tearDown() {
+		entityManager.close();
+		sessionFactory.close();
+	}
+
+	@Benchmark
+	public TypedQuery<Reservation> criteriaQuery() {
+		CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+		CriteriaQuery<Reservation> criteriaQuery = criteriaBuilder.createQuery(Reservation.class);
+		Root<Reservation> root = criteriaQuery.from(Reservation.class);
+		criteriaQuery.where(criteriaBuilder.equal(root.get("court").get("uid"), courtUid));
+
+		return reservationDao.applyPagingToQuery(0, PAGE_SIZE, SORT, criteriaBuilder, root, criteriaQuery);
+	}
+
+	@Benchmark
+	public TypedQuery<Reservation> jpqlQuery() {
+		return entityManager
+			.createQuery("FROM Reservation r WHERE r.court.uid = :courtUid ORDER BY r.fromTime, r.uid",
+					Reservation.class)
+			.setParameter("courtUid", courtUid)
+			.setMaxResults(PAGE_SIZE)
+			.setFirstResult(0);
+	}
+
+	@Benchmark
+	public PageableResult<Reservation> criteriaPage() {
+		return reservationDao.getReservationsAtCourt(courtUid, 0, PAGE_SIZE, SORT, CountStrategy.NONE);
+	}
+
+}
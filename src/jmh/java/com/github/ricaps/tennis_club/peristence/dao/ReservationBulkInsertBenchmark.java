@@ -0,0 +1,161 @@
+package com.github.ricaps.tennis_club.peristence.dao;
+
+import com.github.ricaps.tennis_club.peristence.entity.Court;
+import com.github.ricaps.tennis_club.peristence.entity.Reservation;
+import com.github.ricaps.tennis_club.peristence.entity.Surface;
+import com.github.ricaps.tennis_club.peristence.entity.User;
+import com.github.ricaps.tennis_club.test_utils.CourtTestData;
+import com.github.ricaps.tennis_club.test_utils.ReservationTestData;
+import com.github.ricaps.tennis_club.test_utils.SurfaceTestData;
+import com.github.ricaps.tennis_club.test_utils.UserTestData;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Clock;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inserts a million reservations into H2: {@link AbstractDao#saveAll} without JDBC
+ * batching (the previous configuration), the same with batching and ordered inserts
+ * enabled and {@link AbstractDao#insertAll} through a stateless session. Every
+ * invocation starts with an empty table.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class ReservationBulkInsertBenchmark {
+
+	private static final int BATCH_SIZE = 50;
+
+	@Param({ "1000000" })
+	public int reservationCount;
+
+	private final ReservationTestData reservationTestData = new ReservationTestData(Clock.systemUTC());
+
+	private SessionFactory unbatchedSessionFactory;
+
+	private SessionFactory batchedSessionFactory;
+
+	private EntityManager unbatchedEntityManager;
+
+	private EntityManager batchedEntityManager;
+
+	private ReservationDaoImpl unbatchedDao;
+
+	private ReservationDaoImpl batchedDao;
+
+	private Court court;
+
+	private User user;
+
+	private List<Reservation> reservations;
+
+	private static SessionFactory buildSessionFactory(String name, boolean batched) {
+		Configuration configuration = new Configuration().addAnnotatedClass(Surface.class)
+			.addAnnotatedClass(Court.class)
+			.addAnnotatedClass(User.class)
+			.addAnnotatedClass(Reservation.class)
+			.setProperty("hibernate.connection.url", "jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1")
+			.setProperty("hibernate.hbm2ddl.auto", "create");
+
+		if (batched) {
+			configuration.setProperty(AvailableSettings.STATEMENT_BATCH_SIZE, BATCH_SIZE)
+				.setProperty(AvailableSettings.ORDER_INSERTS, true)
+				.setProperty(AvailableSettings.ORDER_UPDATES, true);
+		}
+
+		return configuration.buildSessionFactory();
+	}
+
+	@Setup
+	public void setup() {
+		unbatchedSessionFactory = buildSessionFactory("unbatched-insert-benchmark", false);
+		batchedSessionFactory = buildSessionFactory("batched-insert-benchmark", true);
+		unbatchedEntityManager = unbatchedSessionFactory.createEntityManager();
+		batchedEntityManager = batchedSessionFactory.createEntityManager();
+		unbatchedDao = new ReservationDaoImpl(unbatchedEntityManager);
+		batchedDao = new ReservationDaoImpl(batchedEntityManager);
+
+		Surface surface = SurfaceTestData.createSurface();
+		court = CourtTestData.entity(surface);
+		user = UserTestData.entity();
+
+		for (EntityManager entityManager : List.of(unbatchedEntityManager, batchedEntityManager)) {
+			inTransaction(entityManager, () -> {
+				entityManager.persist(surface);
+				entityManager.persist(court);
+				entityManager.persist(user);
+			});
+			entityManager.clear();
+		}
+	}
+
+	@Setup(Level.Invocation)
+	public void prepareReservations() {
+		for (EntityManager entityManager : List.of(unbatchedEntityManager, batchedEntityManager)) {
+			inTransaction(entityManager,
+					() -> entityManager.createNativeQuery("TRUNCATE TABLE Reservation").executeUpdate());
+			entityManager.clear();
+		}
+
+		OffsetDateTime startTime = OffsetDateTime.now(ZoneOffset.UTC);
+		reservations = new ArrayList<>(reservationCount);
+		for (int i = 0; i < reservationCount; i++) {
+			reservations.add(reservationTestData.entity(court, user, startTime.plusHours(2L * i)));
+		}
+	}
+
+	@TearDown
+	public void tearDown() {
+		unbatchedEntityManager.close();
+		batchedEntityManager.close();
+		unbatchedSessionFactory.close();
+		batchedSessionFactory.close();
+	}
+
+	private static void inTransaction(EntityManager entityManager, Runnable action) {
+		entityManager.getTransaction().begin();
+		action.run();
+		entityManager.getTransaction().commit();
+	}
+
+	@Benchmark
+	public void saveAllUnbatched() {
+		inTransaction(unbatchedEntityManager, () -> unbatchedDao.saveAll(reservations));
+		unbatchedEntityManager.clear();
+	}
+
+	@Benchmark
+	public void saveAllBatched() {
+		inTransaction(batchedEntityManager, () -> batchedDao.saveAll(reservations));
+		batchedEntityManager.clear();
+	}
+
+	@Benchmark
+	public void insertAllStateless() {
+		batchedDao.insertAll(reservations);
+	}
+
+}
@@ -0,0 +1,52 @@
+package com.github.ricaps.tennis_club.security;
+
+import com.github.ricaps.tennis_club.configuration.model.JwtConfiguration;
+import com.github.ricaps.tennis_club.peristence.entity.Role;
+import com.github.ricaps.tennis_club.peristence.entity.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tokens generated per second, done for every login
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtGenerationBenchmark {
+
+	private JwtUtils jwtUtils;
+
+	private User user;
+
+	@Setup
+	public void setup() {
+		JwtConfiguration jwtConfiguration = new JwtConfiguration();
+		jwtConfiguration.setSecret("mySuperLongSecretKeyValueThatHasAtLeastThirtyTwoCharacters");
+		jwtConfiguration.setExpiration(TimeUnit.HOURS.toMillis(1));
+
+		jwtUtils = new JwtUtils(jwtConfiguration, new SimpleMeterRegistry());
+		user = User.builder().uid(UUID.randomUUID()).roles(Set.of(Role.USER, Role.ADMIN)).build();
+	}
+
+	@Benchmark
+	public String generateAccessToken() {
+		return jwtUtils.generateAccessToken(user);
+	}
+
+}
@@ -0,0 +1,83 @@
+package com.github.ricaps.tennis_club.security;
+
+import com.github.ricaps.tennis_club.configuration.model.JwtConfiguration;
+import com.github.ricaps.tennis_club.peristence.entity.Role;
+import com.github.ricaps.tennis_club.peristence.entity.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tokens verified per second: key and parser built for every token (previous
+ * implementation), prebuilt parser, and prebuilt parser with the verified-token cache
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+	private static final String SECRET = "mySuperLongSecretKeyValueThatHasAtLeastThirtyTwoCharacters";
+
+	private JwtUtils cachingJwtUtils;
+
+	private JwtUtils jwtUtils;
+
+	private String token;
+
+	private static JwtConfiguration configuration(long verifiedTokenCacheSize) {
+		JwtConfiguration jwtConfiguration = new JwtConfiguration();
+		jwtConfiguration.setSecret(SECRET);
+		jwtConfiguration.setExpiration(TimeUnit.HOURS.toMillis(1));
+		jwtConfiguration.setVerifiedTokenCacheSize(verifiedTokenCacheSize);
+
+		return jwtConfiguration;
+	}
+
+	@Setup
+	public void setup() {
+		cachingJwtUtils = new JwtUtils(configuration(10_000), new SimpleMeterRegistry());
+		jwtUtils = new JwtUtils(configuration(0), new SimpleMeterRegistry());
+
+		User user = User.builder().uid(UUID.randomUUID()).roles(Set.of(Role.USER, Role.ADMIN)).build();
+		token = jwtUtils.generateAccessToken(user);
+	}
+
+	@Benchmark
+	public Claims parserPerToken() {
+		return Jwts.parser()
+			.verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes()))
+			.build()
+			.parseSignedClaims(token)
+			.getPayload();
+	}
+
+	@Benchmark
+	public Optional<Claims> prebuiltParser() {
+		return jwtUtils.extractClaims(token);
+	}
+
+	@Benchmark
+	public Optional<Claims> verifiedTokenCache() {
+		return cachingJwtUtils.extractClaims(token);
+	}
+
+}
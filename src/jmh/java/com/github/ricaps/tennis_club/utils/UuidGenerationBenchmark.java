@@ -0,0 +1,42 @@
+package com.github.ricaps.tennis_club.utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generation throughput of random v4 and time-ordered v7 identifiers from many threads
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class UuidGenerationBenchmark {
+
+	private final TimeOrderedUuidGenerator timeOrderedGenerator = new TimeOrderedUuidGenerator(
+			System::currentTimeMillis);
+
+	@Benchmark
+	public UUID random() {
+		return UUID.randomUUID();
+	}
+
+	@Benchmark
+	public UUID timeOrdered() {
+		return timeOrderedGenerator.generate();
+	}
+
+}
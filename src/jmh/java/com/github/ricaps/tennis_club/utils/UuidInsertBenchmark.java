@@ -0,0 +1,94 @@
+package com.github.ricaps.tennis_club.utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Insert throughput (rows per second) into a table with UUID primary key, random v4
+ * keys compared with time-ordered v7 keys. The table keeps growing over the whole run,
+ * so later iterations insert into a large primary key index.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class UuidInsertBenchmark {
+
+	private static final int BATCH_SIZE = 1000;
+
+	@Param({ "RANDOM", "TIME_ORDERED" })
+	private KeyType keyType;
+
+	private Connection connection;
+
+	private PreparedStatement insert;
+
+	@Setup(Level.Trial)
+	public void setup() throws SQLException {
+		connection = DriverManager.getConnection("jdbc:h2:mem:uuid-insert-" + keyType, "user", "password");
+		connection.setAutoCommit(false);
+
+		try (Statement statement = connection.createStatement()) {
+			statement.execute("CREATE TABLE benchmark_entity (uid UUID PRIMARY KEY, name VARCHAR(255) NOT NULL)");
+		}
+
+		insert = connection.prepareStatement("INSERT INTO benchmark_entity (uid, name) VALUES (?, ?)");
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws SQLException {
+		insert.close();
+		connection.close();
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(BATCH_SIZE)
+	public void insertBatch() throws SQLException {
+		for (int i = 0; i < BATCH_SIZE; i++) {
+			insert.setObject(1, keyType.generator.get());
+			insert.setString(2, "Court");
+			insert.addBatch();
+		}
+
+		insert.executeBatch();
+		connection.commit();
+	}
+
+	public enum KeyType {
+
+		RANDOM(UUID::randomUUID),
+
+		TIME_ORDERED(new TimeOrderedUuidGenerator(System::currentTimeMillis)::generate);
+
+		private final Supplier<UUID> generator;
+
+		KeyType(Supplier<UUID> generator) {
+			this.generator = generator;
+		}
+
+	}
+
+}
@@ -0,0 +1,14 @@
+package com.github.ricaps.tennis_club.api.court;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "DTO of free time frames of a court")
+public record CourtAvailabilityDto(
+		@Schema(description = "Court", exampleClasses = CourtViewDto.class) CourtViewDto court,
+		@Schema(description = "Free time frames ordered by their start") List<FreeSlotDto> freeSlots
+
+) {
+
+}
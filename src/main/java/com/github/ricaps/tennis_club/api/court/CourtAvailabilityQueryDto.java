@@ -0,0 +1,8 @@
+package com.github.ricaps.tennis_club.api.court;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+public record CourtAvailabilityQueryDto(OffsetDateTime fromTime, OffsetDateTime toTime, UUID surfaceUid,
+		Integer durationMinutes) {
+}
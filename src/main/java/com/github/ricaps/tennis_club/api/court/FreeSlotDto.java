@@ -0,0 +1,15 @@
+package com.github.ricaps.tennis_club.api.court;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.OffsetDateTime;
+
+@Schema(description = "DTO of a free time frame of a court")
+public record FreeSlotDto(
+		@Schema(description = "Start of the free time frame",
+				example = "2025-11-07T14:30:00+01:00") OffsetDateTime fromTime,
+		@Schema(description = "End of the free time frame", example = "2025-11-07T16:30:00+01:00") OffsetDateTime toTime
+
+) {
+
+}
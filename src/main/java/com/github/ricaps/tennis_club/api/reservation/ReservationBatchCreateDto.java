@@ -0,0 +1,14 @@
+package com.github.ricaps.tennis_club.api.reservation;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+@Schema(description = "Dto for creation of multiple Reservation entities at once")
+public record ReservationBatchCreateDto(@NotNull @Size(min = 1, max = 100) @Schema(
+		description = "Reservations to be created, either all of them are created or none") List<@NotNull @Valid ReservationCreateDto> reservations) {
+
+}
@@ -0,0 +1,18 @@
+package com.github.ricaps.tennis_club.api.reservation;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+@Schema(description = "Committed change of a reservation at a court")
+public record ReservationChangeDto(@NotNull @Schema(description = "Type of the change") ReservationChangeType type,
+		@NotNull @Schema(description = "UID of the reservation") UUID reservationUid,
+		@NotNull @Schema(description = "UID of the court") UUID courtUid,
+		@NotNull @Schema(
+				description = "Start time of the reservation, the previous one for deleted reservations") OffsetDateTime fromTime,
+		@NotNull @Schema(
+				description = "End time of the reservation, the previous one for deleted reservations") OffsetDateTime toTime) {
+
+}
@@ -0,0 +1,10 @@
+package com.github.ricaps.tennis_club.api.reservation;
+
+/**
+ * Type of a pushed reservation change, also used as the name of the event
+ */
+public enum ReservationChangeType {
+
+	CREATED, UPDATED, DELETED
+
+}
@@ -0,0 +1,23 @@
+package com.github.ricaps.tennis_club.api.reservation;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.AssertTrue;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+@Schema(description = "Filter of exported reservations, every part is optional")
+public record ReservationExportQueryDto(@Schema(description = "Only reservations at this court") UUID courtUid,
+		@Schema(description = "Only reservations of this user") UUID userUid,
+		@Schema(description = "Only reservations starting at or after this time",
+				example = "2025-01-01T00:00:00+01:00") OffsetDateTime fromTime,
+		@Schema(description = "Only reservations starting before this time",
+				example = "2026-01-01T00:00:00+01:00") OffsetDateTime toTime) {
+
+	@Schema(hidden = true)
+	@AssertTrue(message = "From time must be before to time")
+	public boolean isTimeFrameValid() {
+		return fromTime == null || toTime == null || fromTime.isBefore(toTime);
+	}
+
+}
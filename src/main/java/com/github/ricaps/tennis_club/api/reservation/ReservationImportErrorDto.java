@@ -0,0 +1,10 @@
+package com.github.ricaps.tennis_club.api.reservation;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+
+@Schema(description = "Invalid row of an imported CSV")
+public record ReservationImportErrorDto(@NotNull @Schema(description = "Line of the CSV, starting from one") Long line,
+		@NotNull @Schema(description = "Why the row is invalid") String message) {
+
+}
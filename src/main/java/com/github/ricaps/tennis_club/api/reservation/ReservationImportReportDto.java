@@ -0,0 +1,19 @@
+package com.github.ricaps.tennis_club.api.reservation;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+@Schema(description = "Report of a reservation import")
+public record ReservationImportReportDto(@NotNull @Schema(description = "Number of read rows") Long rows,
+		@NotNull @Schema(description = "Number of invalid rows") Long errorCount,
+		@NotNull @Schema(description = "Number of created reservations") Integer createdReservations,
+		@NotNull @Schema(description = "Number of users created for unknown phone numbers") Integer createdUsers,
+		@NotNull @Schema(description = "Number of courts created for unknown names") Integer createdCourts,
+		@NotNull @Schema(
+				description = "Whether the rows were written, false for a dry run or invalid rows") Boolean written,
+		@NotNull @Schema(description = "First invalid rows ordered by line") List<ReservationImportErrorDto> errors,
+		@NotNull @Schema(description = "Throughput of the import stages") List<ReservationImportStageDto> stages) {
+
+}
@@ -0,0 +1,13 @@
+package com.github.ricaps.tennis_club.api.reservation;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+
+@Schema(description = "Throughput of a stage of the import")
+public record ReservationImportStageDto(
+		@NotNull @Schema(description = "Name of the stage", example = "validate") String name,
+		@NotNull @Schema(description = "Number of items processed by the stage") Long items,
+		@NotNull @Schema(description = "Duration of the stage in milliseconds") Long durationMillis,
+		@NotNull @Schema(description = "Items processed per second") Double itemsPerSecond) {
+
+}
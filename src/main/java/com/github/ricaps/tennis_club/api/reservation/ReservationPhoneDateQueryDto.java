@@ -1,8 +1,10 @@
 package com.github.ricaps.tennis_club.api.reservation;
 
+import com.github.ricaps.tennis_club.peristence.utils.CountStrategy;
 import org.springframework.data.domain.Pageable;
 
 import java.time.OffsetDateTime;
 
-public record ReservationPhoneDateQueryDto(String phoneNumber, OffsetDateTime fromTime, Pageable pageable) {
+public record ReservationPhoneDateQueryDto(String phoneNumber, OffsetDateTime fromTime, Pageable pageable,
+		CountStrategy countStrategy) {
 }
@@ -0,0 +1,15 @@
+package com.github.ricaps.tennis_club.api.reservation;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+@Schema(description = "Occurrence of a series which conflicts with an existing reservation")
+public record ReservationSeriesConflictDto(
+		@NotNull @Schema(description = "Start time of the occurrence") OffsetDateTime fromTime,
+		@NotNull @Schema(description = "End time of the occurrence") OffsetDateTime toTime,
+		@NotNull @Schema(description = "UID of the existing reservation") UUID reservationUid) {
+
+}
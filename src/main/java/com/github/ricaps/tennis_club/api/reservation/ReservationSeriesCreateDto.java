@@ -0,0 +1,27 @@
+package com.github.ricaps.tennis_club.api.reservation;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Future;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+@Schema(description = "Dto for creation of weekly recurring reservations, exactly one of occurrences and untilDate must be defined")
+public record ReservationSeriesCreateDto(@NotNull @Schema(description = "UUID of the court") UUID courtUid,
+		@NotNull @Schema(description = "Start time of the first occurrence, must be before end time, in future",
+				example = "2025-11-07T14:30:00+01:00") @Future OffsetDateTime fromTime,
+		@NotNull @Schema(description = "End time of the first occurrence, must be after start time, in future",
+				example = "2025-11-07T16:30:00+01:00") @Future OffsetDateTime toTime,
+		@NotNull @Schema(
+				description = "If the reservations are going to be quad games. If yes, price is multiplied.") Boolean isQuadGame,
+		@NotNull @Min(1) @Max(52) @Schema(description = "Number of weeks between occurrences",
+				example = "1") Integer intervalWeeks,
+		@Min(1) @Max(104) @Schema(description = "Number of occurrences", example = "10") Integer occurrences,
+		@Schema(description = "Date of the last possible occurrence, in the offset of the start time",
+				example = "2026-06-30") LocalDate untilDate) {
+
+}
@@ -0,0 +1,22 @@
+package com.github.ricaps.tennis_club.api.reservation;
+
+import com.github.ricaps.tennis_club.api.court.CourtViewDto;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Schema(description = "Dto for projection of created reservation series")
+public record ReservationSeriesViewDto(@NotNull @Schema(description = "UID of the series") UUID uid,
+		@NotNull @Schema(description = "Reserved court", exampleClasses = CourtViewDto.class) CourtViewDto court,
+		@NotNull @Schema(description = "Start time of the first occurrence") OffsetDateTime fromTime,
+		@NotNull @Schema(description = "End time of the first occurrence") OffsetDateTime toTime,
+		@NotNull @Schema(description = "Number of weeks between occurrences") Integer intervalWeeks,
+		@NotNull @Schema(description = "Number of occurrences, including skipped ones") Integer occurrences,
+		@NotNull @Schema(description = "If the reservations are quad games.") Boolean isQuadGame,
+		@NotNull @Schema(description = "Created reservations") List<ReservationViewDto> reservations, @NotNull @Schema(
+				description = "Occurrences skipped because of a conflict") List<ReservationSeriesConflictDto> conflicts) {
+
+}
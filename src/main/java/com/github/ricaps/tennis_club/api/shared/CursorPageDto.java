@@ -0,0 +1,12 @@
+package com.github.ricaps.tennis_club.api.shared;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+@Schema(description = "Page of a keyset paged listing")
+public record CursorPageDto<T>(@NotNull @Schema(description = "Entities of the page") List<T> content,
+		@Schema(description = "Token of the next page, null if there is no next page") String nextCursor) {
+
+}
@@ -0,0 +1,35 @@
+package com.github.ricaps.tennis_club.api.shared;
+
+/**
+ * Format of exported rows
+ */
+public enum ExportFormat {
+
+	/**
+	 * One JSON object per line
+	 */
+	NDJSON("application/x-ndjson", "ndjson"),
+
+	/**
+	 * Comma separated values with a header line, quoted as in RFC 4180
+	 */
+	CSV("text/csv", "csv");
+
+	private final String mediaType;
+
+	private final String fileExtension;
+
+	ExportFormat(String mediaType, String fileExtension) {
+		this.mediaType = mediaType;
+		this.fileExtension = fileExtension;
+	}
+
+	public String getMediaType() {
+		return mediaType;
+	}
+
+	public String getFileExtension() {
+		return fileExtension;
+	}
+
+}
@@ -0,0 +1,31 @@
+package com.github.ricaps.tennis_club.business.catalog;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version of the court and surface catalog, increased after every committed write of
+ * courts or surfaces on this node. Tags start with a random epoch of the node, so tags of
+ * other nodes or of a previous run never match.
+ */
+@Component
+public class CatalogVersion {
+
+	private final String epoch = Long.toHexString(ThreadLocalRandom.current().nextLong());
+
+	private final AtomicLong version = new AtomicLong();
+
+	public void increment() {
+		version.incrementAndGet();
+	}
+
+	/**
+	 * @return tag identifying the current version, usable as an entity tag
+	 */
+	public String getTag() {
+		return epoch + "-" + version.get();
+	}
+
+}
@@ -0,0 +1,37 @@
+package com.github.ricaps.tennis_club.business.event;
+
+import com.github.ricaps.tennis_club.peristence.entity.Reservation;
+import com.github.ricaps.tennis_club.peristence.projection.ReservationInterval;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Committed change of a reservation at a court
+ *
+ * @param type type of the change
+ * @param reservationUid uid of the reservation
+ * @param courtUid uid of the court the change belongs to
+ * @param fromTime start of the reservation, the previous one for deleted reservations
+ * @param toTime end of the reservation, the previous one for deleted reservations
+ */
+public record ReservationChange(Type type, UUID reservationUid, UUID courtUid, OffsetDateTime fromTime,
+		OffsetDateTime toTime) {
+
+	public static ReservationChange of(Type type, Reservation reservation) {
+		return new ReservationChange(type, reservation.getUid(), reservation.getCourt().getUid(),
+				reservation.getFromTime(), reservation.getToTime());
+	}
+
+	public static ReservationChange deleted(ReservationInterval interval) {
+		return new ReservationChange(Type.DELETED, interval.uid(), interval.courtUid(), interval.fromTime(),
+				interval.toTime());
+	}
+
+	public enum Type {
+
+		CREATED, UPDATED, DELETED
+
+	}
+
+}
@@ -0,0 +1,212 @@
+package com.github.ricaps.tennis_club.business.event;
+
+import com.github.ricaps.tennis_club.configuration.model.ApplicationConfiguration;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-process bus of committed reservation changes, subscribed per court. <br>
+ * Publishing never blocks, changes are put into a bounded buffer of every subscriber and
+ * delivered by its own virtual thread. When the buffer of a slow subscriber is full, its
+ * buffered changes are dropped and it gets a single resync instead, after which it has to
+ * reload the reservations of the court. Changes of other nodes are not published.
+ */
+@Component
+@Slf4j
+public class ReservationChangeBus implements DisposableBean {
+
+	private final Map<UUID, Set<Subscription>> subscriptionsByCourt = new ConcurrentHashMap<>();
+
+	private final AtomicInteger subscriptionCount = new AtomicInteger();
+
+	private final ExecutorService executor = Executors
+		.newThreadPerTaskExecutor(Thread.ofVirtual().name("reservation-changes-", 0).factory());
+
+	private final int bufferSize;
+
+	private final Counter resyncCounter;
+
+	public ReservationChangeBus(ApplicationConfiguration applicationConfiguration, MeterRegistry meterRegistry) {
+		this.bufferSize = applicationConfiguration.getReservationChangeBufferSize();
+		this.resyncCounter = Counter.builder("reservation.changes.resyncs")
+			.description("Subscribers which fell behind and got a resync instead of their buffered changes")
+			.register(meterRegistry);
+		Gauge.builder("reservation.changes.subscribers", subscriptionCount, AtomicInteger::get)
+			.description("Subscribers of reservation changes")
+			.register(meterRegistry);
+	}
+
+	/**
+	 * Subscribes to changes of reservations at the court
+	 * @param courtUid uid of the court
+	 * @param listener listener called by a single thread at a time, a runtime exception
+	 * cancels the subscription
+	 * @return subscription which has to be cancelled once the listener is gone
+	 */
+	public Subscription subscribe(UUID courtUid, Listener listener) {
+		Subscription subscription = new Subscription(courtUid, listener);
+		// Added within compute, so that the set cannot be removed by a concurrent cancel
+		subscriptionsByCourt.compute(courtUid, (uid, subscriptions) -> {
+			Set<Subscription> courtSubscriptions = subscriptions == null ? ConcurrentHashMap.newKeySet()
+					: subscriptions;
+			courtSubscriptions.add(subscription);
+			return courtSubscriptions;
+		});
+		subscriptionCount.incrementAndGet();
+
+		return subscription;
+	}
+
+	/**
+	 * Passes the change to subscribers of its court, should be called after commit
+	 * @param change committed change
+	 */
+	public void publish(ReservationChange change) {
+		Set<Subscription> subscriptions = subscriptionsByCourt.get(change.courtUid());
+		if (subscriptions == null) {
+			return;
+		}
+
+		for (Subscription subscription : subscriptions) {
+			if (subscription.offer(change)) {
+				try {
+					executor.execute(subscription::drain);
+				}
+				catch (RejectedExecutionException ex) {
+					subscription.cancel();
+				}
+			}
+		}
+	}
+
+	@Override
+	public void destroy() {
+		executor.shutdownNow();
+	}
+
+	/**
+	 * Receiver of the changes of one subscription
+	 */
+	public interface Listener {
+
+		void onChange(ReservationChange change);
+
+		/**
+		 * Called instead of changes dropped because the subscriber fell behind
+		 */
+		void onResync();
+
+	}
+
+	public final class Subscription {
+
+		private final UUID courtUid;
+
+		private final Listener listener;
+
+		private final Deque<ReservationChange> buffer = new ArrayDeque<>();
+
+		private boolean behind;
+
+		private boolean draining;
+
+		private boolean cancelled;
+
+		private Subscription(UUID courtUid, Listener listener) {
+			this.courtUid = courtUid;
+			this.listener = listener;
+		}
+
+		/**
+		 * @return whether the buffer has to be drained by a new task
+		 */
+		private synchronized boolean offer(ReservationChange change) {
+			if (cancelled || behind) {
+				return false;
+			}
+
+			if (buffer.size() < bufferSize) {
+				buffer.add(change);
+			}
+			else {
+				buffer.clear();
+				behind = true;
+				resyncCounter.increment();
+			}
+
+			if (draining) {
+				return false;
+			}
+
+			draining = true;
+			return true;
+		}
+
+		private void drain() {
+			while (true) {
+				ReservationChange change;
+				boolean resync;
+				synchronized (this) {
+					if (cancelled || !behind && buffer.isEmpty()) {
+						draining = false;
+						return;
+					}
+
+					resync = behind;
+					behind = false;
+					change = resync ? null : buffer.poll();
+				}
+
+				try {
+					if (resync) {
+						listener.onResync();
+					}
+					else {
+						listener.onChange(change);
+					}
+				}
+				catch (RuntimeException ex) {
+					log.debug("Cancelling subscription of reservation changes at court {}", courtUid, ex);
+					cancel();
+				}
+			}
+		}
+
+		/**
+		 * Stops the delivery and releases buffered changes, can be called repeatedly
+		 */
+		public void cancel() {
+			synchronized (this) {
+				if (cancelled) {
+					return;
+				}
+
+				cancelled = true;
+				buffer.clear();
+			}
+
+			subscriptionsByCourt.computeIfPresent(courtUid, (uid, subscriptions) -> {
+				subscriptions.remove(this);
+				return subscriptions.isEmpty() ? null : subscriptions;
+			});
+			subscriptionCount.decrementAndGet();
+		}
+
+	}
+
+}
@@ -1,20 +1,31 @@
 package com.github.ricaps.tennis_club.business.facade;
 
+import com.github.ricaps.tennis_club.api.court.CourtAvailabilityDto;
+import com.github.ricaps.tennis_club.api.court.CourtAvailabilityQueryDto;
 import com.github.ricaps.tennis_club.api.court.CourtCreateDto;
 import com.github.ricaps.tennis_club.api.court.CourtViewDto;
+import com.github.ricaps.tennis_club.api.court.FreeSlotDto;
 import com.github.ricaps.tennis_club.business.facade.definition.CourtFacade;
 import com.github.ricaps.tennis_club.business.facade.definition.GenericFacade;
+import com.github.ricaps.tennis_club.business.index.CourtAvailabilityIndex;
+import com.github.ricaps.tennis_club.business.index.CourtAvailabilityIndex.FreeSlot;
 import com.github.ricaps.tennis_club.business.mapping.CourtMapper;
 import com.github.ricaps.tennis_club.business.service.definition.CourtService;
+import com.github.ricaps.tennis_club.business.service.definition.ReservationService;
 import com.github.ricaps.tennis_club.business.service.definition.SurfaceService;
 import com.github.ricaps.tennis_club.peristence.entity.Court;
 import com.github.ricaps.tennis_club.peristence.entity.Surface;
+import com.github.ricaps.tennis_club.peristence.utils.CountStrategy;
 import com.github.ricaps.tennis_club.utils.UUIDUtils;
 import com.github.ricaps.tennis_club.utils.ValidationHelper;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PagedModel;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -25,13 +36,17 @@ public class CourtFacadeImpl implements CourtFacade {
 
 	private final SurfaceService surfaceService;
 
+	private final ReservationService reservationService;
+
 	private final CourtMapper courtMapper;
 
 	private final GenericFacade<CourtViewDto, CourtCreateDto, Court> genericFacade;
 
-	public CourtFacadeImpl(CourtService courtService, SurfaceService surfaceService, CourtMapper courtMapper) {
+	public CourtFacadeImpl(CourtService courtService, SurfaceService surfaceService,
+			ReservationService reservationService, CourtMapper courtMapper) {
 		this.courtService = courtService;
 		this.surfaceService = surfaceService;
+		this.reservationService = reservationService;
 		this.courtMapper = courtMapper;
 		this.genericFacade = new GenericFacade<>(courtService, courtMapper, Court.class);
 	}
@@ -60,6 +75,31 @@ public class CourtFacadeImpl implements CourtFacade {
 		return genericFacade.getAll(pageable);
 	}
 
+	@Override
+	public PagedModel<CourtViewDto> getAll(Pageable pageable, CountStrategy countStrategy) {
+		return genericFacade.getAll(pageable, countStrategy);
+	}
+
+	@Override
+	public List<CourtAvailabilityDto> getAvailability(CourtAvailabilityQueryDto query) {
+		ValidationHelper.requireNonNull(query, "Court availability query cannot be null!");
+
+		final Duration minDuration = Duration
+			.ofMinutes(query.durationMinutes() == null ? CourtAvailabilityIndex.SLOT_MINUTES : query.durationMinutes());
+		final List<Court> courts = courtService.getAllBySurface(query.surfaceUid());
+		final Map<UUID, List<FreeSlot>> freeSlots = reservationService
+			.getFreeSlots(courts.stream().map(Court::getUid).toList(), query.fromTime(), query.toTime(), minDuration);
+
+		final ZoneOffset offset = query.fromTime().getOffset();
+		return courts.stream()
+			.map(court -> new CourtAvailabilityDto(courtMapper.fromEntityToView(court),
+					freeSlots.get(court.getUid())
+						.stream()
+						.map(slot -> new FreeSlotDto(slot.from().atOffset(offset), slot.to().atOffset(offset)))
+						.toList()))
+			.toList();
+	}
+
 	@Override
 	public CourtViewDto update(UUID uid, CourtCreateDto courtCreateDto) {
 		ValidationHelper.requireNonNull(uid, "Court UUID cannot be null!");
@@ -1,30 +1,60 @@
 package com.github.ricaps.tennis_club.business.facade;
 
+import com.github.ricaps.tennis_club.api.reservation.ReservationBatchCreateDto;
+import com.github.ricaps.tennis_club.api.reservation.ReservationChangeDto;
 import com.github.ricaps.tennis_club.api.reservation.ReservationCreateDto;
+import com.github.ricaps.tennis_club.api.reservation.ReservationExportQueryDto;
+import com.github.ricaps.tennis_club.api.reservation.ReservationImportReportDto;
 import com.github.ricaps.tennis_club.api.reservation.ReservationPhoneDateQueryDto;
+import com.github.ricaps.tennis_club.api.reservation.ReservationSeriesConflictDto;
+import com.github.ricaps.tennis_club.api.reservation.ReservationSeriesCreateDto;
+import com.github.ricaps.tennis_club.api.reservation.ReservationSeriesViewDto;
 import com.github.ricaps.tennis_club.api.reservation.ReservationViewDto;
+import com.github.ricaps.tennis_club.api.shared.CursorPageDto;
+import com.github.ricaps.tennis_club.business.event.ReservationChange;
+import com.github.ricaps.tennis_club.business.event.ReservationChangeBus;
+import com.github.ricaps.tennis_club.business.event.ReservationChangeBus.Subscription;
 import com.github.ricaps.tennis_club.business.facade.definition.GenericFacade;
 import com.github.ricaps.tennis_club.business.facade.definition.ReservationFacade;
 import com.github.ricaps.tennis_club.business.mapping.ReservationMapper;
 import com.github.ricaps.tennis_club.business.service.definition.CourtService;
+import com.github.ricaps.tennis_club.business.service.definition.ReservationImportService;
 import com.github.ricaps.tennis_club.business.service.definition.ReservationService;
+import com.github.ricaps.tennis_club.business.service.definition.ReservationService.SeriesResult;
 import com.github.ricaps.tennis_club.business.service.definition.UserService;
+import com.github.ricaps.tennis_club.configuration.model.ApplicationConfiguration;
+import com.github.ricaps.tennis_club.exception.EntityNotExistsException;
 import com.github.ricaps.tennis_club.exception.NotAuthenticatedException;
 import com.github.ricaps.tennis_club.peristence.entity.Court;
 import com.github.ricaps.tennis_club.peristence.entity.Reservation;
+import com.github.ricaps.tennis_club.peristence.entity.ReservationSeries;
 import com.github.ricaps.tennis_club.peristence.entity.User;
+import com.github.ricaps.tennis_club.peristence.projection.ReservationView;
+import com.github.ricaps.tennis_club.peristence.utils.CountStrategy;
+import com.github.ricaps.tennis_club.peristence.utils.CursorResult;
 import com.github.ricaps.tennis_club.peristence.utils.PageableResult;
+import com.github.ricaps.tennis_club.peristence.utils.SeekCursor;
 import com.github.ricaps.tennis_club.security.SecurityUtils;
 import com.github.ricaps.tennis_club.utils.UUIDUtils;
 import com.github.ricaps.tennis_club.utils.ValidationHelper;
+import jakarta.validation.ValidationException;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PagedModel;
 import org.springframework.stereotype.Service;
 
+import java.io.Reader;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class ReservationFacadeImpl implements ReservationFacade {
@@ -37,14 +67,24 @@ public class ReservationFacadeImpl implements ReservationFacade {
 
 	private final UserService userService;
 
+	private final ReservationImportService reservationImportService;
+
+	private final ReservationChangeBus reservationChangeBus;
+
 	private final GenericFacade<ReservationViewDto, ReservationCreateDto, Reservation> genericFacade;
 
+	private final boolean viewProjection;
+
 	public ReservationFacadeImpl(ReservationService reservationService, ReservationMapper reservationMapper,
-			CourtService courtService, UserService userService) {
+			CourtService courtService, UserService userService, ReservationImportService reservationImportService,
+			ReservationChangeBus reservationChangeBus, ApplicationConfiguration applicationConfiguration) {
 		this.reservationService = reservationService;
 		this.reservationMapper = reservationMapper;
 		this.courtService = courtService;
 		this.userService = userService;
+		this.reservationImportService = reservationImportService;
+		this.reservationChangeBus = reservationChangeBus;
+		this.viewProjection = applicationConfiguration.isReservationViewProjection();
 		this.genericFacade = new GenericFacade<>(reservationService, reservationMapper, Reservation.class);
 	}
 
@@ -57,15 +97,106 @@ public class ReservationFacadeImpl implements ReservationFacade {
 		return reservationMapper.fromEntityToView(created);
 	}
 
+	@Override
+	public List<ReservationViewDto> createAll(ReservationBatchCreateDto batchCreateDto) {
+		ValidationHelper.requireNonNull(batchCreateDto, "Reservation batch DTO cannot be null!");
+		ValidationHelper.requireNonNull(batchCreateDto.reservations(), "Reservations cannot be null!");
+
+		// Every court and the user are loaded once for the whole batch
+		final Set<UUID> courtUids = batchCreateDto.reservations()
+			.stream()
+			.map(ReservationCreateDto::courtUid)
+			.collect(Collectors.toSet());
+		final Map<UUID, Court> courts = courtService.getAllByUids(courtUids)
+			.stream()
+			.collect(Collectors.toMap(Court::getUid, Function.identity()));
+		final UUID userUUID = SecurityUtils.getCurrentUserUid()
+			.orElseThrow(() -> new NotAuthenticatedException("User must be authenticated!"));
+		final User user = userService.get(userUUID)
+			.orElseThrow(() -> new EntityNotExistsException("Entity with ID %s doesn't exist!".formatted(userUUID)));
+
+		final List<Reservation> savableEntities = batchCreateDto.reservations().stream().map(createDto -> {
+			Reservation savableEntity = reservationMapper.fromCreateToEntity(courts.get(createDto.courtUid()), user,
+					createDto);
+			savableEntity.setUid(UUIDUtils.generate());
+			return savableEntity;
+		}).toList();
+
+		return reservationMapper.fromEntityListToView(reservationService.createAll(savableEntities));
+	}
+
+	@Override
+	public ReservationSeriesViewDto createSeries(ReservationSeriesCreateDto seriesCreateDto, boolean skipConflicts) {
+		ReservationSeries series = getSeries(seriesCreateDto, courtService::getUncheckedReference);
+		series.setUid(UUIDUtils.generate());
+		final SeriesResult created = reservationService.createSeries(series, skipConflicts);
+
+		return reservationMapper.fromSeriesResultToView(created);
+	}
+
+	@Override
+	public List<ReservationSeriesConflictDto> getSeriesConflicts(ReservationSeriesCreateDto seriesCreateDto) {
+		return reservationMapper.fromSeriesConflictListToView(
+				reservationService.findSeriesConflicts(getSeries(seriesCreateDto, courtService::getReference)));
+	}
+
+	@Override
+	public void deleteSeries(UUID uid) {
+		reservationService.deleteSeries(uid);
+	}
+
+	private ReservationSeries getSeries(ReservationSeriesCreateDto seriesCreateDto,
+			Function<UUID, Court> courtReference) {
+		ValidationHelper.requireNonNull(seriesCreateDto, "Reservation series create DTO cannot be null!");
+		ValidationHelper.requireNonNull(seriesCreateDto.fromTime(), "From time cannot be null!");
+		ValidationHelper.requireNonNull(seriesCreateDto.intervalWeeks(), "Interval cannot be null!");
+
+		if ((seriesCreateDto.occurrences() == null) == (seriesCreateDto.untilDate() == null)) {
+			throw new ValidationException("Exactly one of occurrences and until date must be defined!");
+		}
+
+		final UUID userUUID = SecurityUtils.getCurrentUserUid()
+			.orElseThrow(() -> new NotAuthenticatedException("User must be authenticated!"));
+		// Loaded eagerly, the occurrences are viewed after they were flushed and detached
+		final User user = userService.get(userUUID)
+			.orElseThrow(() -> new EntityNotExistsException("Entity with ID %s doesn't exist!".formatted(userUUID)));
+
+		return ReservationSeries.builder()
+			.court(courtReference.apply(seriesCreateDto.courtUid()))
+			.user(user)
+			.fromTime(seriesCreateDto.fromTime())
+			.toTime(seriesCreateDto.toTime())
+			.isQuadGame(seriesCreateDto.isQuadGame())
+			.intervalWeeks(seriesCreateDto.intervalWeeks())
+			.occurrences(seriesCreateDto.occurrences() != null ? seriesCreateDto.occurrences()
+					: countOccurrences(seriesCreateDto.fromTime(), seriesCreateDto.untilDate(),
+							seriesCreateDto.intervalWeeks()))
+			.build();
+	}
+
+	private static int countOccurrences(OffsetDateTime fromTime, LocalDate untilDate, int intervalWeeks) {
+		final long weeks = ChronoUnit.WEEKS.between(fromTime.toLocalDate(), untilDate);
+
+		if (weeks < 0) {
+			throw new ValidationException("Until date must not be before the first occurrence!");
+		}
+
+		return (int) Math.min(weeks / intervalWeeks + 1, Integer.MAX_VALUE);
+	}
+
 	private Reservation getSavableEntity(ReservationCreateDto reservationCreateDto) {
 		ValidationHelper.requireNonNull(reservationCreateDto, "Reservation create DTO cannot be null!");
 
-		final Court courtReference = courtService.getReference(reservationCreateDto.courtUid());
+		// Existence of the court is confirmed by the write, which locks the court row
+		final Court courtReference = courtService.getUncheckedReference(reservationCreateDto.courtUid());
 		final UUID userUUID = SecurityUtils.getCurrentUserUid()
 			.orElseThrow(() -> new NotAuthenticatedException("User must be authenticated!"));
-		final User userReference = userService.getReference(userUUID);
+		// The view of the reservation needs the user anyway, so loading it checks the
+		// existence without another query
+		final User user = userService.get(userUUID)
+			.orElseThrow(() -> new EntityNotExistsException("Entity with ID %s doesn't exist!".formatted(userUUID)));
 
-		return reservationMapper.fromCreateToEntity(courtReference, userReference, reservationCreateDto);
+		return reservationMapper.fromCreateToEntity(courtReference, user, reservationCreateDto);
 	}
 
 	@Override
@@ -78,6 +209,21 @@ public class ReservationFacadeImpl implements ReservationFacade {
 		return genericFacade.getAll(pageable);
 	}
 
+	@Override
+	public PagedModel<ReservationViewDto> getAll(Pageable pageable, CountStrategy countStrategy) {
+		return genericFacade.getAll(pageable, countStrategy);
+	}
+
+	@Override
+	public CursorPageDto<ReservationViewDto> getAll(String cursor, Pageable pageable) {
+		ValidationHelper.requireNonNull(pageable, "Pageable cannot be null!");
+
+		CursorResult<Reservation> reservations = reservationService.getAll(SeekCursor.of(cursor, pageable.getSort()),
+				pageable.getPageSize());
+
+		return toCursorPage(reservations);
+	}
+
 	@Override
 	public ReservationViewDto update(UUID uid, ReservationCreateDto reservationCreateDto) {
 		ValidationHelper.requireNonNull(uid, "UID of updated entity cannot be null!");
@@ -95,27 +241,115 @@ public class ReservationFacadeImpl implements ReservationFacade {
 	}
 
 	@Override
-	public PagedModel<ReservationViewDto> getAllByCourt(UUID courtUID, Pageable pageable) {
+	public PagedModel<ReservationViewDto> getAllByCourt(UUID courtUID, Pageable pageable, CountStrategy countStrategy) {
 		ValidationHelper.requireNonNull(courtUID, "UID cannot be null!");
 		ValidationHelper.requireNonNull(pageable, "Pageable cannot be null!");
+		ValidationHelper.requireNonNull(countStrategy, "Count strategy cannot be null!");
+
+		if (viewProjection) {
+			PageableResult<ReservationView> reservations = reservationService.getViewsByCourt(courtUID, pageable,
+					countStrategy);
+			List<ReservationViewDto> views = reservationMapper.fromProjectionListToView(reservations.data());
 
-		PageableResult<Reservation> reservations = reservationService.getAllByCourt(courtUID, pageable);
+			return new PagedModel<>(new PageImpl<>(views, pageable, reservations.totalCount()));
+		}
+
+		PageableResult<Reservation> reservations = reservationService.getAllByCourt(courtUID, pageable, countStrategy);
 		List<ReservationViewDto> views = reservationMapper.fromEntityListToView(reservations.data());
 
 		return new PagedModel<>(new PageImpl<>(views, pageable, reservations.totalCount()));
 	}
 
+	@Override
+	public CursorPageDto<ReservationViewDto> getAllByCourt(UUID courtUID, String cursor, Pageable pageable) {
+		ValidationHelper.requireNonNull(courtUID, "UID cannot be null!");
+		ValidationHelper.requireNonNull(pageable, "Pageable cannot be null!");
+
+		CursorResult<Reservation> reservations = reservationService.getAllByCourt(courtUID,
+				SeekCursor.of(cursor, pageable.getSort()), pageable.getPageSize());
+
+		return toCursorPage(reservations);
+	}
+
 	@Override
 	public PagedModel<ReservationViewDto> getAllByPhoneNumber(ReservationPhoneDateQueryDto queryDto) {
 		ValidationHelper.requireNonNull(queryDto, "Reservation query cannot be null!");
 		ValidationHelper.requireNonNull(queryDto.phoneNumber(), "Phone number cannot be null!");
 		ValidationHelper.requireNonNull(queryDto.pageable(), "Pageable cannot be null!");
+		ValidationHelper.requireNonNull(queryDto.countStrategy(), "Count strategy cannot be null!");
+
+		if (viewProjection) {
+			PageableResult<ReservationView> reservations = reservationService.getViewsByPhoneNumber(
+					queryDto.phoneNumber(), queryDto.fromTime(), queryDto.pageable(), queryDto.countStrategy());
+			List<ReservationViewDto> views = reservationMapper.fromProjectionListToView(reservations.data());
+
+			return new PagedModel<>(new PageImpl<>(views, queryDto.pageable(), reservations.totalCount()));
+		}
 
 		PageableResult<Reservation> reservations = reservationService.getAllByPhoneNumber(queryDto.phoneNumber(),
-				queryDto.fromTime(), queryDto.pageable());
+				queryDto.fromTime(), queryDto.pageable(), queryDto.countStrategy());
 		List<ReservationViewDto> views = reservationMapper.fromEntityListToView(reservations.data());
 
 		return new PagedModel<>(new PageImpl<>(views, queryDto.pageable(), reservations.totalCount()));
 	}
 
+	@Override
+	public CursorPageDto<ReservationViewDto> getAllByPhoneNumber(ReservationPhoneDateQueryDto queryDto, String cursor) {
+		ValidationHelper.requireNonNull(queryDto, "Reservation query cannot be null!");
+		ValidationHelper.requireNonNull(queryDto.phoneNumber(), "Phone number cannot be null!");
+		ValidationHelper.requireNonNull(queryDto.pageable(), "Pageable cannot be null!");
+
+		CursorResult<Reservation> reservations = reservationService.getAllByPhoneNumber(queryDto.phoneNumber(),
+				queryDto.fromTime(), SeekCursor.of(cursor, queryDto.pageable().getSort()),
+				queryDto.pageable().getPageSize());
+
+		return toCursorPage(reservations);
+	}
+
+	@Override
+	public void export(ReservationExportQueryDto queryDto, Consumer<ReservationViewDto> consumer) {
+		ValidationHelper.requireNonNull(queryDto, "Query cannot be null!");
+		ValidationHelper.requireNonNull(consumer, "Consumer cannot be null!");
+
+		reservationService.streamViews(queryDto.courtUid(), queryDto.userUid(), queryDto.fromTime(), queryDto.toTime(),
+				view -> consumer.accept(reservationMapper.fromProjectionToView(view)));
+	}
+
+	@Override
+	public Subscription subscribeChanges(UUID courtUid, Consumer<ReservationChangeDto> onChange, Runnable onResync) {
+		ValidationHelper.requireNonNull(courtUid, "UID cannot be null!");
+		ValidationHelper.requireNonNull(onChange, "Change consumer cannot be null!");
+		ValidationHelper.requireNonNull(onResync, "Resync callback cannot be null!");
+
+		if (courtService.get(courtUid).isEmpty()) {
+			throw new EntityNotExistsException("Entity with ID %s doesn't exist!".formatted(courtUid));
+		}
+
+		return reservationChangeBus.subscribe(courtUid, new ReservationChangeBus.Listener() {
+			@Override
+			public void onChange(ReservationChange change) {
+				onChange.accept(reservationMapper.fromChangeToDto(change));
+			}
+
+			@Override
+			public void onResync() {
+				onResync.run();
+			}
+		});
+	}
+
+	@Override
+	public ReservationImportReportDto importReservations(Reader csv, boolean dryRun) {
+		ValidationHelper.requireNonNull(csv, "CSV cannot be null!");
+
+		return reservationMapper.fromImportReportToDto(reservationImportService.importReservations(csv, dryRun));
+	}
+
+	private CursorPageDto<ReservationViewDto> toCursorPage(CursorResult<Reservation> reservations) {
+		List<ReservationViewDto> views = reservationMapper.fromEntityListToView(reservations.data());
+		String nextCursor = reservations.nextCursor() == null ? null : reservations.nextCursor().encode();
+
+		return new CursorPageDto<>(views, nextCursor);
+	}
+
 }
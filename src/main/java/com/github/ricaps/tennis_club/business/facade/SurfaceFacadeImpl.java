@@ -7,6 +7,7 @@ import com.github.ricaps.tennis_club.business.facade.definition.SurfaceFacade;
 import com.github.ricaps.tennis_club.business.mapping.SurfaceMapper;
 import com.github.ricaps.tennis_club.business.service.definition.SurfaceService;
 import com.github.ricaps.tennis_club.peristence.entity.Surface;
+import com.github.ricaps.tennis_club.peristence.utils.CountStrategy;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PagedModel;
 import org.springframework.stereotype.Service;
@@ -38,6 +39,11 @@ public class SurfaceFacadeImpl implements SurfaceFacade {
 		return genericFacade.getAll(pageable);
 	}
 
+	@Override
+	public PagedModel<SurfaceViewDto> getAll(Pageable pageable, CountStrategy countStrategy) {
+		return genericFacade.getAll(pageable, countStrategy);
+	}
+
 	@Override
 	public SurfaceViewDto update(UUID uid, SurfaceCreateDto surfaceCreateDto) {
 		return genericFacade.update(uid, surfaceCreateDto);
@@ -6,6 +6,7 @@ import com.github.ricaps.tennis_club.business.facade.definition.GenericFacade;
 import com.github.ricaps.tennis_club.business.mapping.UserMapper;
 import com.github.ricaps.tennis_club.business.service.definition.UserService;
 import com.github.ricaps.tennis_club.peristence.entity.User;
+import com.github.ricaps.tennis_club.peristence.utils.CountStrategy;
 import com.github.ricaps.tennis_club.utils.UUIDUtils;
 import com.github.ricaps.tennis_club.utils.ValidationHelper;
 import org.springframework.data.domain.Pageable;
@@ -57,6 +58,11 @@ public class UserFacadeImpl implements com.github.ricaps.tennis_club.business.fa
 		return genericFacade.getAll(pageable);
 	}
 
+	@Override
+	public PagedModel<UserDetailedView> getAll(Pageable pageable, CountStrategy countStrategy) {
+		return genericFacade.getAll(pageable, countStrategy);
+	}
+
 	@Override
 	public UserDetailedView update(UUID uid, UserCreateDto userCreateDto) {
 		return genericFacade.update(uid, userCreateDto);
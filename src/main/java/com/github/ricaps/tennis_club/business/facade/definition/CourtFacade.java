@@ -1,8 +1,14 @@
 package com.github.ricaps.tennis_club.business.facade.definition;
 
+import com.github.ricaps.tennis_club.api.court.CourtAvailabilityDto;
+import com.github.ricaps.tennis_club.api.court.CourtAvailabilityQueryDto;
 import com.github.ricaps.tennis_club.api.court.CourtCreateDto;
 import com.github.ricaps.tennis_club.api.court.CourtViewDto;
 
+import java.util.List;
+
 public interface CourtFacade extends CrudFacade<CourtViewDto, CourtCreateDto> {
 
+	List<CourtAvailabilityDto> getAvailability(CourtAvailabilityQueryDto query);
+
 }
@@ -1,5 +1,6 @@
 package com.github.ricaps.tennis_club.business.facade.definition;
 
+import com.github.ricaps.tennis_club.peristence.utils.CountStrategy;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PagedModel;
 
@@ -14,6 +15,8 @@ public interface CrudFacade<ViewTypeDto, CreateTypeDto> {
 
 	PagedModel<ViewTypeDto> getAll(Pageable pageable);
 
+	PagedModel<ViewTypeDto> getAll(Pageable pageable, CountStrategy countStrategy);
+
 	ViewTypeDto update(UUID uid, CreateTypeDto createTypeDto);
 
 	void delete(UUID uid);
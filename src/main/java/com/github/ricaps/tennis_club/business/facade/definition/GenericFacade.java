@@ -3,6 +3,8 @@ package com.github.ricaps.tennis_club.business.facade.definition;
 import com.github.ricaps.tennis_club.business.mapping.CrudMapper;
 import com.github.ricaps.tennis_club.business.service.definition.CrudService;
 import com.github.ricaps.tennis_club.peristence.entity.IdentifiedEntity;
+import com.github.ricaps.tennis_club.peristence.utils.CountStrategy;
+import com.github.ricaps.tennis_club.peristence.utils.PageableResult;
 import com.github.ricaps.tennis_club.utils.UUIDUtils;
 import com.github.ricaps.tennis_club.utils.ValidationHelper;
 import org.springframework.data.domain.PageImpl;
@@ -50,14 +52,20 @@ public class GenericFacade<ViewTypeDto, CreateTypeDto, EntityType extends Identi
 	}
 
 	@Override
-	@Transactional
 	public PagedModel<ViewTypeDto> getAll(Pageable pageable) {
+		return getAll(pageable, CountStrategy.EXACT);
+	}
+
+	@Override
+	@Transactional
+	public PagedModel<ViewTypeDto> getAll(Pageable pageable, CountStrategy countStrategy) {
 		ValidationHelper.requireNonNull(pageable, "Pageable object cannot be null!");
+		ValidationHelper.requireNonNull(countStrategy, "Count strategy cannot be null!");
 
-		List<EntityType> entities = crudService.getAll(pageable);
-		List<ViewTypeDto> viewDtoList = crudMapper.fromEntityListToView(entities);
+		PageableResult<EntityType> entities = crudService.getAll(pageable, countStrategy);
+		List<ViewTypeDto> viewDtoList = crudMapper.fromEntityListToView(entities.data());
 
-		PageImpl<ViewTypeDto> viewPage = new PageImpl<>(viewDtoList, pageable, crudService.count());
+		PageImpl<ViewTypeDto> viewPage = new PageImpl<>(viewDtoList, pageable, entities.totalCount());
 		return new PagedModel<>(viewPage);
 	}
 
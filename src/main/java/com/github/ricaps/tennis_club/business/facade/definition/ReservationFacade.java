@@ -1,17 +1,69 @@
 package com.github.ricaps.tennis_club.business.facade.definition;
 
+import com.github.ricaps.tennis_club.api.reservation.ReservationBatchCreateDto;
+import com.github.ricaps.tennis_club.api.reservation.ReservationChangeDto;
 import com.github.ricaps.tennis_club.api.reservation.ReservationCreateDto;
+import com.github.ricaps.tennis_club.api.reservation.ReservationExportQueryDto;
+import com.github.ricaps.tennis_club.api.reservation.ReservationImportReportDto;
 import com.github.ricaps.tennis_club.api.reservation.ReservationPhoneDateQueryDto;
+import com.github.ricaps.tennis_club.api.reservation.ReservationSeriesConflictDto;
+import com.github.ricaps.tennis_club.api.reservation.ReservationSeriesCreateDto;
+import com.github.ricaps.tennis_club.api.reservation.ReservationSeriesViewDto;
 import com.github.ricaps.tennis_club.api.reservation.ReservationViewDto;
+import com.github.ricaps.tennis_club.api.shared.CursorPageDto;
+import com.github.ricaps.tennis_club.business.event.ReservationChangeBus.Subscription;
+import com.github.ricaps.tennis_club.peristence.utils.CountStrategy;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PagedModel;
 
+import java.io.Reader;
+import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 public interface ReservationFacade extends CrudFacade<ReservationViewDto, ReservationCreateDto> {
 
-	PagedModel<ReservationViewDto> getAllByCourt(UUID courtUID, Pageable pageable);
+	List<ReservationViewDto> createAll(ReservationBatchCreateDto batchCreateDto);
+
+	ReservationSeriesViewDto createSeries(ReservationSeriesCreateDto seriesCreateDto, boolean skipConflicts);
+
+	List<ReservationSeriesConflictDto> getSeriesConflicts(ReservationSeriesCreateDto seriesCreateDto);
+
+	void deleteSeries(UUID uid);
+
+	CursorPageDto<ReservationViewDto> getAll(String cursor, Pageable pageable);
+
+	PagedModel<ReservationViewDto> getAllByCourt(UUID courtUID, Pageable pageable, CountStrategy countStrategy);
+
+	CursorPageDto<ReservationViewDto> getAllByCourt(UUID courtUID, String cursor, Pageable pageable);
 
 	PagedModel<ReservationViewDto> getAllByPhoneNumber(ReservationPhoneDateQueryDto queryDto);
 
+	CursorPageDto<ReservationViewDto> getAllByPhoneNumber(ReservationPhoneDateQueryDto queryDto, String cursor);
+
+	/**
+	 * Passes all reservations matching the filter to the consumer one by one, ordered by
+	 * their start
+	 * @param queryDto filter of the reservations
+	 * @param consumer consumer of the reservations, e.g. writer of the response
+	 */
+	void export(ReservationExportQueryDto queryDto, Consumer<ReservationViewDto> consumer);
+
+	/**
+	 * Subscribes to committed changes of reservations at the court
+	 * @param courtUid uid of the court
+	 * @param onChange consumer of the changes, an exception cancels the subscription
+	 * @param onResync called when the subscriber fell behind and changes were dropped
+	 * @return subscription which has to be cancelled once the subscriber is gone
+	 */
+	Subscription subscribeChanges(UUID courtUid, Consumer<ReservationChangeDto> onChange, Runnable onResync);
+
+	/**
+	 * Imports historical reservations from CSV, creating unknown customers and courts
+	 * @param csv CSV with a header row
+	 * @param dryRun whether the rows are only validated
+	 * @return report of the import with invalid rows and throughput of its stages
+	 */
+	ReservationImportReportDto importReservations(Reader csv, boolean dryRun);
+
 }
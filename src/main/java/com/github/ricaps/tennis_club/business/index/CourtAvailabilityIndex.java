@@ -0,0 +1,239 @@
+package com.github.ricaps.tennis_club.business.index;
+
+import com.github.ricaps.tennis_club.peristence.dao.definition.ReservationDao;
+import com.github.ricaps.tennis_club.peristence.entity.Reservation;
+import com.github.ricaps.tennis_club.peristence.projection.ReservationInterval;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * In-memory bitmap of occupied time slots per court and day. A day is split into slots of
+ * {@value #SLOT_MINUTES} minutes stored in two words, so free time of a court is found by
+ * a few bitwise operations per day instead of a database query. <br>
+ * Reservations must not even touch, so a slot is occupied when its closed interval
+ * intersects a reservation. The index is loaded with upcoming reservations on startup and
+ * kept up to date by the reservation service.
+ */
+@Component
+@Slf4j
+public class CourtAvailabilityIndex implements InitializingBean {
+
+	public static final int SLOT_MINUTES = 15;
+
+	private static final long SLOT_SECONDS = SLOT_MINUTES * 60L;
+
+	private static final int SLOTS_PER_DAY = 24 * 60 / SLOT_MINUTES;
+
+	private static final long[] VALID_SLOTS = { -1L, (1L << (SLOTS_PER_DAY - Long.SIZE)) - 1 };
+
+	private static final DaySlots EMPTY_DAY = new DaySlots(Map.of(), new long[VALID_SLOTS.length]);
+
+	private final ReservationDao reservationDao;
+
+	private final Map<CourtDay, DaySlots> days = new ConcurrentHashMap<>();
+
+	private final Map<UUID, ReservationInterval> intervalsByUid = new ConcurrentHashMap<>();
+
+	public CourtAvailabilityIndex(ReservationDao reservationDao) {
+		this.reservationDao = reservationDao;
+	}
+
+	@Override
+	public void afterPropertiesSet() {
+		List<ReservationInterval> intervals = reservationDao.getReservationIntervalsEndingAfter(OffsetDateTime.now());
+		intervals.forEach(this::put);
+
+		log.info("Loaded {} reservations into the availability index", intervals.size());
+	}
+
+	/**
+	 * Finds free time frames of the court within the given time frame. Returned frames
+	 * start and end at slot boundaries and neighbouring free slots, also over midnight,
+	 * are merged into one frame.
+	 * @param courtUid uid of the court
+	 * @param from start of the searched time frame
+	 * @param to end of the searched time frame
+	 * @param minDuration minimal duration of returned frames
+	 * @return free time frames ordered by their start
+	 */
+	public List<FreeSlot> findFreeSlots(UUID courtUid, Instant from, Instant to, Duration minDuration) {
+		long firstSlot = Math.ceilDiv(from.getEpochSecond(), SLOT_SECONDS);
+		long endSlot = Math.floorDiv(to.getEpochSecond(), SLOT_SECONDS);
+		List<long[]> runs = new ArrayList<>();
+
+		for (long day = Math.floorDiv(firstSlot, SLOTS_PER_DAY); day * SLOTS_PER_DAY < endSlot; day++) {
+			long[] occupied = days.getOrDefault(new CourtDay(courtUid, day), EMPTY_DAY).occupied();
+
+			for (int word = 0; word < occupied.length; word++) {
+				long free = ~occupied[word] & VALID_SLOTS[word];
+				long wordStart = day * SLOTS_PER_DAY + (long) word * Long.SIZE;
+
+				while (free != 0) {
+					int start = Long.numberOfTrailingZeros(free);
+					int length = Long.numberOfTrailingZeros(~(free >>> start));
+					addRun(runs, Math.max(wordStart + start, firstSlot), Math.min(wordStart + start + length, endSlot));
+
+					free &= length + start >= Long.SIZE ? 0 : -1L << (start + length);
+				}
+			}
+		}
+
+		long minSlots = Math.ceilDiv(minDuration.toSeconds(), SLOT_SECONDS);
+		return runs.stream()
+			.filter(run -> run[1] - run[0] >= Math.max(minSlots, 1))
+			.map(run -> new FreeSlot(Instant.ofEpochSecond(run[0] * SLOT_SECONDS),
+					Instant.ofEpochSecond(run[1] * SLOT_SECONDS)))
+			.toList();
+	}
+
+	private static void addRun(List<long[]> runs, long start, long end) {
+		if (start >= end) {
+			return;
+		}
+
+		if (!runs.isEmpty() && runs.getLast()[1] == start) {
+			runs.getLast()[1] = end;
+			return;
+		}
+
+		runs.add(new long[] { start, end });
+	}
+
+	/**
+	 * Adds reservation into the index, or moves its previous time frame
+	 * @param reservation reservation to be indexed
+	 */
+	public void put(Reservation reservation) {
+		put(new ReservationInterval(reservation.getUid(), reservation.getCourt().getUid(), reservation.getFromTime(),
+				reservation.getToTime()));
+	}
+
+	/**
+	 * Adds interval into the index, or replaces previous interval with the same uid
+	 * @param interval interval to be indexed
+	 */
+	public synchronized void put(ReservationInterval interval) {
+		remove(interval.uid());
+
+		intervalsByUid.put(interval.uid(), interval);
+		forEachDay(interval, courtDay -> days.compute(courtDay, (key, daySlots) -> {
+			Map<UUID, ReservationInterval> reservations = new HashMap<>(
+					daySlots == null ? Map.of() : daySlots.reservations());
+			reservations.put(interval.uid(), interval);
+
+			return DaySlots.of(key.day(), reservations);
+		}));
+	}
+
+	/**
+	 * Removes reservation from the index, slots shared with other reservations stay
+	 * occupied
+	 * @param reservationUid uid of the reservation
+	 */
+	public synchronized void remove(UUID reservationUid) {
+		ReservationInterval removed = intervalsByUid.remove(reservationUid);
+		if (removed == null) {
+			return;
+		}
+
+		forEachDay(removed, courtDay -> days.computeIfPresent(courtDay, (key, daySlots) -> {
+			Map<UUID, ReservationInterval> reservations = new HashMap<>(daySlots.reservations());
+			reservations.remove(reservationUid);
+
+			return reservations.isEmpty() ? null : DaySlots.of(key.day(), reservations);
+		}));
+	}
+
+	/**
+	 * Removes reservations which ended before the given instant, together with their days
+	 * @param instant the instant
+	 * @return number of removed reservations
+	 */
+	public synchronized int removeEndedBefore(Instant instant) {
+		List<UUID> ended = intervalsByUid.values()
+			.stream()
+			.filter(interval -> interval.toTime().toInstant().isBefore(instant))
+			.map(ReservationInterval::uid)
+			.toList();
+		ended.forEach(this::remove);
+
+		return ended.size();
+	}
+
+	/**
+	 * Returns number of indexed reservations
+	 * @return number of reservations
+	 */
+	public int size() {
+		return intervalsByUid.size();
+	}
+
+	private static void forEachDay(ReservationInterval interval, Consumer<CourtDay> action) {
+		long firstDay = Math.floorDiv(firstOccupiedSlot(interval), SLOTS_PER_DAY);
+		long lastDay = Math.floorDiv(lastOccupiedSlot(interval), SLOTS_PER_DAY);
+
+		for (long day = firstDay; day <= lastDay; day++) {
+			action.accept(new CourtDay(interval.courtUid(), day));
+		}
+	}
+
+	private static long firstOccupiedSlot(ReservationInterval interval) {
+		// Slot ending exactly at the start touches the reservation
+		return Math.ceilDiv(interval.fromTime().toEpochSecond() - SLOT_SECONDS, SLOT_SECONDS);
+	}
+
+	private static long lastOccupiedSlot(ReservationInterval interval) {
+		return Math.floorDiv(interval.toTime().toEpochSecond(), SLOT_SECONDS);
+	}
+
+	/**
+	 * Free time frame of a court
+	 *
+	 * @param from start of the frame
+	 * @param to end of the frame
+	 */
+	public record FreeSlot(Instant from, Instant to) {
+	}
+
+	/**
+	 * Day since epoch of a court, days are in UTC
+	 */
+	private record CourtDay(UUID courtUid, long day) {
+	}
+
+	/**
+	 * Immutable state of a court day, replaced on every change so readers never lock
+	 */
+	private record DaySlots(Map<UUID, ReservationInterval> reservations, long[] occupied) {
+
+		private static DaySlots of(long day, Map<UUID, ReservationInterval> reservations) {
+			long[] occupied = new long[VALID_SLOTS.length];
+			long dayStart = day * SLOTS_PER_DAY;
+
+			for (ReservationInterval interval : reservations.values()) {
+				long first = Math.max(firstOccupiedSlot(interval) - dayStart, 0);
+				long last = Math.min(lastOccupiedSlot(interval) - dayStart, SLOTS_PER_DAY - 1);
+
+				for (long slot = first; slot <= last; slot++) {
+					occupied[(int) (slot / Long.SIZE)] |= 1L << slot;
+				}
+			}
+
+			return new DaySlots(Map.copyOf(reservations), occupied);
+		}
+
+	}
+
+}
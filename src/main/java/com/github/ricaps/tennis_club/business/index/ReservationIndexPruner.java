@@ -0,0 +1,69 @@
+package com.github.ricaps.tennis_club.business.index;
+
+import com.github.ricaps.tennis_club.configuration.model.ApplicationConfiguration;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically removes ended reservations from the in-memory indexes, so they hold only
+ * reservations which can still conflict or occupy a searched slot
+ */
+@Component
+@Slf4j
+public class ReservationIndexPruner implements InitializingBean, DisposableBean {
+
+	private final ReservationIntervalIndex intervalIndex;
+
+	private final CourtAvailabilityIndex availabilityIndex;
+
+	private final Duration pruneInterval;
+
+	private ScheduledExecutorService executor;
+
+	public ReservationIndexPruner(ReservationIntervalIndex intervalIndex, CourtAvailabilityIndex availabilityIndex,
+			ApplicationConfiguration applicationConfiguration) {
+		this.intervalIndex = intervalIndex;
+		this.availabilityIndex = availabilityIndex;
+		this.pruneInterval = applicationConfiguration.getReservationIndexPruneInterval();
+	}
+
+	@Override
+	public void afterPropertiesSet() {
+		if (pruneInterval.isZero()) {
+			return;
+		}
+
+		executor = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("index-pruner-"));
+		executor.scheduleWithFixedDelay(this::prune, pruneInterval.toMillis(), pruneInterval.toMillis(),
+				TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Removes reservations which already ended from both indexes
+	 */
+	public void prune() {
+		Instant now = Instant.now();
+		int intervals = intervalIndex.removeEndedBefore(now);
+		int slots = availabilityIndex.removeEndedBefore(now);
+
+		log.debug("Removed {} ended reservations from the interval index and {} from the availability index", intervals,
+				slots);
+	}
+
+	@Override
+	public void destroy() {
+		if (executor != null) {
+			executor.shutdown();
+		}
+	}
+
+}
@@ -0,0 +1,202 @@
+package com.github.ricaps.tennis_club.business.index;
+
+import com.github.ricaps.tennis_club.peristence.dao.definition.ReservationDao;
+import com.github.ricaps.tennis_club.peristence.entity.Reservation;
+import com.github.ricaps.tennis_club.peristence.projection.ReservationInterval;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-memory index of reservation intervals per court. Intervals of each court are kept
+ * sorted by their start, so the overlap check is a logarithmic lookup instead of loading
+ * the overlapping reservations. <br>
+ * The index is loaded with upcoming reservations on startup and kept up to date by the
+ * reservation service. It is only a fast path, the database remains the source of truth:
+ * without an indexed conflict a single probe guards against writes of other nodes, an
+ * indexed conflict is confirmed by the database.
+ */
+@Component
+@Slf4j
+public class ReservationIntervalIndex implements InitializingBean {
+
+	private static final Comparator<IntervalKey> KEY_COMPARATOR = Comparator.comparing(IntervalKey::from)
+		.thenComparing(IntervalKey::uid);
+
+	// UUID comparison is signed, so this is the greatest possible uid
+	private static final UUID MAX_UUID = new UUID(Long.MAX_VALUE, Long.MAX_VALUE);
+
+	private final ReservationDao reservationDao;
+
+	private final Map<UUID, CourtIntervals> courts = new ConcurrentHashMap<>();
+
+	private final Map<UUID, ReservationInterval> intervalsByUid = new ConcurrentHashMap<>();
+
+	public ReservationIntervalIndex(ReservationDao reservationDao) {
+		this.reservationDao = reservationDao;
+	}
+
+	@Override
+	public void afterPropertiesSet() {
+		List<ReservationInterval> intervals = reservationDao.getReservationIntervalsEndingAfter(OffsetDateTime.now());
+		intervals.forEach(this::put);
+
+		log.info("Loaded {} reservation intervals into the index", intervals.size());
+	}
+
+	/**
+	 * Finds reservation at the given court which overlaps with the given time frame
+	 * @param courtUid uid of the court
+	 * @param from start of the time frame
+	 * @param to end of the time frame
+	 * @param ignoredUid uid of the reservation which is skipped (reservation being
+	 * updated), may be null
+	 * @return uid of the conflicting reservation, if such reservation is indexed
+	 */
+	public Optional<UUID> findConflict(UUID courtUid, OffsetDateTime from, OffsetDateTime to, UUID ignoredUid) {
+		CourtIntervals courtIntervals = courts.get(courtUid);
+		if (courtIntervals == null) {
+			return Optional.empty();
+		}
+
+		Instant fromInstant = from.toInstant();
+		Instant lowestStart = fromInstant.minus(courtIntervals.longestDuration);
+		NavigableMap<IntervalKey, ReservationInterval> candidates = courtIntervals.intervals
+			.headMap(new IntervalKey(to.toInstant(), MAX_UUID), true)
+			.descendingMap();
+
+		for (Map.Entry<IntervalKey, ReservationInterval> entry : candidates.entrySet()) {
+			if (entry.getKey().from().isBefore(lowestStart)) {
+				break;
+			}
+
+			ReservationInterval interval = entry.getValue();
+			if (!interval.uid().equals(ignoredUid) && !interval.toTime().toInstant().isBefore(fromInstant)) {
+				return Optional.of(interval.uid());
+			}
+		}
+
+		return Optional.empty();
+	}
+
+	/**
+	 * Adds reservation into the index, or replaces its previous interval
+	 * @param reservation reservation to be indexed
+	 */
+	public void put(Reservation reservation) {
+		put(new ReservationInterval(reservation.getUid(), reservation.getCourt().getUid(), reservation.getFromTime(),
+				reservation.getToTime()));
+	}
+
+	/**
+	 * Adds interval into the index, or replaces previous interval with the same uid
+	 * @param interval interval to be indexed
+	 */
+	public void put(ReservationInterval interval) {
+		remove(interval.uid());
+
+		CourtIntervals courtIntervals = courts.computeIfAbsent(interval.courtUid(), uid -> new CourtIntervals());
+		courtIntervals.add(interval);
+		intervalsByUid.put(interval.uid(), interval);
+	}
+
+	/**
+	 * Returns indexed interval of the reservation
+	 * @param reservationUid uid of the reservation
+	 * @return interval of the reservation, empty when it isn't indexed
+	 */
+	public Optional<ReservationInterval> get(UUID reservationUid) {
+		return Optional.ofNullable(intervalsByUid.get(reservationUid));
+	}
+
+	/**
+	 * Removes reservation from the index
+	 * @param reservationUid uid of the reservation
+	 */
+	public void remove(UUID reservationUid) {
+		ReservationInterval removed = intervalsByUid.remove(reservationUid);
+		if (removed == null) {
+			return;
+		}
+
+		CourtIntervals courtIntervals = courts.get(removed.courtUid());
+		if (courtIntervals != null) {
+			courtIntervals.intervals.remove(IntervalKey.of(removed));
+		}
+	}
+
+	/**
+	 * Removes reservations which ended before the given instant, they can't conflict with
+	 * new bookings anymore
+	 * @param instant the instant
+	 * @return number of removed reservations
+	 */
+	public int removeEndedBefore(Instant instant) {
+		int removed = 0;
+		for (ReservationInterval interval : intervalsByUid.values()) {
+			// Removed only when not replaced by a newer interval in the meantime
+			if (interval.toTime().toInstant().isBefore(instant) && intervalsByUid.remove(interval.uid(), interval)) {
+				CourtIntervals courtIntervals = courts.get(interval.courtUid());
+				if (courtIntervals != null) {
+					courtIntervals.intervals.remove(IntervalKey.of(interval));
+				}
+				removed++;
+			}
+		}
+
+		return removed;
+	}
+
+	/**
+	 * Returns number of indexed reservations
+	 * @return number of reservations
+	 */
+	public int size() {
+		return intervalsByUid.size();
+	}
+
+	private record IntervalKey(Instant from, UUID uid) {
+
+		private static IntervalKey of(ReservationInterval interval) {
+			return new IntervalKey(interval.fromTime().toInstant(), interval.uid());
+		}
+
+	}
+
+	private static final class CourtIntervals {
+
+		private final ConcurrentSkipListMap<IntervalKey, ReservationInterval> intervals = new ConcurrentSkipListMap<>(
+				KEY_COMPARATOR);
+
+		/**
+		 * Longest indexed interval bounds how far before the searched time frame an
+		 * overlapping interval may start
+		 */
+		private volatile Duration longestDuration = Duration.ZERO;
+
+		private void add(ReservationInterval interval) {
+			Duration duration = Duration.between(interval.fromTime(), interval.toTime());
+			synchronized (this) {
+				if (duration.compareTo(longestDuration) > 0) {
+					longestDuration = duration;
+				}
+			}
+
+			intervals.put(IntervalKey.of(interval), interval);
+		}
+
+	}
+
+}
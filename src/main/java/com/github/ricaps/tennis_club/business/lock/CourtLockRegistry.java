@@ -0,0 +1,107 @@
+package com.github.ricaps.tennis_club.business.lock;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Registry of in-process locks, one per court. Writes to reservations of the same court
+ * are serialized, while writes to different courts never contend. <br>
+ * Locks are only held within this JVM, guarantee across multiple application nodes is
+ * provided by the database lock of the court row. <br>
+ * Every lock counts threads holding or waiting for it and is removed once the last of
+ * them releases it, so the registry holds only locks of courts being written.
+ */
+@Component
+public class CourtLockRegistry {
+
+	private final Map<UUID, CourtLock> locks = new ConcurrentHashMap<>();
+
+	/**
+	 * Runs given action while holding the lock of the court
+	 * @param courtUid uid of the court to be locked
+	 * @param action action to be run
+	 * @return result of the action
+	 * @param <T> type of the result
+	 */
+	public <T> T executeLocked(UUID courtUid, Supplier<T> action) {
+		CourtLock lock = acquire(courtUid);
+		try {
+			return action.get();
+		}
+		finally {
+			release(courtUid, lock);
+		}
+	}
+
+	/**
+	 * Runs given action while holding the locks of all the courts. Locks are acquired in
+	 * the order of court uids, so two callers locking overlapping sets cannot deadlock.
+	 * @param courtUids uids of the courts to be locked
+	 * @param action action to be run
+	 * @return result of the action
+	 * @param <T> type of the result
+	 */
+	public <T> T executeLocked(Collection<UUID> courtUids, Supplier<T> action) {
+		List<UUID> acquiredUids = new ArrayList<>();
+		List<CourtLock> acquired = new ArrayList<>();
+
+		try {
+			for (UUID courtUid : new TreeSet<>(courtUids)) {
+				acquired.add(acquire(courtUid));
+				acquiredUids.add(courtUid);
+			}
+
+			return action.get();
+		}
+		finally {
+			for (int i = acquired.size() - 1; i >= 0; i--) {
+				release(acquiredUids.get(i), acquired.get(i));
+			}
+		}
+	}
+
+	/**
+	 * @return number of courts with a held or awaited lock
+	 */
+	int size() {
+		return locks.size();
+	}
+
+	private CourtLock acquire(UUID courtUid) {
+		// Registered atomically with the lookup, so the lock cannot be removed before
+		// this thread waits for it
+		CourtLock lock = locks.compute(courtUid, (uid, existing) -> {
+			CourtLock registered = existing == null ? new CourtLock() : existing;
+			registered.users++;
+			return registered;
+		});
+
+		lock.lock();
+		return lock;
+	}
+
+	private void release(UUID courtUid, CourtLock lock) {
+		lock.unlock();
+		locks.computeIfPresent(courtUid, (uid, registered) -> --registered.users == 0 ? null : registered);
+	}
+
+	/**
+	 * Lock of a court with the number of its users, which is changed only by functions of
+	 * the map holding the lock
+	 */
+	private static final class CourtLock extends ReentrantLock {
+
+		private int users;
+
+	}
+
+}
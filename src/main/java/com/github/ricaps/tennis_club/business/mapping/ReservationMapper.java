@@ -1,19 +1,63 @@
 package com.github.ricaps.tennis_club.business.mapping;
 
+import com.github.ricaps.tennis_club.api.reservation.ReservationChangeDto;
 import com.github.ricaps.tennis_club.api.reservation.ReservationCreateDto;
+import com.github.ricaps.tennis_club.api.reservation.ReservationImportReportDto;
+import com.github.ricaps.tennis_club.api.reservation.ReservationImportStageDto;
+import com.github.ricaps.tennis_club.api.reservation.ReservationSeriesConflictDto;
+import com.github.ricaps.tennis_club.api.reservation.ReservationSeriesViewDto;
 import com.github.ricaps.tennis_club.api.reservation.ReservationViewDto;
+import com.github.ricaps.tennis_club.business.event.ReservationChange;
+import com.github.ricaps.tennis_club.business.service.definition.ReservationImportService.ImportReport;
+import com.github.ricaps.tennis_club.business.service.definition.ReservationImportService.ImportStage;
+import com.github.ricaps.tennis_club.business.service.definition.ReservationService.SeriesConflict;
+import com.github.ricaps.tennis_club.business.service.definition.ReservationService.SeriesResult;
 import com.github.ricaps.tennis_club.peristence.entity.Court;
 import com.github.ricaps.tennis_club.peristence.entity.Reservation;
 import com.github.ricaps.tennis_club.peristence.entity.User;
+import com.github.ricaps.tennis_club.peristence.projection.ReservationView;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
+import java.util.Collection;
+import java.util.List;
+
 @Mapper(componentModel = "spring")
 public interface ReservationMapper extends CrudMapper<ReservationViewDto, ReservationCreateDto, Reservation> {
 
 	@Mapping(target = "uid", ignore = true)
 	@Mapping(target = "createdAt", ignore = true)
 	@Mapping(target = "totalPrice", ignore = true)
+	@Mapping(target = "seriesUid", ignore = true)
 	Reservation fromCreateToEntity(Court court, User user, ReservationCreateDto reservationCreateDto);
 
+	@Mapping(target = "court.uid", source = "courtUid")
+	@Mapping(target = "court.name", source = "courtName")
+	@Mapping(target = "court.surface.uid", source = "surfaceUid")
+	@Mapping(target = "court.surface.name", source = "surfaceName")
+	@Mapping(target = "court.surface.price", source = "surfacePrice")
+	@Mapping(target = "court.surface.currency", source = "surfaceCurrency")
+	@Mapping(target = "user.uid", source = "userUid")
+	@Mapping(target = "user.firstName", source = "userFirstName")
+	@Mapping(target = "user.familyName", source = "userFamilyName")
+	@Mapping(target = "user.phoneNumber", source = "userPhoneNumber")
+	@Mapping(target = "totalPrice.amount", source = "totalPriceAmount")
+	@Mapping(target = "totalPrice.currency", source = "totalPriceCurrency")
+	ReservationViewDto fromProjectionToView(ReservationView reservationView);
+
+	List<ReservationViewDto> fromProjectionListToView(Collection<ReservationView> reservationViews);
+
+	@Mapping(target = ".", source = "series")
+	ReservationSeriesViewDto fromSeriesResultToView(SeriesResult seriesResult);
+
+	List<ReservationSeriesConflictDto> fromSeriesConflictListToView(Collection<SeriesConflict> conflicts);
+
+	ReservationImportReportDto fromImportReportToDto(ImportReport importReport);
+
+	@Mapping(target = "durationMillis", expression = "java(importStage.duration().toMillis())")
+	@Mapping(target = "itemsPerSecond", expression = "java(importStage.itemsPerSecond())")
+	ReservationImportStageDto fromImportStageToDto(ImportStage importStage);
+
+	ReservationChangeDto fromChangeToDto(ReservationChange change);
+
 }
@@ -0,0 +1,59 @@
+package com.github.ricaps.tennis_club.business.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.ricaps.tennis_club.peristence.entity.ReservationOutboxEvent;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Appends events to a local file as JSON lines. A batch is forced to the disk before it
+ * counts as delivered.
+ */
+public class FileOutboxSink implements OutboxSink {
+
+	private final Path file;
+
+	private final ObjectMapper objectMapper;
+
+	public FileOutboxSink(Path file, ObjectMapper objectMapper) {
+		this.file = file;
+		this.objectMapper = objectMapper;
+
+		try {
+			Path directory = file.toAbsolutePath().getParent();
+			if (directory != null) {
+				Files.createDirectories(directory);
+			}
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException("Directory of the outbox file %s cannot be created!".formatted(file), e);
+		}
+	}
+
+	@Override
+	public synchronized void deliver(List<ReservationOutboxEvent> events) throws IOException {
+		ByteArrayOutputStream lines = new ByteArrayOutputStream();
+		for (ReservationOutboxEvent event : events) {
+			lines.write(objectMapper.writeValueAsBytes(event));
+			lines.write('\n');
+		}
+
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.APPEND)) {
+			ByteBuffer buffer = ByteBuffer.wrap(lines.toByteArray());
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+			channel.force(false);
+		}
+	}
+
+}
@@ -0,0 +1,31 @@
+package com.github.ricaps.tennis_club.business.outbox;
+
+import com.github.ricaps.tennis_club.peristence.entity.ReservationOutboxEvent;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Keeps delivered events in memory, meant for tests
+ */
+public class InMemoryOutboxSink implements OutboxSink {
+
+	private final List<ReservationOutboxEvent> events = new CopyOnWriteArrayList<>();
+
+	@Override
+	public void deliver(List<ReservationOutboxEvent> events) {
+		this.events.addAll(events);
+	}
+
+	/**
+	 * @return delivered events in the order of their delivery
+	 */
+	public List<ReservationOutboxEvent> getEvents() {
+		return List.copyOf(events);
+	}
+
+	public void clear() {
+		events.clear();
+	}
+
+}
@@ -0,0 +1,22 @@
+package com.github.ricaps.tennis_club.business.outbox;
+
+import com.github.ricaps.tennis_club.peristence.entity.ReservationOutboxEvent;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Destination of relayed outbox events. Delivery is at least once, events of a batch
+ * which failed to be removed from the outbox are delivered again, so receivers should
+ * deduplicate them by their id.
+ */
+public interface OutboxSink {
+
+	/**
+	 * Delivers the batch, returns only once the events are stored by the receiver
+	 * @param events events ordered by their creation
+	 * @throws IOException when the events could not be delivered, they are retried later
+	 */
+	void deliver(List<ReservationOutboxEvent> events) throws IOException;
+
+}
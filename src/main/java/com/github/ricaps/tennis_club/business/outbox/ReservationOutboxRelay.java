@@ -0,0 +1,184 @@
+package com.github.ricaps.tennis_club.business.outbox;
+
+import com.github.ricaps.tennis_club.configuration.model.ApplicationConfiguration;
+import com.github.ricaps.tennis_club.peristence.dao.definition.ReservationOutboxDao;
+import com.github.ricaps.tennis_club.peristence.entity.ReservationOutboxEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Relays events of the reservation outbox to the sink. Every batch is claimed, delivered
+ * and removed in one transaction, claimed rows stay locked until it ends, so relays of
+ * several nodes drain the outbox in parallel without claiming the same event twice. A
+ * failed batch is rolled back and retried by the next poll.
+ */
+@Component
+@Slf4j
+public class ReservationOutboxRelay implements InitializingBean, DisposableBean {
+
+	private final ReservationOutboxDao outboxDao;
+
+	private final OutboxSink sink;
+
+	private final TransactionTemplate transactionTemplate;
+
+	private final int batchSize;
+
+	private final Duration pollInterval;
+
+	private final Counter relayedCounter;
+
+	private final Counter failureCounter;
+
+	private final Timer batchTimer;
+
+	private final Timer delayTimer;
+
+	private final AtomicLong lagNanos = new AtomicLong();
+
+	private final AtomicLong lastRelayNanos = new AtomicLong(System.nanoTime());
+
+	private ScheduledExecutorService executor;
+
+	public ReservationOutboxRelay(ReservationOutboxDao outboxDao, OutboxSink sink,
+			PlatformTransactionManager transactionManager, ApplicationConfiguration applicationConfiguration,
+			MeterRegistry meterRegistry) {
+		this.outboxDao = outboxDao;
+		this.sink = sink;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.batchSize = applicationConfiguration.getOutboxBatchSize();
+		this.pollInterval = applicationConfiguration.getOutboxPollInterval();
+
+		this.relayedCounter = Counter.builder("reservation.outbox.relayed")
+			.description("Events delivered to the sink")
+			.register(meterRegistry);
+		this.failureCounter = Counter.builder("reservation.outbox.failures")
+			.description("Relay passes which failed and are retried")
+			.register(meterRegistry);
+		this.batchTimer = Timer.builder("reservation.outbox.batch")
+			.description("Time of claiming, delivering and removing one batch")
+			.register(meterRegistry);
+		this.delayTimer = Timer.builder("reservation.outbox.delay")
+			.description("Time from writing an event to its delivery")
+			.publishPercentileHistogram()
+			.register(meterRegistry);
+		TimeGauge.builder("reservation.outbox.lag", lagNanos, TimeUnit.NANOSECONDS, AtomicLong::get)
+			.description("Age of the oldest event claimed by the last batch, zero once the outbox was drained")
+			.register(meterRegistry);
+		TimeGauge
+			.builder("reservation.outbox.staleness", lastRelayNanos, TimeUnit.NANOSECONDS,
+					lastRelay -> System.nanoTime() - lastRelay.get())
+			.description("Time since the last successful relay pass")
+			.register(meterRegistry);
+	}
+
+	@Override
+	public void afterPropertiesSet() {
+		if (pollInterval.isZero()) {
+			log.info("Relay of the reservation outbox is disabled");
+			return;
+		}
+
+		executor = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("outbox-relay-"));
+		executor.scheduleWithFixedDelay(this::relayScheduled, pollInterval.toMillis(), pollInterval.toMillis(),
+				TimeUnit.MILLISECONDS);
+	}
+
+	private void relayScheduled() {
+		try {
+			relay();
+		}
+		catch (RuntimeException ex) {
+			log.warn("Relay of the reservation outbox failed, events are retried by the next poll", ex);
+		}
+	}
+
+	/**
+	 * Relays batches until the outbox is drained, or only events locked by other relays
+	 * remain
+	 * @return number of relayed events
+	 */
+	public int relay() {
+		try {
+			int relayed = 0;
+			int batch;
+			do {
+				final long start = System.nanoTime();
+				final List<ReservationOutboxEvent> events = Objects
+					.requireNonNull(transactionTemplate.execute(status -> relayBatch()));
+				batch = events.size();
+				if (batch > 0) {
+					recordRelayed(events, start);
+				}
+				relayed += batch;
+			}
+			while (batch == batchSize);
+
+			lagNanos.set(0);
+			lastRelayNanos.set(System.nanoTime());
+			return relayed;
+		}
+		catch (RuntimeException ex) {
+			failureCounter.increment();
+			throw ex;
+		}
+	}
+
+	/**
+	 * @return events delivered by the batch, they are removed from the outbox once the
+	 * transaction commits
+	 */
+	private List<ReservationOutboxEvent> relayBatch() {
+		final List<ReservationOutboxEvent> events = outboxDao.claim(batchSize);
+		if (events.isEmpty()) {
+			return events;
+		}
+
+		lagNanos.set(Duration.between(events.getFirst().getCreatedAt(), OffsetDateTime.now()).toNanos());
+
+		try {
+			sink.deliver(events);
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException("Delivery of %d outbox events failed!".formatted(events.size()), e);
+		}
+		outboxDao.deleteAll(events.stream().map(ReservationOutboxEvent::getId).toList());
+
+		return events;
+	}
+
+	private void recordRelayed(List<ReservationOutboxEvent> events, long start) {
+		final OffsetDateTime now = OffsetDateTime.now();
+		relayedCounter.increment(events.size());
+		events.forEach(event -> delayTimer.record(Duration.between(event.getCreatedAt(), now)));
+		batchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+	}
+
+	@Override
+	public void destroy() {
+		if (executor != null) {
+			executor.shutdown();
+		}
+	}
+
+}
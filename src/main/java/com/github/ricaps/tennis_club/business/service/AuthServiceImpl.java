@@ -10,6 +10,8 @@ import com.github.ricaps.tennis_club.peristence.entity.User;
 import com.github.ricaps.tennis_club.security.JwtUtils;
 import com.github.ricaps.tennis_club.utils.UUIDUtils;
 import com.github.ricaps.tennis_club.utils.ValidationHelper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.validation.ValidationException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -37,12 +39,29 @@ public class AuthServiceImpl implements AuthService {
 
 	private final JwtUtils jwtUtils;
 
+	private final MeterRegistry meterRegistry;
+
+	private final Timer successfulLoginTimer;
+
+	private final Timer failedLoginTimer;
+
 	public AuthServiceImpl(UserService userService, UserMapper userMapper, PasswordEncoder passwordEncoder,
-			JwtUtils jwtUtils) {
+			JwtUtils jwtUtils, MeterRegistry meterRegistry) {
 		this.userService = userService;
 		this.userMapper = userMapper;
 		this.passwordEncoder = passwordEncoder;
 		this.jwtUtils = jwtUtils;
+		this.meterRegistry = meterRegistry;
+		this.successfulLoginTimer = loginTimer("success", meterRegistry);
+		this.failedLoginTimer = loginTimer("failure", meterRegistry);
+	}
+
+	private static Timer loginTimer(String outcome, MeterRegistry meterRegistry) {
+		return Timer.builder("security.login")
+			.description("Time of a login, including the password hash")
+			.tag("outcome", outcome)
+			.publishPercentileHistogram()
+			.register(meterRegistry);
 	}
 
 	private static byte[] decodeBase64(String encodedCredentials) {
@@ -75,18 +94,26 @@ public class AuthServiceImpl implements AuthService {
 		ValidationHelper.requireNonNull(phoneNumber, "Phone number cannot be null!");
 		ValidationHelper.requireNonNull(password, "Password cannot be null!");
 
-		User user = userService.getByPhoneNumber(phoneNumber)
-			.orElseThrow(() -> new AuthenticationFailed(WRONG_COMBINATION_ERROR));
+		Timer.Sample sample = Timer.start(meterRegistry);
+		Timer timer = failedLoginTimer;
+		try {
+			User user = userService.getByPhoneNumber(phoneNumber)
+				.orElseThrow(() -> new AuthenticationFailed(WRONG_COMBINATION_ERROR));
 
-		boolean passwordMatches = passwordEncoder.matches(password, user.getPassword());
-		if (!passwordMatches) {
-			throw new AuthenticationFailed(WRONG_COMBINATION_ERROR);
-		}
+			boolean passwordMatches = passwordEncoder.matches(password, user.getPassword());
+			if (!passwordMatches) {
+				throw new AuthenticationFailed(WRONG_COMBINATION_ERROR);
+			}
 
-		String token = jwtUtils.generateAccessToken(user);
+			String token = jwtUtils.generateAccessToken(user);
+			timer = successfulLoginTimer;
 
-		log.info("User {} successfully logged-in!", user.getPhoneNumber());
-		return token;
+			log.info("User {} successfully logged-in!", user.getPhoneNumber());
+			return token;
+		}
+		finally {
+			sample.stop(timer);
+		}
 	}
 
 	@Override
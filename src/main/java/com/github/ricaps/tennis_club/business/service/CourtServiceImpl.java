@@ -1,29 +1,49 @@
 package com.github.ricaps.tennis_club.business.service;
 
+import com.github.ricaps.tennis_club.business.catalog.CatalogVersion;
 import com.github.ricaps.tennis_club.business.service.definition.CourtService;
 import com.github.ricaps.tennis_club.business.service.definition.GenericService;
 import com.github.ricaps.tennis_club.exception.EntityNotExistsException;
 import com.github.ricaps.tennis_club.peristence.dao.definition.CourtDao;
 import com.github.ricaps.tennis_club.peristence.entity.Court;
+import com.github.ricaps.tennis_club.peristence.utils.CountStrategy;
+import com.github.ricaps.tennis_club.peristence.utils.CursorResult;
+import com.github.ricaps.tennis_club.peristence.utils.PageableResult;
+import com.github.ricaps.tennis_club.peristence.utils.SeekCursor;
+import com.github.ricaps.tennis_club.utils.TransactionUtils;
+import com.github.ricaps.tennis_club.utils.ValidationHelper;
+import jakarta.annotation.Nullable;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
 public class CourtServiceImpl implements CourtService {
 
+	private final CourtDao courtDao;
+
+	private final CatalogVersion catalogVersion;
+
 	private final GenericService<Court> genericService;
 
-	public CourtServiceImpl(CourtDao courtDao) {
+	public CourtServiceImpl(CourtDao courtDao, CatalogVersion catalogVersion) {
+		this.courtDao = courtDao;
+		this.catalogVersion = catalogVersion;
 		this.genericService = new GenericService<>(courtDao, Court.class);
 	}
 
 	@Override
 	public Court create(Court entity) {
-		return genericService.create(entity);
+		final Court created = genericService.create(entity);
+		TransactionUtils.afterCommit(catalogVersion::increment);
+
+		return created;
 	}
 
 	@Override
@@ -36,19 +56,72 @@ public class CourtServiceImpl implements CourtService {
 		return genericService.getReference(uuid);
 	}
 
+	@Override
+	public Court getUncheckedReference(UUID uuid) {
+		ValidationHelper.requireNonNull(uuid, "Court uid must not be null!");
+
+		return courtDao.findReferenceById(uuid);
+	}
+
+	@Override
+	public List<Court> getReferences(Collection<UUID> uuids) throws EntityNotExistsException {
+		return genericService.getReferences(uuids);
+	}
+
 	@Override
 	public List<Court> getAll(Pageable pageable) {
 		return genericService.getAll(pageable);
 	}
 
+	@Override
+	public PageableResult<Court> getAll(Pageable pageable, CountStrategy countStrategy) {
+		return genericService.getAll(pageable, countStrategy);
+	}
+
+	@Override
+	public CursorResult<Court> getAll(SeekCursor cursor, int pageSize) {
+		return genericService.getAll(cursor, pageSize);
+	}
+
+	@Override
+	public List<Court> getAllBySurface(@Nullable UUID surfaceUid) {
+		return courtDao.findAllBySurface(surfaceUid);
+	}
+
+	@Override
+	public List<Court> getAllByUids(Collection<UUID> uids) throws EntityNotExistsException {
+		ValidationHelper.requireNonNull(uids, "UIDs cannot be null!");
+
+		List<Court> courts = courtDao.findAllByUids(Set.copyOf(uids));
+		Set<UUID> missing = new HashSet<>(uids);
+		courts.forEach(court -> missing.remove(court.getUid()));
+
+		if (!missing.isEmpty()) {
+			throw new EntityNotExistsException("Entity with ID %s doesn't exist!".formatted(missing.iterator().next()));
+		}
+
+		return courts;
+	}
+
 	@Override
 	public Court update(Court entity) {
-		return genericService.update(entity);
+		final Court updated = genericService.update(entity);
+		TransactionUtils.afterCommit(this::evictCatalog);
+
+		return updated;
 	}
 
 	@Override
 	public void delete(UUID uid) {
 		genericService.delete(uid);
+		// Soft delete is a bulk update, so courts cached by concurrent reads before the
+		// commit are evicted once more
+		TransactionUtils.afterCommit(this::evictCatalog);
+	}
+
+	private void evictCatalog() {
+		courtDao.evictFromCache();
+		catalogVersion.increment();
 	}
 
 	@Override
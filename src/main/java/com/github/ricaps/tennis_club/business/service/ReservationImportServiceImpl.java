@@ -0,0 +1,554 @@
+package com.github.ricaps.tennis_club.business.service;
+
+import com.github.ricaps.tennis_club.business.catalog.CatalogVersion;
+import com.github.ricaps.tennis_club.business.event.ReservationChange;
+import com.github.ricaps.tennis_club.business.event.ReservationChangeBus;
+import com.github.ricaps.tennis_club.business.index.CourtAvailabilityIndex;
+import com.github.ricaps.tennis_club.business.index.ReservationIntervalIndex;
+import com.github.ricaps.tennis_club.business.lock.CourtLockRegistry;
+import com.github.ricaps.tennis_club.business.service.definition.ReservationImportService;
+import com.github.ricaps.tennis_club.business.utils.CsvReader;
+import com.github.ricaps.tennis_club.peristence.dao.definition.CourtDao;
+import com.github.ricaps.tennis_club.peristence.dao.definition.ReservationDao;
+import com.github.ricaps.tennis_club.peristence.dao.definition.SurfaceDao;
+import com.github.ricaps.tennis_club.peristence.dao.definition.UserDao;
+import com.github.ricaps.tennis_club.peristence.entity.Court;
+import com.github.ricaps.tennis_club.peristence.entity.MoneyAmount;
+import com.github.ricaps.tennis_club.peristence.entity.Reservation;
+import com.github.ricaps.tennis_club.peristence.entity.Role;
+import com.github.ricaps.tennis_club.peristence.entity.Surface;
+import com.github.ricaps.tennis_club.peristence.entity.User;
+import com.github.ricaps.tennis_club.peristence.projection.ReservationInterval;
+import com.github.ricaps.tennis_club.utils.TransactionUtils;
+import com.github.ricaps.tennis_club.utils.UUIDUtils;
+import com.github.ricaps.tennis_club.utils.ValidationHelper;
+import jakarta.validation.ValidationException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Imports reservations in four stages: CSV records are read one by one and grouped by
+ * court, court names are resolved by a lookup map built once, rows of every court are
+ * parsed and checked for overlaps in parallel with other courts, and valid rows are
+ * inserted in JDBC batches through a stateless session. Validation and write run in one
+ * transaction holding the row locks of the courts, so an import is written whole or not
+ * at all. <br>
+ * Imported reservations are put into the indexes and published to the change bus after
+ * commit. They are not written into the outbox, historical reservations are not new
+ * bookings to be billed or notified about.
+ */
+@Slf4j
+@Service
+public class ReservationImportServiceImpl implements ReservationImportService {
+
+	public static final int MAX_REPORTED_ERRORS = 100;
+
+	static final int PROGRESS_INTERVAL = 100_000;
+
+	public static final int WRITE_CHUNK_SIZE = 10_000;
+
+	// Not a BCrypt hash, imported customers cannot log in until their password is set
+	static final String IMPORTED_USER_PASSWORD = "!";
+
+	private static final String COURT_NAME = "courtName";
+
+	private static final String SURFACE_NAME = "surfaceName";
+
+	private static final String PHONE_NUMBER = "phoneNumber";
+
+	private static final String FIRST_NAME = "firstName";
+
+	private static final String FAMILY_NAME = "familyName";
+
+	private static final String FROM_TIME = "fromTime";
+
+	private static final String TO_TIME = "toTime";
+
+	private static final String IS_QUAD_GAME = "isQuadGame";
+
+	private static final List<String> REQUIRED_COLUMNS = List.of(COURT_NAME, PHONE_NUMBER, FROM_TIME, TO_TIME);
+
+	private final ReservationDao reservationDao;
+
+	private final CourtDao courtDao;
+
+	private final SurfaceDao surfaceDao;
+
+	private final UserDao userDao;
+
+	private final ReservationIntervalIndex intervalIndex;
+
+	private final CourtAvailabilityIndex availabilityIndex;
+
+	private final CourtLockRegistry courtLockRegistry;
+
+	private final CatalogVersion catalogVersion;
+
+	private final ReservationChangeBus changeBus;
+
+	private final TransactionTemplate transactionTemplate;
+
+	public ReservationImportServiceImpl(ReservationDao reservationDao, CourtDao courtDao, SurfaceDao surfaceDao,
+			UserDao userDao, ReservationIntervalIndex intervalIndex, CourtAvailabilityIndex availabilityIndex,
+			CourtLockRegistry courtLockRegistry, CatalogVersion catalogVersion, ReservationChangeBus changeBus,
+			PlatformTransactionManager transactionManager) {
+		this.reservationDao = reservationDao;
+		this.courtDao = courtDao;
+		this.surfaceDao = surfaceDao;
+		this.userDao = userDao;
+		this.intervalIndex = intervalIndex;
+		this.availabilityIndex = availabilityIndex;
+		this.courtLockRegistry = courtLockRegistry;
+		this.catalogVersion = catalogVersion;
+		this.changeBus = changeBus;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+	}
+
+	private static ImportStage finishStage(String name, long items, long startNanos) {
+		final ImportStage stage = new ImportStage(name, items, Duration.ofNanos(System.nanoTime() - startNanos));
+		log.info("Import stage {} processed {} items in {} ms ({} items/s)", name, items, stage.duration().toMillis(),
+				Math.round(stage.itemsPerSecond()));
+
+		return stage;
+	}
+
+	private static void logProgress(String stage, long processed, long previous) {
+		if (processed / PROGRESS_INTERVAL != previous / PROGRESS_INTERVAL) {
+			log.info("Import stage {} processed {} items", stage, processed);
+		}
+	}
+
+	@Override
+	public ImportReport importReservations(Reader csv, boolean dryRun) {
+		ValidationHelper.requireNonNull(csv, "CSV cannot be null!");
+
+		final List<ImportStage> stages = new ArrayList<>();
+		final ImportErrors errors = new ImportErrors();
+
+		long start = System.nanoTime();
+		final ParsedCsv parsed = read(csv, errors);
+		stages.add(finishStage("read", parsed.rows(), start));
+
+		start = System.nanoTime();
+		final List<Court> newCourts = new ArrayList<>();
+		final Map<String, Court> courts = resolveCourts(parsed.rowsByCourt(), newCourts, errors);
+		final Map<String, UUID> userUids = userDao.findAllUidsByPhoneNumber();
+		stages.add(finishStage("resolve", parsed.rowsByCourt().size(), start));
+
+		final Set<UUID> existingCourtUids = new HashSet<>();
+		courts.values().forEach(court -> existingCourtUids.add(court.getUid()));
+		newCourts.forEach(court -> existingCourtUids.remove(court.getUid()));
+
+		// Existing reservations of the courts are checked and written in one transaction
+		// holding the court rows, so concurrent writes of any node cannot interleave
+		return courtLockRegistry.executeLocked(existingCourtUids, () -> transactionTemplate.execute(status -> {
+			existingCourtUids.stream().sorted().forEach(reservationDao::lockCourt);
+
+			final Queue<User> newUsers = new ConcurrentLinkedQueue<>();
+			final List<Reservation> reservations = validate(parsed, courts, existingCourtUids, userUids, newUsers,
+					errors, stages);
+
+			final boolean written = !dryRun && errors.count() == 0;
+			if (written) {
+				write(List.copyOf(newUsers), newCourts, reservations, stages);
+				TransactionUtils.afterCommit(() -> indexWritten(newCourts, reservations));
+			}
+
+			return new ImportReport(parsed.rows(), errors.count(), written ? reservations.size() : 0,
+					written ? newUsers.size() : 0, written ? newCourts.size() : 0, written, errors.reported(), stages);
+		}));
+	}
+
+	/**
+	 * Reads the records one by one and groups them by court, fields are parsed later
+	 */
+	private ParsedCsv read(Reader csv, ImportErrors errors) {
+		final Map<String, List<CsvRow>> rowsByCourt = new LinkedHashMap<>();
+		long rows = 0;
+
+		try (CsvReader reader = new CsvReader(csv)) {
+			final Columns columns = Columns.of(reader.readRecord());
+
+			List<String> record;
+			while ((record = reader.readRecord()) != null) {
+				if (record.size() == 1 && record.getFirst().isBlank()) {
+					continue;
+				}
+
+				final CsvRow row = new CsvRow(reader.getRecordLine(), record, columns);
+				final String courtName = row.get(COURT_NAME);
+				if (courtName.isEmpty()) {
+					errors.add(row.line(), "Court name is missing!");
+				}
+				else {
+					rowsByCourt.computeIfAbsent(courtName, name -> new ArrayList<>()).add(row);
+				}
+
+				rows++;
+				logProgress("read", rows, rows - 1);
+			}
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+
+		return new ParsedCsv(rows, rowsByCourt);
+	}
+
+	/**
+	 * Resolves court names by a lookup map of all courts. Unknown courts are created when
+	 * the surface named by their first row exists.
+	 */
+	private Map<String, Court> resolveCourts(Map<String, List<CsvRow>> rowsByCourt, List<Court> newCourts,
+			ImportErrors errors) {
+		final Map<String, Court> existing = new HashMap<>();
+		final Set<String> ambiguous = new HashSet<>();
+		for (Court court : courtDao.findAllBySurface(null)) {
+			if (existing.putIfAbsent(court.getName(), court) != null) {
+				ambiguous.add(court.getName());
+			}
+		}
+
+		final Map<String, String> missingSurfaceNames = new HashMap<>();
+		rowsByCourt.forEach((courtName, rows) -> {
+			if (!existing.containsKey(courtName)) {
+				missingSurfaceNames.put(courtName, rows.getFirst().get(SURFACE_NAME));
+			}
+		});
+
+		final Map<String, Surface> surfaces = new HashMap<>();
+		surfaceDao.findAllByNames(new HashSet<>(missingSurfaceNames.values()))
+			.forEach(surface -> surfaces.putIfAbsent(surface.getName(), surface));
+
+		final Map<String, Court> courts = new HashMap<>();
+		rowsByCourt.forEach((courtName, rows) -> {
+			final Surface surface = surfaces.get(missingSurfaceNames.get(courtName));
+
+			if (ambiguous.contains(courtName)) {
+				rows.forEach(row -> errors.add(row.line(), "Court name %s is not unique!".formatted(courtName)));
+			}
+			else if (existing.containsKey(courtName)) {
+				courts.put(courtName, existing.get(courtName));
+			}
+			else if (surface != null) {
+				final Court court = Court.builder().uid(UUIDUtils.generate()).name(courtName).surface(surface).build();
+				courts.put(courtName, court);
+				newCourts.add(court);
+			}
+			else {
+				rows.forEach(row -> errors.add(row.line(),
+						"Court %s doesn't exist and surface of a new court is not known!".formatted(courtName)));
+			}
+		});
+
+		return courts;
+	}
+
+	private List<Reservation> validate(ParsedCsv parsed, Map<String, Court> courts, Set<UUID> existingCourtUids,
+			Map<String, UUID> userUids, Queue<User> newUsers, ImportErrors errors, List<ImportStage> stages) {
+		final long start = System.nanoTime();
+		final AtomicLong validated = new AtomicLong();
+		final Map<String, User> users = new ConcurrentHashMap<>();
+
+		final List<CourtReservations> parsedCourts = courts.entrySet().parallelStream().map(entry -> {
+			final List<CsvRow> rows = parsed.rowsByCourt().get(entry.getKey());
+			final Court court = entry.getValue();
+			final Map<UUID, Long> lines = new HashMap<>();
+			final List<Reservation> courtReservations = new ArrayList<>(rows.size());
+
+			for (CsvRow row : rows) {
+				final Reservation reservation = parseRow(row, court, userUids, users, newUsers, errors);
+				if (reservation != null) {
+					lines.put(reservation.getUid(), row.line());
+					courtReservations.add(reservation);
+				}
+			}
+
+			final long processed = validated.addAndGet(rows.size());
+			logProgress("validate", processed, processed - rows.size());
+
+			return new CourtReservations(court, courtReservations, lines, new ArrayList<>());
+		}).toList();
+
+		// Loaded by this thread, workers of the parallel stream are outside of the
+		// transaction holding the court locks
+		parsedCourts.stream()
+			.filter(courtReservations -> existingCourtUids.contains(courtReservations.court().getUid()))
+			.forEach(this::loadExisting);
+
+		final List<Reservation> reservations = parsedCourts.parallelStream().flatMap(courtReservations -> {
+			sweepCourt(courtReservations, errors);
+			return courtReservations.reservations().stream();
+		}).toList();
+
+		stages.add(finishStage("validate", validated.get(), start));
+		return reservations;
+	}
+
+	private Reservation parseRow(CsvRow row, Court court, Map<String, UUID> userUids, Map<String, User> users,
+			Queue<User> newUsers, ImportErrors errors) {
+		final OffsetDateTime fromTime;
+		final OffsetDateTime toTime;
+		try {
+			fromTime = OffsetDateTime.parse(row.get(FROM_TIME));
+			toTime = OffsetDateTime.parse(row.get(TO_TIME));
+		}
+		catch (DateTimeParseException e) {
+			errors.add(row.line(), "Time is not a valid ISO date time with offset: %s".formatted(e.getParsedString()));
+			return null;
+		}
+
+		if (!fromTime.isBefore(toTime)) {
+			errors.add(row.line(), "From time must be before to time!");
+			return null;
+		}
+
+		if (Duration.between(fromTime, toTime).toMinutes() > ReservationServiceImpl.RESERVATION_MAX_HOURS * 60) {
+			errors.add(row.line(), "Reservation can be created for maximum 3 hours!");
+			return null;
+		}
+
+		final String isQuadGame = row.get(IS_QUAD_GAME);
+		if (!isQuadGame.isEmpty() && !isQuadGame.equalsIgnoreCase("true") && !isQuadGame.equalsIgnoreCase("false")) {
+			errors.add(row.line(), "Quad game must be true or false!");
+			return null;
+		}
+
+		final String phoneNumber = row.get(PHONE_NUMBER);
+		final User user = phoneNumber.isEmpty() ? null : users.computeIfAbsent(phoneNumber, phone -> {
+			final UUID uid = userUids.get(phone);
+			if (uid != null) {
+				return User.builder().uid(uid).build();
+			}
+
+			if (row.get(FIRST_NAME).isEmpty() || row.get(FAMILY_NAME).isEmpty()) {
+				return null;
+			}
+
+			final User newUser = User.builder()
+				.uid(UUIDUtils.generate())
+				.phoneNumber(phone)
+				.firstName(row.get(FIRST_NAME))
+				.familyName(row.get(FAMILY_NAME))
+				.password(IMPORTED_USER_PASSWORD)
+				.roles(new HashSet<>(Set.of(Role.USER)))
+				.build();
+			newUsers.add(newUser);
+
+			return newUser;
+		});
+
+		if (user == null) {
+			errors.add(row.line(), "User with phone %s doesn't exist and their first or family name is missing!"
+				.formatted(phoneNumber));
+			return null;
+		}
+
+		final Reservation reservation = Reservation.builder()
+			.uid(UUIDUtils.generate())
+			.court(court)
+			.user(user)
+			.fromTime(fromTime)
+			.toTime(toTime)
+			.isQuadGame(Boolean.parseBoolean(isQuadGame))
+			.build();
+		reservation.setTotalPrice(new MoneyAmount(ReservationServiceImpl.calculateTotalPrice(reservation),
+				court.getSurface().getCurrency()));
+
+		return reservation;
+	}
+
+	/**
+	 * Loads existing reservations of the court within the time frame of the imported ones
+	 * by a single query
+	 */
+	private void loadExisting(CourtReservations courtReservations) {
+		final List<Reservation> reservations = courtReservations.reservations();
+		if (reservations.isEmpty()) {
+			return;
+		}
+
+		final OffsetDateTime from = reservations.stream()
+			.map(Reservation::getFromTime)
+			.min(OffsetDateTime.timeLineOrder())
+			.orElseThrow();
+		final OffsetDateTime to = reservations.stream()
+			.map(Reservation::getToTime)
+			.max(OffsetDateTime.timeLineOrder())
+			.orElseThrow();
+		courtReservations.existing()
+			.addAll(reservationDao.getReservationIntervalsAtTimeFrame(courtReservations.court().getUid(), from, to));
+	}
+
+	/**
+	 * Checks the imported reservations of one court against each other and the existing
+	 * ones. All intervals are swept in the order of their start, an interval conflicts
+	 * when it starts before the latest end seen so far.
+	 */
+	private void sweepCourt(CourtReservations courtReservations, ImportErrors errors) {
+		final UUID courtUid = courtReservations.court().getUid();
+		final Map<UUID, Long> lines = courtReservations.lines();
+
+		final List<ReservationInterval> intervals = new ArrayList<>(courtReservations.existing());
+		for (Reservation reservation : courtReservations.reservations()) {
+			intervals.add(new ReservationInterval(reservation.getUid(), courtUid, reservation.getFromTime(),
+					reservation.getToTime()));
+		}
+		intervals.sort(Comparator.comparing(ReservationInterval::fromTime, OffsetDateTime.timeLineOrder()));
+
+		ReservationInterval latest = null;
+		for (ReservationInterval interval : intervals) {
+			if (latest != null && !interval.fromTime().isAfter(latest.toTime())) {
+				final Long line = lines.get(interval.uid());
+				final Long latestLine = lines.get(latest.uid());
+
+				if (line != null && latestLine != null) {
+					errors.add(line, "Reservation overlaps reservation at line %d!".formatted(latestLine));
+				}
+				else if (line != null || latestLine != null) {
+					final ReservationInterval existing = line == null ? interval : latest;
+					errors.add(line != null ? line : latestLine,
+							"Reservation overlaps existing reservation %s!".formatted(existing.uid()));
+				}
+			}
+
+			if (latest == null || interval.toTime().isAfter(latest.toTime())) {
+				latest = interval;
+			}
+		}
+	}
+
+	private void write(List<User> newUsers, List<Court> newCourts, List<Reservation> reservations,
+			List<ImportStage> stages) {
+		final long start = System.nanoTime();
+		userDao.insertAll(newUsers);
+		courtDao.insertAll(newCourts);
+
+		for (int from = 0; from < reservations.size(); from += WRITE_CHUNK_SIZE) {
+			final List<Reservation> chunk = reservations.subList(from,
+					Math.min(from + WRITE_CHUNK_SIZE, reservations.size()));
+			reservationDao.insertAll(chunk);
+			logProgress("write", from + chunk.size(), from);
+		}
+
+		stages.add(finishStage("write", newUsers.size() + newCourts.size() + reservations.size(), start));
+	}
+
+	/**
+	 * Puts committed reservations which haven't ended yet into the indexes and publishes
+	 * them, ended ones are neither indexed nor of interest to subscribers
+	 */
+	private void indexWritten(List<Court> newCourts, List<Reservation> reservations) {
+		if (!newCourts.isEmpty()) {
+			catalogVersion.increment();
+		}
+
+		final OffsetDateTime now = OffsetDateTime.now();
+		reservations.stream().filter(reservation -> reservation.getToTime().isAfter(now)).forEach(reservation -> {
+			intervalIndex.put(reservation);
+			availabilityIndex.put(reservation);
+			changeBus.publish(ReservationChange.of(ReservationChange.Type.CREATED, reservation));
+		});
+	}
+
+	private record ParsedCsv(long rows, Map<String, List<CsvRow>> rowsByCourt) {
+
+	}
+
+	private record CourtReservations(Court court, List<Reservation> reservations, Map<UUID, Long> lines,
+			List<ReservationInterval> existing) {
+
+	}
+
+	private record Columns(Map<String, Integer> indexes) {
+
+		private static Columns of(List<String> header) {
+			if (header == null) {
+				throw new ValidationException("CSV is empty, header is missing!");
+			}
+
+			final Map<String, Integer> indexes = new HashMap<>();
+			for (int i = 0; i < header.size(); i++) {
+				indexes.putIfAbsent(header.get(i).trim(), i);
+			}
+
+			final List<String> missing = REQUIRED_COLUMNS.stream()
+				.filter(column -> !indexes.containsKey(column))
+				.toList();
+			if (!missing.isEmpty()) {
+				throw new ValidationException("CSV header is missing columns %s!".formatted(missing));
+			}
+
+			return new Columns(indexes);
+		}
+
+	}
+
+	private record CsvRow(long line, List<String> fields, Columns columns) {
+
+		private String get(String column) {
+			final Integer index = columns.indexes().get(column);
+
+			return index == null || index >= fields.size() ? "" : fields.get(index).trim();
+		}
+
+	}
+
+	/**
+	 * Errors collected by concurrent validation of courts, only the first ones by line
+	 * are kept
+	 */
+	private static class ImportErrors {
+
+		private final List<ImportError> errors = new ArrayList<>();
+
+		private long count;
+
+		private synchronized void add(long line, String message) {
+			count++;
+			errors.add(new ImportError(line, message));
+
+			if (errors.size() > MAX_REPORTED_ERRORS * 2) {
+				trim();
+			}
+		}
+
+		private synchronized long count() {
+			return count;
+		}
+
+		private synchronized List<ImportError> reported() {
+			trim();
+			return List.copyOf(errors);
+		}
+
+		private void trim() {
+			errors.sort(Comparator.comparingLong(ImportError::line));
+			errors.subList(Math.min(errors.size(), MAX_REPORTED_ERRORS), errors.size()).clear();
+		}
+
+	}
+
+}
@@ -1,27 +1,59 @@
 package com.github.ricaps.tennis_club.business.service;
 
+import com.github.ricaps.tennis_club.business.event.ReservationChange;
+import com.github.ricaps.tennis_club.business.event.ReservationChangeBus;
+import com.github.ricaps.tennis_club.business.index.CourtAvailabilityIndex;
+import com.github.ricaps.tennis_club.business.index.CourtAvailabilityIndex.FreeSlot;
+import com.github.ricaps.tennis_club.business.index.ReservationIntervalIndex;
+import com.github.ricaps.tennis_club.business.lock.CourtLockRegistry;
 import com.github.ricaps.tennis_club.business.service.definition.GenericService;
 import com.github.ricaps.tennis_club.business.service.definition.ReservationService;
 import com.github.ricaps.tennis_club.business.utils.MoneyUtils;
 import com.github.ricaps.tennis_club.exception.EntityExistsException;
 import com.github.ricaps.tennis_club.exception.EntityNotExistsException;
 import com.github.ricaps.tennis_club.peristence.dao.definition.ReservationDao;
-import com.github.ricaps.tennis_club.peristence.entity.Court;
+import com.github.ricaps.tennis_club.peristence.dao.definition.ReservationOutboxDao;
+import com.github.ricaps.tennis_club.peristence.dao.definition.ReservationSeriesDao;
 import com.github.ricaps.tennis_club.peristence.entity.MoneyAmount;
 import com.github.ricaps.tennis_club.peristence.entity.Reservation;
+import com.github.ricaps.tennis_club.peristence.entity.ReservationOutboxEvent;
+import com.github.ricaps.tennis_club.peristence.entity.ReservationSeries;
+import com.github.ricaps.tennis_club.peristence.projection.ReservationInterval;
+import com.github.ricaps.tennis_club.peristence.projection.ReservationView;
+import com.github.ricaps.tennis_club.peristence.utils.CountStrategy;
+import com.github.ricaps.tennis_club.peristence.utils.CursorResult;
 import com.github.ricaps.tennis_club.peristence.utils.PageableResult;
+import com.github.ricaps.tennis_club.peristence.utils.SeekCursor;
+import com.github.ricaps.tennis_club.utils.TransactionUtils;
+import com.github.ricaps.tennis_club.utils.UUIDUtils;
 import com.github.ricaps.tennis_club.utils.ValidationHelper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.validation.ValidationException;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.Duration;
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.Currency;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 @Service
 public class ReservationServiceImpl implements ReservationService {
@@ -30,16 +62,63 @@ public class ReservationServiceImpl implements ReservationService {
 
 	public static final int RESERVATION_MAX_HOURS = 3;
 
+	public static final int AVAILABILITY_MAX_DAYS = 7;
+
+	public static final int BATCH_MAX_SIZE = 100;
+
+	public static final int SERIES_MAX_OCCURRENCES = 104;
+
+	private static final String RESERVATION_CONFLICT_ERROR = "There is already existing reservation for the specified time frame!";
+
 	private final ReservationDao reservationDao;
 
+	private final ReservationSeriesDao reservationSeriesDao;
+
+	private final ReservationOutboxDao outboxDao;
+
+	private final ReservationIntervalIndex intervalIndex;
+
+	private final CourtAvailabilityIndex availabilityIndex;
+
+	private final CourtLockRegistry courtLockRegistry;
+
+	private final ReservationChangeBus changeBus;
+
+	private final TransactionTemplate transactionTemplate;
+
 	private final GenericService<Reservation> genericService;
 
-	public ReservationServiceImpl(ReservationDao reservationDao) {
+	private final Timer createTimer;
+
+	private final Timer updateTimer;
+
+	public ReservationServiceImpl(ReservationDao reservationDao, ReservationSeriesDao reservationSeriesDao,
+			ReservationOutboxDao outboxDao, ReservationIntervalIndex intervalIndex,
+			CourtAvailabilityIndex availabilityIndex, CourtLockRegistry courtLockRegistry,
+			ReservationChangeBus changeBus, PlatformTransactionManager transactionManager,
+			MeterRegistry meterRegistry) {
 		this.reservationDao = reservationDao;
+		this.reservationSeriesDao = reservationSeriesDao;
+		this.outboxDao = outboxDao;
+		this.intervalIndex = intervalIndex;
+		this.availabilityIndex = availabilityIndex;
+		this.courtLockRegistry = courtLockRegistry;
+		this.changeBus = changeBus;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
 		this.genericService = new GenericService<>(reservationDao, Reservation.class);
+		this.createTimer = writeTimer("create", meterRegistry);
+		this.updateTimer = writeTimer("update", meterRegistry);
 	}
 
-	private static BigDecimal calculateTotalPrice(Reservation reservation) {
+	private static Timer writeTimer(String operation, MeterRegistry meterRegistry) {
+		return Timer.builder("reservation.write")
+			.description("Time of writing a single reservation, including waiting for the court lock")
+			.tag("operation", operation)
+			.publishPercentileHistogram()
+			.register(meterRegistry);
+	}
+
+	static BigDecimal calculateTotalPrice(Reservation reservation) {
 		final BigDecimal minutePrice = reservation.getCourt().getSurface().getPrice();
 		final long reservationDuration = Duration.between(reservation.getFromTime(), reservation.getToTime())
 			.toMinutes();
@@ -63,32 +142,325 @@ public class ReservationServiceImpl implements ReservationService {
 
 	@Override
 	public Reservation create(Reservation entity) {
-		ValidationHelper.requireNonNull(entity, "Reservation must not be null!");
-		validateTimeRange(entity);
-		validateExistingReservation(entity);
+		return createTimer.record(() -> {
+			ValidationHelper.requireNonNull(entity, "Reservation must not be null!");
+			validateTimeRange(entity);
+
+			return writeLocked(entity, ReservationChange.Type.CREATED, () -> {
+				validateExistingReservation(entity);
+				setTotalPrice(entity);
+
+				return genericService.create(entity);
+			});
+		});
+	}
+
+	@Override
+	public List<Reservation> createAll(List<Reservation> entities) {
+		ValidationHelper.requireNonNull(entities, "Reservations must not be null!");
+
+		if (entities.size() > BATCH_MAX_SIZE) {
+			throw new ValidationException("Maximum %d reservations can be created at once!".formatted(BATCH_MAX_SIZE));
+		}
+
+		final Map<UUID, List<Reservation>> reservationsByCourt = new HashMap<>();
+		for (Reservation entity : entities) {
+			ValidationHelper.requireNonNull(entity, "Reservation must not be null!");
+			ValidationHelper.requireUuidExists(entity);
+			validateTimeRange(entity);
+			reservationsByCourt.computeIfAbsent(entity.getCourt().getUid(), uid -> new ArrayList<>()).add(entity);
+		}
+
+		return courtLockRegistry.executeLocked(reservationsByCourt.keySet(),
+				() -> transactionTemplate.execute(status -> {
+					reservationsByCourt.keySet().stream().sorted().forEach(this::lockExistingCourt);
+					reservationsByCourt.forEach(this::validateBatchAtCourt);
+					entities.forEach(this::setTotalPrice);
+
+					reservationDao.saveAll(entities);
+					addToOutbox(ReservationChange.Type.CREATED, entities);
+					TransactionUtils.afterCommit(
+							() -> entities.forEach(created -> indexWritten(created, ReservationChange.Type.CREATED)));
+
+					return entities;
+				}));
+	}
+
+	/**
+	 * Checks the batch of reservations at one court against itself and the existing
+	 * reservations with a single query. All intervals are swept in the order of their
+	 * start, an interval conflicts when it starts before the latest end seen so far.
+	 */
+	private void validateBatchAtCourt(UUID courtUid, List<Reservation> reservations) {
+		final Set<UUID> batchUids = new HashSet<>();
+		final List<ReservationInterval> intervals = new ArrayList<>();
+		for (Reservation reservation : reservations) {
+			batchUids.add(reservation.getUid());
+			intervals.add(new ReservationInterval(reservation.getUid(), courtUid, reservation.getFromTime(),
+					reservation.getToTime()));
+		}
+
+		final OffsetDateTime from = intervals.stream()
+			.map(ReservationInterval::fromTime)
+			.min(OffsetDateTime.timeLineOrder())
+			.orElseThrow();
+		final OffsetDateTime to = intervals.stream()
+			.map(ReservationInterval::toTime)
+			.max(OffsetDateTime.timeLineOrder())
+			.orElseThrow();
+		intervals.addAll(reservationDao.getReservationIntervalsAtTimeFrame(courtUid, from, to));
+		intervals.sort(Comparator.comparing(ReservationInterval::fromTime, OffsetDateTime.timeLineOrder()));
+
+		ReservationInterval latest = null;
+		for (ReservationInterval interval : intervals) {
+			if (latest != null && !interval.fromTime().isAfter(latest.toTime())) {
+				if (batchUids.contains(latest.uid()) && batchUids.contains(interval.uid())) {
+					throw new EntityExistsException("Reservations of the batch overlap at court %s from %s!"
+						.formatted(courtUid, interval.fromTime()));
+				}
+
+				ReservationInterval created = batchUids.contains(interval.uid()) ? interval : latest;
+				throw new EntityExistsException(
+						"There is already existing reservation at court %s for the time frame from %s to %s!"
+							.formatted(courtUid, created.fromTime(), created.toTime()));
+			}
+
+			if (latest == null || interval.toTime().isAfter(latest.toTime())) {
+				latest = interval;
+			}
+		}
+	}
+
+	private static void validateSeries(ReservationSeries series) {
+		ValidationHelper.requireNonNull(series, "Reservation series must not be null!");
+
+		if (series.getIntervalWeeks() == null || series.getIntervalWeeks() < 1) {
+			throw new ValidationException("Interval of the series must be at least one week!");
+		}
+
+		if (series.getOccurrences() == null || series.getOccurrences() < 1
+				|| series.getOccurrences() > SERIES_MAX_OCCURRENCES) {
+			throw new ValidationException(
+					"Series must have between 1 and %d occurrences!".formatted(SERIES_MAX_OCCURRENCES));
+		}
+
+		validateTimeRange(series.occurrence(0));
+	}
+
+	private static List<Reservation> expandSeries(ReservationSeries series) {
+		final List<Reservation> occurrences = new ArrayList<>(series.getOccurrences());
+		for (int i = 0; i < series.getOccurrences(); i++) {
+			occurrences.add(series.occurrence(i));
+		}
+
+		return occurrences;
+	}
+
+	@Override
+	public List<SeriesConflict> findSeriesConflicts(ReservationSeries series) {
+		validateSeries(series);
+
+		final List<Reservation> occurrences = expandSeries(series);
+		return Arrays.stream(findConflicts(series.getCourt().getUid(), occurrences)).filter(Objects::nonNull).toList();
+	}
+
+	@Override
+	public SeriesResult createSeries(ReservationSeries series, boolean skipConflicts) {
+		validateSeries(series);
+		ValidationHelper.requireUuidExists(series);
+
+		final List<Reservation> occurrences = expandSeries(series);
+		final UUID courtUid = series.getCourt().getUid();
+
+		return courtLockRegistry.executeLocked(courtUid, () -> transactionTemplate.execute(status -> {
+			lockExistingCourt(courtUid);
+
+			final SeriesConflict[] conflictAt = findConflicts(courtUid, occurrences);
+			final List<SeriesConflict> conflicts = Arrays.stream(conflictAt).filter(Objects::nonNull).toList();
+			if (!conflicts.isEmpty() && (!skipConflicts || conflicts.size() == occurrences.size())) {
+				throw new EntityExistsException(
+						"%d of %d occurrences of the series conflict with existing reservations, the first one from %s!"
+							.formatted(conflicts.size(), occurrences.size(), conflicts.getFirst().fromTime()));
+			}
+
+			final List<Reservation> created = new ArrayList<>();
+			for (int i = 0; i < occurrences.size(); i++) {
+				if (conflictAt[i] == null) {
+					final Reservation occurrence = occurrences.get(i);
+					occurrence.setUid(UUIDUtils.generate());
+					setTotalPrice(occurrence);
+					created.add(occurrence);
+				}
+			}
+
+			reservationSeriesDao.save(series);
+			reservationDao.saveAll(created);
+			addToOutbox(ReservationChange.Type.CREATED, created);
+			TransactionUtils.afterCommit(
+					() -> created.forEach(reservation -> indexWritten(reservation, ReservationChange.Type.CREATED)));
+
+			return new SeriesResult(series, created, conflicts);
+		}));
+	}
+
+	/**
+	 * Matches occurrences of a series against existing reservations fetched by a single
+	 * query over the span of the series. Both are ordered by their start and existing
+	 * reservations don't overlap, so one pass over each list is enough.
+	 * @return conflict of every occurrence, null for occurrences without conflict
+	 */
+	private SeriesConflict[] findConflicts(UUID courtUid, List<Reservation> occurrences) {
+		final List<ReservationInterval> existing = reservationDao.getReservationIntervalsAtTimeFrame(courtUid,
+				occurrences.getFirst().getFromTime(), occurrences.getLast().getToTime());
+		final SeriesConflict[] conflicts = new SeriesConflict[occurrences.size()];
+
+		int next = 0;
+		for (int i = 0; i < occurrences.size(); i++) {
+			final Reservation occurrence = occurrences.get(i);
+			while (next < existing.size() && existing.get(next).toTime().isBefore(occurrence.getFromTime())) {
+				next++;
+			}
+
+			if (next < existing.size() && !existing.get(next).fromTime().isAfter(occurrence.getToTime())) {
+				conflicts[i] = new SeriesConflict(occurrence.getFromTime(), occurrence.getToTime(),
+						existing.get(next).uid());
+			}
+		}
+
+		return conflicts;
+	}
+
+	@Override
+	public void deleteSeries(UUID seriesUid) {
+		ValidationHelper.requireNonNull(seriesUid, "Series uid must not be null!");
 
+		transactionTemplate.executeWithoutResult(status -> {
+			if (reservationSeriesDao.delete(seriesUid) == 0) {
+				throw new EntityNotExistsException("Entity with ID %s doesn't exist!".formatted(seriesUid));
+			}
+
+			final List<ReservationInterval> deleted = reservationDao.deleteBySeries(seriesUid);
+			outboxDao.saveAll(
+					deleted.stream().map(ReservationChange::deleted).map(ReservationServiceImpl::outboxEvent).toList());
+			TransactionUtils.afterCommit(() -> deleted.forEach(interval -> indexDeleted(interval.uid())));
+		});
+	}
+
+	/**
+	 * Runs the validate-and-persist section of a reservation write. The section is
+	 * serialized per court by the in-process lock, and by the court row lock held until
+	 * the transaction commits, so concurrent writes cannot both pass the overlap check.
+	 */
+	private Reservation writeLocked(Reservation entity, ReservationChange.Type type, Supplier<Reservation> write) {
+		final UUID courtUid = entity.getCourt().getUid();
+
+		return courtLockRegistry.executeLocked(courtUid, () -> transactionTemplate.execute(status -> {
+			lockExistingCourt(courtUid);
+			final Reservation written = write.get();
+			addToOutbox(type, List.of(written));
+			TransactionUtils.afterCommit(() -> indexWritten(written, type));
+
+			return written;
+		}));
+	}
+
+	/**
+	 * Locks the court row, which is the only check of the court existence on the write
+	 * paths
+	 */
+	private void lockExistingCourt(UUID courtUid) {
+		if (!reservationDao.lockCourt(courtUid)) {
+			throw new EntityNotExistsException("Entity with ID %s doesn't exist!".formatted(courtUid));
+		}
+	}
+
+	private static ReservationOutboxEvent outboxEvent(ReservationChange change) {
+		return ReservationOutboxEvent.builder()
+			.eventType(ReservationOutboxEvent.EventType.valueOf(change.type().name()))
+			.reservationUid(change.reservationUid())
+			.courtUid(change.courtUid())
+			.fromTime(change.fromTime())
+			.toTime(change.toTime())
+			.build();
+	}
+
+	/**
+	 * Writes events of the reservations into the outbox, in the transaction which writes
+	 * the reservations
+	 */
+	private void addToOutbox(ReservationChange.Type type, Collection<Reservation> reservations) {
+		outboxDao.saveAll(reservations.stream()
+			.map(reservation -> outboxEvent(ReservationChange.of(type, reservation)))
+			.toList());
+	}
+
+	/**
+	 * Puts committed reservation into the indexes and publishes the change. A reservation
+	 * moved to another court is published as deleted at the previous court.
+	 */
+	private void indexWritten(Reservation written, ReservationChange.Type type) {
+		final Optional<ReservationInterval> previous = intervalIndex.get(written.getUid())
+			.filter(interval -> !interval.courtUid().equals(written.getCourt().getUid()));
+
+		intervalIndex.put(written);
+		availabilityIndex.put(written);
+
+		previous.ifPresent(interval -> changeBus.publish(ReservationChange.deleted(interval)));
+		changeBus.publish(ReservationChange.of(type, written));
+	}
+
+	/**
+	 * Removes committed delete from the indexes and publishes it. The court is known only
+	 * from the index, so deletes of reservations which already ended are not published.
+	 */
+	private void indexDeleted(UUID uid) {
+		final Optional<ReservationInterval> deleted = intervalIndex.get(uid);
+
+		intervalIndex.remove(uid);
+		availabilityIndex.remove(uid);
+
+		deleted.ifPresent(interval -> changeBus.publish(ReservationChange.deleted(interval)));
+	}
+
+	private void setTotalPrice(Reservation entity) {
 		final BigDecimal totalPrice = calculateTotalPrice(entity);
 		final Currency priceCurrency = entity.getCourt().getSurface().getCurrency();
 		entity.setTotalPrice(new MoneyAmount(totalPrice, priceCurrency));
-
-		return genericService.create(entity);
 	}
 
 	private void validateExistingReservation(Reservation entity) {
-		final Court court = entity.getCourt();
-		final List<Reservation> reservationList = reservationDao.getReservationsAtTimeFrame(entity.getFromTime(),
-				entity.getToTime(), court.getUid());
+		final UUID courtUid = entity.getCourt().getUid();
+		final Optional<UUID> indexedConflict = intervalIndex.findConflict(courtUid, entity.getFromTime(),
+				entity.getToTime(), entity.getUid());
 
-		if (reservationList.size() == 1 && reservationList.getFirst().equals(entity)) {
-			// If there is only one reservation and the reservation is equal to current
-			// one
-			// In case of update
+		if (indexedConflict.isEmpty()) {
+			// The index doesn't know reservations written by other nodes, a single probe
+			// of the locked court guards against them
+			if (reservationDao.findOverlappingUid(courtUid, entity.getFromTime(), entity.getToTime(), entity.getUid())
+				.isPresent()) {
+				throw new EntityExistsException(RESERVATION_CONFLICT_ERROR);
+			}
 			return;
 		}
 
-		if (!reservationList.isEmpty()) {
-			throw new EntityExistsException("There is already existing reservation for the specified time frame!");
+		// The index may still hold an interval deleted or moved by another node, so its
+		// conflict is confirmed by the database
+		final List<Reservation> reservationList = reservationDao.getReservationsAtTimeFrame(entity.getFromTime(),
+				entity.getToTime(), courtUid);
+		if (reservationList.stream().anyMatch(reservation -> !reservation.equals(entity))) {
+			throw new EntityExistsException(RESERVATION_CONFLICT_ERROR);
 		}
+
+		removeStaleInterval(indexedConflict.get());
+	}
+
+	/**
+	 * Removes indexed reservation which the database doesn't have at its indexed time
+	 * frame
+	 */
+	private void removeStaleInterval(UUID uid) {
+		intervalIndex.remove(uid);
+		availabilityIndex.remove(uid);
 	}
 
 	@Override
@@ -96,32 +468,83 @@ public class ReservationServiceImpl implements ReservationService {
 		return genericService.get(uid);
 	}
 
+	@Override
+	public Map<UUID, List<FreeSlot>> getFreeSlots(Collection<UUID> courtUids, OffsetDateTime from, OffsetDateTime to,
+			Duration minDuration) {
+		ValidationHelper.requireNonNull(courtUids, "Court UIDs cannot be null!");
+		ValidationHelper.requireNonNull(from, "From cannot be null!");
+		ValidationHelper.requireNonNull(to, "To cannot be null!");
+		ValidationHelper.requireNonNull(minDuration, "Minimal duration cannot be null!");
+
+		if (!from.isBefore(to)) {
+			throw new ValidationException("From time must be before to time!");
+		}
+
+		if (Duration.between(from, to).toDays() >= AVAILABILITY_MAX_DAYS) {
+			throw new ValidationException(
+					"Availability can be searched for maximum %d days!".formatted(AVAILABILITY_MAX_DAYS));
+		}
+
+		if (minDuration.isNegative() || minDuration.toMinutes() > RESERVATION_MAX_HOURS * 60) {
+			throw new ValidationException("Duration must be between 0 and 3 hours!");
+		}
+
+		Map<UUID, List<FreeSlot>> freeSlots = new LinkedHashMap<>();
+		for (UUID courtUid : courtUids) {
+			freeSlots.put(courtUid,
+					availabilityIndex.findFreeSlots(courtUid, from.toInstant(), to.toInstant(), minDuration));
+		}
+
+		return freeSlots;
+	}
+
 	@Override
 	public Reservation getReference(UUID uuid) throws EntityNotExistsException {
 		return genericService.getReference(uuid);
 	}
 
+	@Override
+	public List<Reservation> getReferences(Collection<UUID> uuids) throws EntityNotExistsException {
+		return genericService.getReferences(uuids);
+	}
+
 	@Override
 	public List<Reservation> getAll(Pageable pageable) {
 		return genericService.getAll(pageable);
 	}
 
+	@Override
+	public PageableResult<Reservation> getAll(Pageable pageable, CountStrategy countStrategy) {
+		return genericService.getAll(pageable, countStrategy);
+	}
+
+	@Override
+	public CursorResult<Reservation> getAll(SeekCursor cursor, int pageSize) {
+		return genericService.getAll(cursor, pageSize);
+	}
+
 	@Override
 	public Reservation update(Reservation entity) {
-		ValidationHelper.requireNonNull(entity, "Reservation must not be null!");
-		validateTimeRange(entity);
-		validateExistingReservation(entity);
+		return updateTimer.record(() -> {
+			ValidationHelper.requireNonNull(entity, "Reservation must not be null!");
+			validateTimeRange(entity);
 
-		final BigDecimal totalPrice = calculateTotalPrice(entity);
-		final Currency priceCurrency = entity.getCourt().getSurface().getCurrency();
-		entity.setTotalPrice(new MoneyAmount(totalPrice, priceCurrency));
+			return writeLocked(entity, ReservationChange.Type.UPDATED, () -> {
+				validateExistingReservation(entity);
+				setTotalPrice(entity);
 
-		return genericService.update(entity);
+				return genericService.update(entity);
+			});
+		});
 	}
 
 	@Override
 	public void delete(UUID uid) {
-		genericService.delete(uid);
+		transactionTemplate.executeWithoutResult(status -> {
+			genericService.delete(uid);
+			outboxDao.saveDeleted(uid);
+			TransactionUtils.afterCommit(() -> indexDeleted(uid));
+		});
 	}
 
 	@Override
@@ -130,16 +553,47 @@ public class ReservationServiceImpl implements ReservationService {
 	}
 
 	@Override
-	public PageableResult<Reservation> getAllByCourt(UUID courtUID, Pageable pageable) {
+	public PageableResult<Reservation> getAllByCourt(UUID courtUID, Pageable pageable, CountStrategy countStrategy) {
 		return reservationDao.getReservationsAtCourt(courtUID, pageable.getPageNumber(), pageable.getPageSize(),
-				pageable.getSort());
+				pageable.getSort(), countStrategy);
+	}
+
+	@Override
+	public PageableResult<ReservationView> getViewsByCourt(UUID courtUID, Pageable pageable,
+			CountStrategy countStrategy) {
+		return reservationDao.getReservationViewsAtCourt(courtUID, pageable.getPageNumber(), pageable.getPageSize(),
+				pageable.getSort(), countStrategy);
+	}
+
+	@Override
+	public void streamViews(UUID courtUid, UUID userUid, OffsetDateTime from, OffsetDateTime to,
+			Consumer<ReservationView> consumer) {
+		reservationDao.streamViews(courtUid, userUid, from, to, consumer);
+	}
+
+	@Override
+	public CursorResult<Reservation> getAllByCourt(UUID courtUID, SeekCursor cursor, int pageSize) {
+		return reservationDao.getReservationsAtCourt(courtUID, cursor, pageSize);
 	}
 
 	@Override
 	public PageableResult<Reservation> getAllByPhoneNumber(String phoneNumber, OffsetDateTime fromTime,
-			Pageable pageable) {
+			Pageable pageable, CountStrategy countStrategy) {
 		return reservationDao.getReservationsByPhoneNumber(phoneNumber, fromTime, pageable.getPageNumber(),
-				pageable.getPageSize(), pageable.getSort());
+				pageable.getPageSize(), pageable.getSort(), countStrategy);
+	}
+
+	@Override
+	public PageableResult<ReservationView> getViewsByPhoneNumber(String phoneNumber, OffsetDateTime fromTime,
+			Pageable pageable, CountStrategy countStrategy) {
+		return reservationDao.getReservationViewsByPhoneNumber(phoneNumber, fromTime, pageable.getPageNumber(),
+				pageable.getPageSize(), pageable.getSort(), countStrategy);
+	}
+
+	@Override
+	public CursorResult<Reservation> getAllByPhoneNumber(String phoneNumber, OffsetDateTime fromTime, SeekCursor cursor,
+			int pageSize) {
+		return reservationDao.getReservationsByPhoneNumber(phoneNumber, fromTime, cursor, pageSize);
 	}
 
 }
@@ -1,14 +1,22 @@
 package com.github.ricaps.tennis_club.business.service;
 
+import com.github.ricaps.tennis_club.business.catalog.CatalogVersion;
 import com.github.ricaps.tennis_club.business.service.definition.GenericService;
 import com.github.ricaps.tennis_club.business.service.definition.SurfaceService;
 import com.github.ricaps.tennis_club.exception.EntityNotExistsException;
+import com.github.ricaps.tennis_club.peristence.dao.definition.CourtDao;
 import com.github.ricaps.tennis_club.peristence.dao.definition.SurfaceDao;
 import com.github.ricaps.tennis_club.peristence.entity.Surface;
+import com.github.ricaps.tennis_club.peristence.utils.CountStrategy;
+import com.github.ricaps.tennis_club.peristence.utils.CursorResult;
+import com.github.ricaps.tennis_club.peristence.utils.PageableResult;
+import com.github.ricaps.tennis_club.peristence.utils.SeekCursor;
+import com.github.ricaps.tennis_club.utils.TransactionUtils;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -17,15 +25,27 @@ import java.util.UUID;
 @Transactional
 public class SurfaceServiceImpl implements SurfaceService {
 
+	private final SurfaceDao surfaceDao;
+
+	private final CourtDao courtDao;
+
+	private final CatalogVersion catalogVersion;
+
 	private final GenericService<Surface> genericService;
 
-	public SurfaceServiceImpl(SurfaceDao surfaceDao) {
+	public SurfaceServiceImpl(SurfaceDao surfaceDao, CourtDao courtDao, CatalogVersion catalogVersion) {
+		this.surfaceDao = surfaceDao;
+		this.courtDao = courtDao;
+		this.catalogVersion = catalogVersion;
 		this.genericService = new GenericService<>(surfaceDao, Surface.class);
 	}
 
 	@Override
 	public Surface create(Surface entity) {
-		return genericService.create(entity);
+		final Surface created = genericService.create(entity);
+		TransactionUtils.afterCommit(catalogVersion::increment);
+
+		return created;
 	}
 
 	@Override
@@ -38,19 +58,48 @@ public class SurfaceServiceImpl implements SurfaceService {
 		return genericService.getReference(uuid);
 	}
 
+	@Override
+	public List<Surface> getReferences(Collection<UUID> uuids) throws EntityNotExistsException {
+		return genericService.getReferences(uuids);
+	}
+
 	@Override
 	public List<Surface> getAll(Pageable pageable) {
 		return genericService.getAll(pageable);
 	}
 
+	@Override
+	public PageableResult<Surface> getAll(Pageable pageable, CountStrategy countStrategy) {
+		return genericService.getAll(pageable, countStrategy);
+	}
+
+	@Override
+	public CursorResult<Surface> getAll(SeekCursor cursor, int pageSize) {
+		return genericService.getAll(cursor, pageSize);
+	}
+
 	@Override
 	public Surface update(Surface entity) {
-		return genericService.update(entity);
+		final Surface updated = genericService.update(entity);
+		TransactionUtils.afterCommit(this::evictCatalog);
+
+		return updated;
 	}
 
 	@Override
 	public void delete(UUID uid) {
 		genericService.delete(uid);
+		TransactionUtils.afterCommit(this::evictCatalog);
+	}
+
+	/**
+	 * Evicts surfaces together with courts, cached courts and court queries are read with
+	 * their surface
+	 */
+	private void evictCatalog() {
+		surfaceDao.evictFromCache();
+		courtDao.evictFromCache();
+		catalogVersion.increment();
 	}
 
 	@Override
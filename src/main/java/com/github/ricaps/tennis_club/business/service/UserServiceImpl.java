@@ -8,10 +8,17 @@ import com.github.ricaps.tennis_club.exception.ValueIsMissingException;
 import com.github.ricaps.tennis_club.peristence.dao.definition.UserDao;
 import com.github.ricaps.tennis_club.peristence.entity.Role;
 import com.github.ricaps.tennis_club.peristence.entity.User;
+import com.github.ricaps.tennis_club.peristence.utils.CountStrategy;
+import com.github.ricaps.tennis_club.peristence.utils.CursorResult;
+import com.github.ricaps.tennis_club.peristence.utils.PageableResult;
+import com.github.ricaps.tennis_club.peristence.utils.SeekCursor;
+import com.github.ricaps.tennis_club.security.UserPrincipalCache;
+import com.github.ricaps.tennis_club.utils.TransactionUtils;
 import com.github.ricaps.tennis_club.utils.ValidationHelper;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -24,9 +31,12 @@ public class UserServiceImpl implements UserService {
 
 	private final UserDao userDao;
 
-	public UserServiceImpl(UserDao userDao) {
+	private final UserPrincipalCache userPrincipalCache;
+
+	public UserServiceImpl(UserDao userDao, UserPrincipalCache userPrincipalCache) {
 		this.genericService = new GenericService<>(userDao, User.class);
 		this.userDao = userDao;
+		this.userPrincipalCache = userPrincipalCache;
 	}
 
 	private static void checkRolesNotEmpty(User entity) {
@@ -56,23 +66,42 @@ public class UserServiceImpl implements UserService {
 		return genericService.getReference(uuid);
 	}
 
+	@Override
+	public List<User> getReferences(Collection<UUID> uuids) throws EntityNotExistsException {
+		return genericService.getReferences(uuids);
+	}
+
 	@Override
 	public List<User> getAll(Pageable pageable) {
 		return genericService.getAll(pageable);
 	}
 
+	@Override
+	public PageableResult<User> getAll(Pageable pageable, CountStrategy countStrategy) {
+		return genericService.getAll(pageable, countStrategy);
+	}
+
+	@Override
+	public CursorResult<User> getAll(SeekCursor cursor, int pageSize) {
+		return genericService.getAll(cursor, pageSize);
+	}
+
 	@Override
 	public User update(User entity) {
 		ValidationHelper.requireNonNull(entity, "User cannot be null!");
 		checkRolesNotEmpty(entity);
 		checkPhoneNumberUnique(entity);
 
-		return genericService.update(entity);
+		User updated = genericService.update(entity);
+		TransactionUtils.afterCommit(() -> userPrincipalCache.invalidate(entity.getUid()));
+
+		return updated;
 	}
 
 	@Override
 	public void delete(UUID uid) {
 		genericService.delete(uid);
+		TransactionUtils.afterCommit(() -> userPrincipalCache.invalidate(uid));
 	}
 
 	@Override
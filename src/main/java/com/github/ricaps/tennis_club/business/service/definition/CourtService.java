@@ -1,7 +1,31 @@
 package com.github.ricaps.tennis_club.business.service.definition;
 
+import com.github.ricaps.tennis_club.exception.EntityNotExistsException;
 import com.github.ricaps.tennis_club.peristence.entity.Court;
+import jakarta.annotation.Nullable;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
 
 public interface CourtService extends CrudService<Court> {
 
+	List<Court> getAllBySurface(@Nullable UUID surfaceUid);
+
+	/**
+	 * Gets courts by their uids with a single query
+	 * @param uids uids of the courts
+	 * @return courts with their surface
+	 * @throws EntityNotExistsException when any of the courts doesn't exist
+	 */
+	List<Court> getAllByUids(Collection<UUID> uids) throws EntityNotExistsException;
+
+	/**
+	 * Gets lazy reference of a court without checking its existence. Only for writes
+	 * which confirm the existence by locking the court row.
+	 * @param uuid identifier of the court
+	 * @return lazy reference to the court
+	 */
+	Court getUncheckedReference(UUID uuid);
+
 }
@@ -2,8 +2,13 @@ package com.github.ricaps.tennis_club.business.service.definition;
 
 import com.github.ricaps.tennis_club.exception.EntityNotExistsException;
 import com.github.ricaps.tennis_club.peristence.entity.IdentifiedEntity;
+import com.github.ricaps.tennis_club.peristence.utils.CountStrategy;
+import com.github.ricaps.tennis_club.peristence.utils.CursorResult;
+import com.github.ricaps.tennis_club.peristence.utils.PageableResult;
+import com.github.ricaps.tennis_club.peristence.utils.SeekCursor;
 import org.springframework.data.domain.Pageable;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -32,6 +37,14 @@ public interface CrudService<EntityType extends IdentifiedEntity> {
 	 */
 	EntityType getReference(UUID uuid) throws EntityNotExistsException;
 
+	/**
+	 * Gets lazy references of entities, checking existence of all of them at once. <br>
+	 * If any entity doesn't exist, throws {@link EntityNotExistsException}
+	 * @param uuids identifiers of entities
+	 * @return lazy references in the order of the identifiers
+	 */
+	List<EntityType> getReferences(Collection<UUID> uuids) throws EntityNotExistsException;
+
 	/**
 	 * Get all entities paged.
 	 * @param pageable pageable object containing information about pages, sorting, ...
@@ -39,6 +52,22 @@ public interface CrudService<EntityType extends IdentifiedEntity> {
 	 */
 	List<EntityType> getAll(Pageable pageable);
 
+	/**
+	 * Get all entities paged with total count.
+	 * @param pageable pageable object containing information about pages, sorting, ...
+	 * @param countStrategy how the total count is obtained
+	 * @return entities with total count
+	 */
+	PageableResult<EntityType> getAll(Pageable pageable, CountStrategy countStrategy);
+
+	/**
+	 * Get page of entities following the cursor (keyset pagination).
+	 * @param cursor position and ordering of the listing
+	 * @param pageSize size of the page
+	 * @return entities with cursor of the next page
+	 */
+	CursorResult<EntityType> getAll(SeekCursor cursor, int pageSize);
+
 	/**
 	 * Updated given entity. Entity must exist for correct update.
 	 * @param entity entity for update
@@ -1,14 +1,20 @@
 package com.github.ricaps.tennis_club.business.service.definition;
 
-import com.github.ricaps.tennis_club.exception.EntityExistsException;
 import com.github.ricaps.tennis_club.exception.EntityNotExistsException;
 import com.github.ricaps.tennis_club.peristence.dao.definition.CrudDao;
 import com.github.ricaps.tennis_club.peristence.entity.IdentifiedEntity;
+import com.github.ricaps.tennis_club.peristence.utils.CountStrategy;
+import com.github.ricaps.tennis_club.peristence.utils.CursorResult;
+import com.github.ricaps.tennis_club.peristence.utils.PageableResult;
+import com.github.ricaps.tennis_club.peristence.utils.SeekCursor;
 import com.github.ricaps.tennis_club.utils.ValidationHelper;
 import org.springframework.data.domain.Pageable;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 public class GenericService<EntityType extends IdentifiedEntity> implements CrudService<EntityType> {
@@ -26,11 +32,9 @@ public class GenericService<EntityType extends IdentifiedEntity> implements Crud
 	public EntityType create(EntityType entity) {
 		ValidationHelper.requireNonNull(entity, "Please provide non null %s entity!".formatted(getEntityName()));
 		ValidationHelper.requireUuidExists(entity);
-		if (crudDao.existsById(entity.getUid())) {
-			throw new EntityExistsException(
-					"Entity %s with ID %s already exists!".formatted(getEntityName(), entity.getUid()));
-		}
 
+		// Uids are generated by the server, a duplicate one is rejected by the primary
+		// key
 		return crudDao.save(entity);
 	}
 
@@ -43,11 +47,21 @@ public class GenericService<EntityType extends IdentifiedEntity> implements Crud
 
 	@Override
 	public EntityType getReference(UUID uuid) throws EntityNotExistsException {
-		if (!crudDao.existsById(uuid)) {
-			throw new EntityNotExistsException("Entity with ID %s doesn't exist!".formatted(uuid));
+		return getReferences(Collections.singletonList(uuid)).getFirst();
+	}
+
+	@Override
+	public List<EntityType> getReferences(Collection<UUID> uuids) throws EntityNotExistsException {
+		ValidationHelper.requireNonNull(uuids, "Entity uids must not be null!");
+
+		final Set<UUID> existing = crudDao.findExistingIds(uuids);
+		for (UUID uuid : uuids) {
+			if (!existing.contains(uuid)) {
+				throw new EntityNotExistsException("Entity with ID %s doesn't exist!".formatted(uuid));
+			}
 		}
 
-		return crudDao.findReferenceById(uuid);
+		return uuids.stream().map(crudDao::findReferenceById).toList();
 	}
 
 	@Override
@@ -57,28 +71,37 @@ public class GenericService<EntityType extends IdentifiedEntity> implements Crud
 		return crudDao.findAll(pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort());
 	}
 
+	@Override
+	public PageableResult<EntityType> getAll(Pageable pageable, CountStrategy countStrategy) {
+		ValidationHelper.requireNonNull(pageable, "Pageable object must not be null!");
+
+		return crudDao.findAll(pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort(), countStrategy);
+	}
+
+	@Override
+	public CursorResult<EntityType> getAll(SeekCursor cursor, int pageSize) {
+		ValidationHelper.requireNonNull(cursor, "Cursor must not be null!");
+
+		return crudDao.findAll(cursor, pageSize);
+	}
+
 	@Override
 	public EntityType update(EntityType entity) {
 		ValidationHelper.requireNonNull(entity, "Please provide non null Surface entity!");
 		ValidationHelper.requireUuidExists(entity);
 
-		if (!crudDao.existsById(entity.getUid())) {
-			throw new EntityNotExistsException(
-					"%s with UID %s doesn't exist!".formatted(getEntityName(), entity.getUid()));
-		}
-
-		return crudDao.update(entity);
+		return crudDao.updateIfExists(entity)
+			.orElseThrow(() -> new EntityNotExistsException(
+					"%s with UID %s doesn't exist!".formatted(getEntityName(), entity.getUid())));
 	}
 
 	@Override
 	public void delete(UUID uid) {
 		ValidationHelper.requireNonNull(uid, "Please provide non null UUID for entity deletion!");
 
-		if (!crudDao.existsById(uid)) {
+		if (crudDao.delete(uid) == 0) {
 			throw new EntityNotExistsException("%s with UID %s doesn't exist!".formatted(getEntityName(), uid));
 		}
-
-		crudDao.delete(uid);
 	}
 
 	@Override
@@ -0,0 +1,50 @@
+package com.github.ricaps.tennis_club.business.service.definition;
+
+import java.io.Reader;
+import java.time.Duration;
+import java.util.List;
+
+public interface ReservationImportService {
+
+	/**
+	 * Imports reservations from CSV with a header row. Columns {@code courtName},
+	 * {@code phoneNumber}, {@code fromTime} and {@code toTime} are required,
+	 * {@code isQuadGame} is optional. Users with unknown phone numbers are created from
+	 * {@code firstName} and {@code familyName} columns, courts with unknown names from
+	 * the {@code surfaceName} column. <br>
+	 * Nothing is written when any row is invalid or overlaps another reservation.
+	 * Otherwise, rows are inserted in chunks, each committed on its own, so a failure of
+	 * the database in the middle leaves the import incomplete.
+	 * @param csv CSV to be imported, read only once
+	 * @param dryRun whether the rows are only validated
+	 * @return report of the import
+	 */
+	ImportReport importReservations(Reader csv, boolean dryRun);
+
+	/**
+	 * Invalid row of the import
+	 */
+	record ImportError(long line, String message) {
+
+	}
+
+	/**
+	 * Number of items processed by a stage of the import and time it took
+	 */
+	record ImportStage(String name, long items, Duration duration) {
+
+		public double itemsPerSecond() {
+			return duration.isZero() ? items : items * 1_000_000_000.0 / duration.toNanos();
+		}
+
+	}
+
+	/**
+	 * Result of the import, errors are limited to the first ones found
+	 */
+	record ImportReport(long rows, long errorCount, int createdReservations, int createdUsers, int createdCourts,
+			boolean written, List<ImportError> errors, List<ImportStage> stages) {
+
+	}
+
+}
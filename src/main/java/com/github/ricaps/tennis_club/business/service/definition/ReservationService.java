@@ -1,16 +1,110 @@
 package com.github.ricaps.tennis_club.business.service.definition;
 
+import com.github.ricaps.tennis_club.business.index.CourtAvailabilityIndex.FreeSlot;
 import com.github.ricaps.tennis_club.peristence.entity.Reservation;
+import com.github.ricaps.tennis_club.peristence.entity.ReservationSeries;
+import com.github.ricaps.tennis_club.peristence.projection.ReservationView;
+import com.github.ricaps.tennis_club.peristence.utils.CountStrategy;
+import com.github.ricaps.tennis_club.peristence.utils.CursorResult;
 import com.github.ricaps.tennis_club.peristence.utils.PageableResult;
+import com.github.ricaps.tennis_club.peristence.utils.SeekCursor;
 import org.springframework.data.domain.Pageable;
 
+import java.time.Duration;
 import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 public interface ReservationService extends CrudService<Reservation> {
 
-	PageableResult<Reservation> getAllByCourt(UUID courtUID, Pageable pageable);
+	/**
+	 * Creates all the reservations in a single transaction. Either all of them are
+	 * created, or none when any of them overlaps another one of the batch or an existing
+	 * reservation.
+	 * @param entities reservations to be created, with their uids already set
+	 * @return created reservations
+	 */
+	List<Reservation> createAll(List<Reservation> entities);
 
-	PageableResult<Reservation> getAllByPhoneNumber(String phoneNumber, OffsetDateTime fromTime, Pageable pageable);
+	/**
+	 * Finds occurrences of the series which conflict with existing reservations, with a
+	 * single query for the whole series
+	 * @param series series to be checked
+	 * @return conflicting occurrences in the order of their start
+	 */
+	List<SeriesConflict> findSeriesConflicts(ReservationSeries series);
+
+	/**
+	 * Creates the series together with all its occurrences in a single transaction
+	 * @param series series to be created, with its uid already set
+	 * @param skipConflicts whether conflicting occurrences are skipped, otherwise nothing
+	 * is created when any occurrence conflicts
+	 * @return created series with its created and skipped occurrences
+	 */
+	SeriesResult createSeries(ReservationSeries series, boolean skipConflicts);
+
+	/**
+	 * Deletes the series together with all its occurrences
+	 * @param seriesUid uid of the series
+	 */
+	void deleteSeries(UUID seriesUid);
+
+	/**
+	 * Finds free time frames of the courts within the given time frame, without querying
+	 * the database
+	 * @param courtUids uids of the courts
+	 * @param from start of the searched time frame
+	 * @param to end of the searched time frame
+	 * @param minDuration minimal duration of returned frames
+	 * @return free time frames of every court
+	 */
+	Map<UUID, List<FreeSlot>> getFreeSlots(Collection<UUID> courtUids, OffsetDateTime from, OffsetDateTime to,
+			Duration minDuration);
+
+	PageableResult<Reservation> getAllByCourt(UUID courtUID, Pageable pageable, CountStrategy countStrategy);
+
+	PageableResult<ReservationView> getViewsByCourt(UUID courtUID, Pageable pageable, CountStrategy countStrategy);
+
+	/**
+	 * Passes views of all reservations matching the filter to the consumer, ordered by
+	 * their start, without loading them into memory at once. Null filter values match
+	 * everything.
+	 * @param courtUid uid of the court
+	 * @param userUid uid of the user
+	 * @param from lower bound of the reservation start, inclusive
+	 * @param to upper bound of the reservation start, exclusive
+	 * @param consumer consumer of the views
+	 */
+	void streamViews(UUID courtUid, UUID userUid, OffsetDateTime from, OffsetDateTime to,
+			Consumer<ReservationView> consumer);
+
+	CursorResult<Reservation> getAllByCourt(UUID courtUID, SeekCursor cursor, int pageSize);
+
+	PageableResult<Reservation> getAllByPhoneNumber(String phoneNumber, OffsetDateTime fromTime, Pageable pageable,
+			CountStrategy countStrategy);
+
+	PageableResult<ReservationView> getViewsByPhoneNumber(String phoneNumber, OffsetDateTime fromTime,
+			Pageable pageable, CountStrategy countStrategy);
+
+	CursorResult<Reservation> getAllByPhoneNumber(String phoneNumber, OffsetDateTime fromTime, SeekCursor cursor,
+			int pageSize);
+
+	/**
+	 * Occurrence of a series which conflicts with an existing reservation
+	 */
+	record SeriesConflict(OffsetDateTime fromTime, OffsetDateTime toTime, UUID reservationUid) {
+
+	}
+
+	/**
+	 * Created series with its created occurrences and occurrences skipped because of a
+	 * conflict
+	 */
+	record SeriesResult(ReservationSeries series, List<Reservation> reservations, List<SeriesConflict> conflicts) {
+
+	}
 
 }
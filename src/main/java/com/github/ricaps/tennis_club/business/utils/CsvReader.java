@@ -0,0 +1,133 @@
+package com.github.ricaps.tennis_club.business.utils;
+
+import jakarta.validation.ValidationException;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads RFC 4180 CSV records one by one, so the whole input never has to be in memory.
+ * Quoted fields may contain separators, doubled quotes and line breaks, records end with
+ * either CRLF or LF.
+ */
+public class CsvReader implements Closeable {
+
+	private static final char SEPARATOR = ',';
+
+	private static final char QUOTE = '"';
+
+	private final Reader reader;
+
+	private final StringBuilder field = new StringBuilder();
+
+	private int lookahead = -2;
+
+	private long line = 1;
+
+	private long recordLine;
+
+	public CsvReader(Reader reader) {
+		this.reader = reader instanceof BufferedReader ? reader : new BufferedReader(reader);
+	}
+
+	/**
+	 * Reads the next record
+	 * @return fields of the record, null at the end of the input
+	 * @throws ValidationException when a quoted field is not terminated
+	 */
+	public List<String> readRecord() throws IOException {
+		int current = next();
+		if (current == -1) {
+			return null;
+		}
+
+		recordLine = line;
+		final List<String> fields = new ArrayList<>();
+		boolean quoted = false;
+		boolean wasQuoted = false;
+		field.setLength(0);
+
+		while (true) {
+			if (quoted) {
+				if (current == -1) {
+					throw new ValidationException(
+							"Quoted field starting at line %d is not terminated!".formatted(recordLine));
+				}
+				if (current == QUOTE) {
+					if (peek() == QUOTE) {
+						field.append(QUOTE);
+						next();
+					}
+					else {
+						quoted = false;
+					}
+				}
+				else {
+					if (current == '\n') {
+						line++;
+					}
+					field.append((char) current);
+				}
+			}
+			else if (current == QUOTE && field.isEmpty() && !wasQuoted) {
+				quoted = true;
+				wasQuoted = true;
+			}
+			else if (current == SEPARATOR) {
+				fields.add(field.toString());
+				field.setLength(0);
+				wasQuoted = false;
+			}
+			else if (current == '\r' && peek() == '\n') {
+				// Line break handled by the following LF
+			}
+			else if (current == '\n' || current == -1) {
+				if (current == '\n') {
+					line++;
+				}
+				fields.add(field.toString());
+				return fields;
+			}
+			else {
+				field.append((char) current);
+			}
+
+			current = next();
+		}
+	}
+
+	/**
+	 * @return line of the input where the last read record starts, starting from one
+	 */
+	public long getRecordLine() {
+		return recordLine;
+	}
+
+	private int next() throws IOException {
+		if (lookahead != -2) {
+			int current = lookahead;
+			lookahead = -2;
+			return current;
+		}
+
+		return reader.read();
+	}
+
+	private int peek() throws IOException {
+		if (lookahead == -2) {
+			lookahead = reader.read();
+		}
+
+		return lookahead;
+	}
+
+	@Override
+	public void close() throws IOException {
+		reader.close();
+	}
+
+}
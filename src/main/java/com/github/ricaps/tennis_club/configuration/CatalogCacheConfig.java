@@ -0,0 +1,71 @@
+package com.github.ricaps.tennis_club.configuration;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.github.ricaps.tennis_club.configuration.model.ApplicationConfiguration;
+import com.github.ricaps.tennis_club.peristence.entity.Court;
+import com.github.ricaps.tennis_club.peristence.entity.Surface;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Local JCache regions of the Hibernate second-level cache, holding the court and surface
+ * catalog and results of cached court queries
+ */
+@Configuration
+public class CatalogCacheConfig {
+
+	public static final List<String> CATALOG_REGIONS = List.of(Court.CACHE_REGION, Surface.CACHE_REGION,
+			RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME);
+
+	/**
+	 * Creates the cache manager with all regions. Every application context gets its own
+	 * manager, so contexts in one JVM don't share cached entities of different databases.
+	 */
+	@Bean(destroyMethod = "close")
+	public CacheManager hibernateCacheManager(ApplicationConfiguration applicationConfiguration,
+			MeterRegistry meterRegistry) {
+		CachingProvider cachingProvider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+		CacheManager cacheManager = cachingProvider.getCacheManager(URI.create("hibernate-" + UUID.randomUUID()),
+				getClass().getClassLoader());
+
+		long ttlNanos = applicationConfiguration.getCatalogCacheTtl().toNanos();
+		for (String region : CATALOG_REGIONS) {
+			CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+			configuration.setMaximumSize(OptionalLong.of(applicationConfiguration.getCatalogCacheSize()));
+			configuration.setExpireAfterWrite(OptionalLong.of(ttlNanos));
+			configuration.setStatisticsEnabled(true);
+			cacheManager.createCache(region, configuration);
+		}
+
+		// Tells cached query results whether their tables changed, so it must never lose
+		// entries before the query results region
+		CaffeineConfiguration<Object, Object> timestamps = new CaffeineConfiguration<>();
+		timestamps.setExpireAfterWrite(OptionalLong.of(ttlNanos + TimeUnit.MINUTES.toNanos(1)));
+		cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, timestamps);
+
+		CATALOG_REGIONS.forEach(region -> JCacheMetrics.monitor(meterRegistry, cacheManager.getCache(region)));
+
+		return cacheManager;
+	}
+
+	@Bean
+	public HibernatePropertiesCustomizer hibernateCacheManagerCustomizer(CacheManager hibernateCacheManager) {
+		return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+	}
+
+}
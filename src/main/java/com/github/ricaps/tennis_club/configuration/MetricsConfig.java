@@ -0,0 +1,119 @@
+package com.github.ricaps.tennis_club.configuration;
+
+import com.github.ricaps.tennis_club.peristence.dao.AbstractDao;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.framework.AbstractAdvisingBeanPostProcessor;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.RootClassFilter;
+import org.springframework.aop.support.StaticMethodMatcher;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.MethodClassKey;
+import org.springframework.core.ResolvableType;
+import org.springframework.util.function.SingletonSupplier;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+@Configuration
+public class MetricsConfig {
+
+	public static final String DAO_TIMER = "dao.operation";
+
+	private static final String NO_EXCEPTION = "none";
+
+	/**
+	 * Times every public method of the DAOs, tagged by the entity and the method. The
+	 * timer is put in front of the transaction, so the commit of the DAO's own
+	 * transaction is included.
+	 */
+	@Bean
+	public static BeanPostProcessor daoTimingPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+		return new DaoTimingPostProcessor(SingletonSupplier.of(meterRegistry::getObject));
+	}
+
+	private static class DaoTimingPostProcessor extends AbstractAdvisingBeanPostProcessor {
+
+		DaoTimingPostProcessor(Supplier<MeterRegistry> meterRegistry) {
+			this.advisor = new DefaultPointcutAdvisor(
+					new ComposablePointcut(new RootClassFilter(AbstractDao.class), new PublicMethodMatcher()),
+					new DaoTimingInterceptor(meterRegistry));
+			this.beforeExistingAdvisors = true;
+			setProxyTargetClass(true);
+		}
+
+	}
+
+	private static class PublicMethodMatcher extends StaticMethodMatcher {
+
+		@Override
+		public boolean matches(Method method, Class<?> targetClass) {
+			return Modifier.isPublic(method.getModifiers()) && method.getDeclaringClass() != Object.class;
+		}
+
+	}
+
+	private static class DaoTimingInterceptor implements MethodInterceptor {
+
+		private final Supplier<MeterRegistry> meterRegistry;
+
+		private final Map<MethodClassKey, Timer> timers = new ConcurrentHashMap<>();
+
+		DaoTimingInterceptor(Supplier<MeterRegistry> meterRegistry) {
+			this.meterRegistry = meterRegistry;
+		}
+
+		private static String entityName(Class<?> daoClass) {
+			Class<?> entityClass = ResolvableType.forClass(daoClass).as(AbstractDao.class).getGeneric(0).resolve();
+			return entityClass == null ? daoClass.getSimpleName() : entityClass.getSimpleName();
+		}
+
+		@Override
+		public Object invoke(MethodInvocation invocation) throws Throwable {
+			Timer.Sample sample = Timer.start(meterRegistry.get());
+			String exception = NO_EXCEPTION;
+			try {
+				return invocation.proceed();
+			}
+			catch (Throwable ex) {
+				exception = ex.getClass().getSimpleName();
+				throw ex;
+			}
+			finally {
+				sample.stop(timer(invocation, exception));
+			}
+		}
+
+		private Timer timer(MethodInvocation invocation, String exception) {
+			Class<?> daoClass = AopUtils.getTargetClass(invocation.getThis());
+			if (!NO_EXCEPTION.equals(exception)) {
+				return buildTimer(daoClass, invocation.getMethod(), exception);
+			}
+
+			return timers.computeIfAbsent(new MethodClassKey(invocation.getMethod(), daoClass),
+					key -> buildTimer(daoClass, invocation.getMethod(), NO_EXCEPTION));
+		}
+
+		private Timer buildTimer(Class<?> daoClass, Method method, String exception) {
+			return Timer.builder(DAO_TIMER)
+				.description("Time of a DAO operation, including the commit of its own transaction")
+				.tag("entity", entityName(daoClass))
+				.tag("operation", method.getName())
+				.tag("exception", exception)
+				.publishPercentileHistogram()
+				.register(meterRegistry.get());
+		}
+
+	}
+
+}
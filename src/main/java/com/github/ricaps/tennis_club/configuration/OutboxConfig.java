@@ -0,0 +1,22 @@
+package com.github.ricaps.tennis_club.configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.ricaps.tennis_club.business.outbox.FileOutboxSink;
+import com.github.ricaps.tennis_club.business.outbox.InMemoryOutboxSink;
+import com.github.ricaps.tennis_club.business.outbox.OutboxSink;
+import com.github.ricaps.tennis_club.configuration.model.ApplicationConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class OutboxConfig {
+
+	@Bean
+	public OutboxSink outboxSink(ApplicationConfiguration applicationConfiguration, ObjectMapper objectMapper) {
+		return switch (applicationConfiguration.getOutboxSink()) {
+			case FILE -> new FileOutboxSink(applicationConfiguration.getOutboxFile(), objectMapper);
+			case MEMORY -> new InMemoryOutboxSink();
+		};
+	}
+
+}
@@ -1,10 +1,53 @@
 package com.github.ricaps.tennis_club.configuration;
 
+import com.github.ricaps.tennis_club.configuration.model.ApplicationConfiguration;
+import com.github.ricaps.tennis_club.peristence.datasource.AdmissionLimitedDataSource;
+import com.github.ricaps.tennis_club.peristence.datasource.StatementTimingDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 
+import javax.sql.DataSource;
+
 @Configuration
 @EnableTransactionManagement
 public class PersistenceConfig {
 
+	/**
+	 * Times every statement and puts the admission limiter in front of the connection
+	 * pool, unless the limit is disabled
+	 */
+	@Bean
+	public static BeanPostProcessor dataSourcePostProcessor(
+			ObjectProvider<ApplicationConfiguration> applicationConfiguration,
+			ObjectProvider<MeterRegistry> meterRegistry) {
+		return new BeanPostProcessor() {
+
+			@Override
+			public Object postProcessAfterInitialization(Object bean, String beanName) {
+				if (!(bean instanceof DataSource dataSource) || bean instanceof AdmissionLimitedDataSource
+						|| bean instanceof StatementTimingDataSource) {
+					return bean;
+				}
+
+				ApplicationConfiguration configuration = applicationConfiguration.getObject();
+				DataSource timedDataSource = new StatementTimingDataSource(dataSource,
+						configuration.getSlowStatementThreshold());
+				if (configuration.getDatabaseMaxConcurrency() == 0) {
+					return timedDataSource;
+				}
+
+				AdmissionLimitedDataSource limitedDataSource = new AdmissionLimitedDataSource(timedDataSource,
+						configuration.getDatabaseMaxConcurrency(), configuration.getDatabaseAdmissionTimeout());
+				meterRegistry.ifAvailable(limitedDataSource::bindTo);
+
+				return limitedDataSource;
+			}
+
+		};
+	}
+
 }
@@ -0,0 +1,22 @@
+package com.github.ricaps.tennis_club.configuration;
+
+import com.github.ricaps.tennis_club.configuration.model.ApplicationConfiguration;
+import com.github.ricaps.tennis_club.utils.UUIDUtils;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class UidConfig implements InitializingBean {
+
+	private final ApplicationConfiguration applicationConfiguration;
+
+	public UidConfig(ApplicationConfiguration applicationConfiguration) {
+		this.applicationConfiguration = applicationConfiguration;
+	}
+
+	@Override
+	public void afterPropertiesSet() {
+		UUIDUtils.setTimeOrdered(applicationConfiguration.isTimeOrderedUids());
+	}
+
+}
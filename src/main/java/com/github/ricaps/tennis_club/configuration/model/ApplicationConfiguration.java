@@ -1,10 +1,17 @@
 package com.github.ricaps.tennis_club.configuration.model;
 
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
 import org.springframework.validation.annotation.Validated;
 
+import java.nio.file.Path;
+import java.time.Duration;
+
 @ConfigurationProperties(prefix = "application")
 @Getter
 @Setter
@@ -17,4 +24,125 @@ public class ApplicationConfiguration {
 	 */
 	private boolean databaseSeed;
 
+	/**
+	 * Decides whether reservation listings select only the columns of the view instead of
+	 * loading whole entities
+	 */
+	private boolean reservationViewProjection;
+
+	/**
+	 * Decides whether new entities get time-ordered UUID v7 identifiers, or random UUID
+	 * v4 identifiers
+	 */
+	private boolean timeOrderedUids = true;
+
+	/**
+	 * Maximal number of database connections used at once, zero disables the limit.
+	 * Should not exceed the size of the connection pool, so that waiting happens in the
+	 * limiter with its own timeout.
+	 */
+	@PositiveOrZero
+	private int databaseMaxConcurrency = 10;
+
+	/**
+	 * How long a request waits for a database connection before it is rejected with 503
+	 */
+	private @NotNull Duration databaseAdmissionTimeout = Duration.ofSeconds(5);
+
+	/**
+	 * How long courts and surfaces stay in the second-level cache. Writes through the
+	 * application evict them immediately on this node, the time to live bounds staleness
+	 * caused by other nodes.
+	 */
+	private @NotNull Duration catalogCacheTtl = Duration.ofHours(1);
+
+	/**
+	 * Maximal number of cached entries of every catalog cache region
+	 */
+	@Positive
+	private long catalogCacheSize = 10_000;
+
+	/**
+	 * How long clients and intermediaries may use catalog responses before revalidating
+	 * them with their entity tag
+	 */
+	private @NotNull Duration catalogHttpMaxAge = Duration.ofSeconds(10);
+
+	/**
+	 * Execution time from which SQL statements are logged with types of their bind
+	 * parameters, zero disables the log
+	 */
+	private @NotNull Duration slowStatementThreshold = Duration.ofMillis(500);
+
+	/**
+	 * Decides whether responses carry the number and total time of SQL statements
+	 * executed by the request in headers, meant for debugging only
+	 */
+	private boolean statementDebugHeaders;
+
+	/**
+	 * Delay between removals of ended reservations from the in-memory indexes, zero
+	 * disables the removal
+	 */
+	private @NotNull Duration reservationIndexPruneInterval = Duration.ofHours(1);
+
+	/**
+	 * Maximal size of a CSV with imported reservations. All rows of an import are held in
+	 * memory until it's written, larger uploads are rejected.
+	 */
+	private @NotNull DataSize reservationImportMaxSize = DataSize.ofMegabytes(64);
+
+	/**
+	 * Maximal number of reservation changes buffered for a single subscriber. A
+	 * subscriber with a full buffer gets a resync instead of the buffered changes.
+	 */
+	@Positive
+	private int reservationChangeBufferSize = 256;
+
+	/**
+	 * How long a stream of reservation changes stays open, the client reconnects once it
+	 * times out
+	 */
+	private @NotNull Duration reservationChangeTimeout = Duration.ofMinutes(30);
+
+	/**
+	 * How long a reservation export may stream its rows
+	 */
+	private @NotNull Duration reservationExportTimeout = Duration.ofMinutes(30);
+
+	/**
+	 * Where relayed reservation outbox events are delivered
+	 */
+	private @NotNull OutboxSinkType outboxSink = OutboxSinkType.FILE;
+
+	/**
+	 * File the events are appended to by the file sink
+	 */
+	private @NotNull Path outboxFile = Path.of("outbox", "reservation-events.ndjson");
+
+	/**
+	 * Maximal number of events claimed and delivered in one transaction
+	 */
+	@Positive
+	private int outboxBatchSize = 100;
+
+	/**
+	 * Delay between relay passes of the reservation outbox, zero disables the relay
+	 */
+	private @NotNull Duration outboxPollInterval = Duration.ofSeconds(1);
+
+	public enum OutboxSinkType {
+
+		/**
+		 * Appends events to the outbox file as JSON lines
+		 */
+		FILE,
+
+		/**
+		 * Keeps events in memory, meant for tests
+		 */
+		MEMORY
+
+	}
+
 }
@@ -1,12 +1,15 @@
 package com.github.ricaps.tennis_club.configuration.model;
 
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
 import jakarta.validation.constraints.Size;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.validation.annotation.Validated;
 
+import java.time.Duration;
+
 @ConfigurationProperties(prefix = "jwt")
 @Getter
 @Setter
@@ -26,4 +29,29 @@ public final class JwtConfiguration {
 	 */
 	private @NotNull Long expiration;
 
+	/**
+	 * How long resolved principals are cached, zero disables the cache. Updated and
+	 * deleted users are evicted immediately on this node.
+	 */
+	private @NotNull Duration principalCacheTtl = Duration.ofMinutes(1);
+
+	/**
+	 * Maximal number of cached principals
+	 */
+	@PositiveOrZero
+	private long principalCacheSize = 10_000;
+
+	/**
+	 * Builds principals only from the signed claims without loading the user. Deleted
+	 * users stay authenticated until their token expires.
+	 */
+	private boolean claimsOnly;
+
+	/**
+	 * Maximal number of tokens whose verified claims are cached until the token expires,
+	 * zero disables the cache
+	 */
+	@PositiveOrZero
+	private long verifiedTokenCacheSize = 10_000;
+
 }
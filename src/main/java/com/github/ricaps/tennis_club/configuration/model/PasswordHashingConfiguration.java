@@ -0,0 +1,49 @@
+package com.github.ricaps.tennis_club.configuration.model;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "password-hashing")
+@Getter
+@Setter
+@Validated
+public class PasswordHashingConfiguration {
+
+	/**
+	 * BCrypt strength (log2 of the number of rounds) of newly hashed passwords, existing
+	 * hashes are verified with the strength they were created with
+	 */
+	@Min(4)
+	@Max(31)
+	private int strength = 10;
+
+	/**
+	 * Target time of a single hash. When set, the strength is raised at startup as long
+	 * as the measured hash time stays within the target. Zero keeps the configured
+	 * strength.
+	 */
+	private @NotNull Duration targetLatency = Duration.ZERO;
+
+	/**
+	 * Number of hashing threads, zero uses the number of available processors
+	 */
+	@PositiveOrZero
+	private int threads;
+
+	/**
+	 * Maximal number of hashes waiting for a thread, further requests are rejected with
+	 * 429
+	 */
+	@Positive
+	private int queueCapacity = 64;
+
+}
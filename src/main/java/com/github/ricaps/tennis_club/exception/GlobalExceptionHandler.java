@@ -2,14 +2,20 @@ package com.github.ricaps.tennis_club.exception;
 
 import com.github.ricaps.tennis_club.api.shared.ErrorDto;
 import com.github.ricaps.tennis_club.api.shared.FieldErrorDto;
+import com.github.ricaps.tennis_club.peristence.datasource.AdmissionTimeoutException;
 import jakarta.validation.ValidationException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.NestedRuntimeException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.MissingRequestHeaderException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
@@ -35,7 +41,7 @@ public class GlobalExceptionHandler {
 		final ErrorDto error = new ErrorDto(ex.getBody().getDetail(), ex.getStatusCode().value(), List.of());
 
 		log.error("An application error occurred while running request", ex);
-		return ResponseEntity.status(ex.getStatusCode()).body(error);
+		return ResponseEntity.status(ex.getStatusCode()).headers(ex.getHeaders()).body(error);
 	}
 
 	@ExceptionHandler(Exception.class)
@@ -62,4 +68,26 @@ public class GlobalExceptionHandler {
 		return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
 	}
 
+	@ExceptionHandler(MethodArgumentTypeMismatchException.class)
+	public ResponseEntity<ErrorDto> handleTypeMismatchException(MethodArgumentTypeMismatchException ex) {
+		final ErrorDto error = new ErrorDto("Invalid value of parameter %s!".formatted(ex.getName()),
+				HttpStatus.BAD_REQUEST.value(), List.of());
+
+		log.error("An argument type mismatch occurred while running request", ex);
+		return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+	}
+
+	@ExceptionHandler({ CannotCreateTransactionException.class, DataAccessResourceFailureException.class })
+	public ResponseEntity<ErrorDto> handleDatabaseUnavailable(NestedRuntimeException ex) {
+		if (!ex.contains(AdmissionTimeoutException.class)) {
+			return handleOtherExceptions(ex);
+		}
+
+		final ErrorDto error = new ErrorDto("Database is overloaded, try again later!",
+				HttpStatus.SERVICE_UNAVAILABLE.value(), List.of());
+
+		log.warn("A database connection was not admitted while running request", ex);
+		return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").body(error);
+	}
+
 }
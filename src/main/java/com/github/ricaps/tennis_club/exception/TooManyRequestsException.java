@@ -0,0 +1,23 @@
+package com.github.ricaps.tennis_club.exception;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+public class TooManyRequestsException extends ResponseStatusException {
+
+	private static final String RETRY_AFTER_SECONDS = "1";
+
+	public TooManyRequestsException(String message) {
+		super(HttpStatus.TOO_MANY_REQUESTS, message);
+	}
+
+	@Override
+	public HttpHeaders getHeaders() {
+		HttpHeaders headers = new HttpHeaders();
+		headers.set(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+
+		return headers;
+	}
+
+}
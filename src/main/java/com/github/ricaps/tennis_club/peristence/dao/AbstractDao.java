@@ -2,7 +2,14 @@ package com.github.ricaps.tennis_club.peristence.dao;
 
 import com.github.ricaps.tennis_club.peristence.dao.definition.CrudDao;
 import com.github.ricaps.tennis_club.peristence.entity.IdentifiedEntity;
+import com.github.ricaps.tennis_club.peristence.utils.CountStrategy;
+import com.github.ricaps.tennis_club.peristence.utils.CursorResult;
+import com.github.ricaps.tennis_club.peristence.utils.PageableResult;
 import com.github.ricaps.tennis_club.peristence.utils.PredicateProvider;
+import com.github.ricaps.tennis_club.peristence.utils.SeekCursor;
+import com.github.ricaps.tennis_club.peristence.utils.SelectionProvider;
+import com.github.ricaps.tennis_club.utils.TransactionUtils;
+import com.github.ricaps.tennis_club.utils.ValidationHelper;
 import jakarta.annotation.Nullable;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.TypedQuery;
@@ -10,27 +17,103 @@ import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaDelete;
 import jakarta.persistence.criteria.CriteriaQuery;
 import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.validation.ValidationException;
+import org.hibernate.Cache;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.core.convert.ConversionException;
+import org.springframework.core.convert.support.DefaultConversionService;
 import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Transactional
 public abstract class AbstractDao<EntityType extends IdentifiedEntity> implements CrudDao<EntityType> {
 
-	private static final int BATCH_SIZE = 50;
+	/**
+	 * Used when {@value AvailableSettings#STATEMENT_BATCH_SIZE} is not configured
+	 */
+	private static final int DEFAULT_BATCH_SIZE = 50;
+
+	private static final Duration COUNT_CACHE_TTL = Duration.ofSeconds(30);
+
+	private static final int COUNT_CACHE_MAX_SIZE = 1024;
+
+	private static final String UNFILTERED_COUNT_KEY = "";
 
 	private final EntityManager entityManager;
 
+	/**
+	 * Counts of paged listings keyed by their filter, see {@link CountStrategy#CACHED}.
+	 * Cleared by every write through this DAO, other nodes see changes after the TTL.
+	 */
+	private final Map<String, CachedCount> countCache = new ConcurrentHashMap<>();
+
+	private volatile int batchSize;
+
 	public AbstractDao(EntityManager entityManager) {
 		this.entityManager = entityManager;
 	}
 
+	/**
+	 * Number of entities written between flushes, the same as the JDBC batch size of
+	 * Hibernate, so every flush sends full batches
+	 * @return configured JDBC batch size
+	 */
+	protected int getBatchSize() {
+		if (batchSize == 0) {
+			Object configured = entityManager.getEntityManagerFactory()
+				.getProperties()
+				.get(AvailableSettings.STATEMENT_BATCH_SIZE);
+			int parsed = configured == null ? DEFAULT_BATCH_SIZE : Integer.parseInt(configured.toString().trim());
+			batchSize = parsed > 0 ? parsed : DEFAULT_BATCH_SIZE;
+		}
+
+		return batchSize;
+	}
+
+	/**
+	 * Name of the entity graph fetched together with queried entities, so associations
+	 * needed by views are loaded by the same query instead of a query per row
+	 * @return name of the named entity graph, or null when the entity has none
+	 */
+	@Nullable
+	protected String getFetchGraphName() {
+		return null;
+	}
+
+	private <T> TypedQuery<T> withFetchGraph(TypedQuery<T> query) {
+		String fetchGraphName = getFetchGraphName();
+
+		if (fetchGraphName != null) {
+			query.setHint(SpecHints.HINT_SPEC_FETCH_GRAPH, entityManager.getEntityGraph(fetchGraphName));
+		}
+
+		return query;
+	}
+
 	private List<Order> getOrderList(Sort sort, CriteriaBuilder criteriaBuilder, Root<EntityType> root) {
 		return sort.get()
 			.filter(order -> hasProperty(root, order.getProperty()))
@@ -49,6 +132,7 @@ public abstract class AbstractDao<EntityType extends IdentifiedEntity> implement
 		}
 
 		entityManager.persist(entity);
+		countCache.clear();
 		return entity;
 	}
 
@@ -63,11 +147,53 @@ public abstract class AbstractDao<EntityType extends IdentifiedEntity> implement
 			index++;
 			entityManager.persist(entity);
 
-			if (index % BATCH_SIZE == 0) {
+			if (index % getBatchSize() == 0) {
 				entityManager.flush();
 				entityManager.clear();
 			}
 		}
+		countCache.clear();
+	}
+
+	@Override
+	public void insertAll(Collection<EntityType> entities) {
+		if (entities == null || entities.isEmpty()) {
+			return;
+		}
+
+		// The stateless session runs on the connection of the entity manager, so the
+		// inserts belong to the transaction of the caller
+		entityManager.unwrap(Session.class).doWork(connection -> {
+			try (StatelessSession session = entityManager.getEntityManagerFactory()
+				.unwrap(SessionFactory.class)
+				.withStatelessOptions()
+				.connection(connection)
+				.openStatelessSession()) {
+				session.setJdbcBatchSize(getBatchSize());
+				// Hibernate batches inserts of a stateless session only within its own
+				// transaction. Begun on a connection already in a transaction it changes
+				// nothing, and it's never completed, the caller commits the inserts.
+				session.beginTransaction();
+				entities.forEach(session::insert);
+				// Executed on completion of the transaction otherwise
+				((SharedSessionContractImplementor) session).getJdbcCoordinator().executeBatch();
+			}
+		});
+		countCache.clear();
+		// Cached query results don't know about rows written around the session, and
+		// could be loaded again before the commit
+		TransactionUtils.afterCommit(() -> {
+			countCache.clear();
+			evictFromCache();
+		});
+	}
+
+	@Override
+	@Transactional(propagation = Propagation.SUPPORTS)
+	public void evictFromCache() {
+		Cache cache = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getCache();
+		cache.evictEntityData(getEntityClass());
+		cache.evictDefaultQueryRegion();
 	}
 
 	@Override
@@ -76,13 +202,32 @@ public abstract class AbstractDao<EntityType extends IdentifiedEntity> implement
 			return null;
 		}
 
+		countCache.clear();
 		return entityManager.merge(entity);
 	}
 
 	@Override
-	public boolean delete(UUID uuid) {
+	public Optional<EntityType> updateIfExists(EntityType entity) {
+		if (entity == null || entity.getUid() == null) {
+			return Optional.empty();
+		}
+
+		// Merge copies the state onto the entity loaded here, so it doesn't select again.
+		// Unlike merge alone, a missing entity is not inserted. Loaded by criteria, as
+		// find() may answer from the second-level cache with a row soft deleted by
+		// another node.
+		if (findById(entity.getUid()).isEmpty()) {
+			return Optional.empty();
+		}
+
+		countCache.clear();
+		return Optional.of(entityManager.merge(entity));
+	}
+
+	@Override
+	public int delete(UUID uuid) {
 		if (uuid == null) {
-			return false;
+			return 0;
 		}
 
 		CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
@@ -94,7 +239,27 @@ public abstract class AbstractDao<EntityType extends IdentifiedEntity> implement
 		int deleted = entityManager.createQuery(deleteCriteria).executeUpdate();
 
 		entityManager.flush();
-		return deleted == 1;
+		countCache.clear();
+		return deleted;
+	}
+
+	/**
+	 * Deletes all entities matching the predicate with a single statement
+	 * @param predicateProvider filter of deleted entities
+	 * @return number of deleted entities
+	 */
+	protected int deleteAll(PredicateProvider<EntityType> predicateProvider) {
+		CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+		CriteriaDelete<EntityType> deleteCriteria = criteriaBuilder.createCriteriaDelete(getEntityClass());
+		Root<EntityType> root = deleteCriteria.from(getEntityClass());
+
+		deleteCriteria.where(predicateProvider.createPredicate(criteriaBuilder, root));
+
+		int deleted = entityManager.createQuery(deleteCriteria).executeUpdate();
+
+		entityManager.flush();
+		countCache.clear();
+		return deleted;
 	}
 
 	@Override
@@ -110,7 +275,7 @@ public abstract class AbstractDao<EntityType extends IdentifiedEntity> implement
 
 		criteriaQuery.where(criteriaBuilder.equal(root.get("uid"), uuid));
 
-		List<EntityType> entityList = entityManager.createQuery(criteriaQuery).getResultList();
+		List<EntityType> entityList = withFetchGraph(entityManager.createQuery(criteriaQuery)).getResultList();
 
 		if (entityList.size() == 1) {
 			return Optional.of(entityList.getFirst());
@@ -136,20 +301,277 @@ public abstract class AbstractDao<EntityType extends IdentifiedEntity> implement
 		TypedQuery<EntityType> typedQuery = applyPagingToQuery(pageNumber, pageSize, sort, criteriaBuilder, root,
 				criteriaQuery);
 
-		return typedQuery.getResultList();
+		return withFetchGraph(typedQuery).getResultList();
+	}
+
+	@Override
+	public PageableResult<EntityType> findAll(int pageNumber, int pageSize, Sort sort, CountStrategy countStrategy) {
+		return findPage(pageNumber, pageSize, sort, countStrategy, UNFILTERED_COUNT_KEY, null);
+	}
+
+	/**
+	 * Offset paging of entities matching the predicate, with total count obtained by the
+	 * given strategy. Count query is skipped when the page itself reveals the total.
+	 * @param pageNumber page number
+	 * @param pageSize size of requested page
+	 * @param sort sort definition
+	 * @param countStrategy strategy of the total count
+	 * @param countKey identifies the filter in the count cache, must differ for different
+	 * predicates
+	 * @param predicateProvider filter of the listing, may be null
+	 * @return entities with total count
+	 */
+	protected PageableResult<EntityType> findPage(int pageNumber, int pageSize, Sort sort, CountStrategy countStrategy,
+			String countKey, @Nullable PredicateProvider<EntityType> predicateProvider) {
+		ValidationHelper.requireNonNull(countStrategy, "Count strategy cannot be null!");
+
+		CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+		CriteriaQuery<EntityType> criteriaQuery = criteriaBuilder.createQuery(getEntityClass());
+		Root<EntityType> root = criteriaQuery.from(getEntityClass());
+
+		if (predicateProvider != null) {
+			criteriaQuery.where(predicateProvider.createPredicate(criteriaBuilder, root));
+		}
+
+		TypedQuery<EntityType> typedQuery = applyPagingToQuery(pageNumber, pageSize, sort, criteriaBuilder, root,
+				criteriaQuery);
+
+		return page(withFetchGraph(typedQuery), pageNumber, pageSize, countStrategy, countKey, predicateProvider);
+	}
+
+	/**
+	 * Offset paging of entities matching the predicate, selecting only the projection
+	 * instead of whole entities. Total count is obtained the same way as by
+	 * {@link #findPage}.
+	 * @param selectionProvider selection of the projection, typically a constructor
+	 * expression
+	 * @param projectionClass class of the projection
+	 * @param pageNumber page number
+	 * @param pageSize size of requested page
+	 * @param sort sort definition, properties of the entity
+	 * @param countStrategy strategy of the total count
+	 * @param countKey identifies the filter in the count cache
+	 * @param predicateProvider filter of the listing, may be null
+	 * @return projections with total count
+	 */
+	protected <ProjectionType> PageableResult<ProjectionType> findProjectedPage(
+			SelectionProvider<EntityType, ProjectionType> selectionProvider, Class<ProjectionType> projectionClass,
+			int pageNumber, int pageSize, Sort sort, CountStrategy countStrategy, String countKey,
+			@Nullable PredicateProvider<EntityType> predicateProvider) {
+		ValidationHelper.requireNonNull(countStrategy, "Count strategy cannot be null!");
+
+		CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+		CriteriaQuery<ProjectionType> criteriaQuery = criteriaBuilder.createQuery(projectionClass);
+		Root<EntityType> root = criteriaQuery.from(getEntityClass());
+
+		criteriaQuery.select(selectionProvider.createSelection(criteriaBuilder, root));
+		if (predicateProvider != null) {
+			criteriaQuery.where(predicateProvider.createPredicate(criteriaBuilder, root));
+		}
+
+		TypedQuery<ProjectionType> typedQuery = applyPagingToQuery(pageNumber, pageSize, sort, criteriaBuilder, root,
+				criteriaQuery);
+
+		return page(typedQuery, pageNumber, pageSize, countStrategy, countKey, predicateProvider);
+	}
+
+	private <T> PageableResult<T> page(TypedQuery<T> typedQuery, int pageNumber, int pageSize,
+			CountStrategy countStrategy, String countKey, @Nullable PredicateProvider<EntityType> predicateProvider) {
+		long offset = (long) pageNumber * pageSize;
+
+		if (countStrategy == CountStrategy.NONE) {
+			List<T> result = typedQuery.setMaxResults(pageSize + 1).getResultList();
+
+			if (result.size() <= pageSize) {
+				return new PageableResult<>(result, offset + result.size());
+			}
+
+			// Lower bound of the total, tells there is a next page
+			return new PageableResult<>(new ArrayList<>(result.subList(0, pageSize)), offset + pageSize + 1);
+		}
+
+		List<T> result = typedQuery.getResultList();
+
+		// Partially filled page is the last one, so the total is known without counting
+		if (result.size() < pageSize && (!result.isEmpty() || pageNumber == 0)) {
+			return new PageableResult<>(result, offset + result.size());
+		}
+
+		return new PageableResult<>(result, countWithStrategy(countStrategy, countKey, predicateProvider));
 	}
 
-	protected TypedQuery<EntityType> applyPagingToQuery(int pageNumber, int pageSize, Sort sort,
-			CriteriaBuilder criteriaBuilder, Root<EntityType> root, CriteriaQuery<EntityType> criteriaQuery) {
+	private long countWithStrategy(CountStrategy countStrategy, String countKey,
+			@Nullable PredicateProvider<EntityType> predicateProvider) {
+		return switch (countStrategy) {
+			case EXACT, NONE -> countWithPredicate(predicateProvider);
+			case CACHED -> cachedCount(countKey, predicateProvider);
+			case ESTIMATED -> predicateProvider == null ? RowCountEstimator.estimate(entityManager, getEntityClass())
+				.orElseGet(() -> cachedCount(countKey, null)) : cachedCount(countKey, predicateProvider);
+		};
+	}
+
+	private long cachedCount(String countKey, @Nullable PredicateProvider<EntityType> predicateProvider) {
+		long now = System.nanoTime();
+		CachedCount cached = countCache.get(countKey);
+
+		if (cached != null && now < cached.expiresAt()) {
+			return cached.count();
+		}
+
+		if (countCache.size() >= COUNT_CACHE_MAX_SIZE) {
+			countCache.clear();
+		}
+
+		long count = countWithPredicate(predicateProvider);
+		countCache.put(countKey, new CachedCount(count, now + COUNT_CACHE_TTL.toNanos()));
+
+		return count;
+	}
+
+	protected <T> TypedQuery<T> applyPagingToQuery(int pageNumber, int pageSize, Sort sort,
+			CriteriaBuilder criteriaBuilder, Root<EntityType> root, CriteriaQuery<T> criteriaQuery) {
 		List<Order> orders = getOrderList(sort, criteriaBuilder, root);
 
 		criteriaQuery.orderBy(orders);
-		TypedQuery<EntityType> typedQuery = entityManager.createQuery(criteriaQuery);
+		TypedQuery<T> typedQuery = entityManager.createQuery(criteriaQuery);
 		typedQuery.setMaxResults(pageSize);
 		typedQuery.setFirstResult(pageNumber * pageSize);
 		return typedQuery;
 	}
 
+	@Override
+	public CursorResult<EntityType> findAll(SeekCursor cursor, int pageSize) {
+		return seek(cursor, pageSize, null);
+	}
+
+	/**
+	 * Keyset pagination of entities matching the predicate. Fetches one entity more than
+	 * requested to detect whether there is a next page.
+	 * @param cursor position and ordering of the listing
+	 * @param pageSize size of requested page
+	 * @param predicateProvider filter of the listing, may be null
+	 * @return entities with cursor of the next page
+	 */
+	protected CursorResult<EntityType> seek(SeekCursor cursor, int pageSize,
+			@Nullable PredicateProvider<EntityType> predicateProvider) {
+		ValidationHelper.requireNonNull(cursor, "Cursor cannot be null!");
+
+		CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+		CriteriaQuery<EntityType> criteriaQuery = criteriaBuilder.createQuery(getEntityClass());
+		Root<EntityType> root = criteriaQuery.from(getEntityClass());
+
+		SeekCursor seekCursor = resolveSeekProperty(cursor, root);
+
+		List<Predicate> predicates = new ArrayList<>();
+		if (predicateProvider != null) {
+			predicates.add(predicateProvider.createPredicate(criteriaBuilder, root));
+		}
+		if (seekCursor.hasPosition()) {
+			predicates.add(buildSeekPredicate(seekCursor, criteriaBuilder, root));
+		}
+
+		criteriaQuery.where(predicates.toArray(Predicate[]::new));
+		criteriaQuery.orderBy(buildSeekOrder(seekCursor, criteriaBuilder, root));
+
+		List<EntityType> result = withFetchGraph(entityManager.createQuery(criteriaQuery)).setMaxResults(pageSize + 1)
+			.getResultList();
+
+		if (result.size() <= pageSize) {
+			return new CursorResult<>(result, null);
+		}
+
+		List<EntityType> page = new ArrayList<>(result.subList(0, pageSize));
+		EntityType last = page.getLast();
+
+		return new CursorResult<>(page, seekCursor.after(readSeekValue(seekCursor, last), last.getUid()));
+	}
+
+	private SeekCursor resolveSeekProperty(SeekCursor cursor, Root<EntityType> root) {
+		if (SeekCursor.UID_PROPERTY.equals(cursor.property()) || isSeekable(root, cursor.property())) {
+			return cursor;
+		}
+
+		if (cursor.hasPosition()) {
+			throw new ValidationException("Cursor sorted by unsupported property %s!".formatted(cursor.property()));
+		}
+
+		// Same as offset paging, unknown sort properties are ignored
+		return new SeekCursor(SeekCursor.UID_PROPERTY, cursor.direction(), null, null);
+	}
+
+	private List<Order> buildSeekOrder(SeekCursor cursor, CriteriaBuilder criteriaBuilder, Root<EntityType> root) {
+		List<Order> orders = new ArrayList<>();
+
+		if (!SeekCursor.UID_PROPERTY.equals(cursor.property())) {
+			orders.add(toOrder(root.get(cursor.property()), cursor.direction(), criteriaBuilder));
+		}
+		orders.add(toOrder(root.get(SeekCursor.UID_PROPERTY), cursor.direction(), criteriaBuilder));
+
+		return orders;
+	}
+
+	private static Order toOrder(Path<?> path, Sort.Direction direction, CriteriaBuilder criteriaBuilder) {
+		return direction.isAscending() ? criteriaBuilder.asc(path) : criteriaBuilder.desc(path);
+	}
+
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	private Predicate buildSeekPredicate(SeekCursor cursor, CriteriaBuilder criteriaBuilder, Root<EntityType> root) {
+		boolean ascending = cursor.direction().isAscending();
+
+		Path<UUID> uidPath = root.get(SeekCursor.UID_PROPERTY);
+		Predicate afterUid = ascending ? criteriaBuilder.greaterThan(uidPath, cursor.lastUid())
+				: criteriaBuilder.lessThan(uidPath, cursor.lastUid());
+
+		if (SeekCursor.UID_PROPERTY.equals(cursor.property())) {
+			return afterUid;
+		}
+
+		Path<Comparable> path = root.get(cursor.property());
+		Comparable value = parseSeekValue(cursor.lastValue(), path.getJavaType());
+		Predicate afterValue = ascending ? criteriaBuilder.greaterThan(path, value)
+				: criteriaBuilder.lessThan(path, value);
+
+		// (value, uid) > (lastValue, lastUid)
+		return criteriaBuilder.or(afterValue, criteriaBuilder.and(criteriaBuilder.equal(path, value), afterUid));
+	}
+
+	private static Comparable<?> parseSeekValue(String value, Class<?> type) {
+		try {
+			if (OffsetDateTime.class.equals(type)) {
+				return OffsetDateTime.parse(value);
+			}
+
+			return (Comparable<?>) DefaultConversionService.getSharedInstance().convert(value, type);
+		}
+		catch (ConversionException | DateTimeParseException e) {
+			throw new ValidationException("Invalid cursor!", e);
+		}
+	}
+
+	private static String readSeekValue(SeekCursor cursor, IdentifiedEntity entity) {
+		if (SeekCursor.UID_PROPERTY.equals(cursor.property())) {
+			return null;
+		}
+
+		Object value = new BeanWrapperImpl(entity).getPropertyValue(cursor.property());
+		return value == null ? null : value.toString();
+	}
+
+	/**
+	 * Only non null comparable columns are seekable. SQL comparisons skip null values, so
+	 * a nullable column would lose its rows at page boundaries.
+	 */
+	private boolean isSeekable(Root<EntityType> root, String property) {
+		for (var attr : root.getModel().getSingularAttributes()) {
+			if (property.equals(attr.getName())) {
+				return attr.getPersistentAttributeType() == Attribute.PersistentAttributeType.BASIC
+						&& !attr.isOptional() && Comparable.class.isAssignableFrom(attr.getJavaType());
+			}
+		}
+
+		return false;
+	}
+
 	private boolean hasProperty(Root<EntityType> root, String property) {
 		for (var attr : root.getModel().getAttributes()) {
 			if (property.equals(attr.getName())) {
@@ -182,6 +604,34 @@ public abstract class AbstractDao<EntityType extends IdentifiedEntity> implement
 		return rowCount > 0;
 	}
 
+	@Override
+	public Set<UUID> findExistingIds(Collection<UUID> uuids) {
+		if (uuids == null || uuids.isEmpty()) {
+			return Set.of();
+		}
+
+		// Always queried, the second-level cache of this node may still hold
+		// entities soft deleted by another node
+		Set<UUID> queried = new HashSet<>();
+		for (UUID uuid : uuids) {
+			if (uuid != null) {
+				queried.add(uuid);
+			}
+		}
+
+		if (queried.isEmpty()) {
+			return Set.of();
+		}
+
+		CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+		CriteriaQuery<UUID> cr = criteriaBuilder.createQuery(UUID.class);
+		Root<EntityType> root = cr.from(getEntityClass());
+
+		cr.select(root.get("uid")).where(root.get("uid").in(queried));
+
+		return new HashSet<>(entityManager.createQuery(cr).getResultList());
+	}
+
 	@Override
 	public long count() {
 		return countWithPredicate(null);
@@ -214,4 +664,7 @@ public abstract class AbstractDao<EntityType extends IdentifiedEntity> implement
 
 	protected abstract Class<EntityType> getEntityClass();
 
+	private record CachedCount(long count, long expiresAt) {
+	}
+
 }
@@ -2,14 +2,25 @@ package com.github.ricaps.tennis_club.peristence.dao;
 
 import com.github.ricaps.tennis_club.peristence.dao.definition.CourtDao;
 import com.github.ricaps.tennis_club.peristence.entity.Court;
+import com.github.ricaps.tennis_club.utils.ValidationHelper;
+import jakarta.annotation.Nullable;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
 @Repository
 public class CourtDaoImpl extends AbstractDao<Court> implements CourtDao {
 
+	private final EntityManager entityManager;
+
 	public CourtDaoImpl(EntityManager entityManager) {
 		super(entityManager);
+		this.entityManager = entityManager;
 	}
 
 	@Override
@@ -17,4 +28,41 @@ public class CourtDaoImpl extends AbstractDao<Court> implements CourtDao {
 		return Court.class;
 	}
 
+	@Override
+	protected String getFetchGraphName() {
+		return Court.VIEW_GRAPH;
+	}
+
+	@Override
+	public List<Court> findAllBySurface(@Nullable UUID surfaceUid) {
+		if (surfaceUid == null) {
+			return entityManager.createQuery("FROM Court c JOIN FETCH c.surface ORDER BY c.name", Court.class)
+				.setHint(HibernateHints.HINT_CACHEABLE, true)
+				.getResultList();
+		}
+
+		TypedQuery<Court> query = entityManager
+			.createQuery("FROM Court c JOIN FETCH c.surface s WHERE s.uid = :surfaceUid ORDER BY c.name", Court.class);
+		query.setParameter("surfaceUid", surfaceUid);
+		query.setHint(HibernateHints.HINT_CACHEABLE, true);
+
+		return query.getResultList();
+	}
+
+	@Override
+	public List<Court> findAllByUids(Collection<UUID> uids) {
+		ValidationHelper.requireNonNull(uids, "UIDs cannot be null!");
+
+		if (uids.isEmpty()) {
+			return List.of();
+		}
+
+		TypedQuery<Court> query = entityManager.createQuery("FROM Court c JOIN FETCH c.surface WHERE c.uid IN :uids",
+				Court.class);
+		query.setParameter("uids", uids);
+		query.setHint(HibernateHints.HINT_CACHEABLE, true);
+
+		return query.getResultList();
+	}
+
 }
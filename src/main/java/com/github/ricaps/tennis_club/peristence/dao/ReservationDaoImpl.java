@@ -1,26 +1,43 @@
 package com.github.ricaps.tennis_club.peristence.dao;
 
 import com.github.ricaps.tennis_club.peristence.dao.definition.ReservationDao;
+import com.github.ricaps.tennis_club.peristence.entity.Court;
 import com.github.ricaps.tennis_club.peristence.entity.Reservation;
+import com.github.ricaps.tennis_club.peristence.projection.ReservationInterval;
+import com.github.ricaps.tennis_club.peristence.projection.ReservationView;
+import com.github.ricaps.tennis_club.peristence.utils.CountStrategy;
+import com.github.ricaps.tennis_club.peristence.utils.CursorResult;
 import com.github.ricaps.tennis_club.peristence.utils.PageableResult;
+import com.github.ricaps.tennis_club.peristence.utils.SeekCursor;
 import com.github.ricaps.tennis_club.utils.ValidationHelper;
+import jakarta.annotation.Nullable;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
 import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CompoundSelection;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Repository
 public class ReservationDaoImpl extends AbstractDao<Reservation> implements ReservationDao {
 
+	private static final int STREAM_FETCH_SIZE = 500;
+
 	private final EntityManager entityManager;
 
 	public ReservationDaoImpl(EntityManager entityManager) {
@@ -41,21 +58,39 @@ public class ReservationDaoImpl extends AbstractDao<Reservation> implements Rese
 		return criteriaBuilder.and(phoneNumberPredicate, onlyFuturePredicate);
 	}
 
+	private static CompoundSelection<ReservationView> buildViewSelection(CriteriaBuilder criteriaBuilder,
+			Root<Reservation> root) {
+		Path<Court> court = root.get("court");
+		Path<?> surface = court.get("surface");
+		Path<?> user = root.get("user");
+		Path<?> totalPrice = root.get("totalPrice");
+
+		return criteriaBuilder.construct(ReservationView.class, root.get("uid"), court.get("uid"), court.get("name"),
+				surface.get("uid"), surface.get("name"), surface.get("price"), surface.get("currency"), user.get("uid"),
+				user.get("firstName"), user.get("familyName"), user.get("phoneNumber"), root.get("fromTime"),
+				root.get("toTime"), root.get("createdAt"), root.get("isQuadGame"), totalPrice.get("amount"),
+				totalPrice.get("currency"));
+	}
+
 	@Override
 	protected Class<Reservation> getEntityClass() {
 		return Reservation.class;
 	}
 
+	@Override
+	protected String getFetchGraphName() {
+		return Reservation.VIEW_GRAPH;
+	}
+
 	@Override
 	public List<Reservation> getReservationsAtTimeFrame(OffsetDateTime from, OffsetDateTime to, UUID courtID) {
 		ValidationHelper.requireNonNull(from, "From cannot be null!");
 		ValidationHelper.requireNonNull(to, "To cannot be null!");
 		ValidationHelper.requireNonNull(courtID, "Court ID cannot be null!");
 
-		TypedQuery<Reservation> query = entityManager
-			.createQuery("FROM Reservation r WHERE ((:from >= fromTime AND :from <= toTime) OR "
-					+ "(:to >= fromTime AND :to <= toTime) OR " + "(:from <= fromTime AND :to >= toTime)) "
-					+ "AND court.id = :courtUid", Reservation.class);
+		TypedQuery<Reservation> query = entityManager.createQuery(
+				"FROM Reservation r WHERE r.fromTime <= :to AND r.toTime >= :from " + "AND r.court.uid = :courtUid",
+				Reservation.class);
 
 		query.setParameter("from", from);
 		query.setParameter("to", to);
@@ -65,38 +100,167 @@ public class ReservationDaoImpl extends AbstractDao<Reservation> implements Rese
 	}
 
 	@Override
-	@Transactional
-	public PageableResult<Reservation> getReservationsAtCourt(UUID courtUid, int pageNumber, int pageSize, Sort sort) {
+	public Optional<UUID> findOverlappingUid(UUID courtUid, OffsetDateTime from, OffsetDateTime to, UUID ignoredUid) {
+		ValidationHelper.requireNonNull(courtUid, "Court ID cannot be null!");
+		ValidationHelper.requireNonNull(from, "From cannot be null!");
+		ValidationHelper.requireNonNull(to, "To cannot be null!");
+		ValidationHelper.requireNonNull(ignoredUid, "Ignored ID cannot be null!");
+
+		return entityManager
+			.createQuery("SELECT r.uid FROM Reservation r WHERE r.court.uid = :courtUid AND r.fromTime <= :to "
+					+ "AND r.toTime >= :from AND r.uid <> :ignoredUid", UUID.class)
+			.setParameter("courtUid", courtUid)
+			.setParameter("from", from)
+			.setParameter("to", to)
+			.setParameter("ignoredUid", ignoredUid)
+			.setMaxResults(1)
+			.getResultStream()
+			.findFirst();
+	}
+
+	@Override
+	public boolean lockCourt(UUID courtUid) {
+		ValidationHelper.requireNonNull(courtUid, "Court ID cannot be null!");
+
+		// Only the uid is selected, so the row is locked without loading the court, which
+		// is read from the second-level cache
+		return !entityManager.createQuery("SELECT c.uid FROM Court c WHERE c.uid = :courtUid", UUID.class)
+			.setParameter("courtUid", courtUid)
+			.setLockMode(LockModeType.PESSIMISTIC_WRITE)
+			.getResultList()
+			.isEmpty();
+	}
+
+	@Override
+	public List<ReservationInterval> getReservationIntervalsEndingAfter(OffsetDateTime time) {
+		ValidationHelper.requireNonNull(time, "Time cannot be null!");
+
+		TypedQuery<ReservationInterval> query = entityManager.createQuery(
+				"SELECT new " + ReservationInterval.class.getName() + "(r.uid, r.court.uid, r.fromTime, r.toTime) "
+						+ "FROM Reservation r WHERE r.toTime >= :time",
+				ReservationInterval.class);
+
+		query.setParameter("time", time);
+
+		return query.getResultList();
+	}
+
+	@Override
+	public List<ReservationInterval> getReservationIntervalsAtTimeFrame(UUID courtUid, OffsetDateTime from,
+			OffsetDateTime to) {
+		ValidationHelper.requireNonNull(courtUid, "Court ID cannot be null!");
+		ValidationHelper.requireNonNull(from, "From cannot be null!");
+		ValidationHelper.requireNonNull(to, "To cannot be null!");
+
+		TypedQuery<ReservationInterval> query = entityManager.createQuery("SELECT new "
+				+ ReservationInterval.class.getName() + "(r.uid, r.court.uid, r.fromTime, r.toTime) "
+				+ "FROM Reservation r WHERE r.court.uid = :courtUid AND r.fromTime <= :to AND r.toTime >= :from "
+				+ "ORDER BY r.fromTime", ReservationInterval.class);
+
+		query.setParameter("courtUid", courtUid);
+		query.setParameter("from", from);
+		query.setParameter("to", to);
+
+		return query.getResultList();
+	}
+
+	@Override
+	public List<ReservationInterval> deleteBySeries(UUID seriesUid) {
+		ValidationHelper.requireNonNull(seriesUid, "Series ID cannot be null!");
+
+		List<ReservationInterval> intervals = entityManager
+			.createQuery("SELECT new " + ReservationInterval.class.getName()
+					+ "(r.uid, r.court.uid, r.fromTime, r.toTime) FROM Reservation r WHERE r.seriesUid = :seriesUid",
+					ReservationInterval.class)
+			.setParameter("seriesUid", seriesUid)
+			.getResultList();
+		deleteAll((cb, root) -> cb.equal(root.get("seriesUid"), seriesUid));
+
+		return intervals;
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public void streamViews(@Nullable UUID courtUid, @Nullable UUID userUid, @Nullable OffsetDateTime from,
+			@Nullable OffsetDateTime to, Consumer<ReservationView> consumer) {
+		ValidationHelper.requireNonNull(consumer, "Consumer cannot be null!");
+
 		CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
-		CriteriaQuery<Reservation> criteriaQuery = criteriaBuilder.createQuery(getEntityClass());
-		Root<Reservation> root = criteriaQuery.from(getEntityClass());
+		CriteriaQuery<ReservationView> criteriaQuery = criteriaBuilder.createQuery(ReservationView.class);
+		Root<Reservation> root = criteriaQuery.from(Reservation.class);
 
-		Predicate courtUIDPredicate = buildCourtUidPredicate(courtUid, criteriaBuilder, root);
-		criteriaQuery.where(courtUIDPredicate);
+		List<Predicate> predicates = new ArrayList<>();
+		if (courtUid != null) {
+			predicates.add(buildCourtUidPredicate(courtUid, criteriaBuilder, root));
+		}
+		if (userUid != null) {
+			predicates.add(criteriaBuilder.equal(root.get("user").get("uid"), userUid));
+		}
+		if (from != null) {
+			predicates.add(criteriaBuilder.greaterThanOrEqualTo(root.get("fromTime"), from));
+		}
+		if (to != null) {
+			predicates.add(criteriaBuilder.lessThan(root.get("fromTime"), to));
+		}
 
-		TypedQuery<Reservation> typedQuery = applyPagingToQuery(pageNumber, pageSize, sort, criteriaBuilder, root,
-				criteriaQuery);
+		criteriaQuery.select(buildViewSelection(criteriaBuilder, root))
+			.where(predicates.toArray(Predicate[]::new))
+			.orderBy(criteriaBuilder.asc(root.get("fromTime")), criteriaBuilder.asc(root.get("uid")));
 
-		return new PageableResult<>(typedQuery.getResultList(),
-				count((cb, builderRoot) -> buildCourtUidPredicate(courtUid, cb, builderRoot)));
+		// Views are not managed, so the persistence context stays empty and needs no
+		// clearing while the rows are read
+		try (Stream<ReservationView> views = entityManager.createQuery(criteriaQuery)
+			.setHint(HibernateHints.HINT_FETCH_SIZE, STREAM_FETCH_SIZE)
+			.setHint(HibernateHints.HINT_READ_ONLY, true)
+			.getResultStream()) {
+			views.forEach(consumer);
+		}
 	}
 
 	@Override
 	@Transactional
-	public PageableResult<Reservation> getReservationsByPhoneNumber(String phoneNumber, OffsetDateTime fromTime,
-			int pageNumber, int pageSize, Sort sort) {
-		CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
-		CriteriaQuery<Reservation> criteriaQuery = criteriaBuilder.createQuery(getEntityClass());
-		Root<Reservation> root = criteriaQuery.from(getEntityClass());
+	public PageableResult<Reservation> getReservationsAtCourt(UUID courtUid, int pageNumber, int pageSize, Sort sort,
+			CountStrategy countStrategy) {
+		return findPage(pageNumber, pageSize, sort, countStrategy, "court:" + courtUid,
+				(cb, root) -> buildCourtUidPredicate(courtUid, cb, root));
+	}
 
-		Predicate courtUIDPredicate = buildPhoneNumberPredicate(phoneNumber, fromTime, criteriaBuilder, root);
-		criteriaQuery.where(courtUIDPredicate);
+	@Override
+	@Transactional
+	public PageableResult<ReservationView> getReservationViewsAtCourt(UUID courtUid, int pageNumber, int pageSize,
+			Sort sort, CountStrategy countStrategy) {
+		return findProjectedPage(ReservationDaoImpl::buildViewSelection, ReservationView.class, pageNumber, pageSize,
+				sort, countStrategy, "court:" + courtUid, (cb, root) -> buildCourtUidPredicate(courtUid, cb, root));
+	}
 
-		TypedQuery<Reservation> typedQuery = applyPagingToQuery(pageNumber, pageSize, sort, criteriaBuilder, root,
-				criteriaQuery);
+	@Override
+	@Transactional
+	public CursorResult<Reservation> getReservationsAtCourt(UUID courtUid, SeekCursor cursor, int pageSize) {
+		return seek(cursor, pageSize, (cb, root) -> buildCourtUidPredicate(courtUid, cb, root));
+	}
 
-		return new PageableResult<>(typedQuery.getResultList(),
-				count((cb, builderRoot) -> buildPhoneNumberPredicate(phoneNumber, fromTime, cb, builderRoot)));
+	@Override
+	@Transactional
+	public PageableResult<Reservation> getReservationsByPhoneNumber(String phoneNumber, OffsetDateTime fromTime,
+			int pageNumber, int pageSize, Sort sort, CountStrategy countStrategy) {
+		return findPage(pageNumber, pageSize, sort, countStrategy, "phone:" + phoneNumber + ":" + fromTime,
+				(cb, root) -> buildPhoneNumberPredicate(phoneNumber, fromTime, cb, root));
+	}
+
+	@Override
+	@Transactional
+	public PageableResult<ReservationView> getReservationViewsByPhoneNumber(String phoneNumber, OffsetDateTime fromTime,
+			int pageNumber, int pageSize, Sort sort, CountStrategy countStrategy) {
+		return findProjectedPage(ReservationDaoImpl::buildViewSelection, ReservationView.class, pageNumber, pageSize,
+				sort, countStrategy, "phone:" + phoneNumber + ":" + fromTime,
+				(cb, root) -> buildPhoneNumberPredicate(phoneNumber, fromTime, cb, root));
+	}
+
+	@Override
+	@Transactional
+	public CursorResult<Reservation> getReservationsByPhoneNumber(String phoneNumber, OffsetDateTime fromTime,
+			SeekCursor cursor, int pageSize) {
+		return seek(cursor, pageSize, (cb, root) -> buildPhoneNumberPredicate(phoneNumber, fromTime, cb, root));
 	}
 
 }
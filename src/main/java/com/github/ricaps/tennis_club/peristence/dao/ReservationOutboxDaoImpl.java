@@ -0,0 +1,76 @@
+package com.github.ricaps.tennis_club.peristence.dao;
+
+import com.github.ricaps.tennis_club.peristence.dao.definition.ReservationOutboxDao;
+import com.github.ricaps.tennis_club.peristence.entity.ReservationOutboxEvent;
+import com.github.ricaps.tennis_club.utils.ValidationHelper;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+@Transactional(propagation = Propagation.MANDATORY)
+public class ReservationOutboxDaoImpl implements ReservationOutboxDao {
+
+	// Native, the soft deleted reservation is not visible to queries of the entity
+	private static final String INSERT_DELETED_SQL = "INSERT INTO reservation_outbox_event "
+			+ "(event_type, reservation_uid, court_uid, from_time, to_time, created_at) "
+			+ "SELECT :eventType, r.uid, r.court_uid, r.from_time, r.to_time, :createdAt "
+			+ "FROM reservation r WHERE r.uid = :reservationUid";
+
+	// Native, the H2 dialect of Hibernate renders skip locked as a plain for update. H2
+	// locks every row it sorts, ordering by the primary key locks only the claimed rows.
+	private static final String CLAIM_SQL = "SELECT * FROM reservation_outbox_event "
+			+ "ORDER BY id FETCH FIRST :limit ROWS ONLY FOR UPDATE SKIP LOCKED";
+
+	private final EntityManager entityManager;
+
+	public ReservationOutboxDaoImpl(EntityManager entityManager) {
+		this.entityManager = entityManager;
+	}
+
+	@Override
+	public void saveAll(Collection<ReservationOutboxEvent> events) {
+		ValidationHelper.requireNonNull(events, "Events cannot be null!");
+
+		events.forEach(entityManager::persist);
+	}
+
+	@Override
+	public int saveDeleted(UUID reservationUid) {
+		ValidationHelper.requireNonNull(reservationUid, "Reservation ID cannot be null!");
+
+		return entityManager.createNativeQuery(INSERT_DELETED_SQL)
+			.setParameter("eventType", ReservationOutboxEvent.EventType.DELETED.name())
+			.setParameter("createdAt", OffsetDateTime.now().truncatedTo(ChronoUnit.MICROS))
+			.setParameter("reservationUid", reservationUid)
+			.executeUpdate();
+	}
+
+	@Override
+	public List<ReservationOutboxEvent> claim(int limit) {
+		return entityManager.createNativeQuery(CLAIM_SQL, ReservationOutboxEvent.class)
+			.setParameter("limit", limit)
+			.getResultList();
+	}
+
+	@Override
+	public void deleteAll(Collection<Long> ids) {
+		ValidationHelper.requireNonNull(ids, "Event IDs cannot be null!");
+
+		if (ids.isEmpty()) {
+			return;
+		}
+
+		entityManager.createQuery("DELETE FROM ReservationOutboxEvent e WHERE e.id IN :ids")
+			.setParameter("ids", ids)
+			.executeUpdate();
+	}
+
+}
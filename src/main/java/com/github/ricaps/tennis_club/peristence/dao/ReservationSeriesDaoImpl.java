@@ -0,0 +1,20 @@
+package com.github.ricaps.tennis_club.peristence.dao;
+
+import com.github.ricaps.tennis_club.peristence.dao.definition.ReservationSeriesDao;
+import com.github.ricaps.tennis_club.peristence.entity.ReservationSeries;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public class ReservationSeriesDaoImpl extends AbstractDao<ReservationSeries> implements ReservationSeriesDao {
+
+	public ReservationSeriesDaoImpl(EntityManager entityManager) {
+		super(entityManager);
+	}
+
+	@Override
+	protected Class<ReservationSeries> getEntityClass() {
+		return ReservationSeries.class;
+	}
+
+}
@@ -0,0 +1,63 @@
+package com.github.ricaps.tennis_club.peristence.dao;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+
+import java.util.List;
+import java.util.OptionalLong;
+
+/**
+ * Reads estimated row count of an entity table from database statistics, without scanning
+ * the table. Estimate includes soft deleted rows.
+ */
+final class RowCountEstimator {
+
+	private static final String H2_QUERY = "SELECT ROW_COUNT_ESTIMATE FROM INFORMATION_SCHEMA.TABLES "
+			+ "WHERE LOWER(TABLE_NAME) = LOWER(:tableName)";
+
+	private static final String POSTGRESQL_QUERY = "SELECT CAST(reltuples AS BIGINT) FROM pg_class WHERE relname = :tableName";
+
+	private RowCountEstimator() {
+		super();
+	}
+
+	/**
+	 * Estimates row count of the entity table
+	 * @param entityManager entity manager
+	 * @param entityClass class of the entity
+	 * @return estimated count, empty if the database doesn't provide the estimate
+	 */
+	static OptionalLong estimate(EntityManager entityManager, Class<?> entityClass) {
+		SessionFactoryImplementor sessionFactory = entityManager.getEntityManagerFactory()
+			.unwrap(SessionFactoryImplementor.class);
+		Dialect dialect = sessionFactory.getJdbcServices().getDialect();
+
+		String query;
+		if (dialect instanceof H2Dialect) {
+			query = H2_QUERY;
+		}
+		else if (dialect instanceof PostgreSQLDialect) {
+			query = POSTGRESQL_QUERY;
+		}
+		else {
+			return OptionalLong.empty();
+		}
+
+		String tableName = ((AbstractEntityPersister) sessionFactory.getMappingMetamodel()
+			.getEntityDescriptor(entityClass)).getTableName();
+
+		List<?> result = entityManager.createNativeQuery(query).setParameter("tableName", tableName).getResultList();
+
+		// PostgreSQL returns -1 for tables which were never analyzed
+		if (result.isEmpty() || !(result.getFirst() instanceof Number estimate) || estimate.longValue() < 0) {
+			return OptionalLong.empty();
+		}
+
+		return OptionalLong.of(estimate.longValue());
+	}
+
+}
@@ -2,14 +2,21 @@ package com.github.ricaps.tennis_club.peristence.dao;
 
 import com.github.ricaps.tennis_club.peristence.dao.definition.SurfaceDao;
 import com.github.ricaps.tennis_club.peristence.entity.Surface;
+import com.github.ricaps.tennis_club.utils.ValidationHelper;
 import jakarta.persistence.EntityManager;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public class SurfaceDaoImpl extends AbstractDao<Surface> implements SurfaceDao {
 
+	private final EntityManager entityManager;
+
 	public SurfaceDaoImpl(EntityManager entityManager) {
 		super(entityManager);
+		this.entityManager = entityManager;
 	}
 
 	@Override
@@ -17,4 +24,17 @@ public class SurfaceDaoImpl extends AbstractDao<Surface> implements SurfaceDao {
 		return Surface.class;
 	}
 
+	@Override
+	public List<Surface> findAllByNames(Collection<String> names) {
+		ValidationHelper.requireNonNull(names, "Names cannot be null!");
+
+		if (names.isEmpty()) {
+			return List.of();
+		}
+
+		return entityManager.createQuery("FROM Surface s WHERE s.name IN :names", Surface.class)
+			.setParameter("names", names)
+			.getResultList();
+	}
+
 }
@@ -3,13 +3,17 @@ package com.github.ricaps.tennis_club.peristence.dao;
 import com.github.ricaps.tennis_club.peristence.dao.definition.UserDao;
 import com.github.ricaps.tennis_club.peristence.entity.User;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
 import jakarta.persistence.criteria.Root;
 import org.springframework.stereotype.Repository;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.UUID;
 
 @Repository
 public class UserDaoImpl extends AbstractDao<User> implements UserDao {
@@ -50,4 +54,15 @@ public class UserDaoImpl extends AbstractDao<User> implements UserDao {
 		return Optional.of(users.getFirst());
 	}
 
+	@Override
+	public Map<String, UUID> findAllUidsByPhoneNumber() {
+		List<Tuple> rows = entityManager.createQuery("SELECT u.phoneNumber, u.uid FROM User u", Tuple.class)
+			.getResultList();
+
+		Map<String, UUID> uids = new HashMap<>(rows.size() * 2);
+		rows.forEach(row -> uids.put(row.get(0, String.class), row.get(1, UUID.class)));
+
+		return uids;
+	}
+
 }
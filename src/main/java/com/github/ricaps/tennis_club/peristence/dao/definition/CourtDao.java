@@ -1,7 +1,26 @@
 package com.github.ricaps.tennis_club.peristence.dao.definition;
 
 import com.github.ricaps.tennis_club.peristence.entity.Court;
+import jakarta.annotation.Nullable;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
 
 public interface CourtDao extends CrudDao<Court> {
 
+	/**
+	 * Finds all courts ordered by name
+	 * @param surfaceUid uid of the surface of courts, null for courts of any surface
+	 * @return courts with their surface
+	 */
+	List<Court> findAllBySurface(@Nullable UUID surfaceUid);
+
+	/**
+	 * Finds courts by their uids with a single query
+	 * @param uids uids of the courts
+	 * @return found courts with their surface, missing uids are skipped
+	 */
+	List<Court> findAllByUids(Collection<UUID> uids);
+
 }
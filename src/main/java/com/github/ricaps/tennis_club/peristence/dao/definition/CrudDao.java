@@ -1,12 +1,17 @@
 package com.github.ricaps.tennis_club.peristence.dao.definition;
 
 import com.github.ricaps.tennis_club.peristence.entity.IdentifiedEntity;
+import com.github.ricaps.tennis_club.peristence.utils.CountStrategy;
+import com.github.ricaps.tennis_club.peristence.utils.CursorResult;
+import com.github.ricaps.tennis_club.peristence.utils.PageableResult;
 import com.github.ricaps.tennis_club.peristence.utils.PredicateProvider;
+import com.github.ricaps.tennis_club.peristence.utils.SeekCursor;
 import org.springframework.data.domain.Sort;
 
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 public interface CrudDao<EntityType extends IdentifiedEntity> {
@@ -20,6 +25,21 @@ public interface CrudDao<EntityType extends IdentifiedEntity> {
 
 	void saveAll(Collection<EntityType> entities);
 
+	/**
+	 * Inserts new entities in JDBC batches through a stateless session, so they never
+	 * enter the persistence context. Meant for bulk imports: the session shares the
+	 * connection and transaction of the caller, entities the inserted ones reference must
+	 * already be written to the database.
+	 * @param entities entities to be inserted
+	 */
+	void insertAll(Collection<EntityType> entities);
+
+	/**
+	 * Evicts all entities of the type from the second-level cache, together with cached
+	 * query results. Needed after writes which bypass the persistence context.
+	 */
+	void evictFromCache();
+
 	/**
 	 * Updates given entity
 	 * @param entity entity to be updated
@@ -28,11 +48,19 @@ public interface CrudDao<EntityType extends IdentifiedEntity> {
 	EntityType update(EntityType entity);
 
 	/**
-	 * Deletes given entity
-	 * @param entity entity for deletion
-	 * @return true if the deletion was successful
+	 * Updates given entity only when it exists. The select loading the current state
+	 * serves as the existence check, so no count query is needed.
+	 * @param entity entity to be updated
+	 * @return updated entity, empty if the entity doesn't exist
+	 */
+	Optional<EntityType> updateIfExists(EntityType entity);
+
+	/**
+	 * Deletes given entity with a single statement
+	 * @param entity uid of the entity for deletion
+	 * @return number of deleted entities, zero when the entity doesn't exist
 	 */
-	boolean delete(UUID entity);
+	int delete(UUID entity);
 
 	/**
 	 * Returns entity based on the UUID
@@ -57,6 +85,25 @@ public interface CrudDao<EntityType extends IdentifiedEntity> {
 	 */
 	List<EntityType> findAll(int pageNumber, int pageSize, Sort sort);
 
+	/**
+	 * Returns all entities pageable with total count
+	 * @param pageNumber page number
+	 * @param pageSize size of requested page
+	 * @param sort sort object defining sort constraints
+	 * @param countStrategy how the total count is obtained
+	 * @return entities with total count
+	 */
+	PageableResult<EntityType> findAll(int pageNumber, int pageSize, Sort sort, CountStrategy countStrategy);
+
+	/**
+	 * Returns page of entities following the cursor (keyset pagination). Unlike offset
+	 * paging, cost of the query doesn't grow with the page depth.
+	 * @param cursor position and ordering of the listing
+	 * @param pageSize size of requested page
+	 * @return entities with cursor of the next page
+	 */
+	CursorResult<EntityType> findAll(SeekCursor cursor, int pageSize);
+
 	/**
 	 * Checks database if entity with given ID exists
 	 * @param uuid id of the entity
@@ -64,6 +111,14 @@ public interface CrudDao<EntityType extends IdentifiedEntity> {
 	 */
 	boolean existsById(UUID uuid);
 
+	/**
+	 * Checks which of the entities exist with at most one query. Entities held by the
+	 * second-level cache are not queried at all.
+	 * @param uuids ids of the entities
+	 * @return ids of existing entities
+	 */
+	Set<UUID> findExistingIds(Collection<UUID> uuids);
+
 	/**
 	 * Returns count of all entities
 	 * @return number of entities as Long
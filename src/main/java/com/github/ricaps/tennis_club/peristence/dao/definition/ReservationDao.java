@@ -1,12 +1,20 @@
 package com.github.ricaps.tennis_club.peristence.dao.definition;
 
 import com.github.ricaps.tennis_club.peristence.entity.Reservation;
+import com.github.ricaps.tennis_club.peristence.projection.ReservationInterval;
+import com.github.ricaps.tennis_club.peristence.projection.ReservationView;
+import com.github.ricaps.tennis_club.peristence.utils.CountStrategy;
+import com.github.ricaps.tennis_club.peristence.utils.CursorResult;
 import com.github.ricaps.tennis_club.peristence.utils.PageableResult;
+import com.github.ricaps.tennis_club.peristence.utils.SeekCursor;
+import jakarta.annotation.Nullable;
 import org.springframework.data.domain.Sort;
 
 import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 public interface ReservationDao extends CrudDao<Reservation> {
 
@@ -19,15 +27,98 @@ public interface ReservationDao extends CrudDao<Reservation> {
 	 */
 	List<Reservation> getReservationsAtTimeFrame(OffsetDateTime from, OffsetDateTime to, UUID courtID);
 
+	/**
+	 * Finds any reservation at the court which overlaps or touches the time frame. Only
+	 * the uid of a single row is selected, so the probe is answered from the index of
+	 * court intervals.
+	 * @param courtUid ID of the court
+	 * @param from start of the time frame
+	 * @param to end of the time frame
+	 * @param ignoredUid ID of the reservation which is skipped (reservation being
+	 * written)
+	 * @return ID of an overlapping reservation, empty if there is none
+	 */
+	Optional<UUID> findOverlappingUid(UUID courtUid, OffsetDateTime from, OffsetDateTime to, UUID ignoredUid);
+
+	/**
+	 * Acquires pessimistic write lock of the court row until the end of the current
+	 * transaction. Serializes reservation writes for the court across all application
+	 * nodes. Deleted courts are not locked, so the lock confirms existence of the court.
+	 * @param courtUid ID of the court
+	 * @return true if the court exists and was locked, otherwise false
+	 */
+	boolean lockCourt(UUID courtUid);
+
+	/**
+	 * Gets time intervals of all reservations which end at or after the specified time
+	 * @param time reference time
+	 * @return list of reservation intervals
+	 */
+	List<ReservationInterval> getReservationIntervalsEndingAfter(OffsetDateTime time);
+
+	/**
+	 * Gets time intervals of reservations at the court which overlap or touch the time
+	 * frame, ordered by their start
+	 * @param courtUid uid of the court
+	 * @param from start of the time frame
+	 * @param to end of the time frame
+	 * @return list of reservation intervals
+	 */
+	List<ReservationInterval> getReservationIntervalsAtTimeFrame(UUID courtUid, OffsetDateTime from, OffsetDateTime to);
+
+	/**
+	 * Deletes all occurrences of the reservation series
+	 * @param seriesUid uid of the series
+	 * @return intervals of the deleted reservations
+	 */
+	List<ReservationInterval> deleteBySeries(UUID seriesUid);
+
+	/**
+	 * Passes views of all reservations matching the filter to the consumer, ordered by
+	 * their start. Rows are read from an open cursor in chunks of a fixed fetch size and
+	 * no entity is loaded, so memory use doesn't grow with the number of reservations.
+	 * @param courtUid only reservations at this court, any court when null
+	 * @param userUid only reservations of this user, any user when null
+	 * @param from only reservations starting at or after this time, unbounded when null
+	 * @param to only reservations starting before this time, unbounded when null
+	 * @param consumer consumer of the views, called while the cursor is open
+	 */
+	void streamViews(@Nullable UUID courtUid, @Nullable UUID userUid, @Nullable OffsetDateTime from,
+			@Nullable OffsetDateTime to, Consumer<ReservationView> consumer);
+
 	/**
 	 * Gets paged reservations at given court
 	 * @param courtUid ID of the court to filter by
 	 * @param pageNumber page number
 	 * @param pageSize size of each page
 	 * @param sort sort definition
+	 * @param countStrategy how the total count is obtained
 	 * @return result in pageable result (total count with data)
 	 */
-	PageableResult<Reservation> getReservationsAtCourt(UUID courtUid, int pageNumber, int pageSize, Sort sort);
+	PageableResult<Reservation> getReservationsAtCourt(UUID courtUid, int pageNumber, int pageSize, Sort sort,
+			CountStrategy countStrategy);
+
+	/**
+	 * Gets paged views of reservations at given court. Selects only the columns of the
+	 * view by a single query, without loading the entities.
+	 * @param courtUid ID of the court to filter by
+	 * @param pageNumber page number
+	 * @param pageSize size of each page
+	 * @param sort sort definition
+	 * @param countStrategy how the total count is obtained
+	 * @return reservation views in pageable result (total count with data)
+	 */
+	PageableResult<ReservationView> getReservationViewsAtCourt(UUID courtUid, int pageNumber, int pageSize, Sort sort,
+			CountStrategy countStrategy);
+
+	/**
+	 * Gets reservations at given court following the cursor (keyset pagination)
+	 * @param courtUid ID of the court to filter by
+	 * @param cursor position and ordering of the listing
+	 * @param pageSize size of each page
+	 * @return reservations with cursor of the next page
+	 */
+	CursorResult<Reservation> getReservationsAtCourt(UUID courtUid, SeekCursor cursor, int pageSize);
 
 	/**
 	 * Gets paged reservation for given user's phone number, and only in the future if
@@ -38,9 +129,38 @@ public interface ReservationDao extends CrudDao<Reservation> {
 	 * @param pageNumber page number
 	 * @param pageSize size of each page
 	 * @param sort sort definition
+	 * @param countStrategy how the total count is obtained
 	 * @return reservations in pageable result (total count with data)
 	 */
 	PageableResult<Reservation> getReservationsByPhoneNumber(String phoneNumber, OffsetDateTime fromTime,
-			int pageNumber, int pageSize, Sort sort);
+			int pageNumber, int pageSize, Sort sort, CountStrategy countStrategy);
+
+	/**
+	 * Gets paged views of reservations for given user's phone number. Selects only the
+	 * columns of the view by a single query, without loading the entities.
+	 * @param phoneNumber user's phone number
+	 * @param fromTime includes only records that are newer (has greater fromTime
+	 * argument)
+	 * @param pageNumber page number
+	 * @param pageSize size of each page
+	 * @param sort sort definition
+	 * @param countStrategy how the total count is obtained
+	 * @return reservation views in pageable result (total count with data)
+	 */
+	PageableResult<ReservationView> getReservationViewsByPhoneNumber(String phoneNumber, OffsetDateTime fromTime,
+			int pageNumber, int pageSize, Sort sort, CountStrategy countStrategy);
+
+	/**
+	 * Gets reservations for given user's phone number following the cursor (keyset
+	 * pagination)
+	 * @param phoneNumber user's phone number
+	 * @param fromTime includes only records that are newer (has greater fromTime
+	 * argument)
+	 * @param cursor position and ordering of the listing
+	 * @param pageSize size of each page
+	 * @return reservations with cursor of the next page
+	 */
+	CursorResult<Reservation> getReservationsByPhoneNumber(String phoneNumber, OffsetDateTime fromTime,
+			SeekCursor cursor, int pageSize);
 
 }
@@ -0,0 +1,45 @@
+package com.github.ricaps.tennis_club.peristence.dao.definition;
+
+import com.github.ricaps.tennis_club.peristence.entity.ReservationOutboxEvent;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Outbox of reservation changes. Every method joins the transaction of the caller, so
+ * events are written atomically with the change and removed atomically with their
+ * delivery.
+ */
+public interface ReservationOutboxDao {
+
+	/**
+	 * Adds events into the outbox
+	 * @param events events of the changes made in the current transaction
+	 */
+	void saveAll(Collection<ReservationOutboxEvent> events);
+
+	/**
+	 * Adds deleted event of the reservation, its interval is copied from the soft deleted
+	 * row by the same statement
+	 * @param reservationUid uid of the reservation deleted in the current transaction
+	 * @return number of added events, zero when the reservation doesn't exist
+	 */
+	int saveDeleted(UUID reservationUid);
+
+	/**
+	 * Claims the oldest events with row locks held until the end of the transaction.
+	 * Events locked by other transactions are skipped, so several relays can claim
+	 * disjoint batches at the same time.
+	 * @param limit maximal number of claimed events
+	 * @return claimed events ordered by their creation
+	 */
+	List<ReservationOutboxEvent> claim(int limit);
+
+	/**
+	 * Removes relayed events
+	 * @param ids ids of the events
+	 */
+	void deleteAll(Collection<Long> ids);
+
+}
@@ -0,0 +1,7 @@
+package com.github.ricaps.tennis_club.peristence.dao.definition;
+
+import com.github.ricaps.tennis_club.peristence.entity.ReservationSeries;
+
+public interface ReservationSeriesDao extends CrudDao<ReservationSeries> {
+
+}
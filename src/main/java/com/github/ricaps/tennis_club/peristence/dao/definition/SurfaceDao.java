@@ -2,6 +2,16 @@ package com.github.ricaps.tennis_club.peristence.dao.definition;
 
 import com.github.ricaps.tennis_club.peristence.entity.Surface;
 
+import java.util.Collection;
+import java.util.List;
+
 public interface SurfaceDao extends CrudDao<Surface> {
 
+	/**
+	 * Finds surfaces by their names with a single query
+	 * @param names names of the surfaces
+	 * @return found surfaces, missing names are skipped
+	 */
+	List<Surface> findAllByNames(Collection<String> names);
+
 }
@@ -2,10 +2,18 @@ package com.github.ricaps.tennis_club.peristence.dao.definition;
 
 import com.github.ricaps.tennis_club.peristence.entity.User;
 
+import java.util.Map;
 import java.util.Optional;
+import java.util.UUID;
 
 public interface UserDao extends CrudDao<User> {
 
 	Optional<User> findByPhoneNumber(String phoneNumber);
 
+	/**
+	 * Finds uids of all users with a single query, without loading the users
+	 * @return uids of the users by their phone number
+	 */
+	Map<String, UUID> findAllUidsByPhoneNumber();
+
 }
@@ -0,0 +1,147 @@
+package com.github.ricaps.tennis_club.peristence.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Limits the number of connections used at once. With virtual threads there is no thread
+ * pool bounding the concurrency of requests, so excess requests wait here in a fair queue
+ * and are rejected after the timeout instead of piling up in the connection pool. A
+ * permit is held from obtaining the connection until it is closed.
+ */
+public class AdmissionLimitedDataSource extends DelegatingDataSource {
+
+	private final Semaphore permits;
+
+	private final int maxConcurrency;
+
+	private final long timeoutNanos;
+
+	public AdmissionLimitedDataSource(DataSource targetDataSource, int maxConcurrency, Duration timeout) {
+		super(targetDataSource);
+		this.permits = new Semaphore(maxConcurrency, true);
+		this.maxConcurrency = maxConcurrency;
+		this.timeoutNanos = timeout.toNanos();
+	}
+
+	public void bindTo(MeterRegistry meterRegistry) {
+		Gauge.builder("db.admission.active", this, AdmissionLimitedDataSource::getActive)
+			.description("Database connections currently in use")
+			.register(meterRegistry);
+		Gauge.builder("db.admission.waiting", permits, Semaphore::getQueueLength)
+			.description("Requests waiting for a database connection")
+			.register(meterRegistry);
+	}
+
+	public int getActive() {
+		return maxConcurrency - permits.availablePermits();
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		acquire();
+		return admitted(super::getConnection);
+	}
+
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		acquire();
+		return admitted(() -> super.getConnection(username, password));
+	}
+
+	private void acquire() throws SQLException {
+		try {
+			if (!permits.tryAcquire(timeoutNanos, TimeUnit.NANOSECONDS)) {
+				throw new AdmissionTimeoutException("Database connection was not admitted within %d ms!"
+					.formatted(TimeUnit.NANOSECONDS.toMillis(timeoutNanos)));
+			}
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new AdmissionTimeoutException("Interrupted while waiting for database connection!");
+		}
+	}
+
+	private Connection admitted(ConnectionSupplier connectionSupplier) throws SQLException {
+		Connection connection;
+		try {
+			connection = connectionSupplier.get();
+		}
+		catch (SQLException | RuntimeException ex) {
+			permits.release();
+			throw ex;
+		}
+
+		return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+				new Class<?>[] { Connection.class }, new AdmittedConnection(connection));
+	}
+
+	@FunctionalInterface
+	private interface ConnectionSupplier {
+
+		Connection get() throws SQLException;
+
+	}
+
+	/**
+	 * Returns the permit when the connection is closed for the first time
+	 */
+	private class AdmittedConnection implements InvocationHandler {
+
+		private final Connection connection;
+
+		private final AtomicBoolean released = new AtomicBoolean();
+
+		AdmittedConnection(Connection connection) {
+			this.connection = connection;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			String name = method.getName();
+
+			if ("equals".equals(name)) {
+				return proxy == args[0];
+			}
+
+			if ("hashCode".equals(name)) {
+				return System.identityHashCode(proxy);
+			}
+
+			if ("close".equals(name) && released.compareAndSet(false, true)) {
+				try {
+					return delegate(method, args);
+				}
+				finally {
+					permits.release();
+				}
+			}
+
+			return delegate(method, args);
+		}
+
+		private Object delegate(Method method, Object[] args) throws Throwable {
+			try {
+				return method.invoke(connection, args);
+			}
+			catch (InvocationTargetException ex) {
+				throw ex.getCause();
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,14 @@
+package com.github.ricaps.tennis_club.peristence.datasource;
+
+import java.sql.SQLTransientConnectionException;
+
+/**
+ * No database connection was admitted in time, the request should be retried later
+ */
+public class AdmissionTimeoutException extends SQLTransientConnectionException {
+
+	public AdmissionTimeoutException(String message) {
+		super(message);
+	}
+
+}
@@ -0,0 +1,51 @@
+package com.github.ricaps.tennis_club.peristence.datasource;
+
+import java.time.Duration;
+
+/**
+ * Number and total execution time of SQL statements executed by the current thread since
+ * {@link #start()}. Statements of other threads, like streamed responses, are not
+ * included.
+ */
+public final class StatementStatistics {
+
+	private static final ThreadLocal<StatementStatistics> CURRENT = new ThreadLocal<>();
+
+	private int count;
+
+	private long nanos;
+
+	private StatementStatistics() {
+	}
+
+	/**
+	 * Starts collecting statements of the current thread
+	 * @return statistics updated by every following statement until {@link #stop()}
+	 */
+	public static StatementStatistics start() {
+		StatementStatistics statistics = new StatementStatistics();
+		CURRENT.set(statistics);
+		return statistics;
+	}
+
+	public static void stop() {
+		CURRENT.remove();
+	}
+
+	static void record(long nanos) {
+		StatementStatistics statistics = CURRENT.get();
+		if (statistics != null) {
+			statistics.count++;
+			statistics.nanos += nanos;
+		}
+	}
+
+	public int getCount() {
+		return count;
+	}
+
+	public Duration getDuration() {
+		return Duration.ofNanos(nanos);
+	}
+
+}
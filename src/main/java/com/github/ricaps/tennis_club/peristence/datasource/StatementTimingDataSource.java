@@ -0,0 +1,179 @@
+package com.github.ricaps.tennis_club.peristence.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the execution of every SQL statement and adds it to the
+ * {@link StatementStatistics} of the current thread. Statements slower than the threshold
+ * are logged with types of their bind parameters, values are never logged.
+ */
+@Slf4j
+public class StatementTimingDataSource extends DelegatingDataSource {
+
+	private static final String EXECUTE_PREFIX = "execute";
+
+	private static final String SET_PREFIX = "set";
+
+	private final long slowThresholdNanos;
+
+	/**
+	 * @param slowThreshold execution time from which statements are logged, zero disables
+	 * the log
+	 */
+	public StatementTimingDataSource(DataSource targetDataSource, Duration slowThreshold) {
+		super(targetDataSource);
+		this.slowThresholdNanos = slowThreshold.toNanos();
+	}
+
+	private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+		try {
+			return method.invoke(target, args);
+		}
+		catch (InvocationTargetException ex) {
+			throw ex.getCause();
+		}
+	}
+
+	private static Object proxy(Class<?> type, InvocationHandler handler) {
+		return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, handler);
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		return timed(super.getConnection());
+	}
+
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		return timed(super.getConnection(username, password));
+	}
+
+	private Connection timed(Connection connection) {
+		return (Connection) proxy(Connection.class, new TimedConnection(connection));
+	}
+
+	private void record(String sql, long nanos, Map<Integer, String> bindTypes) {
+		StatementStatistics.record(nanos);
+
+		if (slowThresholdNanos > 0 && nanos >= slowThresholdNanos) {
+			StringJoiner binds = new StringJoiner(", ", "[", "]");
+			bindTypes.forEach((index, type) -> binds.add(index + ":" + type));
+			log.warn("Slow SQL statement took {} ms, binds={}: {}", TimeUnit.NANOSECONDS.toMillis(nanos), binds, sql);
+		}
+	}
+
+	/**
+	 * Wraps created statements, other calls go to the connection
+	 */
+	private class TimedConnection implements InvocationHandler {
+
+		private final Connection connection;
+
+		TimedConnection(Connection connection) {
+			this.connection = connection;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			String name = method.getName();
+
+			if ("equals".equals(name)) {
+				return proxy == args[0];
+			}
+
+			if ("hashCode".equals(name)) {
+				return System.identityHashCode(proxy);
+			}
+
+			Object result = StatementTimingDataSource.invoke(connection, method, args);
+
+			return switch (name) {
+				case "createStatement" -> proxy(Statement.class, new TimedStatement((Statement) result, null));
+				case "prepareStatement" ->
+					proxy(PreparedStatement.class, new TimedStatement((Statement) result, (String) args[0]));
+				case "prepareCall" ->
+					proxy(CallableStatement.class, new TimedStatement((Statement) result, (String) args[0]));
+				default -> result;
+			};
+		}
+
+	}
+
+	/**
+	 * Times the execute methods and remembers types of the bind parameters
+	 */
+	private class TimedStatement implements InvocationHandler {
+
+		private final Statement statement;
+
+		private final String preparedSql;
+
+		private final Map<Integer, String> bindTypes = new TreeMap<>();
+
+		TimedStatement(Statement statement, String preparedSql) {
+			this.statement = statement;
+			this.preparedSql = preparedSql;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			String name = method.getName();
+
+			if ("equals".equals(name)) {
+				return proxy == args[0];
+			}
+
+			if ("hashCode".equals(name)) {
+				return System.identityHashCode(proxy);
+			}
+
+			if (!name.startsWith(EXECUTE_PREFIX)) {
+				rememberBindType(name, args);
+				return StatementTimingDataSource.invoke(statement, method, args);
+			}
+
+			long start = System.nanoTime();
+			try {
+				return StatementTimingDataSource.invoke(statement, method, args);
+			}
+			finally {
+				String sql = preparedSql != null || args == null || args.length == 0 ? preparedSql : (String) args[0];
+				record(sql, System.nanoTime() - start, bindTypes);
+			}
+		}
+
+		private void rememberBindType(String name, Object[] args) {
+			if (slowThresholdNanos == 0 || preparedSql == null) {
+				return;
+			}
+
+			if ("clearParameters".equals(name)) {
+				bindTypes.clear();
+			}
+			else if (name.startsWith(SET_PREFIX) && args != null && args.length >= 2
+					&& args[0] instanceof Integer index) {
+				bindTypes.put(index,
+						args[1] == null || "setNull".equals(name) ? "null" : args[1].getClass().getSimpleName());
+			}
+		}
+
+	}
+
+}
@@ -5,15 +5,21 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.ForeignKey;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.Table;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table
+@NamedEntityGraph(name = Court.VIEW_GRAPH, attributeNodes = @NamedAttributeNode("surface"))
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Court.CACHE_REGION)
 @SuperBuilder
 @Getter
 @Setter
@@ -21,6 +27,16 @@ import lombok.experimental.SuperBuilder;
 @RequiredArgsConstructor
 public class Court extends IdentifiedEntity {
 
+	/**
+	 * Second-level cache region of courts
+	 */
+	public static final String CACHE_REGION = "court";
+
+	/**
+	 * Associations needed by the court view
+	 */
+	public static final String VIEW_GRAPH = "Court.view";
+
 	@Column(nullable = false)
 	private String name;
 
@@ -6,6 +6,9 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.ForeignKey;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.NamedSubgraph;
 import jakarta.persistence.Table;
 import lombok.Builder;
 import lombok.Getter;
@@ -14,15 +17,25 @@ import lombok.Setter;
 import lombok.experimental.SuperBuilder;
 
 import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
 
 @Entity
 @Table
+@NamedEntityGraph(name = Reservation.VIEW_GRAPH,
+		attributeNodes = { @NamedAttributeNode(value = "court", subgraph = "court"), @NamedAttributeNode("user") },
+		subgraphs = @NamedSubgraph(name = "court", attributeNodes = @NamedAttributeNode("surface")))
 @SuperBuilder
 @Getter
 @Setter
 @RequiredArgsConstructor
 public class Reservation extends IdentifiedEntity {
 
+	/**
+	 * Associations needed by the reservation view
+	 */
+	public static final String VIEW_GRAPH = "Reservation.view";
+
 	@ManyToOne(optional = false)
 	@JoinColumn(foreignKey = @ForeignKey(name = "FK_RESERVATION_ON_COURT_UID"))
 	private Court court;
@@ -37,9 +50,11 @@ public class Reservation extends IdentifiedEntity {
 	@Column(nullable = false)
 	private OffsetDateTime toTime;
 
+	// Truncated to the precision of the column, so the value is the same before and after
+	// the entity is reloaded (keyset pagination cursors rely on that)
 	@Column(nullable = false)
 	@Builder.Default
-	private OffsetDateTime createdAt = OffsetDateTime.now();
+	private OffsetDateTime createdAt = OffsetDateTime.now().truncatedTo(ChronoUnit.MICROS);
 
 	@Column(nullable = false)
 	private Boolean isQuadGame;
@@ -47,4 +62,12 @@ public class Reservation extends IdentifiedEntity {
 	@Embedded
 	private MoneyAmount totalPrice;
 
+	/**
+	 * Uid of the series the reservation is an occurrence of, null for a single
+	 * reservation. Mapped as a plain column, soft deleted associations are always loaded
+	 * eagerly.
+	 */
+	@Column
+	private UUID seriesUid;
+
 }
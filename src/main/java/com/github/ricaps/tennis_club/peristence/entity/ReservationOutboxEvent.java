@@ -0,0 +1,70 @@
+package com.github.ricaps.tennis_club.peristence.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+/**
+ * Change of a reservation waiting in the outbox. Events are written in the transaction of
+ * the change and deleted once relayed, so they are not soft deleted. Ids are drawn from a
+ * sequence in blocks, so inserts of events are batched. Every node takes its own blocks
+ * in ascending order, so relays claim events of a node in the order they were written.
+ */
+@Entity
+@Table
+@Builder
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservationOutboxEvent {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reservation_outbox_event_seq")
+	@SequenceGenerator(name = "reservation_outbox_event_seq", allocationSize = 50)
+	private Long id;
+
+	@Enumerated(EnumType.STRING)
+	@Column(nullable = false, length = 16)
+	private EventType eventType;
+
+	@Column(nullable = false)
+	private UUID reservationUid;
+
+	@Column(nullable = false)
+	private UUID courtUid;
+
+	@Column(nullable = false)
+	private OffsetDateTime fromTime;
+
+	@Column(nullable = false)
+	private OffsetDateTime toTime;
+
+	@Column(nullable = false)
+	@Builder.Default
+	private OffsetDateTime createdAt = OffsetDateTime.now().truncatedTo(ChronoUnit.MICROS);
+
+	public enum EventType {
+
+		CREATED, UPDATED, DELETED
+
+	}
+
+}
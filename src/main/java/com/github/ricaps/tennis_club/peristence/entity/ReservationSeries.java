@@ -0,0 +1,75 @@
+package com.github.ricaps.tennis_club.peristence.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.ForeignKey;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.SuperBuilder;
+
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Weekly recurring reservation. Every occurrence is stored as a regular
+ * {@link Reservation} bound to the series, the first one starts at {@link #fromTime}.
+ */
+@Entity
+@Table
+@SuperBuilder
+@Getter
+@Setter
+@RequiredArgsConstructor
+public class ReservationSeries extends IdentifiedEntity {
+
+	@ManyToOne(optional = false)
+	@JoinColumn(foreignKey = @ForeignKey(name = "FK_RESERVATION_SERIES_ON_COURT_UID"))
+	private Court court;
+
+	@ManyToOne(optional = false)
+	@JoinColumn(foreignKey = @ForeignKey(name = "FK_RESERVATION_SERIES_ON_USER_UID"))
+	private User user;
+
+	@Column(nullable = false)
+	private OffsetDateTime fromTime;
+
+	@Column(nullable = false)
+	private OffsetDateTime toTime;
+
+	@Column(nullable = false)
+	private Integer intervalWeeks;
+
+	@Column(nullable = false)
+	private Integer occurrences;
+
+	@Column(nullable = false)
+	@Builder.Default
+	private OffsetDateTime createdAt = OffsetDateTime.now().truncatedTo(ChronoUnit.MICROS);
+
+	@Column(nullable = false)
+	private Boolean isQuadGame;
+
+	/**
+	 * Creates the occurrence of the series, occurrences keep the offset of the first one
+	 * @param index zero based index of the occurrence
+	 * @return reservation of the occurrence without uid and price
+	 */
+	public Reservation occurrence(int index) {
+		long weeks = (long) index * intervalWeeks;
+
+		return Reservation.builder()
+			.court(court)
+			.user(user)
+			.seriesUid(getUid())
+			.fromTime(fromTime.plusWeeks(weeks))
+			.toTime(toTime.plusWeeks(weeks))
+			.isQuadGame(isQuadGame)
+			.build();
+	}
+
+}
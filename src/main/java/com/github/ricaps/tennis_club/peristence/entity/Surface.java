@@ -8,12 +8,15 @@ import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.math.BigDecimal;
 import java.util.Currency;
 
 @Entity
 @Table
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Surface.CACHE_REGION)
 @SuperBuilder
 @Getter
 @Setter
@@ -21,6 +24,11 @@ import java.util.Currency;
 @RequiredArgsConstructor
 public class Surface extends IdentifiedEntity {
 
+	/**
+	 * Second-level cache region of surfaces
+	 */
+	public static final String CACHE_REGION = "surface";
+
 	@Column(nullable = false)
 	private String name;
 
@@ -0,0 +1,16 @@
+package com.github.ricaps.tennis_club.peristence.projection;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Lightweight projection of a reservation containing only data needed for the overlap
+ * checks
+ *
+ * @param uid uid of the reservation
+ * @param courtUid uid of the reserved court
+ * @param fromTime start of the reservation
+ * @param toTime end of the reservation
+ */
+public record ReservationInterval(UUID uid, UUID courtUid, OffsetDateTime fromTime, OffsetDateTime toTime) {
+}
@@ -0,0 +1,34 @@
+package com.github.ricaps.tennis_club.peristence.projection;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.Currency;
+import java.util.UUID;
+
+/**
+ * Flat projection of a reservation containing only data needed for the reservation view,
+ * selected by a single query without loading the entities
+ *
+ * @param uid uid of the reservation
+ * @param courtUid uid of the reserved court
+ * @param courtName name of the reserved court
+ * @param surfaceUid uid of the court surface
+ * @param surfaceName name of the court surface
+ * @param surfacePrice price per minute of the court surface
+ * @param surfaceCurrency currency of the surface price
+ * @param userUid uid of the user who created the reservation
+ * @param userFirstName first name of the user
+ * @param userFamilyName family name of the user
+ * @param userPhoneNumber phone number of the user
+ * @param fromTime start of the reservation
+ * @param toTime end of the reservation
+ * @param createdAt time of the reservation creation
+ * @param isQuadGame if the reservation is quad game
+ * @param totalPriceAmount total price of the reservation
+ * @param totalPriceCurrency currency of the total price
+ */
+public record ReservationView(UUID uid, UUID courtUid, String courtName, UUID surfaceUid, String surfaceName,
+		BigDecimal surfacePrice, Currency surfaceCurrency, UUID userUid, String userFirstName, String userFamilyName,
+		String userPhoneNumber, OffsetDateTime fromTime, OffsetDateTime toTime, OffsetDateTime createdAt,
+		Boolean isQuadGame, BigDecimal totalPriceAmount, Currency totalPriceCurrency) {
+}
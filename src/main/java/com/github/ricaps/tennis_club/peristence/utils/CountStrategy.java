@@ -0,0 +1,30 @@
+package com.github.ricaps.tennis_club.peristence.utils;
+
+/**
+ * Defines how the total count of a paged listing is obtained
+ */
+public enum CountStrategy {
+
+	/**
+	 * Count query is run for every page
+	 */
+	EXACT,
+
+	/**
+	 * Count of the same listing is reused for a short time
+	 */
+	CACHED,
+
+	/**
+	 * Total is estimated from table statistics. Filtered listings, which cannot be
+	 * estimated, use cached count.
+	 */
+	ESTIMATED,
+
+	/**
+	 * No count query, one more entity is fetched to detect the next page. Total is only a
+	 * lower bound which tells whether there is a next page.
+	 */
+	NONE
+
+}
@@ -0,0 +1,9 @@
+package com.github.ricaps.tennis_club.peristence.utils;
+
+import com.github.ricaps.tennis_club.peristence.entity.IdentifiedEntity;
+import jakarta.annotation.Nullable;
+
+import java.util.List;
+
+public record CursorResult<T extends IdentifiedEntity>(List<T> data, @Nullable SeekCursor nextCursor) {
+}
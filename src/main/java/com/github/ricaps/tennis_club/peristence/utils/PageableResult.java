@@ -1,8 +1,13 @@
 package com.github.ricaps.tennis_club.peristence.utils;
 
-import com.github.ricaps.tennis_club.peristence.entity.IdentifiedEntity;
-
 import java.util.List;
 
-public record PageableResult<T extends IdentifiedEntity>(List<T> data, long totalCount) {
+/**
+ * Page of entities, or their projections, with total count of the listing. With
+ * {@link CountStrategy#NONE} or {@link CountStrategy#ESTIMATED} the total is not exact.
+ *
+ * @param data entities of the page
+ * @param totalCount total count of the listing
+ */
+public record PageableResult<T>(List<T> data, long totalCount) {
 }
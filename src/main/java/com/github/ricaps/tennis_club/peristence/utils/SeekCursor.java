@@ -0,0 +1,104 @@
+package com.github.ricaps.tennis_club.peristence.utils;
+
+import jakarta.annotation.Nullable;
+import jakarta.validation.ValidationException;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position in a keyset paged listing. Entities are ordered by a single sort property and
+ * by uid as a tie-breaker, cursor holds both values of the last returned entity. <br>
+ * Cursor without position requests the first page.
+ *
+ * @param property sorted property
+ * @param direction sort direction, used for the uid tie-breaker too
+ * @param lastValue value of the sorted property of the last returned entity
+ * @param lastUid uid of the last returned entity
+ */
+public record SeekCursor(String property, Sort.Direction direction, @Nullable String lastValue,
+		@Nullable UUID lastUid) {
+
+	public static final String UID_PROPERTY = "uid";
+
+	private static final String SEPARATOR = "\n";
+
+	private static final String INVALID_CURSOR_ERROR = "Invalid cursor!";
+
+	/**
+	 * Creates cursor of the first page, ordered by the first order of the given sort
+	 * @param sort sort definition, uid ascending when unsorted
+	 * @return cursor without position
+	 */
+	public static SeekCursor first(Sort sort) {
+		Sort.Order order = sort.stream().findFirst().orElse(Sort.Order.asc(UID_PROPERTY));
+
+		return new SeekCursor(order.getProperty(), order.getDirection(), null, null);
+	}
+
+	/**
+	 * Decodes the continuation token, or creates cursor of the first page if there is no
+	 * token
+	 * @param token token returned with the previous page, may be null
+	 * @param sort sort of the first page
+	 * @return decoded cursor
+	 */
+	public static SeekCursor of(@Nullable String token, Sort sort) {
+		return token == null ? first(sort) : decode(token);
+	}
+
+	/**
+	 * Decodes the continuation token created by {@link #encode()}
+	 * @param token opaque token
+	 * @return decoded cursor
+	 * @throws ValidationException token is malformed
+	 */
+	public static SeekCursor decode(String token) {
+		try {
+			String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+			String[] parts = decoded.split(SEPARATOR, 4);
+
+			if (parts.length != 4) {
+				throw new ValidationException(INVALID_CURSOR_ERROR);
+			}
+
+			if (parts[2].isEmpty()) {
+				return new SeekCursor(parts[0], Sort.Direction.valueOf(parts[1]), null, null);
+			}
+
+			return new SeekCursor(parts[0], Sort.Direction.valueOf(parts[1]), parts[3], UUID.fromString(parts[2]));
+		}
+		catch (IllegalArgumentException e) {
+			throw new ValidationException(INVALID_CURSOR_ERROR, e);
+		}
+	}
+
+	/**
+	 * Creates cursor positioned after the given values, with the same ordering
+	 * @param value value of the sorted property
+	 * @param uid uid of the entity
+	 * @return positioned cursor
+	 */
+	public SeekCursor after(@Nullable String value, UUID uid) {
+		return new SeekCursor(property, direction, value, uid);
+	}
+
+	public boolean hasPosition() {
+		return lastUid != null;
+	}
+
+	/**
+	 * Encodes the cursor into opaque URL safe token
+	 * @return continuation token
+	 */
+	public String encode() {
+		String uid = lastUid == null ? "" : lastUid.toString();
+		String value = lastValue == null ? "" : lastValue;
+		String raw = String.join(SEPARATOR, property, direction.name(), uid, value);
+
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+
+}
@@ -0,0 +1,20 @@
+package com.github.ricaps.tennis_club.peristence.utils;
+
+import com.github.ricaps.tennis_club.peristence.entity.IdentifiedEntity;
+import jakarta.persistence.criteria.CompoundSelection;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Root;
+
+@FunctionalInterface
+public interface SelectionProvider<EntityType extends IdentifiedEntity, ProjectionType> {
+
+	/**
+	 * Construct selection of the projection based on the given criteria builder and
+	 * entity path root
+	 * @param criteriaBuilder criteria builder
+	 * @param root entity path root
+	 * @return selection that can be used in a criteria query
+	 */
+	CompoundSelection<ProjectionType> createSelection(CriteriaBuilder criteriaBuilder, Root<EntityType> root);
+
+}
@@ -1,14 +1,20 @@
 package com.github.ricaps.tennis_club.rest;
 
+import com.github.ricaps.tennis_club.api.court.CourtAvailabilityDto;
+import com.github.ricaps.tennis_club.api.court.CourtAvailabilityQueryDto;
 import com.github.ricaps.tennis_club.api.court.CourtCreateDto;
 import com.github.ricaps.tennis_club.api.court.CourtViewDto;
 import com.github.ricaps.tennis_club.business.facade.definition.CourtFacade;
+import com.github.ricaps.tennis_club.peristence.utils.CountStrategy;
+import com.github.ricaps.tennis_club.rest.cache.CatalogHttpCache;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
 import org.springdoc.core.annotations.ParameterObject;
 import org.springdoc.core.converters.models.PageableAsQueryParam;
 import org.springframework.data.domain.Pageable;
@@ -25,8 +31,12 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.OffsetDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -38,8 +48,11 @@ public class CourtController {
 
 	private final CourtFacade courtFacade;
 
-	public CourtController(CourtFacade courtFacade) {
+	private final CatalogHttpCache catalogHttpCache;
+
+	public CourtController(CourtFacade courtFacade, CatalogHttpCache catalogHttpCache) {
 		this.courtFacade = courtFacade;
+		this.catalogHttpCache = catalogHttpCache;
 	}
 
 	@Operation(description = "Creates a court")
@@ -56,12 +69,11 @@ public class CourtController {
 	@ApiResponses(value = {
 			@ApiResponse(responseCode = "200", description = "Court found and returned successfully",
 					content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)),
+			@ApiResponse(responseCode = "304", description = "Court not modified since the given entity tag"),
 			@ApiResponse(responseCode = "404", description = "Court not found") })
 	@GetMapping("/{uid}")
-	public ResponseEntity<CourtViewDto> get(@PathVariable UUID uid) {
-		Optional<CourtViewDto> courtView = courtFacade.get(uid);
-
-		return ResponseEntity.of(courtView);
+	public ResponseEntity<CourtViewDto> get(@PathVariable UUID uid, WebRequest webRequest) {
+		return catalogHttpCache.get(webRequest, () -> courtFacade.get(uid));
 	}
 
 	@Operation(description = "Get all courts paged")
@@ -69,11 +81,30 @@ public class CourtController {
 			content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)) })
 	@GetMapping
 	@PageableAsQueryParam
-	public ResponseEntity<PagedModel<CourtViewDto>> get(
-			@ParameterObject @PageableDefault(sort = { "name" }) Pageable pageable) {
-		PagedModel<CourtViewDto> courtView = courtFacade.getAll(pageable);
+	public ResponseEntity<PagedModel<CourtViewDto>> get(@RequestParam(defaultValue = "EXACT") @Schema(
+			description = "How the total count is obtained. NONE skips counting, page totals then only tell whether there is a next page.") CountStrategy count,
+			@ParameterObject @PageableDefault(sort = { "name" }) Pageable pageable, WebRequest webRequest) {
+		return catalogHttpCache.get(webRequest, () -> Optional.of(courtFacade.getAll(pageable, count)));
+	}
 
-		return ResponseEntity.ok(courtView);
+	@Operation(description = "Gets free time frames of all courts, optionally only courts of one surface")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200", description = "Free time frames returned successfully",
+					content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)),
+			@ApiResponse(responseCode = "400", description = "Invalid time frame or duration") })
+	@GetMapping("/availability")
+	public ResponseEntity<List<CourtAvailabilityDto>> getAvailability(
+			@RequestParam @NotNull @Schema(description = "Start of the searched time frame",
+					example = "2025-11-07T08:00:00+01:00") OffsetDateTime fromTime,
+			@RequestParam @NotNull @Schema(description = "End of the searched time frame, at most 7 days after start",
+					example = "2025-11-07T22:00:00+01:00") OffsetDateTime toTime,
+			@RequestParam(required = false) @Schema(description = "Only courts with this surface") UUID surface,
+			@RequestParam(required = false) @Schema(
+					description = "Minimal length of returned frames in minutes, frames are aligned to 15 minutes") Integer durationMinutes) {
+		List<CourtAvailabilityDto> availability = courtFacade
+			.getAvailability(new CourtAvailabilityQueryDto(fromTime, toTime, surface, durationMinutes));
+
+		return ResponseEntity.ok(availability);
 	}
 
 	@Operation(description = "Updates a court by its uid")
@@ -1,15 +1,32 @@
 package com.github.ricaps.tennis_club.rest;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.ricaps.tennis_club.api.reservation.ReservationBatchCreateDto;
 import com.github.ricaps.tennis_club.api.reservation.ReservationCreateDto;
+import com.github.ricaps.tennis_club.api.reservation.ReservationExportQueryDto;
+import com.github.ricaps.tennis_club.api.reservation.ReservationImportReportDto;
 import com.github.ricaps.tennis_club.api.reservation.ReservationPhoneDateQueryDto;
+import com.github.ricaps.tennis_club.api.reservation.ReservationSeriesConflictDto;
+import com.github.ricaps.tennis_club.api.reservation.ReservationSeriesCreateDto;
+import com.github.ricaps.tennis_club.api.reservation.ReservationSeriesViewDto;
 import com.github.ricaps.tennis_club.api.reservation.ReservationViewDto;
+import com.github.ricaps.tennis_club.api.shared.CursorPageDto;
+import com.github.ricaps.tennis_club.api.shared.ExportFormat;
+import com.github.ricaps.tennis_club.business.event.ReservationChangeBus.Subscription;
 import com.github.ricaps.tennis_club.business.facade.definition.ReservationFacade;
+import com.github.ricaps.tennis_club.configuration.model.ApplicationConfiguration;
+import com.github.ricaps.tennis_club.peristence.utils.CountStrategy;
+import com.github.ricaps.tennis_club.rest.export.ExportWriter;
+import com.github.ricaps.tennis_club.rest.export.NdjsonExportWriter;
+import com.github.ricaps.tennis_club.rest.export.ReservationCsvExportWriter;
+import com.github.ricaps.tennis_club.utils.SizeLimitedInputStream;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import org.springdoc.core.annotations.ParameterObject;
@@ -17,6 +34,8 @@ import org.springdoc.core.converters.models.PageableAsQueryParam;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.data.web.PagedModel;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -30,8 +49,18 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -41,10 +70,19 @@ import java.util.UUID;
 @Validated
 public class ReservationController {
 
+	private static final String RESYNC_EVENT = "resync";
+
 	private final ReservationFacade reservationFacade;
 
-	public ReservationController(ReservationFacade reservationFacade) {
+	private final ObjectMapper objectMapper;
+
+	private final ApplicationConfiguration applicationConfiguration;
+
+	public ReservationController(ReservationFacade reservationFacade, ObjectMapper objectMapper,
+			ApplicationConfiguration applicationConfiguration) {
 		this.reservationFacade = reservationFacade;
+		this.objectMapper = objectMapper;
+		this.applicationConfiguration = applicationConfiguration;
 	}
 
 	@Operation(description = "Creates a reservation")
@@ -57,6 +95,59 @@ public class ReservationController {
 		return ResponseEntity.status(HttpStatus.CREATED).body(reservationView);
 	}
 
+	@Operation(description = "Creates multiple reservations at once, either all of them or none")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "201", description = "Reservations created successfully",
+					content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)),
+			@ApiResponse(responseCode = "404", description = "Some of the courts doesn't exist"),
+			@ApiResponse(responseCode = "409",
+					description = "Reservations overlap each other or an existing reservation, nothing is created") })
+	@PostMapping("/batch")
+	public ResponseEntity<List<ReservationViewDto>> createAll(
+			@RequestBody @Valid ReservationBatchCreateDto reservationBatchCreateDto) {
+		List<ReservationViewDto> reservationViews = reservationFacade.createAll(reservationBatchCreateDto);
+
+		return ResponseEntity.status(HttpStatus.CREATED).body(reservationViews);
+	}
+
+	@Operation(description = "Creates weekly recurring reservations")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "201", description = "Series created successfully",
+					content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)),
+			@ApiResponse(responseCode = "409",
+					description = "Occurrences conflict with existing reservations and are not skipped, nothing is created") })
+	@PostMapping("/series")
+	public ResponseEntity<ReservationSeriesViewDto> createSeries(
+			@RequestBody @Valid ReservationSeriesCreateDto reservationSeriesCreateDto,
+			@RequestParam(defaultValue = "false") @Schema(
+					description = "Whether conflicting occurrences are skipped and reported, instead of rejecting the whole series") boolean skipConflicts) {
+		ReservationSeriesViewDto seriesView = reservationFacade.createSeries(reservationSeriesCreateDto, skipConflicts);
+
+		return ResponseEntity.status(HttpStatus.CREATED).body(seriesView);
+	}
+
+	@Operation(
+			description = "Finds occurrences of a series which conflict with existing reservations, nothing is created")
+	@ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Conflicting occurrences returned",
+			content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)) })
+	@PostMapping("/series/conflicts")
+	public ResponseEntity<List<ReservationSeriesConflictDto>> getSeriesConflicts(
+			@RequestBody @Valid ReservationSeriesCreateDto reservationSeriesCreateDto) {
+		List<ReservationSeriesConflictDto> conflicts = reservationFacade.getSeriesConflicts(reservationSeriesCreateDto);
+
+		return ResponseEntity.ok(conflicts);
+	}
+
+	@Operation(description = "Deletes a reservation series with all its reservations")
+	@ApiResponses(value = { @ApiResponse(responseCode = "204", description = "Series deleted successfully"),
+			@ApiResponse(responseCode = "404", description = "Series not found") })
+	@DeleteMapping("/series/{uid}")
+	public ResponseEntity<Void> deleteSeries(@PathVariable UUID uid) {
+		reservationFacade.deleteSeries(uid);
+
+		return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
+	}
+
 	@Operation(description = "Gets a reservation by its uid")
 	@ApiResponses(value = {
 			@ApiResponse(responseCode = "200", description = "Reservation found and returned successfully",
@@ -75,13 +166,99 @@ public class ReservationController {
 					content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)) })
 	@GetMapping
 	@PageableAsQueryParam
-	public ResponseEntity<PagedModel<ReservationViewDto>> get(
+	public ResponseEntity<PagedModel<ReservationViewDto>> get(@RequestParam(defaultValue = "EXACT") @Schema(
+			description = "How the total count is obtained. NONE skips counting, page totals then only tell whether there is a next page.") CountStrategy count,
 			@ParameterObject @PageableDefault(sort = { "name" }) Pageable pageable) {
-		PagedModel<ReservationViewDto> reservationView = reservationFacade.getAll(pageable);
+		PagedModel<ReservationViewDto> reservationView = reservationFacade.getAll(pageable, count);
+
+		return ResponseEntity.ok(reservationView);
+	}
+
+	@Operation(description = "Get all reservations with keyset pagination, page number is ignored")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200", description = "Reservation found and returned successfully",
+					content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)),
+			@ApiResponse(responseCode = "400", description = "Invalid cursor") })
+	@GetMapping("/seek")
+	@PageableAsQueryParam
+	public ResponseEntity<CursorPageDto<ReservationViewDto>> seek(@RequestParam(required = false) @Schema(
+			description = "Token of the next page returned with the previous page. Sort is taken from the token, when present.") String cursor,
+			@ParameterObject @PageableDefault(sort = { "createdAt" }) Pageable pageable) {
+		CursorPageDto<ReservationViewDto> reservationView = reservationFacade.getAll(cursor, pageable);
 
 		return ResponseEntity.ok(reservationView);
 	}
 
+	@Operation(description = "Exports all reservations matching the filter, ordered by their start. "
+			+ "Rows are streamed while they are read from the database.")
+	@ApiResponses(
+			value = {
+					@ApiResponse(responseCode = "200", description = "Reservations streamed successfully",
+							content = { @Content(mediaType = "application/x-ndjson"),
+									@Content(mediaType = "text/csv") }),
+					@ApiResponse(responseCode = "400", description = "Invalid time frame") })
+	@GetMapping("/export")
+	public WebAsyncTask<Void> export(@Valid @ParameterObject ReservationExportQueryDto queryDto, @RequestParam(
+			defaultValue = "NDJSON") @Schema(description = "Format of the exported rows") ExportFormat format,
+			HttpServletResponse response) {
+		response.setContentType(format.getMediaType());
+		response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+				ContentDisposition.attachment()
+					.filename("reservations." + format.getFileExtension())
+					.build()
+					.toString());
+
+		// Own timeout, the export takes as long as the number of exported rows requires
+		return new WebAsyncTask<>(applicationConfiguration.getReservationExportTimeout().toMillis(), () -> {
+			try (ExportWriter<ReservationViewDto> writer = createExportWriter(format, response.getOutputStream())) {
+				reservationFacade.export(queryDto, row -> {
+					try {
+						writer.write(row);
+					}
+					catch (IOException e) {
+						throw new UncheckedIOException(e);
+					}
+				});
+			}
+
+			return null;
+		});
+	}
+
+	@Operation(description = "Imports historical reservations from UTF-8 CSV with a header row. Columns courtName, "
+			+ "phoneNumber, fromTime and toTime are required, isQuadGame is optional. Unknown customers are created "
+			+ "from firstName and familyName columns, unknown courts from the surfaceName column. "
+			+ "Nothing is written when any row is invalid.")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "201", description = "Reservations imported successfully",
+					content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)),
+			@ApiResponse(responseCode = "200", description = "Dry run, all rows are valid",
+					content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)),
+			@ApiResponse(responseCode = "400", description = "Invalid rows, nothing was written",
+					content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)),
+			@ApiResponse(responseCode = "413", description = "CSV is larger than the maximal import size",
+					content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)) })
+	@PostMapping(path = "/import", consumes = "text/csv")
+	public ResponseEntity<ReservationImportReportDto> importReservations(InputStream csv,
+			@RequestParam(defaultValue = "false") @Schema(
+					description = "Only validates the rows without writing them") boolean dryRun) {
+		InputStream limited = new SizeLimitedInputStream(csv,
+				applicationConfiguration.getReservationImportMaxSize().toBytes());
+		ReservationImportReportDto report = reservationFacade
+			.importReservations(new InputStreamReader(limited, StandardCharsets.UTF_8), dryRun);
+
+		HttpStatus status = report.errorCount() > 0 ? HttpStatus.BAD_REQUEST
+				: report.written() ? HttpStatus.CREATED : HttpStatus.OK;
+		return ResponseEntity.status(status).body(report);
+	}
+
+	private ExportWriter<ReservationViewDto> createExportWriter(ExportFormat format, OutputStream outputStream) {
+		return switch (format) {
+			case NDJSON -> new NdjsonExportWriter<>(objectMapper, outputStream);
+			case CSV -> new ReservationCsvExportWriter(outputStream);
+		};
+	}
+
 	@Operation(description = "Updates a reservation by its uid")
 	@ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Reservation updated successfully",
 			content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)) })
@@ -110,9 +287,64 @@ public class ReservationController {
 	@PageableAsQueryParam
 	public ResponseEntity<PagedModel<ReservationViewDto>> getByCourt(
 			@Schema(example = "UID of the court") @PathVariable UUID courtUID,
+			@RequestParam(defaultValue = "EXACT") @Schema(
+					description = "How the total count is obtained. NONE skips counting, page totals then only tell whether there is a next page.") CountStrategy count,
 			@Schema(example = "Pageable object. Default paging is createdAt|asc") @ParameterObject @PageableDefault(
 					sort = { "createdAt" }) Pageable pageable) {
-		PagedModel<ReservationViewDto> reservationView = reservationFacade.getAllByCourt(courtUID, pageable);
+		PagedModel<ReservationViewDto> reservationView = reservationFacade.getAllByCourt(courtUID, pageable, count);
+
+		return ResponseEntity.ok(reservationView);
+	}
+
+	@Operation(description = "Streams committed changes of reservations at the court as server-sent events named "
+			+ "created, updated and deleted. A client which falls behind gets a resync event instead of the dropped "
+			+ "changes and should reload the reservations of the court.")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200", description = "Stream of changes opened",
+					content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE)),
+			@ApiResponse(responseCode = "404", description = "Court doesn't exist") })
+	@GetMapping(path = "/court/{courtUID}/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	public SseEmitter getChangesByCourt(@Schema(example = "UID of the court") @PathVariable UUID courtUID) {
+		SseEmitter emitter = new SseEmitter(applicationConfiguration.getReservationChangeTimeout().toMillis());
+		Subscription subscription = reservationFacade.subscribeChanges(courtUID,
+				change -> send(emitter,
+						SseEmitter.event()
+							.name(change.type().name().toLowerCase(Locale.ROOT))
+							.data(change, MediaType.APPLICATION_JSON)),
+				() -> send(emitter, SseEmitter.event().name(RESYNC_EVENT).data(courtUID)));
+
+		emitter.onCompletion(subscription::cancel);
+		emitter.onTimeout(subscription::cancel);
+		emitter.onError(ex -> subscription.cancel());
+
+		return emitter;
+	}
+
+	private static void send(SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+		try {
+			emitter.send(event);
+		}
+		catch (IOException e) {
+			// Cancels the subscription, the client is gone
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	@Operation(
+			description = "Get reservations filtered by specific court UID with keyset pagination, page number is ignored")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200", description = "Reservation found and returned successfully",
+					content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)),
+			@ApiResponse(responseCode = "400", description = "Invalid cursor") })
+	@GetMapping("/court/{courtUID}/seek")
+	@PageableAsQueryParam
+	public ResponseEntity<CursorPageDto<ReservationViewDto>> seekByCourt(
+			@Schema(example = "UID of the court") @PathVariable UUID courtUID,
+			@RequestParam(required = false) @Schema(
+					description = "Token of the next page returned with the previous page. Sort is taken from the token, when present.") String cursor,
+			@Schema(example = "Pageable object. Default sort is createdAt|asc") @ParameterObject @PageableDefault(
+					sort = { "createdAt" }) Pageable pageable) {
+		CursorPageDto<ReservationViewDto> reservationView = reservationFacade.getAllByCourt(courtUID, cursor, pageable);
 
 		return ResponseEntity.ok(reservationView);
 	}
@@ -128,9 +360,33 @@ public class ReservationController {
 			@RequestParam @NotNull @Schema(
 					description = "Ability to filter reservations by date and time. Shows reservations with datetime greater than defined.",
 					example = "2025-11-07T14:30:00+01:00") OffsetDateTime fromTime,
+			@RequestParam(defaultValue = "EXACT") @Schema(
+					description = "How the total count is obtained. NONE skips counting, page totals then only tell whether there is a next page.") CountStrategy count,
 			@ParameterObject @PageableDefault(sort = "createdAt") Pageable pageable) {
 		PagedModel<ReservationViewDto> reservationView = reservationFacade
-			.getAllByPhoneNumber(new ReservationPhoneDateQueryDto(phoneNumber, fromTime, pageable));
+			.getAllByPhoneNumber(new ReservationPhoneDateQueryDto(phoneNumber, fromTime, pageable, count));
+
+		return ResponseEntity.ok(reservationView);
+	}
+
+	@Operation(
+			description = "Get reservations filtered by user (phoneNumber) and time with keyset pagination, page number is ignored")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200", description = "Reservation found and returned successfully",
+					content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)),
+			@ApiResponse(responseCode = "400", description = "Invalid cursor") })
+	@GetMapping("/user/{phoneNumber}/seek")
+	@PageableAsQueryParam
+	public ResponseEntity<CursorPageDto<ReservationViewDto>> seekByPhoneNumber(
+			@PathVariable @NotNull @Schema(description = "Phone number bound to reservation's user") String phoneNumber,
+			@RequestParam @NotNull @Schema(
+					description = "Ability to filter reservations by date and time. Shows reservations with datetime greater than defined.",
+					example = "2025-11-07T14:30:00+01:00") OffsetDateTime fromTime,
+			@RequestParam(required = false) @Schema(
+					description = "Token of the next page returned with the previous page. Sort is taken from the token, when present.") String cursor,
+			@ParameterObject @PageableDefault(sort = "createdAt") Pageable pageable) {
+		CursorPageDto<ReservationViewDto> reservationView = reservationFacade.getAllByPhoneNumber(
+				new ReservationPhoneDateQueryDto(phoneNumber, fromTime, pageable, CountStrategy.NONE), cursor);
 
 		return ResponseEntity.ok(reservationView);
 	}
@@ -3,8 +3,11 @@ package com.github.ricaps.tennis_club.rest;
 import com.github.ricaps.tennis_club.api.surface.SurfaceCreateDto;
 import com.github.ricaps.tennis_club.api.surface.SurfaceViewDto;
 import com.github.ricaps.tennis_club.business.facade.definition.SurfaceFacade;
+import com.github.ricaps.tennis_club.peristence.utils.CountStrategy;
+import com.github.ricaps.tennis_club.rest.cache.CatalogHttpCache;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -25,7 +28,9 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.Optional;
 import java.util.UUID;
@@ -38,8 +43,11 @@ public class SurfaceController {
 
 	private final SurfaceFacade surfaceFacade;
 
-	public SurfaceController(SurfaceFacade surfaceFacade) {
+	private final CatalogHttpCache catalogHttpCache;
+
+	public SurfaceController(SurfaceFacade surfaceFacade, CatalogHttpCache catalogHttpCache) {
 		this.surfaceFacade = surfaceFacade;
+		this.catalogHttpCache = catalogHttpCache;
 	}
 
 	@Operation(description = "Creates a surface")
@@ -56,12 +64,11 @@ public class SurfaceController {
 	@ApiResponses(value = {
 			@ApiResponse(responseCode = "200", description = "Surface found and returned successfully",
 					content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)),
+			@ApiResponse(responseCode = "304", description = "Surface not modified since the given entity tag"),
 			@ApiResponse(responseCode = "404", description = "Surface not found") })
 	@GetMapping("/{uid}")
-	public ResponseEntity<SurfaceViewDto> get(@PathVariable UUID uid) {
-		Optional<SurfaceViewDto> surfaceView = surfaceFacade.get(uid);
-
-		return ResponseEntity.of(surfaceView);
+	public ResponseEntity<SurfaceViewDto> get(@PathVariable UUID uid, WebRequest webRequest) {
+		return catalogHttpCache.get(webRequest, () -> surfaceFacade.get(uid));
 	}
 
 	@Operation(description = "Get all surfaces paged")
@@ -69,11 +76,10 @@ public class SurfaceController {
 			content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)) })
 	@GetMapping
 	@PageableAsQueryParam
-	public ResponseEntity<PagedModel<SurfaceViewDto>> get(
-			@ParameterObject @PageableDefault(sort = { "name" }) Pageable pageable) {
-		PagedModel<SurfaceViewDto> surfaceView = surfaceFacade.getAll(pageable);
-
-		return ResponseEntity.ok(surfaceView);
+	public ResponseEntity<PagedModel<SurfaceViewDto>> get(@RequestParam(defaultValue = "EXACT") @Schema(
+			description = "How the total count is obtained. NONE skips counting, page totals then only tell whether there is a next page.") CountStrategy count,
+			@ParameterObject @PageableDefault(sort = { "name" }) Pageable pageable, WebRequest webRequest) {
+		return catalogHttpCache.get(webRequest, () -> Optional.of(surfaceFacade.getAll(pageable, count)));
 	}
 
 	@Operation(description = "Updates a surface by its uid")
@@ -3,8 +3,10 @@ package com.github.ricaps.tennis_club.rest;
 import com.github.ricaps.tennis_club.api.user.UserCreateDto;
 import com.github.ricaps.tennis_club.api.user.UserDetailedView;
 import com.github.ricaps.tennis_club.business.facade.definition.UserFacade;
+import com.github.ricaps.tennis_club.peristence.utils.CountStrategy;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -25,6 +27,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.Optional;
@@ -70,9 +73,10 @@ public class UserManagementController {
 			content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)) })
 	@GetMapping
 	@PageableAsQueryParam
-	public ResponseEntity<PagedModel<UserDetailedView>> get(
+	public ResponseEntity<PagedModel<UserDetailedView>> get(@RequestParam(defaultValue = "EXACT") @Schema(
+			description = "How the total count is obtained. NONE skips counting, page totals then only tell whether there is a next page.") CountStrategy count,
 			@ParameterObject @PageableDefault(sort = { "familyName" }) Pageable pageable) {
-		PagedModel<UserDetailedView> usersPaged = userFacade.getAll(pageable);
+		PagedModel<UserDetailedView> usersPaged = userFacade.getAll(pageable, count);
 
 		return ResponseEntity.ok(usersPaged);
 	}
@@ -0,0 +1,56 @@
+package com.github.ricaps.tennis_club.rest.cache;
+
+import com.github.ricaps.tennis_club.business.catalog.CatalogVersion;
+import com.github.ricaps.tennis_club.configuration.model.ApplicationConfiguration;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Conditional responses of the court and surface catalog. The entity tag is the version
+ * of the catalog, so matching requests are answered with 304 without loading anything.
+ */
+@Component
+public class CatalogHttpCache {
+
+	private final CatalogVersion catalogVersion;
+
+	private final CacheControl cacheControl;
+
+	public CatalogHttpCache(CatalogVersion catalogVersion, ApplicationConfiguration applicationConfiguration) {
+		this.catalogVersion = catalogVersion;
+		// Private, the endpoints require authentication, so shared caches must not serve
+		// the responses to other clients
+		this.cacheControl = CacheControl.maxAge(applicationConfiguration.getCatalogHttpMaxAge())
+			.cachePrivate()
+			.mustRevalidate();
+	}
+
+	/**
+	 * Answers with 304 when the request already has the current catalog version, loads
+	 * the body otherwise
+	 * @param request request with the optional {@code If-None-Match} header
+	 * @param loader loads the body, empty when it doesn't exist
+	 * @return response with the entity tag and cache control, 404 without them when the
+	 * body doesn't exist
+	 */
+	public <T> ResponseEntity<T> get(WebRequest request, Supplier<Optional<T>> loader) {
+		// Read before loading, a write in between makes the tag older than
+		// the body, never newer
+		String tag = catalogVersion.getTag();
+
+		if (request.checkNotModified(tag)) {
+			return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(tag).cacheControl(cacheControl).build();
+		}
+
+		return loader.get()
+			.map(body -> ResponseEntity.ok().eTag(tag).cacheControl(cacheControl).body(body))
+			.orElseGet(() -> ResponseEntity.notFound().build());
+	}
+
+}
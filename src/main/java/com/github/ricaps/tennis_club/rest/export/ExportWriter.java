@@ -0,0 +1,16 @@
+package com.github.ricaps.tennis_club.rest.export;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Writes exported rows one by one into an output stream. Closing flushes buffered rows,
+ * the underlying stream is left open.
+ *
+ * @param <T> type of the rows
+ */
+public interface ExportWriter<T> extends Closeable {
+
+	void write(T row) throws IOException;
+
+}
@@ -0,0 +1,39 @@
+package com.github.ricaps.tennis_club.rest.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+public class NdjsonExportWriter<T> implements ExportWriter<T> {
+
+	private final ObjectWriter objectWriter;
+
+	private final Writer writer;
+
+	public NdjsonExportWriter(ObjectMapper objectMapper, OutputStream outputStream) {
+		this.objectWriter = objectMapper.writer()
+			.without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+			.without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+		this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+	}
+
+	@Override
+	public void write(T row) throws IOException {
+		objectWriter.writeValue(writer, row);
+		writer.write('\n');
+	}
+
+	@Override
+	public void close() throws IOException {
+		writer.flush();
+	}
+
+}
@@ -0,0 +1,75 @@
+package com.github.ricaps.tennis_club.rest.export;
+
+import com.github.ricaps.tennis_club.api.reservation.ReservationViewDto;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+public class ReservationCsvExportWriter implements ExportWriter<ReservationViewDto> {
+
+	private static final String[] HEADER = { "uid", "fromTime", "toTime", "createdAt", "isQuadGame", "courtUid",
+			"courtName", "surfaceName", "userUid", "firstName", "familyName", "phoneNumber", "totalAmount",
+			"currency" };
+
+	private final Writer writer;
+
+	private boolean headerWritten;
+
+	public ReservationCsvExportWriter(OutputStream outputStream) {
+		this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Quotes the value when it contains a separator, quote or line break, as in RFC 4180
+	 * @param value written value
+	 * @return value safe to be written as a CSV field
+	 */
+	static String escape(Object value) {
+		String text = Objects.toString(value, "");
+
+		if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+			return text;
+		}
+
+		return '"' + text.replace("\"", "\"\"") + '"';
+	}
+
+	private void writeLine(Object... values) throws IOException {
+		for (int i = 0; i < values.length; i++) {
+			if (i > 0) {
+				writer.write(',');
+			}
+			writer.write(escape(values[i]));
+		}
+		writer.write("\r\n");
+	}
+
+	private void writeHeader() throws IOException {
+		if (!headerWritten) {
+			writeLine((Object[]) HEADER);
+			headerWritten = true;
+		}
+	}
+
+	@Override
+	public void write(ReservationViewDto row) throws IOException {
+		writeHeader();
+		writeLine(row.uid(), row.fromTime(), row.toTime(), row.createdAt(), row.isQuadGame(), row.court().uid(),
+				row.court().name(), row.court().surface().name(), row.user().uid(), row.user().firstName(),
+				row.user().familyName(), row.user().phoneNumber(), row.totalPrice().amount().toPlainString(),
+				row.totalPrice().currency());
+	}
+
+	@Override
+	public void close() throws IOException {
+		// Empty export still has the header
+		writeHeader();
+		writer.flush();
+	}
+
+}
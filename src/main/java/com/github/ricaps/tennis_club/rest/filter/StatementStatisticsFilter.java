@@ -0,0 +1,115 @@
+package com.github.ricaps.tennis_club.rest.filter;
+
+import com.github.ricaps.tennis_club.configuration.model.ApplicationConfiguration;
+import com.github.ricaps.tennis_club.peristence.datasource.StatementStatistics;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.Nonnull;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the number and total time of SQL statements executed by every request, tagged
+ * by its route. In the debug mode they are sent in response headers as well, counted
+ * until the response is committed.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class StatementStatisticsFilter extends OncePerRequestFilter {
+
+	public static final String STATEMENT_COUNT_HEADER = "X-Db-Statement-Count";
+
+	public static final String STATEMENT_TIME_HEADER = "X-Db-Time-Ms";
+
+	private static final String UNKNOWN_ROUTE = "UNKNOWN";
+
+	private final MeterRegistry meterRegistry;
+
+	private final boolean debugHeaders;
+
+	public StatementStatisticsFilter(MeterRegistry meterRegistry, ApplicationConfiguration applicationConfiguration) {
+		this.meterRegistry = meterRegistry;
+		this.debugHeaders = applicationConfiguration.isStatementDebugHeaders();
+	}
+
+	private static void writeHeaders(HttpServletResponse response, StatementStatistics statistics) {
+		response.setHeader(STATEMENT_COUNT_HEADER, String.valueOf(statistics.getCount()));
+		response.setHeader(STATEMENT_TIME_HEADER,
+				String.format(Locale.ROOT, "%.3f", statistics.getDuration().toNanos() / 1_000_000.0));
+	}
+
+	@Override
+	protected void doFilterInternal(@Nonnull HttpServletRequest request, @Nonnull HttpServletResponse response,
+			@Nonnull FilterChain filterChain) throws ServletException, IOException {
+		StatementStatistics statistics = StatementStatistics.start();
+		HttpServletResponse filteredResponse = debugHeaders ? new StatementHeadersResponse(response, statistics)
+				: response;
+
+		try {
+			filterChain.doFilter(request, filteredResponse);
+		}
+		finally {
+			StatementStatistics.stop();
+			if (debugHeaders && !response.isCommitted()) {
+				writeHeaders(response, statistics);
+			}
+			record(request, statistics);
+		}
+	}
+
+	private void record(HttpServletRequest request, StatementStatistics statistics) {
+		Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+		String route = pattern == null ? UNKNOWN_ROUTE : pattern.toString();
+
+		DistributionSummary.builder("http.server.requests.db.statements")
+			.description("SQL statements executed by a request")
+			.baseUnit("statements")
+			.tag("method", request.getMethod())
+			.tag("uri", route)
+			.publishPercentileHistogram()
+			.maximumExpectedValue(1000.0)
+			.register(meterRegistry)
+			.record(statistics.getCount());
+		Timer.builder("http.server.requests.db")
+			.description("Total execution time of SQL statements of a request")
+			.tag("method", request.getMethod())
+			.tag("uri", route)
+			.publishPercentileHistogram()
+			.register(meterRegistry)
+			.record(statistics.getDuration().toNanos(), TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * Writes the headers just before the response is committed, later they would be
+	 * ignored
+	 */
+	private static class StatementHeadersResponse extends OnCommittedResponseWrapper {
+
+		private final StatementStatistics statistics;
+
+		StatementHeadersResponse(HttpServletResponse response, StatementStatistics statistics) {
+			super(response);
+			this.statistics = statistics;
+		}
+
+		@Override
+		protected void onResponseCommitted() {
+			writeHeaders(this, statistics);
+		}
+
+	}
+
+}
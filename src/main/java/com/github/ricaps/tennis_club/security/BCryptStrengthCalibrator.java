@@ -0,0 +1,54 @@
+package com.github.ricaps.tennis_club.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+
+/**
+ * Picks the BCrypt strength for a target hash latency on the current machine. The hash
+ * time is measured once with the minimal strength, every further strength doubles it.
+ */
+@Slf4j
+public final class BCryptStrengthCalibrator {
+
+	public static final int MAX_STRENGTH = 31;
+
+	private static final String SAMPLE_PASSWORD = "calibration-password";
+
+	private BCryptStrengthCalibrator() {
+		super();
+	}
+
+	/**
+	 * Returns the highest strength whose expected hash time stays within the target
+	 * @param minStrength strength used when even it exceeds the target
+	 * @param targetLatency target time of a single hash, zero returns the minimal
+	 * strength
+	 * @return calibrated strength
+	 */
+	public static int calibrate(int minStrength, Duration targetLatency) {
+		if (targetLatency.isZero()) {
+			return minStrength;
+		}
+
+		BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(minStrength);
+		// First hash warms up the code
+		encoder.encode(SAMPLE_PASSWORD);
+
+		long start = System.nanoTime();
+		encoder.encode(SAMPLE_PASSWORD);
+		long hashNanos = Math.max(System.nanoTime() - start, 1);
+
+		int strength = minStrength;
+		while (strength < MAX_STRENGTH && hashNanos * 2 <= targetLatency.toNanos()) {
+			strength++;
+			hashNanos *= 2;
+		}
+
+		log.info("BCrypt strength {} calibrated for target latency {}, expected hash time {} ms", strength,
+				targetLatency, hashNanos / 1_000_000);
+		return strength;
+	}
+
+}
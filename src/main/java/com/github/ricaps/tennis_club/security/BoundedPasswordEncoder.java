@@ -0,0 +1,111 @@
+package com.github.ricaps.tennis_club.security;
+
+import com.github.ricaps.tennis_club.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the CPU heavy password hashing on a dedicated pool of threads with a bounded
+ * queue, so login storms cannot occupy every request thread. When the queue is full the
+ * request is rejected immediately with 429.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+	private static final String REJECTED_ERROR = "Too many authentication requests, try again later!";
+
+	private final PasswordEncoder delegate;
+
+	private final ThreadPoolExecutor executor;
+
+	private final Timer encodeTimer;
+
+	private final Timer matchesTimer;
+
+	private final Counter rejectedCounter;
+
+	public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity,
+			MeterRegistry meterRegistry) {
+		this.delegate = delegate;
+		this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("password-hashing-"));
+
+		this.encodeTimer = hashTimer("encode", meterRegistry);
+		this.matchesTimer = hashTimer("matches", meterRegistry);
+		this.rejectedCounter = Counter.builder("security.password.hashing.rejected")
+			.description("Hashes rejected because the queue was full")
+			.register(meterRegistry);
+		Gauge.builder("security.password.hashing.queue", executor, e -> e.getQueue().size())
+			.description("Hashes waiting for a thread")
+			.register(meterRegistry);
+		Gauge.builder("security.password.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+			.description("Hashes being computed")
+			.register(meterRegistry);
+	}
+
+	private static Timer hashTimer(String operation, MeterRegistry meterRegistry) {
+		return Timer.builder("security.password.hash")
+			.description("Time of a single password hash, without waiting in the queue")
+			.tag("operation", operation)
+			.register(meterRegistry);
+	}
+
+	@Override
+	public String encode(CharSequence rawPassword) {
+		return execute(() -> encodeTimer.recordCallable(() -> delegate.encode(rawPassword)));
+	}
+
+	@Override
+	public boolean matches(CharSequence rawPassword, String encodedPassword) {
+		return execute(() -> matchesTimer.recordCallable(() -> delegate.matches(rawPassword, encodedPassword)));
+	}
+
+	@Override
+	public boolean upgradeEncoding(String encodedPassword) {
+		return delegate.upgradeEncoding(encodedPassword);
+	}
+
+	private <T> T execute(Callable<T> hash) {
+		Future<T> future;
+		try {
+			future = executor.submit(hash);
+		}
+		catch (RejectedExecutionException ex) {
+			rejectedCounter.increment();
+			throw new TooManyRequestsException(REJECTED_ERROR);
+		}
+
+		try {
+			return future.get();
+		}
+		catch (InterruptedException ex) {
+			future.cancel(true);
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for password hash!", ex);
+		}
+		catch (ExecutionException ex) {
+			if (ex.getCause() instanceof RuntimeException runtimeException) {
+				throw runtimeException;
+			}
+			throw new IllegalStateException(ex.getCause());
+		}
+	}
+
+	@Override
+	public void destroy() {
+		executor.shutdown();
+	}
+
+}
@@ -3,15 +3,27 @@ package com.github.ricaps.tennis_club.security;
 import com.github.ricaps.tennis_club.configuration.model.JwtConfiguration;
 import com.github.ricaps.tennis_club.peristence.entity.User;
 import com.github.ricaps.tennis_club.utils.UUIDUtils;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SignatureException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
 
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
 import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
@@ -29,10 +41,53 @@ public class JwtUtils {
 
 	public static final String ROLE_PREFIX = "ROLE_";
 
+	private static final String TOKEN_CACHE_NAME = "verified-token";
+
 	private final JwtConfiguration jwtConfiguration;
 
-	public JwtUtils(JwtConfiguration jwtConfiguration) {
+	private final SecretKey signingKey;
+
+	private final JwtParser parser;
+
+	/**
+	 * Claims of tokens with already verified signature, keyed by hash of the token. Each
+	 * entry expires together with its token.
+	 */
+	private final Cache<String, Claims> verifiedTokens;
+
+	private final boolean verifiedTokenCacheEnabled;
+
+	public JwtUtils(JwtConfiguration jwtConfiguration, MeterRegistry meterRegistry) {
 		this.jwtConfiguration = jwtConfiguration;
+		this.signingKey = Keys.hmacShaKeyFor(jwtConfiguration.getSecret().getBytes());
+		this.parser = Jwts.parser().verifyWith(signingKey).build();
+		this.verifiedTokenCacheEnabled = jwtConfiguration.getVerifiedTokenCacheSize() > 0;
+		this.verifiedTokens = Caffeine.newBuilder()
+			.maximumSize(jwtConfiguration.getVerifiedTokenCacheSize())
+			.expireAfter(Expiry.creating((String hash, Claims claims) -> untilExpiration(claims)))
+			.recordStats()
+			.build();
+
+		CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, TOKEN_CACHE_NAME);
+	}
+
+	private static Duration untilExpiration(Claims claims) {
+		if (claims.getExpiration() == null) {
+			return Duration.ZERO;
+		}
+
+		return Duration.ofMillis(Math.max(0, claims.getExpiration().getTime() - System.currentTimeMillis()));
+	}
+
+	private static String hash(String token) {
+		try {
+			byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+			return Base64.getEncoder().encodeToString(digest);
+		}
+		catch (NoSuchAlgorithmException e) {
+			// Every Java platform is required to support SHA-256
+			throw new IllegalStateException(e);
+		}
 	}
 
 	public String generateAccessToken(User user) {
@@ -41,7 +96,7 @@ public class JwtUtils {
 
 		return Jwts.builder()
 			.id(UUIDUtils.generate().toString())
-			.signWith(Keys.hmacShaKeyFor(jwtConfiguration.getSecret().getBytes()))
+			.signWith(signingKey)
 			.claims(claims)
 			.subject(user.getUid().toString())
 			.issuedAt(new Date())
@@ -50,14 +105,26 @@ public class JwtUtils {
 	}
 
 	public Optional<Claims> extractClaims(String token) {
-		try {
-			Claims claims = Jwts.parser()
-				.verifyWith(Keys.hmacShaKeyFor(jwtConfiguration.getSecret().getBytes()))
-				.build()
-				.parseSignedClaims(token)
-				.getPayload();
+		if (!verifiedTokenCacheEnabled) {
+			return verify(token);
+		}
+
+		String tokenHash = hash(token);
+		Claims cached = verifiedTokens.getIfPresent(tokenHash);
 
-			return Optional.of(claims);
+		if (cached != null && !untilExpiration(cached).isZero()) {
+			return Optional.of(cached);
+		}
+
+		Optional<Claims> claims = verify(token);
+		claims.ifPresent(verified -> verifiedTokens.put(tokenHash, verified));
+
+		return claims;
+	}
+
+	private Optional<Claims> verify(String token) {
+		try {
+			return Optional.of(parser.parseSignedClaims(token).getPayload());
 		}
 		catch (SignatureException e) {
 			log.warn("The signature for token {} is invalid!", token, e);
@@ -1,9 +1,16 @@
 package com.github.ricaps.tennis_club.security;
 
+import com.github.ricaps.tennis_club.configuration.model.PasswordHashingConfiguration;
 import com.github.ricaps.tennis_club.peristence.entity.Role;
 import com.github.ricaps.tennis_club.security.filter.JwtFilter;
 import com.github.ricaps.tennis_club.security.handler.RestAccessDeniedHandler;
 import com.github.ricaps.tennis_club.security.handler.RestEntryPoint;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.metrics.export.prometheus.PrometheusScrapeEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.annotation.Order;
@@ -30,17 +37,28 @@ public class SecurityConfig {
 	@Bean
 	@Order(1)
 	public SecurityFilterChain defaultFilterChain(HttpSecurity httpSecurity) throws Exception {
-		httpSecurity
-			.authorizeHttpRequests(requests -> requests.requestMatchers("/v1/auth/**")
-				.permitAll()
-				.requestMatchers("/swagger-ui/**", "/v3/api-docs/**", "/v3/api-docs.yaml")
-				.permitAll()
-				.requestMatchers(HttpMethod.POST, "/v1/reservation")
-				.hasAnyRole(Role.ADMIN.name(), Role.USER.name())
-				.requestMatchers(HttpMethod.GET)
-				.hasAnyRole(Role.ADMIN.name(), Role.USER.name())
-				.anyRequest()
-				.hasRole(Role.ADMIN.name()))
+		httpSecurity.authorizeHttpRequests(requests -> requests.dispatcherTypeMatchers(DispatcherType.ASYNC)
+			// Completion of a streamed response, the request itself was already
+			// authorized
+			.permitAll()
+			.requestMatchers("/v1/auth/**")
+			.permitAll()
+			.requestMatchers("/swagger-ui/**", "/v3/api-docs/**", "/v3/api-docs.yaml")
+			.permitAll()
+			.requestMatchers(EndpointRequest.to(HealthEndpoint.class))
+			.permitAll()
+			// Metrics reveal the entities, routes and load of the system
+			.requestMatchers(EndpointRequest.to(PrometheusScrapeEndpoint.class))
+			.hasRole(Role.ADMIN.name())
+			.requestMatchers(HttpMethod.POST, "/v1/reservation", "/v1/reservation/batch", "/v1/reservation/series",
+					"/v1/reservation/series/conflicts")
+			.hasAnyRole(Role.ADMIN.name(), Role.USER.name())
+			.requestMatchers(HttpMethod.GET, "/v1/reservation/export")
+			.hasRole(Role.ADMIN.name())
+			.requestMatchers(HttpMethod.GET)
+			.hasAnyRole(Role.ADMIN.name(), Role.USER.name())
+			.anyRequest()
+			.hasRole(Role.ADMIN.name()))
 			.formLogin(AbstractHttpConfigurer::disable)
 			.csrf(AbstractHttpConfigurer::disable)
 			.exceptionHandling(exceptionHandlers -> {
@@ -55,8 +73,19 @@ public class SecurityConfig {
 	}
 
 	@Bean
-	public PasswordEncoder passwordEncoder() {
-		return new BCryptPasswordEncoder();
+	public PasswordEncoder passwordEncoder(PasswordHashingConfiguration passwordHashingConfiguration,
+			MeterRegistry meterRegistry) {
+		int strength = BCryptStrengthCalibrator.calibrate(passwordHashingConfiguration.getStrength(),
+				passwordHashingConfiguration.getTargetLatency());
+		int threads = passwordHashingConfiguration.getThreads() == 0 ? Runtime.getRuntime().availableProcessors()
+				: passwordHashingConfiguration.getThreads();
+
+		Gauge.builder("security.password.hashing.strength", () -> strength)
+			.description("BCrypt strength of newly hashed passwords")
+			.register(meterRegistry);
+
+		return new BoundedPasswordEncoder(new BCryptPasswordEncoder(strength), threads,
+				passwordHashingConfiguration.getQueueCapacity(), meterRegistry);
 	}
 
 }
@@ -0,0 +1,88 @@
+package com.github.ricaps.tennis_club.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.ricaps.tennis_club.configuration.model.JwtConfiguration;
+import com.github.ricaps.tennis_club.peristence.entity.User;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of users resolved as principals of authenticated requests, so the user is
+ * not loaded from the database on every request. Entries expire after the configured TTL
+ * and are evicted when the user is updated or deleted. <br>
+ * Besides the cache metrics, the time of principal loads is recorded, so the latency
+ * saved by hits can be estimated.
+ */
+@Component
+public class UserPrincipalCache {
+
+	private static final String CACHE_NAME = "principal";
+
+	private final Cache<UUID, User> cache;
+
+	private final boolean enabled;
+
+	private final Timer loadTimer;
+
+	public UserPrincipalCache(JwtConfiguration jwtConfiguration, MeterRegistry meterRegistry) {
+		Duration ttl = jwtConfiguration.getPrincipalCacheTtl();
+
+		this.enabled = !ttl.isZero() && jwtConfiguration.getPrincipalCacheSize() > 0;
+		this.cache = Caffeine.newBuilder()
+			.expireAfterWrite(ttl)
+			.maximumSize(jwtConfiguration.getPrincipalCacheSize())
+			.recordStats()
+			.build();
+		this.loadTimer = Timer.builder("security.principal.load")
+			.description("Loading of the principal from the database")
+			.register(meterRegistry);
+
+		CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+		Gauge.builder("security.principal.cache.hit.ratio", cache, c -> c.stats().hitRate())
+			.description("Ratio of principals resolved from the cache")
+			.register(meterRegistry);
+		Gauge.builder("security.principal.cache.saved", this, UserPrincipalCache::estimateSavedSeconds)
+			.description("Estimated database time saved by cache hits")
+			.baseUnit("seconds")
+			.register(meterRegistry);
+	}
+
+	/**
+	 * Gets cached user, or loads it by the loader. Missing users are not cached.
+	 * @param uid uid of the user
+	 * @param loader loads the user from the database
+	 * @return found user
+	 */
+	public Optional<User> get(UUID uid, Function<UUID, Optional<User>> loader) {
+		if (!enabled) {
+			return loadTimer.record(() -> loader.apply(uid));
+		}
+
+		// Loading is atomic with invalidation of the same uid, so a load which raced
+		// with an update cannot put the stale user back
+		return Optional.ofNullable(cache.get(uid, key -> loadTimer.record(() -> loader.apply(key)).orElse(null)));
+	}
+
+	/**
+	 * Evicts the user, so the next request loads it again
+	 * @param uid uid of the user
+	 */
+	public void invalidate(UUID uid) {
+		cache.invalidate(uid);
+	}
+
+	private double estimateSavedSeconds() {
+		return cache.stats().hitCount() * loadTimer.mean(TimeUnit.SECONDS);
+	}
+
+}
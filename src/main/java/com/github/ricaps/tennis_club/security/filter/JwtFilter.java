@@ -1,11 +1,15 @@
 package com.github.ricaps.tennis_club.security.filter;
 
 import com.github.ricaps.tennis_club.business.service.definition.UserService;
+import com.github.ricaps.tennis_club.configuration.model.JwtConfiguration;
 import com.github.ricaps.tennis_club.peristence.entity.User;
 import com.github.ricaps.tennis_club.security.JwtUtils;
+import com.github.ricaps.tennis_club.security.UserPrincipalCache;
 import com.github.ricaps.tennis_club.security.model.JwtAuthenticationToken;
 import com.github.ricaps.tennis_club.security.model.JwtUser;
 import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.annotation.Nonnull;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -32,9 +36,32 @@ public class JwtFilter extends OncePerRequestFilter {
 
 	private final UserService userService;
 
-	public JwtFilter(JwtUtils jwtUtils, UserService userService) {
+	private final UserPrincipalCache userPrincipalCache;
+
+	private final boolean claimsOnly;
+
+	private final Timer authenticationTimer;
+
+	public JwtFilter(JwtUtils jwtUtils, UserService userService, UserPrincipalCache userPrincipalCache,
+			JwtConfiguration jwtConfiguration, MeterRegistry meterRegistry) {
 		this.jwtUtils = jwtUtils;
 		this.userService = userService;
+		this.userPrincipalCache = userPrincipalCache;
+		this.claimsOnly = jwtConfiguration.isClaimsOnly();
+		this.authenticationTimer = Timer.builder("security.jwt.authentication")
+			.description("Time of verifying the bearer token and resolving its user, without the rest of the chain")
+			.publishPercentileHistogram()
+			.register(meterRegistry);
+	}
+
+	private Optional<User> resolveUser(Claims claims) {
+		UUID userUid = UUID.fromString(claims.getSubject());
+
+		if (claimsOnly) {
+			return Optional.of(User.builder().uid(userUid).build());
+		}
+
+		return userPrincipalCache.get(userUid, userService::get);
 	}
 
 	@Override
@@ -43,40 +70,36 @@ public class JwtFilter extends OncePerRequestFilter {
 
 		String authorizationHeader = request.getHeader(HttpHeaders.AUTHORIZATION);
 
-		if (authorizationHeader == null || !authorizationHeader.startsWith(BEARER_PREFIX)) {
-			doFilter(request, response, filterChain);
-			return;
+		if (authorizationHeader != null && authorizationHeader.startsWith(BEARER_PREFIX)) {
+			String jwtToken = authorizationHeader.substring(BEARER_PREFIX.length());
+			authenticationTimer.record(() -> authenticate(jwtToken));
 		}
 
+		doFilter(request, response, filterChain);
+	}
+
+	private void authenticate(String jwtToken) {
 		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-		String jwtToken = authorizationHeader.substring(BEARER_PREFIX.length());
 		Optional<Claims> claimsOptional = jwtUtils.extractClaims(jwtToken);
 
-		if (claimsOptional.isEmpty()) {
-			doFilter(request, response, filterChain);
+		if (claimsOptional.isEmpty() || (authentication != null && authentication.isAuthenticated())) {
 			return;
 		}
 
 		Claims claims = claimsOptional.get();
+		Optional<User> userOptional = resolveUser(claims);
 
-		if (authentication == null || !authentication.isAuthenticated()) {
-			Optional<User> userOptional = userService.get(UUID.fromString(claims.getSubject()));
-
-			if (userOptional.isEmpty()) {
-				doFilter(request, response, filterChain);
-				return;
-			}
-
-			User user = userOptional.get();
-			Collection<SimpleGrantedAuthority> authorities = jwtUtils.extractAuthorities(claims);
-			JwtUser jwtUser = new JwtUser(user, authorities);
-			JwtAuthenticationToken token = new JwtAuthenticationToken(jwtUser, jwtToken);
-			token.setAuthenticated(true);
+		if (userOptional.isEmpty()) {
+			return;
+		}
 
-			SecurityContextHolder.getContext().setAuthentication(token);
+		User user = userOptional.get();
+		Collection<SimpleGrantedAuthority> authorities = jwtUtils.extractAuthorities(claims);
+		JwtUser jwtUser = new JwtUser(user, authorities);
+		JwtAuthenticationToken token = new JwtAuthenticationToken(jwtUser, jwtToken);
+		token.setAuthenticated(true);
 
-		}
-		doFilter(request, response, filterChain);
+		SecurityContextHolder.getContext().setAuthentication(token);
 	}
 
 }
@@ -0,0 +1,68 @@
+package com.github.ricaps.tennis_club.utils;
+
+import com.github.ricaps.tennis_club.exception.PayloadTooLargeException;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Input stream which fails once more than the maximal number of bytes is read, so an
+ * oversized upload is rejected without being read whole
+ */
+public class SizeLimitedInputStream extends FilterInputStream {
+
+	private final long maxSize;
+
+	private long read;
+
+	/**
+	 * @param in stream to be read
+	 * @param maxSize maximal number of bytes which can be read
+	 */
+	public SizeLimitedInputStream(InputStream in, long maxSize) {
+		super(in);
+		this.maxSize = maxSize;
+	}
+
+	@Override
+	public int read() throws IOException {
+		final int value = super.read();
+		if (value != -1) {
+			count(1);
+		}
+
+		return value;
+	}
+
+	@Override
+	public int read(byte[] buffer, int offset, int length) throws IOException {
+		final int count = super.read(buffer, offset, length);
+		if (count > 0) {
+			count(count);
+		}
+
+		return count;
+	}
+
+	@Override
+	public long skip(long length) throws IOException {
+		final long skipped = super.skip(length);
+		count(skipped);
+
+		return skipped;
+	}
+
+	@Override
+	public boolean markSupported() {
+		return false;
+	}
+
+	private void count(long bytes) {
+		read += bytes;
+		if (read > maxSize) {
+			throw new PayloadTooLargeException("Content cannot be larger than %d bytes!".formatted(maxSize));
+		}
+	}
+
+}
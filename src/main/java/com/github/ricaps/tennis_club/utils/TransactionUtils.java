@@ -0,0 +1,31 @@
+package com.github.ricaps.tennis_club.utils;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public class TransactionUtils {
+
+	private TransactionUtils() {
+		super();
+	}
+
+	/**
+	 * Runs given action after the current transaction is committed. If there is no active
+	 * transaction, the action is run immediately.
+	 * @param action action to be run
+	 */
+	public static void afterCommit(Runnable action) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			action.run();
+			return;
+		}
+
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				action.run();
+			}
+		});
+	}
+
+}
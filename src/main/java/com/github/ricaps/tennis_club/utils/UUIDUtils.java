@@ -4,12 +4,29 @@ import java.util.UUID;
 
 public class UUIDUtils {
 
+	private static final TimeOrderedUuidGenerator TIME_ORDERED_GENERATOR = new TimeOrderedUuidGenerator(
+			System::currentTimeMillis);
+
+	private static volatile boolean timeOrdered = true;
+
 	private UUIDUtils() {
 		super();
 	}
 
+	/**
+	 * Generates new identifier, time-ordered UUID v7 by default or random UUID v4
+	 * @return generated identifier
+	 */
 	public static UUID generate() {
-		return UUID.randomUUID();
+		return timeOrdered ? TIME_ORDERED_GENERATOR.generate() : UUID.randomUUID();
+	}
+
+	/**
+	 * Switches between time-ordered (v7) and random (v4) identifiers
+	 * @param timeOrdered true for time-ordered identifiers
+	 */
+	public static void setTimeOrdered(boolean timeOrdered) {
+		UUIDUtils.timeOrdered = timeOrdered;
 	}
 
 }
@@ -0,0 +1,171 @@
+package com.github.ricaps.tennis_club.business.event;
+
+import com.github.ricaps.tennis_club.business.event.ReservationChangeBus.Subscription;
+import com.github.ricaps.tennis_club.configuration.model.ApplicationConfiguration;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReservationChangeBusTest {
+
+	private static final String RESYNC = "resync";
+
+	private static final int BUFFER_SIZE = 2;
+
+	private final UUID courtUid = UUID.randomUUID();
+
+	private final BlockingQueue<Object> received = new LinkedBlockingQueue<>();
+
+	private MeterRegistry meterRegistry;
+
+	private ReservationChangeBus changeBus;
+
+	@BeforeEach
+	void setup() {
+		ApplicationConfiguration applicationConfiguration = new ApplicationConfiguration();
+		applicationConfiguration.setReservationChangeBufferSize(BUFFER_SIZE);
+		meterRegistry = new SimpleMeterRegistry();
+		changeBus = new ReservationChangeBus(applicationConfiguration, meterRegistry);
+	}
+
+	@AfterEach
+	void tearDown() {
+		changeBus.destroy();
+	}
+
+	private ReservationChange change(UUID courtUid) {
+		OffsetDateTime fromTime = OffsetDateTime.now(ZoneOffset.UTC);
+		return new ReservationChange(ReservationChange.Type.CREATED, UUID.randomUUID(), courtUid, fromTime,
+				fromTime.plusHours(1));
+	}
+
+	private ReservationChangeBus.Listener recordingListener() {
+		return new ReservationChangeBus.Listener() {
+			@Override
+			public void onChange(ReservationChange change) {
+				received.add(change);
+			}
+
+			@Override
+			public void onResync() {
+				received.add(RESYNC);
+			}
+		};
+	}
+
+	private double subscribers() {
+		return meterRegistry.get("reservation.changes.subscribers").gauge().value();
+	}
+
+	private Object next() throws InterruptedException {
+		return received.poll(5, TimeUnit.SECONDS);
+	}
+
+	@Test
+	void publish_subscribedCourt_changesDeliveredInOrder() throws InterruptedException {
+		changeBus.subscribe(courtUid, recordingListener());
+		ReservationChange first = change(courtUid);
+		ReservationChange second = change(courtUid);
+
+		changeBus.publish(first);
+		changeBus.publish(change(UUID.randomUUID()));
+		changeBus.publish(second);
+
+		assertThat(next()).isEqualTo(first);
+		assertThat(next()).isEqualTo(second);
+		assertThat(received.poll(100, TimeUnit.MILLISECONDS)).isNull();
+	}
+
+	@Test
+	void publish_slowSubscriberFellBehind_bufferDroppedForSingleResync() throws InterruptedException {
+		CountDownLatch delivering = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		ReservationChangeBus.Listener listener = recordingListener();
+		changeBus.subscribe(courtUid, new ReservationChangeBus.Listener() {
+			@Override
+			public void onChange(ReservationChange change) {
+				delivering.countDown();
+				try {
+					release.await();
+				}
+				catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+				listener.onChange(change);
+			}
+
+			@Override
+			public void onResync() {
+				listener.onResync();
+			}
+		});
+		ReservationChange first = change(courtUid);
+		changeBus.publish(first);
+		assertThat(delivering.await(5, TimeUnit.SECONDS)).isTrue();
+
+		// Fills the buffer, the next change overflows it and the rest is dropped
+		for (int i = 0; i < BUFFER_SIZE + 3; i++) {
+			changeBus.publish(change(courtUid));
+		}
+		release.countDown();
+
+		assertThat(next()).isEqualTo(first);
+		assertThat(next()).isEqualTo(RESYNC);
+		ReservationChange afterResync = change(courtUid);
+		changeBus.publish(afterResync);
+		assertThat(next()).isEqualTo(afterResync);
+		assertThat(meterRegistry.get("reservation.changes.resyncs").counter().count()).isEqualTo(1);
+	}
+
+	@Test
+	void publish_failingListener_subscriptionCancelled() throws InterruptedException {
+		CountDownLatch called = new CountDownLatch(1);
+		changeBus.subscribe(courtUid, new ReservationChangeBus.Listener() {
+			@Override
+			public void onChange(ReservationChange change) {
+				called.countDown();
+				throw new IllegalStateException("Client is gone");
+			}
+
+			@Override
+			public void onResync() {
+			}
+		});
+
+		changeBus.publish(change(courtUid));
+
+		assertThat(called.await(5, TimeUnit.SECONDS)).isTrue();
+		// Cancelled by the delivering thread right after the listener failed
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (subscribers() > 0 && System.nanoTime() < deadline) {
+			Thread.sleep(10);
+		}
+		assertThat(subscribers()).isZero();
+	}
+
+	@Test
+	void cancel_subscription_nothingDelivered() throws InterruptedException {
+		Subscription subscription = changeBus.subscribe(courtUid, recordingListener());
+		assertThat(subscribers()).isEqualTo(1);
+
+		subscription.cancel();
+		subscription.cancel();
+		changeBus.publish(change(courtUid));
+
+		assertThat(received.poll(100, TimeUnit.MILLISECONDS)).isNull();
+		assertThat(subscribers()).isZero();
+	}
+
+}
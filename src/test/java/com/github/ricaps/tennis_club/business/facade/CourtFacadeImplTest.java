@@ -1,13 +1,21 @@
 package com.github.ricaps.tennis_club.business.facade;
 
+import com.github.ricaps.tennis_club.api.court.CourtAvailabilityDto;
+import com.github.ricaps.tennis_club.api.court.CourtAvailabilityQueryDto;
 import com.github.ricaps.tennis_club.api.court.CourtCreateDto;
 import com.github.ricaps.tennis_club.api.court.CourtViewDto;
+import com.github.ricaps.tennis_club.api.court.FreeSlotDto;
+import com.github.ricaps.tennis_club.business.index.CourtAvailabilityIndex;
+import com.github.ricaps.tennis_club.business.index.CourtAvailabilityIndex.FreeSlot;
 import com.github.ricaps.tennis_club.business.mapping.CourtMapper;
 import com.github.ricaps.tennis_club.business.service.definition.CourtService;
+import com.github.ricaps.tennis_club.business.service.definition.ReservationService;
 import com.github.ricaps.tennis_club.business.service.definition.SurfaceService;
 import com.github.ricaps.tennis_club.exception.ValueIsMissingException;
 import com.github.ricaps.tennis_club.peristence.entity.Court;
 import com.github.ricaps.tennis_club.peristence.entity.Surface;
+import com.github.ricaps.tennis_club.peristence.utils.CountStrategy;
+import com.github.ricaps.tennis_club.peristence.utils.PageableResult;
 import com.github.ricaps.tennis_club.test_utils.CourtTestData;
 import com.github.ricaps.tennis_club.test_utils.SurfaceTestData;
 import com.github.ricaps.tennis_club.utils.UUIDUtils;
@@ -21,7 +29,10 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PagedModel;
 
+import java.time.Duration;
+import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -39,6 +50,9 @@ class CourtFacadeImplTest {
 	@Mock
 	private SurfaceService surfaceService;
 
+	@Mock
+	private ReservationService reservationService;
+
 	@InjectMocks
 	private CourtFacadeImpl courtFacade;
 
@@ -106,7 +120,7 @@ class CourtFacadeImplTest {
 	void getAll_nullPageable_throwsException() {
 		assertThatThrownBy(() -> courtFacade.getAll(null)).isInstanceOf(ValueIsMissingException.class);
 
-		Mockito.verify(courtService, Mockito.never()).getAll(Mockito.any());
+		Mockito.verify(courtService, Mockito.never()).getAll(Mockito.any(), Mockito.any());
 	}
 
 	@Test
@@ -120,14 +134,46 @@ class CourtFacadeImplTest {
 		Court entity1 = Mockito.mock(Court.class);
 		Court entity2 = Mockito.mock(Court.class);
 		List<Court> entitiesList = List.of(entity1, entity2);
-		Mockito.when(courtService.getAll(pageableMock)).thenReturn(entitiesList);
+		Mockito.when(courtService.getAll(pageableMock, CountStrategy.EXACT))
+			.thenReturn(new PageableResult<>(entitiesList, entitiesList.size()));
 		Mockito.when(courtMapper.fromEntityListToView(entitiesList)).thenReturn(viewList);
 
 		PagedModel<CourtViewDto> returnedView = courtFacade.getAll(pageableMock);
 
 		assertThat(returnedView.getContent()).hasSize(2);
 		assertThat(returnedView.getContent()).containsAll(viewList);
-		Mockito.verify(courtService, Mockito.times(1)).getAll(pageableMock);
+		Mockito.verify(courtService, Mockito.times(1)).getAll(pageableMock, CountStrategy.EXACT);
+	}
+
+	@Test
+	void getAvailability_nullQuery_throwsException() {
+		assertThatThrownBy(() -> courtFacade.getAvailability(null)).isInstanceOf(ValueIsMissingException.class);
+
+		Mockito.verify(reservationService, Mockito.never())
+			.getFreeSlots(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any());
+	}
+
+	@Test
+	void getAvailability_surfaceCourts_freeSlotsInRequestedOffset() {
+		Surface surface = SurfaceTestData.createSurface();
+		Court court = CourtTestData.entity(surface);
+		OffsetDateTime from = OffsetDateTime.parse("2025-11-07T08:00:00+01:00");
+		OffsetDateTime to = from.plusHours(14);
+		FreeSlot slot = new FreeSlot(from.plusHours(2).toInstant(), from.plusHours(4).toInstant());
+
+		Mockito.when(courtService.getAllBySurface(surface.getUid())).thenReturn(List.of(court));
+		Mockito
+			.when(reservationService.getFreeSlots(List.of(court.getUid()), from, to,
+					Duration.ofMinutes(CourtAvailabilityIndex.SLOT_MINUTES)))
+			.thenReturn(Map.of(court.getUid(), List.of(slot)));
+
+		List<CourtAvailabilityDto> availability = courtFacade
+			.getAvailability(new CourtAvailabilityQueryDto(from, to, surface.getUid(), null));
+
+		assertThat(availability).hasSize(1);
+		assertThat(availability.getFirst().court().uid()).isEqualTo(court.getUid());
+		assertThat(availability.getFirst().freeSlots())
+			.containsExactly(new FreeSlotDto(from.plusHours(2), from.plusHours(4)));
 	}
 
 	@Test
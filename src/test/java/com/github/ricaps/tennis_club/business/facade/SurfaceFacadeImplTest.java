@@ -6,6 +6,8 @@ import com.github.ricaps.tennis_club.business.mapping.SurfaceMapper;
 import com.github.ricaps.tennis_club.business.service.definition.SurfaceService;
 import com.github.ricaps.tennis_club.exception.ValueIsMissingException;
 import com.github.ricaps.tennis_club.peristence.entity.Surface;
+import com.github.ricaps.tennis_club.peristence.utils.CountStrategy;
+import com.github.ricaps.tennis_club.peristence.utils.PageableResult;
 import com.github.ricaps.tennis_club.test_utils.SurfaceTestData;
 import com.github.ricaps.tennis_club.utils.UUIDUtils;
 import org.junit.jupiter.api.Test;
@@ -96,7 +98,7 @@ class SurfaceFacadeImplTest {
 	void getAll_nullPageable_throwsException() {
 		assertThatThrownBy(() -> surfaceFacade.getAll(null)).isInstanceOf(ValueIsMissingException.class);
 
-		Mockito.verify(surfaceService, Mockito.never()).getAll(Mockito.any());
+		Mockito.verify(surfaceService, Mockito.never()).getAll(Mockito.any(), Mockito.any());
 	}
 
 	@Test
@@ -110,14 +112,15 @@ class SurfaceFacadeImplTest {
 		Surface entity1 = Mockito.mock(Surface.class);
 		Surface entity2 = Mockito.mock(Surface.class);
 		List<Surface> entitiesList = List.of(entity1, entity2);
-		Mockito.when(surfaceService.getAll(pageableMock)).thenReturn(entitiesList);
+		Mockito.when(surfaceService.getAll(pageableMock, CountStrategy.EXACT))
+			.thenReturn(new PageableResult<>(entitiesList, entitiesList.size()));
 		Mockito.when(surfaceMapper.fromEntityListToView(entitiesList)).thenReturn(viewList);
 
 		PagedModel<SurfaceViewDto> returnedView = surfaceFacade.getAll(pageableMock);
 
 		assertThat(returnedView.getContent()).hasSize(2);
 		assertThat(returnedView.getContent()).containsAll(viewList);
-		Mockito.verify(surfaceService, Mockito.times(1)).getAll(pageableMock);
+		Mockito.verify(surfaceService, Mockito.times(1)).getAll(pageableMock, CountStrategy.EXACT);
 	}
 
 	@Test
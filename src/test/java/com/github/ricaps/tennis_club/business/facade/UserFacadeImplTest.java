@@ -6,6 +6,8 @@ import com.github.ricaps.tennis_club.business.mapping.UserMapper;
 import com.github.ricaps.tennis_club.business.service.definition.UserService;
 import com.github.ricaps.tennis_club.exception.ValueIsMissingException;
 import com.github.ricaps.tennis_club.peristence.entity.User;
+import com.github.ricaps.tennis_club.peristence.utils.CountStrategy;
+import com.github.ricaps.tennis_club.peristence.utils.PageableResult;
 import com.github.ricaps.tennis_club.test_utils.UserTestData;
 import com.github.ricaps.tennis_club.utils.UUIDUtils;
 import org.junit.jupiter.api.Test;
@@ -101,7 +103,7 @@ class UserFacadeImplTest {
 	void getAll_nullPageable_throwsException() {
 		assertThatThrownBy(() -> userFacade.getAll(null)).isInstanceOf(ValueIsMissingException.class);
 
-		Mockito.verify(userService, Mockito.never()).getAll(Mockito.any());
+		Mockito.verify(userService, Mockito.never()).getAll(Mockito.any(), Mockito.any());
 	}
 
 	@Test
@@ -115,14 +117,15 @@ class UserFacadeImplTest {
 		User entity1 = Mockito.mock(User.class);
 		User entity2 = Mockito.mock(User.class);
 		List<User> entitiesList = List.of(entity1, entity2);
-		Mockito.when(userService.getAll(pageableMock)).thenReturn(entitiesList);
+		Mockito.when(userService.getAll(pageableMock, CountStrategy.EXACT))
+			.thenReturn(new PageableResult<>(entitiesList, entitiesList.size()));
 		Mockito.when(userMapper.fromEntityListToView(entitiesList)).thenReturn(viewList);
 
 		PagedModel<UserDetailedView> returnedView = userFacade.getAll(pageableMock);
 
 		assertThat(returnedView.getContent()).hasSize(2);
 		assertThat(returnedView.getContent()).containsAll(viewList);
-		Mockito.verify(userService, Mockito.times(1)).getAll(pageableMock);
+		Mockito.verify(userService, Mockito.times(1)).getAll(pageableMock, CountStrategy.EXACT);
 	}
 
 	@Test
@@ -0,0 +1,190 @@
+package com.github.ricaps.tennis_club.business.index;
+
+import com.github.ricaps.tennis_club.business.index.CourtAvailabilityIndex.FreeSlot;
+import com.github.ricaps.tennis_club.peristence.dao.definition.ReservationDao;
+import com.github.ricaps.tennis_club.peristence.projection.ReservationInterval;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(MockitoExtension.class)
+class CourtAvailabilityIndexTest {
+
+	private static final Instant DAY = Instant.parse("2025-01-01T00:00:00Z");
+
+	@Mock
+	private ReservationDao reservationDao;
+
+	@InjectMocks
+	private CourtAvailabilityIndex availabilityIndex;
+
+	private UUID courtUid;
+
+	private static OffsetDateTime at(String time) {
+		return Instant.parse("2025-01-01T" + time + ":00Z").atOffset(ZoneOffset.UTC);
+	}
+
+	private static FreeSlot slot(String from, String to) {
+		return new FreeSlot(at(from).toInstant(), at(to).toInstant());
+	}
+
+	private ReservationInterval interval(String from, String to) {
+		return new ReservationInterval(UUID.randomUUID(), courtUid, at(from), at(to));
+	}
+
+	private List<FreeSlot> freeSlots(String from, String to) {
+		return availabilityIndex.findFreeSlots(courtUid, at(from).toInstant(), at(to).toInstant(), Duration.ZERO);
+	}
+
+	@BeforeEach
+	void setup() {
+		courtUid = UUID.randomUUID();
+	}
+
+	@Test
+	void findFreeSlots_noReservation_wholeFrameFree() {
+		assertThat(freeSlots("08:00", "20:00")).containsExactly(slot("08:00", "20:00"));
+	}
+
+	@Test
+	void findFreeSlots_unalignedFrame_alignedInside() {
+		assertThat(freeSlots("08:05", "09:50")).containsExactly(slot("08:15", "09:45"));
+	}
+
+	@Test
+	void findFreeSlots_reservation_touchingSlotsOccupied() {
+		availabilityIndex.put(interval("10:00", "11:00"));
+
+		assertThat(freeSlots("08:00", "14:00")).containsExactly(slot("08:00", "09:45"), slot("11:15", "14:00"));
+	}
+
+	@Test
+	void findFreeSlots_unalignedReservation_partialSlotsOccupied() {
+		availabilityIndex.put(interval("10:01", "10:50"));
+
+		assertThat(freeSlots("08:00", "14:00")).containsExactly(slot("08:00", "10:00"), slot("11:00", "14:00"));
+	}
+
+	@Test
+	void findFreeSlots_reservationAtWordBoundary_runsMerged() {
+		// The free run after the reservation crosses the 16:00 boundary of the bitmap
+		// words
+		availabilityIndex.put(interval("12:00", "13:00"));
+
+		assertThat(freeSlots("13:00", "20:00")).containsExactly(slot("13:15", "20:00"));
+	}
+
+	@Test
+	void findFreeSlots_overMidnight_runsMerged() {
+		List<FreeSlot> slots = availabilityIndex.findFreeSlots(courtUid, DAY.minus(Duration.ofHours(2)),
+				DAY.plus(Duration.ofHours(2)), Duration.ZERO);
+
+		assertThat(slots).containsExactly(new FreeSlot(DAY.minus(Duration.ofHours(2)), DAY.plus(Duration.ofHours(2))));
+	}
+
+	@Test
+	void findFreeSlots_reservationOverMidnight_bothDaysOccupied() {
+		availabilityIndex.put(new ReservationInterval(UUID.randomUUID(), courtUid,
+				DAY.minus(Duration.ofHours(1)).atOffset(ZoneOffset.UTC),
+				DAY.plus(Duration.ofHours(1)).atOffset(ZoneOffset.UTC)));
+
+		List<FreeSlot> slots = availabilityIndex.findFreeSlots(courtUid, DAY.minus(Duration.ofHours(3)),
+				DAY.plus(Duration.ofHours(3)), Duration.ZERO);
+
+		assertThat(slots).containsExactly(
+				new FreeSlot(DAY.minus(Duration.ofHours(3)), DAY.minus(Duration.ofMinutes(75))),
+				new FreeSlot(DAY.plus(Duration.ofMinutes(75)), DAY.plus(Duration.ofHours(3))));
+	}
+
+	@Test
+	void findFreeSlots_minDuration_shortFramesSkipped() {
+		availabilityIndex.put(interval("09:00", "10:00"));
+		availabilityIndex.put(interval("11:00", "12:00"));
+
+		List<FreeSlot> slots = availabilityIndex.findFreeSlots(courtUid, at("08:00").toInstant(),
+				at("14:00").toInstant(), Duration.ofMinutes(40));
+
+		assertThat(slots).containsExactly(slot("08:00", "08:45"), slot("12:15", "14:00"));
+	}
+
+	@Test
+	void findFreeSlots_anotherCourt_notAffected() {
+		availabilityIndex.put(interval("10:00", "11:00"));
+
+		assertThat(availabilityIndex.findFreeSlots(UUID.randomUUID(), at("08:00").toInstant(), at("14:00").toInstant(),
+				Duration.ZERO))
+			.containsExactly(slot("08:00", "14:00"));
+	}
+
+	@Test
+	void put_sameReservationMoved_oldSlotsFreed() {
+		ReservationInterval reservation = interval("10:00", "11:00");
+		availabilityIndex.put(reservation);
+
+		availabilityIndex.put(new ReservationInterval(reservation.uid(), courtUid, at("12:00"), at("13:00")));
+
+		assertThat(availabilityIndex.size()).isEqualTo(1);
+		assertThat(freeSlots("08:00", "14:00")).containsExactly(slot("08:00", "11:45"), slot("13:15", "14:00"));
+	}
+
+	@Test
+	void remove_reservationSharingSlot_slotStaysOccupied() {
+		ReservationInterval first = interval("10:00", "10:50");
+		availabilityIndex.put(first);
+		availabilityIndex.put(interval("10:55", "12:00"));
+
+		availabilityIndex.remove(first.uid());
+
+		assertThat(freeSlots("08:00", "14:00")).containsExactly(slot("08:00", "10:45"), slot("12:15", "14:00"));
+	}
+
+	@Test
+	void remove_lastReservation_dayFree() {
+		ReservationInterval reservation = interval("10:00", "11:00");
+		availabilityIndex.put(reservation);
+
+		availabilityIndex.remove(reservation.uid());
+
+		assertThat(availabilityIndex.size()).isZero();
+		assertThat(freeSlots("08:00", "14:00")).containsExactly(slot("08:00", "14:00"));
+	}
+
+	@Test
+	void removeEndedBefore_endedAndUpcoming_onlyEndedRemoved() {
+		ReservationInterval ended = interval("08:00", "09:00");
+		ReservationInterval upcoming = interval("12:00", "13:00");
+		availabilityIndex.put(ended);
+		availabilityIndex.put(upcoming);
+
+		int removed = availabilityIndex.removeEndedBefore(at("10:00").toInstant());
+
+		assertThat(removed).isEqualTo(1);
+		assertThat(availabilityIndex.size()).isEqualTo(1);
+		assertThat(freeSlots("08:00", "14:00")).containsExactly(slot("08:00", "11:45"), slot("13:15", "14:00"));
+	}
+
+	@Test
+	void afterPropertiesSet_upcomingReservations_loaded() {
+		ReservationInterval loaded = interval("10:00", "11:00");
+		Mockito.when(reservationDao.getReservationIntervalsEndingAfter(Mockito.any())).thenReturn(List.of(loaded));
+
+		availabilityIndex.afterPropertiesSet();
+
+		assertThat(availabilityIndex.size()).isEqualTo(1);
+		assertThat(freeSlots("10:15", "10:45")).isEmpty();
+	}
+
+}
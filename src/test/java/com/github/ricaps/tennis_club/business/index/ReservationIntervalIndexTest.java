@@ -0,0 +1,179 @@
+package com.github.ricaps.tennis_club.business.index;
+
+import com.github.ricaps.tennis_club.peristence.dao.definition.ReservationDao;
+import com.github.ricaps.tennis_club.peristence.projection.ReservationInterval;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(MockitoExtension.class)
+class ReservationIntervalIndexTest {
+
+	private static final OffsetDateTime FROM = Instant.parse("2025-01-01T14:00:00Z").atOffset(ZoneOffset.UTC);
+
+	private static final OffsetDateTime TO = FROM.plusHours(2);
+
+	@Mock
+	private ReservationDao reservationDao;
+
+	@InjectMocks
+	private ReservationIntervalIndex intervalIndex;
+
+	private UUID courtUid;
+
+	private ReservationInterval indexed;
+
+	private static Stream<Arguments> provideIntervalTestArguments() {
+		return Stream.of(Arguments.of(FROM.minusHours(1), FROM.minusMinutes(1), false, "No overlap under interval"),
+				Arguments.of(TO.plusMinutes(1), TO.plusHours(1), false, "No overlap above interval"),
+				Arguments.of(FROM.minusHours(1), FROM, true, "Overlap at interval beginning"),
+				Arguments.of(TO, TO.plusHours(1), true, "Overlap at interval end"),
+				Arguments.of(FROM.minusMinutes(30), FROM.plusMinutes(30), true, "Overlap over beginning"),
+				Arguments.of(TO.minusMinutes(30), TO.plusMinutes(30), true, "Overlap over end"),
+				Arguments.of(FROM.minusMinutes(30), TO.plusMinutes(30), true, "Full overlap of interval"),
+				Arguments.of(FROM.plusMinutes(1), TO.minusMinutes(1), true, "Inside interval"),
+				Arguments.of(FROM, TO, true, "Exact same interval"),
+				Arguments.of(FROM.withOffsetSameInstant(ZoneOffset.ofHours(2)),
+						TO.withOffsetSameInstant(ZoneOffset.ofHours(2)), true, "Same interval in another offset"));
+	}
+
+	@BeforeEach
+	void setup() {
+		courtUid = UUID.randomUUID();
+		indexed = new ReservationInterval(UUID.randomUUID(), courtUid, FROM, TO);
+		intervalIndex.put(indexed);
+	}
+
+	@ParameterizedTest
+	@MethodSource("provideIntervalTestArguments")
+	void findConflict_interval_conflictDetected(OffsetDateTime from, OffsetDateTime to, boolean expectConflict,
+			String message) {
+		Optional<UUID> conflict = intervalIndex.findConflict(courtUid, from, to, null);
+
+		if (expectConflict) {
+			assertThat(conflict).withFailMessage(message).contains(indexed.uid());
+		}
+		else {
+			assertThat(conflict).withFailMessage(message).isEmpty();
+		}
+	}
+
+	@Test
+	void findConflict_touchingIntervalWithAnyUid_conflictDetected() {
+		ReservationInterval positiveUid = new ReservationInterval(new UUID(1L, 1L), courtUid, TO.plusHours(1),
+				TO.plusHours(2));
+		ReservationInterval negativeUid = new ReservationInterval(new UUID(-1L, -1L), courtUid, TO.plusHours(3),
+				TO.plusHours(4));
+		intervalIndex.put(positiveUid);
+		intervalIndex.put(negativeUid);
+
+		assertThat(intervalIndex.findConflict(courtUid, TO.plusMinutes(30), TO.plusHours(1), null))
+			.contains(positiveUid.uid());
+		assertThat(intervalIndex.findConflict(courtUid, TO.plusHours(2).plusMinutes(30), TO.plusHours(3), null))
+			.contains(negativeUid.uid());
+	}
+
+	@Test
+	void findConflict_anotherCourt_noConflict() {
+		assertThat(intervalIndex.findConflict(UUID.randomUUID(), FROM, TO, null)).isEmpty();
+	}
+
+	@Test
+	void findConflict_ignoredReservation_noConflict() {
+		assertThat(intervalIndex.findConflict(courtUid, FROM, TO, indexed.uid())).isEmpty();
+	}
+
+	@Test
+	void findConflict_longReservationStartedEarlier_conflictDetected() {
+		ReservationInterval longInterval = new ReservationInterval(UUID.randomUUID(), courtUid, FROM.minusDays(1),
+				FROM.minusDays(1).plusHours(3));
+		ReservationInterval shortInterval = new ReservationInterval(UUID.randomUUID(), courtUid,
+				FROM.minusDays(1).plusMinutes(10), FROM.minusDays(1).plusMinutes(20));
+		intervalIndex.put(longInterval);
+		intervalIndex.put(shortInterval);
+
+		Optional<UUID> conflict = intervalIndex.findConflict(courtUid, FROM.minusDays(1).plusHours(2),
+				FROM.minusDays(1).plusHours(2).plusMinutes(30), null);
+
+		assertThat(conflict).contains(longInterval.uid());
+	}
+
+	@Test
+	void put_sameReservationMoved_oldIntervalReplaced() {
+		intervalIndex.put(new ReservationInterval(indexed.uid(), courtUid, TO.plusHours(1), TO.plusHours(2)));
+
+		assertThat(intervalIndex.size()).isEqualTo(1);
+		assertThat(intervalIndex.findConflict(courtUid, FROM, TO, null)).isEmpty();
+		assertThat(intervalIndex.findConflict(courtUid, TO.plusHours(1), TO.plusHours(2), null))
+			.contains(indexed.uid());
+	}
+
+	@Test
+	void get_indexedAndRemovedReservation_intervalOnlyWhileIndexed() {
+		assertThat(intervalIndex.get(indexed.uid())).contains(indexed);
+
+		intervalIndex.remove(indexed.uid());
+
+		assertThat(intervalIndex.get(indexed.uid())).isEmpty();
+	}
+
+	@Test
+	void remove_indexedReservation_noConflict() {
+		intervalIndex.remove(indexed.uid());
+
+		assertThat(intervalIndex.size()).isZero();
+		assertThat(intervalIndex.findConflict(courtUid, FROM, TO, null)).isEmpty();
+	}
+
+	@Test
+	void remove_notIndexedReservation_nothingRemoved() {
+		intervalIndex.remove(UUID.randomUUID());
+
+		assertThat(intervalIndex.size()).isEqualTo(1);
+	}
+
+	@Test
+	void removeEndedBefore_endedAndUpcoming_onlyEndedRemoved() {
+		ReservationInterval upcoming = new ReservationInterval(UUID.randomUUID(), courtUid, TO.plusDays(1),
+				TO.plusDays(1).plusHours(1));
+		intervalIndex.put(upcoming);
+
+		int removed = intervalIndex.removeEndedBefore(TO.plusMinutes(1).toInstant());
+
+		assertThat(removed).isEqualTo(1);
+		assertThat(intervalIndex.get(indexed.uid())).isEmpty();
+		assertThat(intervalIndex.findConflict(courtUid, FROM, TO, null)).isEmpty();
+		assertThat(intervalIndex.get(upcoming.uid())).contains(upcoming);
+	}
+
+	@Test
+	void afterPropertiesSet_upcomingReservations_loaded() {
+		ReservationInterval loaded = new ReservationInterval(UUID.randomUUID(), courtUid, TO.plusDays(1),
+				TO.plusDays(1).plusHours(1));
+		Mockito.when(reservationDao.getReservationIntervalsEndingAfter(Mockito.any())).thenReturn(List.of(loaded));
+
+		intervalIndex.afterPropertiesSet();
+
+		assertThat(intervalIndex.size()).isEqualTo(2);
+		assertThat(intervalIndex.findConflict(courtUid, loaded.fromTime(), loaded.toTime(), null))
+			.contains(loaded.uid());
+	}
+
+}
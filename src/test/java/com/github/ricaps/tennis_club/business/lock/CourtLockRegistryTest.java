@@ -0,0 +1,147 @@
+package com.github.ricaps.tennis_club.business.lock;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CourtLockRegistryTest {
+
+	private final CourtLockRegistry courtLockRegistry = new CourtLockRegistry();
+
+	@Test
+	void executeLocked_returnsActionResult() {
+		String result = courtLockRegistry.executeLocked(UUID.randomUUID(), () -> "result");
+
+		assertThat(result).isEqualTo("result");
+	}
+
+	@Test
+	void executeLocked_sameCourt_actionsSerialized() throws Exception {
+		UUID courtUid = UUID.randomUUID();
+		AtomicInteger running = new AtomicInteger();
+		AtomicInteger maxRunning = new AtomicInteger();
+
+		try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+			for (int i = 0; i < 100; i++) {
+				executor.submit(() -> courtLockRegistry.executeLocked(courtUid, () -> {
+					maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+					Thread.yield();
+					return running.decrementAndGet();
+				}));
+			}
+		}
+
+		assertThat(maxRunning.get()).isEqualTo(1);
+		assertThat(courtLockRegistry.size()).isZero();
+	}
+
+	@Test
+	void executeLocked_released_lockRemoved() {
+		UUID courtUid = UUID.randomUUID();
+
+		int heldLocks = courtLockRegistry.executeLocked(courtUid, courtLockRegistry::size);
+		int heldSetLocks = courtLockRegistry.executeLocked(Set.of(courtUid, UUID.randomUUID()),
+				courtLockRegistry::size);
+
+		assertThat(heldLocks).isEqualTo(1);
+		assertThat(heldSetLocks).isEqualTo(2);
+		assertThat(courtLockRegistry.size()).isZero();
+	}
+
+	@Test
+	void executeLocked_actionThrows_lockRemoved() {
+		UUID courtUid = UUID.randomUUID();
+
+		assertThatThrownBy(() -> courtLockRegistry.executeLocked(List.of(courtUid, UUID.randomUUID()), () -> {
+			throw new IllegalStateException("failed");
+		})).isInstanceOf(IllegalStateException.class);
+
+		assertThat(courtLockRegistry.size()).isZero();
+	}
+
+	@Test
+	void executeLocked_differentCourts_doNotContend() throws Exception {
+		CountDownLatch firstLocked = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+
+		try (ExecutorService executor = Executors.newSingleThreadExecutor()) {
+			Future<?> holder = executor.submit(() -> courtLockRegistry.executeLocked(UUID.randomUUID(), () -> {
+				firstLocked.countDown();
+				try {
+					return release.await(5, TimeUnit.SECONDS);
+				}
+				catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return false;
+				}
+			}));
+
+			assertThat(firstLocked.await(5, TimeUnit.SECONDS)).isTrue();
+			String result = courtLockRegistry.executeLocked(UUID.randomUUID(), () -> "not blocked");
+			release.countDown();
+
+			assertThat(result).isEqualTo("not blocked");
+			holder.get(5, TimeUnit.SECONDS);
+		}
+	}
+
+	@Test
+	void executeLocked_overlappingCourtSetsInReverseOrder_noDeadlock() throws Exception {
+		UUID first = UUID.randomUUID();
+		UUID second = UUID.randomUUID();
+		AtomicInteger completed = new AtomicInteger();
+
+		try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+			for (int i = 0; i < 100; i++) {
+				List<UUID> courts = i % 2 == 0 ? List.of(first, second) : List.of(second, first);
+				executor.submit(() -> courtLockRegistry.executeLocked(courts, () -> {
+					Thread.yield();
+					return completed.incrementAndGet();
+				}));
+			}
+		}
+
+		assertThat(completed.get()).isEqualTo(100);
+	}
+
+	@Test
+	void executeLocked_courtSet_singleCourtActionsWait() throws Exception {
+		UUID courtUid = UUID.randomUUID();
+		AtomicInteger running = new AtomicInteger();
+		AtomicInteger maxRunning = new AtomicInteger();
+
+		try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+			for (int i = 0; i < 100; i++) {
+				if (i % 2 == 0) {
+					executor.submit(() -> courtLockRegistry.executeLocked(Set.of(courtUid, UUID.randomUUID()), () -> {
+						maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+						Thread.yield();
+						return running.decrementAndGet();
+					}));
+				}
+				else {
+					executor.submit(() -> courtLockRegistry.executeLocked(courtUid, () -> {
+						maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+						Thread.yield();
+						return running.decrementAndGet();
+					}));
+				}
+			}
+		}
+
+		assertThat(maxRunning.get()).isEqualTo(1);
+		assertThat(courtLockRegistry.size()).isZero();
+	}
+
+}
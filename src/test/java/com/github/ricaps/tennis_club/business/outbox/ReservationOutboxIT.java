@@ -0,0 +1,167 @@
+package com.github.ricaps.tennis_club.business.outbox;
+
+import com.github.ricaps.tennis_club.business.service.definition.ReservationService;
+import com.github.ricaps.tennis_club.exception.EntityExistsException;
+import com.github.ricaps.tennis_club.peristence.dao.definition.CourtDao;
+import com.github.ricaps.tennis_club.peristence.dao.definition.ReservationOutboxDao;
+import com.github.ricaps.tennis_club.peristence.dao.definition.SurfaceDao;
+import com.github.ricaps.tennis_club.peristence.dao.definition.UserDao;
+import com.github.ricaps.tennis_club.peristence.entity.Court;
+import com.github.ricaps.tennis_club.peristence.entity.Reservation;
+import com.github.ricaps.tennis_club.peristence.entity.ReservationOutboxEvent;
+import com.github.ricaps.tennis_club.peristence.entity.ReservationOutboxEvent.EventType;
+import com.github.ricaps.tennis_club.peristence.entity.User;
+import com.github.ricaps.tennis_club.test_utils.CourtTestData;
+import com.github.ricaps.tennis_club.test_utils.ReservationTestData;
+import com.github.ricaps.tennis_club.test_utils.SurfaceTestData;
+import com.github.ricaps.tennis_club.test_utils.TimeConfig;
+import com.github.ricaps.tennis_club.test_utils.UserTestData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Not transactional, events are written and relayed by their own transactions
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:reservation-outbox;DB_CLOSE_DELAY=-1")
+@Import(TimeConfig.class)
+class ReservationOutboxIT {
+
+	@Autowired
+	ReservationService reservationService;
+
+	@Autowired
+	ReservationOutboxRelay outboxRelay;
+
+	@Autowired
+	ReservationOutboxDao outboxDao;
+
+	@Autowired
+	OutboxSink outboxSink;
+
+	@Autowired
+	SurfaceDao surfaceDao;
+
+	@Autowired
+	CourtDao courtDao;
+
+	@Autowired
+	UserDao userDao;
+
+	@Autowired
+	ReservationTestData reservationTestData;
+
+	@Autowired
+	PlatformTransactionManager transactionManager;
+
+	@Autowired
+	Clock clock;
+
+	private InMemoryOutboxSink sink;
+
+	private Court court;
+
+	private User user;
+
+	private OffsetDateTime startTime;
+
+	@BeforeEach
+	void setup() {
+		outboxRelay.relay();
+		sink = (InMemoryOutboxSink) outboxSink;
+		sink.clear();
+
+		court = courtDao.save(CourtTestData.entity(surfaceDao.save(SurfaceTestData.createSurface())));
+		user = userDao.save(UserTestData.entity(true));
+		startTime = clock.instant().atOffset(ZoneOffset.UTC).plusDays(1);
+	}
+
+	@Test
+	void relay_createdUpdatedAndDeleted_eventsDeliveredInOrder() {
+		Reservation reservation = reservationService.create(reservationTestData.entity(court, user, startTime));
+		reservation.setToTime(reservation.getToTime().plusMinutes(30));
+		reservationService.update(reservation);
+		reservationService.delete(reservation.getUid());
+
+		int relayed = outboxRelay.relay();
+
+		assertThat(relayed).isEqualTo(3);
+		assertThat(sink.getEvents()).extracting(ReservationOutboxEvent::getEventType)
+			.containsExactly(EventType.CREATED, EventType.UPDATED, EventType.DELETED);
+		assertThat(sink.getEvents()).allSatisfy(event -> {
+			assertThat(event.getReservationUid()).isEqualTo(reservation.getUid());
+			assertThat(event.getCourtUid()).isEqualTo(court.getUid());
+		});
+		assertThat(sink.getEvents().getLast().getToTime()).isEqualTo(reservation.getToTime());
+		assertThat(outboxRelay.relay()).isZero();
+	}
+
+	@Test
+	void relay_failedCreate_noEventWritten() {
+		Reservation reservation = reservationService.create(reservationTestData.entity(court, user, startTime));
+		Reservation overlapping = reservationTestData.entity(court, user, startTime);
+
+		assertThatThrownBy(() -> reservationService.create(overlapping)).isInstanceOf(EntityExistsException.class);
+		outboxRelay.relay();
+
+		assertThat(sink.getEvents()).singleElement()
+			.extracting(ReservationOutboxEvent::getReservationUid)
+			.isEqualTo(reservation.getUid());
+	}
+
+	@Test
+	void claim_eventsLockedByAnotherRelay_skipped() throws Exception {
+		List<UUID> created = List.of(
+				reservationService.create(reservationTestData.entity(court, user, startTime)).getUid(),
+				reservationService.create(reservationTestData.entity(court, user, startTime.plusHours(3))).getUid());
+		TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+		CountDownLatch claimed = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+
+		CompletableFuture<List<UUID>> firstRelay = CompletableFuture
+			.supplyAsync(() -> transactionTemplate.execute(status -> {
+				List<UUID> events = reservationUids(outboxDao.claim(1));
+				claimed.countDown();
+				await(release);
+				return events;
+			}));
+		assertThat(claimed.await(5, TimeUnit.SECONDS)).isTrue();
+
+		List<UUID> secondRelay = transactionTemplate.execute(status -> reservationUids(outboxDao.claim(10)));
+		release.countDown();
+
+		assertThat(firstRelay.get(5, TimeUnit.SECONDS)).containsExactly(created.getFirst());
+		assertThat(secondRelay).containsExactly(created.getLast());
+	}
+
+	private static List<UUID> reservationUids(List<ReservationOutboxEvent> events) {
+		return events.stream().map(ReservationOutboxEvent::getReservationUid).toList();
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		}
+	}
+
+}
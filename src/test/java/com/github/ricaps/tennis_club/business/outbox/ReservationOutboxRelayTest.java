@@ -0,0 +1,117 @@
+package com.github.ricaps.tennis_club.business.outbox;
+
+import com.github.ricaps.tennis_club.configuration.model.ApplicationConfiguration;
+import com.github.ricaps.tennis_club.peristence.dao.definition.ReservationOutboxDao;
+import com.github.ricaps.tennis_club.peristence.entity.ReservationOutboxEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@ExtendWith(MockitoExtension.class)
+class ReservationOutboxRelayTest {
+
+	private static final int BATCH_SIZE = 2;
+
+	@Mock
+	private ReservationOutboxDao outboxDao;
+
+	@Mock
+	private PlatformTransactionManager transactionManager;
+
+	private final InMemoryOutboxSink sink = new InMemoryOutboxSink();
+
+	private MeterRegistry meterRegistry;
+
+	private ApplicationConfiguration applicationConfiguration;
+
+	@BeforeEach
+	void setup() {
+		applicationConfiguration = new ApplicationConfiguration();
+		applicationConfiguration.setOutboxBatchSize(BATCH_SIZE);
+		applicationConfiguration.setOutboxPollInterval(Duration.ZERO);
+		meterRegistry = new SimpleMeterRegistry();
+	}
+
+	private ReservationOutboxRelay relay(OutboxSink sink) {
+		return new ReservationOutboxRelay(outboxDao, sink, transactionManager, applicationConfiguration, meterRegistry);
+	}
+
+	private final AtomicLong ids = new AtomicLong();
+
+	private ReservationOutboxEvent event(OffsetDateTime createdAt) {
+		return ReservationOutboxEvent.builder()
+			.id(ids.incrementAndGet())
+			.eventType(ReservationOutboxEvent.EventType.CREATED)
+			.reservationUid(UUID.randomUUID())
+			.courtUid(UUID.randomUUID())
+			.fromTime(createdAt.plusDays(1))
+			.toTime(createdAt.plusDays(1).plusHours(1))
+			.createdAt(createdAt)
+			.build();
+	}
+
+	@Test
+	void relay_severalBatches_allDeliveredAndRemoved() {
+		OffsetDateTime now = OffsetDateTime.now();
+		List<ReservationOutboxEvent> first = List.of(event(now.minusSeconds(3)), event(now.minusSeconds(2)));
+		List<ReservationOutboxEvent> second = List.of(event(now.minusSeconds(1)));
+		Mockito.when(outboxDao.claim(BATCH_SIZE)).thenReturn(first, second);
+
+		int relayed = relay(sink).relay();
+
+		assertThat(relayed).isEqualTo(3);
+		assertThat(sink.getEvents()).containsExactly(first.get(0), first.get(1), second.getFirst());
+		Mockito.verify(outboxDao).deleteAll(first.stream().map(ReservationOutboxEvent::getId).toList());
+		Mockito.verify(outboxDao).deleteAll(second.stream().map(ReservationOutboxEvent::getId).toList());
+		assertThat(meterRegistry.get("reservation.outbox.relayed").counter().count()).isEqualTo(3);
+		assertThat(meterRegistry.get("reservation.outbox.batch").timer().count()).isEqualTo(2);
+		assertThat(meterRegistry.get("reservation.outbox.lag").timeGauge().value()).isZero();
+	}
+
+	@Test
+	void relay_emptyOutbox_nothingDelivered() {
+		Mockito.when(outboxDao.claim(BATCH_SIZE)).thenReturn(List.of());
+
+		int relayed = relay(sink).relay();
+
+		assertThat(relayed).isZero();
+		assertThat(sink.getEvents()).isEmpty();
+		Mockito.verify(outboxDao, Mockito.never()).deleteAll(Mockito.any());
+	}
+
+	@Test
+	void relay_sinkFails_eventsKeptAndFailureCounted() {
+		ReservationOutboxEvent event = event(OffsetDateTime.now().minusMinutes(1));
+		Mockito.when(outboxDao.claim(BATCH_SIZE)).thenReturn(List.of(event));
+		ReservationOutboxRelay relay = relay(events -> {
+			throw new IOException("Sink is not available");
+		});
+
+		assertThatThrownBy(relay::relay).isInstanceOf(UncheckedIOException.class);
+
+		Mockito.verify(outboxDao, Mockito.never()).deleteAll(Mockito.any());
+		assertThat(meterRegistry.get("reservation.outbox.failures").counter().count()).isEqualTo(1);
+		assertThat(meterRegistry.get("reservation.outbox.relayed").counter().count()).isZero();
+		assertThat(meterRegistry.get("reservation.outbox.lag").timeGauge().value(TimeUnit.SECONDS))
+			.isGreaterThanOrEqualTo(60);
+	}
+
+}
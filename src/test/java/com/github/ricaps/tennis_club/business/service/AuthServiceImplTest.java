@@ -8,12 +8,15 @@ import com.github.ricaps.tennis_club.exception.ValueIsMissingException;
 import com.github.ricaps.tennis_club.peristence.entity.User;
 import com.github.ricaps.tennis_club.security.JwtUtils;
 import com.github.ricaps.tennis_club.test_utils.UserTestData;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.validation.ValidationException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
@@ -38,6 +41,9 @@ class AuthServiceImplTest {
 	@Mock
 	JwtUtils jwtUtils;
 
+	@Spy
+	MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
 	@InjectMocks
 	AuthServiceImpl authService;
 
@@ -101,6 +107,7 @@ class AuthServiceImplTest {
 		assertThatThrownBy(() -> authService.login(number, passwordParam)).isInstanceOf(AuthenticationFailed.class);
 
 		Mockito.verify(jwtUtils, Mockito.never()).generateAccessToken(Mockito.any());
+		assertThat(meterRegistry.get("security.login").tag("outcome", "failure").timer().count()).isEqualTo(1);
 	}
 
 	@Test
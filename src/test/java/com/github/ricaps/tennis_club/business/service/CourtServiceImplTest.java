@@ -1,6 +1,6 @@
 package com.github.ricaps.tennis_club.business.service;
 
-import com.github.ricaps.tennis_club.exception.EntityExistsException;
+import com.github.ricaps.tennis_club.business.catalog.CatalogVersion;
 import com.github.ricaps.tennis_club.exception.EntityNotExistsException;
 import com.github.ricaps.tennis_club.exception.ValueIsMissingException;
 import com.github.ricaps.tennis_club.peristence.dao.definition.CourtDao;
@@ -18,6 +18,8 @@ import org.springframework.data.domain.Sort;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -28,6 +30,9 @@ class CourtServiceImplTest {
 	@Mock
 	private CourtDao courtDao;
 
+	@Mock
+	private CatalogVersion catalogVersion;
+
 	@InjectMocks
 	private CourtServiceImpl courtService;
 
@@ -48,25 +53,17 @@ class CourtServiceImplTest {
 		Mockito.verify(courtDao, Mockito.never()).save(Mockito.any());
 	}
 
-	@Test
-	void create_entityExists_throwsException() {
-		Court court = CourtTestData.entity();
-		Mockito.when(courtDao.existsById(court.getUid())).thenReturn(true);
-
-		assertThatThrownBy(() -> courtService.create(court)).isInstanceOf(EntityExistsException.class);
-		Mockito.verify(courtDao, Mockito.never()).save(Mockito.any());
-	}
-
 	@Test
 	void create_allConditionsCorrect_creationSuccessful() {
 		Court court = CourtTestData.entity();
-		Mockito.when(courtDao.existsById(court.getUid())).thenReturn(false);
 		Mockito.when(courtDao.save(court)).thenReturn(court);
 
 		Court result = courtService.create(court);
 
 		assertThat(result).isEqualTo(court);
 		Mockito.verify(courtDao, Mockito.times(1)).save(court);
+		Mockito.verify(courtDao, Mockito.never()).existsById(Mockito.any());
+		Mockito.verify(catalogVersion, Mockito.times(1)).increment();
 	}
 
 	@Test
@@ -124,6 +121,33 @@ class CourtServiceImplTest {
 		Mockito.verify(courtDao, Mockito.times(1)).findAll(pageNumber, pageSize, sortBy);
 	}
 
+	@Test
+	void getReferences_allExist_checkedAtOnce() {
+		Court first = CourtTestData.entity();
+		Court second = CourtTestData.entity();
+		List<UUID> uids = List.of(first.getUid(), second.getUid());
+		Mockito.when(courtDao.findExistingIds(uids)).thenReturn(Set.copyOf(uids));
+		Mockito.when(courtDao.findReferenceById(first.getUid())).thenReturn(first);
+		Mockito.when(courtDao.findReferenceById(second.getUid())).thenReturn(second);
+
+		List<Court> result = courtService.getReferences(uids);
+
+		assertThat(result).containsExactly(first, second);
+		Mockito.verify(courtDao, Mockito.times(1)).findExistingIds(uids);
+		Mockito.verify(courtDao, Mockito.never()).existsById(Mockito.any());
+	}
+
+	@Test
+	void getReferences_oneMissing_throwsException() {
+		Court existing = CourtTestData.entity();
+		UUID missing = UUID.randomUUID();
+		List<UUID> uids = List.of(existing.getUid(), missing);
+		Mockito.when(courtDao.findExistingIds(uids)).thenReturn(Set.of(existing.getUid()));
+
+		assertThatThrownBy(() -> courtService.getReferences(uids)).isInstanceOf(EntityNotExistsException.class)
+			.hasMessageContaining(missing.toString());
+	}
+
 	@Test
 	void update_nullEntity_throwsException() {
 		assertThatThrownBy(() -> courtService.update(null)).isInstanceOf(ValueIsMissingException.class);
@@ -144,7 +168,7 @@ class CourtServiceImplTest {
 	@Test
 	void update_entityNotExists_throwsException() {
 		Court court = CourtTestData.entity();
-		Mockito.when(courtDao.existsById(court.getUid())).thenReturn(false);
+		Mockito.when(courtDao.updateIfExists(court)).thenReturn(Optional.empty());
 
 		assertThatThrownBy(() -> courtService.update(court)).isInstanceOf(EntityNotExistsException.class);
 		Mockito.verify(courtDao, Mockito.never()).update(Mockito.any());
@@ -153,13 +177,13 @@ class CourtServiceImplTest {
 	@Test
 	void update_allConditionsCorrect_updateSuccessful() {
 		Court court = CourtTestData.entity();
-		Mockito.when(courtDao.existsById(court.getUid())).thenReturn(true);
-		Mockito.when(courtDao.update(court)).thenReturn(court);
+		Mockito.when(courtDao.updateIfExists(court)).thenReturn(Optional.of(court));
 
 		Court result = courtService.update(court);
 
 		assertThat(result).isEqualTo(court);
-		Mockito.verify(courtDao, Mockito.times(1)).update(court);
+		Mockito.verify(courtDao, Mockito.times(1)).updateIfExists(court);
+		Mockito.verify(catalogVersion, Mockito.times(1)).increment();
 	}
 
 	@Test
@@ -172,20 +196,21 @@ class CourtServiceImplTest {
 	@Test
 	void delete_entityNotExists_throwsException() {
 		Court court = CourtTestData.entity();
-		Mockito.when(courtDao.existsById(court.getUid())).thenReturn(false);
+		Mockito.when(courtDao.delete(court.getUid())).thenReturn(0);
 
 		assertThatThrownBy(() -> courtService.delete(court.getUid())).isInstanceOf(EntityNotExistsException.class);
-		Mockito.verify(courtDao, Mockito.never()).delete(Mockito.any());
+		Mockito.verify(catalogVersion, Mockito.never()).increment();
 	}
 
 	@Test
 	void delete_allConditionsCorrect_deleteSuccessful() {
 		Court court = CourtTestData.entity();
-		Mockito.when(courtDao.existsById(court.getUid())).thenReturn(true);
+		Mockito.when(courtDao.delete(court.getUid())).thenReturn(1);
 
 		courtService.delete(court.getUid());
 
 		Mockito.verify(courtDao, Mockito.times(1)).delete(court.getUid());
+		Mockito.verify(catalogVersion, Mockito.times(1)).increment();
 	}
 
 	@Test
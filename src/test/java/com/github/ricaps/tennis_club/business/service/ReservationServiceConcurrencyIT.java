@@ -0,0 +1,166 @@
+package com.github.ricaps.tennis_club.business.service;
+
+import com.github.ricaps.tennis_club.business.event.ReservationChangeBus;
+import com.github.ricaps.tennis_club.business.index.CourtAvailabilityIndex;
+import com.github.ricaps.tennis_club.business.index.ReservationIntervalIndex;
+import com.github.ricaps.tennis_club.business.lock.CourtLockRegistry;
+import com.github.ricaps.tennis_club.business.service.definition.ReservationService;
+import com.github.ricaps.tennis_club.exception.EntityExistsException;
+import com.github.ricaps.tennis_club.peristence.dao.definition.CourtDao;
+import com.github.ricaps.tennis_club.peristence.dao.definition.ReservationDao;
+import com.github.ricaps.tennis_club.peristence.dao.definition.ReservationOutboxDao;
+import com.github.ricaps.tennis_club.peristence.dao.definition.ReservationSeriesDao;
+import com.github.ricaps.tennis_club.peristence.dao.definition.SurfaceDao;
+import com.github.ricaps.tennis_club.peristence.dao.definition.UserDao;
+import com.github.ricaps.tennis_club.peristence.entity.Court;
+import com.github.ricaps.tennis_club.peristence.entity.Reservation;
+import com.github.ricaps.tennis_club.peristence.entity.Surface;
+import com.github.ricaps.tennis_club.peristence.entity.User;
+import com.github.ricaps.tennis_club.peristence.utils.CountStrategy;
+import com.github.ricaps.tennis_club.test_utils.CourtTestData;
+import com.github.ricaps.tennis_club.test_utils.SurfaceTestData;
+import com.github.ricaps.tennis_club.test_utils.UserTestData;
+import com.github.ricaps.tennis_club.utils.UUIDUtils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:reservation-concurrency;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000" })
+class ReservationServiceConcurrencyIT {
+
+	private static final int BOOKINGS = 300;
+
+	private static final int THREADS = 32;
+
+	@Autowired
+	ReservationService reservationService;
+
+	@Autowired
+	ReservationDao reservationDao;
+
+	@Autowired
+	ReservationOutboxDao reservationOutboxDao;
+
+	@Autowired
+	ReservationSeriesDao reservationSeriesDao;
+
+	@Autowired
+	SurfaceDao surfaceDao;
+
+	@Autowired
+	CourtDao courtDao;
+
+	@Autowired
+	UserDao userDao;
+
+	@Autowired
+	PlatformTransactionManager transactionManager;
+
+	@Autowired
+	ReservationChangeBus reservationChangeBus;
+
+	private Court court;
+
+	private User user;
+
+	@BeforeEach
+	void setup() {
+		Surface surface = SurfaceTestData.createSurface();
+		surfaceDao.save(surface);
+
+		court = CourtTestData.entity(surface);
+		courtDao.save(court);
+
+		user = UserTestData.entity(true);
+		userDao.save(user);
+	}
+
+	@Test
+	void create_parallelOverlappingBookings_exactlyOneWins() throws InterruptedException {
+		runOverlappingBookings(List.of(reservationService));
+	}
+
+	@Test
+	void create_parallelOverlappingBookingsOnTwoNodes_exactlyOneWins() throws InterruptedException {
+		// Second node has its own in-process locks and index, only the database is shared
+		ReservationService anotherNode = new ReservationServiceImpl(reservationDao, reservationSeriesDao,
+				reservationOutboxDao, new ReservationIntervalIndex(reservationDao),
+				new CourtAvailabilityIndex(reservationDao), new CourtLockRegistry(), reservationChangeBus,
+				transactionManager, new SimpleMeterRegistry());
+
+		runOverlappingBookings(List.of(reservationService, anotherNode));
+	}
+
+	private void runOverlappingBookings(List<ReservationService> nodes) throws InterruptedException {
+		OffsetDateTime startTime = OffsetDateTime.now(ZoneOffset.UTC).plusDays(1);
+		AtomicInteger successful = new AtomicInteger();
+		AtomicInteger conflicts = new AtomicInteger();
+		Queue<Throwable> unexpectedErrors = new ConcurrentLinkedQueue<>();
+		CountDownLatch startGate = new CountDownLatch(1);
+
+		try (ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+			for (int i = 0; i < BOOKINGS; i++) {
+				ReservationService node = nodes.get(i % nodes.size());
+				// All bookings are one hour long and start within 30 minutes, so
+				// every pair overlaps
+				Reservation reservation = createReservation(startTime.plusMinutes(i % 30));
+
+				executor.submit(() -> {
+					try {
+						startGate.await();
+						node.create(reservation);
+						successful.incrementAndGet();
+					}
+					catch (EntityExistsException e) {
+						conflicts.incrementAndGet();
+					}
+					catch (Throwable e) {
+						unexpectedErrors.add(e);
+					}
+				});
+			}
+
+			startGate.countDown();
+			executor.shutdown();
+			assertThat(executor.awaitTermination(2, TimeUnit.MINUTES)).isTrue();
+		}
+
+		assertThat(unexpectedErrors).isEmpty();
+		assertThat(successful.get()).isEqualTo(1);
+		assertThat(conflicts.get()).isEqualTo(BOOKINGS - 1);
+		assertThat(
+				reservationDao.getReservationsAtCourt(court.getUid(), 0, BOOKINGS, Sort.unsorted(), CountStrategy.EXACT)
+					.totalCount())
+			.isEqualTo(1);
+	}
+
+	private Reservation createReservation(OffsetDateTime fromTime) {
+		return Reservation.builder()
+			.uid(UUIDUtils.generate())
+			.court(court)
+			.user(user)
+			.fromTime(fromTime)
+			.toTime(fromTime.plusHours(1))
+			.isQuadGame(false)
+			.build();
+	}
+
+}
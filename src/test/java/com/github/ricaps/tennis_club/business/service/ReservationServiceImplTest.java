@@ -1,33 +1,55 @@
 package com.github.ricaps.tennis_club.business.service;
 
+import com.github.ricaps.tennis_club.business.event.ReservationChange;
+import com.github.ricaps.tennis_club.business.event.ReservationChangeBus;
+import com.github.ricaps.tennis_club.business.index.CourtAvailabilityIndex;
+import com.github.ricaps.tennis_club.business.index.CourtAvailabilityIndex.FreeSlot;
+import com.github.ricaps.tennis_club.business.index.ReservationIntervalIndex;
+import com.github.ricaps.tennis_club.business.lock.CourtLockRegistry;
 import com.github.ricaps.tennis_club.business.utils.MoneyUtils;
 import com.github.ricaps.tennis_club.exception.EntityExistsException;
 import com.github.ricaps.tennis_club.exception.EntityNotExistsException;
 import com.github.ricaps.tennis_club.exception.ValueIsMissingException;
+import com.github.ricaps.tennis_club.business.service.definition.ReservationService;
 import com.github.ricaps.tennis_club.peristence.dao.definition.ReservationDao;
+import com.github.ricaps.tennis_club.peristence.dao.definition.ReservationOutboxDao;
+import com.github.ricaps.tennis_club.peristence.dao.definition.ReservationSeriesDao;
 import com.github.ricaps.tennis_club.peristence.entity.Court;
 import com.github.ricaps.tennis_club.peristence.entity.Reservation;
+import com.github.ricaps.tennis_club.peristence.entity.ReservationOutboxEvent;
+import com.github.ricaps.tennis_club.peristence.entity.ReservationSeries;
 import com.github.ricaps.tennis_club.peristence.entity.User;
+import com.github.ricaps.tennis_club.peristence.projection.ReservationInterval;
 import com.github.ricaps.tennis_club.test_utils.CourtTestData;
 import com.github.ricaps.tennis_club.test_utils.MockUtils;
 import com.github.ricaps.tennis_club.test_utils.ReservationTestData;
 import com.github.ricaps.tennis_club.test_utils.UserTestData;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.validation.ValidationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.math.BigDecimal;
 import java.time.Clock;
 import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.UUID;
 
 import static com.github.ricaps.tennis_club.business.service.ReservationServiceImpl.QUAD_GAME_MULTIPLIER;
 import static com.github.ricaps.tennis_club.business.service.ReservationServiceImpl.RESERVATION_MAX_HOURS;
@@ -41,6 +63,30 @@ class ReservationServiceImplTest {
 	@Mock
 	private ReservationDao reservationDao;
 
+	@Mock
+	private ReservationSeriesDao reservationSeriesDao;
+
+	@Mock
+	private ReservationOutboxDao outboxDao;
+
+	@Mock
+	private ReservationIntervalIndex intervalIndex;
+
+	@Mock
+	private CourtAvailabilityIndex availabilityIndex;
+
+	@Mock
+	private ReservationChangeBus changeBus;
+
+	@Mock
+	private PlatformTransactionManager transactionManager;
+
+	@Spy
+	private CourtLockRegistry courtLockRegistry;
+
+	@Spy
+	private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
 	@InjectMocks
 	private ReservationServiceImpl reservationService;
 
@@ -50,6 +96,8 @@ class ReservationServiceImplTest {
 	void setup() {
 		Clock clock = getFixedClock();
 		reservationTestData = new ReservationTestData(clock);
+		// Locking the court row confirms its existence on every write path
+		Mockito.lenient().when(reservationDao.lockCourt(Mockito.any())).thenReturn(true);
 	}
 
 	private Reservation createEntity() {
@@ -76,11 +124,12 @@ class ReservationServiceImplTest {
 	}
 
 	@Test
-	void create_entityExists_throwsException() {
+	void create_courtNotExists_throwsException() {
 		Reservation reservation = createEntity();
-		Mockito.when(reservationDao.existsById(reservation.getUid())).thenReturn(true);
+		Mockito.when(reservationDao.lockCourt(reservation.getCourt().getUid())).thenReturn(false);
 
-		assertThatThrownBy(() -> reservationService.create(reservation)).isInstanceOf(EntityExistsException.class);
+		assertThatThrownBy(() -> reservationService.create(reservation)).isInstanceOf(EntityNotExistsException.class)
+			.hasMessageContaining(reservation.getCourt().getUid().toString());
 		Mockito.verify(reservationDao, Mockito.never()).save(Mockito.any());
 	}
 
@@ -127,7 +176,6 @@ class ReservationServiceImplTest {
 	@Test
 	void create_allConditionsCorrect_creationSuccessful() {
 		Reservation reservation = createEntity();
-		Mockito.when(reservationDao.existsById(reservation.getUid())).thenReturn(false);
 		Mockito.when(reservationDao.save(reservation)).thenReturn(reservation);
 
 		Reservation result = reservationService.create(reservation);
@@ -143,7 +191,6 @@ class ReservationServiceImplTest {
 		Duration duration = Duration.between(reservation.getFromTime(), reservation.getToTime());
 		reservation.getCourt().getSurface().setPrice(basicPrice);
 		reservation.setIsQuadGame(true);
-		Mockito.when(reservationDao.existsById(reservation.getUid())).thenReturn(false);
 		Mockito.when(reservationDao.save(reservation)).thenReturn(reservation);
 
 		Reservation result = reservationService.create(reservation);
@@ -161,7 +208,6 @@ class ReservationServiceImplTest {
 		Duration duration = Duration.between(reservation.getFromTime(), reservation.getToTime());
 		reservation.getCourt().getSurface().setPrice(basicPrice);
 		reservation.setIsQuadGame(false);
-		Mockito.when(reservationDao.existsById(reservation.getUid())).thenReturn(false);
 		Mockito.when(reservationDao.save(reservation)).thenReturn(reservation);
 
 		Reservation result = reservationService.create(reservation);
@@ -175,22 +221,119 @@ class ReservationServiceImplTest {
 	@Test
 	void create_reservationOverlap_throwsException() {
 		Reservation reservation = createEntity();
-		Reservation overlappedReservation = createEntity();
+		Mockito
+			.when(reservationDao.findOverlappingUid(reservation.getCourt().getUid(), reservation.getFromTime(),
+					reservation.getToTime(), reservation.getUid()))
+			.thenReturn(Optional.of(UUID.randomUUID()));
+
+		assertThatThrownBy(() -> reservationService.create(reservation)).isInstanceOf(EntityExistsException.class);
 
+		Mockito.verify(reservationDao, Mockito.never()).save(reservation);
+	}
+
+	@Test
+	void create_noOverlapInIndex_probedWithoutLoadingReservations() {
+		Reservation reservation = createEntity();
+		Mockito.when(reservationDao.save(reservation)).thenReturn(reservation);
+
+		reservationService.create(reservation);
+
+		Mockito.verify(reservationDao)
+			.findOverlappingUid(reservation.getCourt().getUid(), reservation.getFromTime(), reservation.getToTime(),
+					reservation.getUid());
+		Mockito.verify(reservationDao, Mockito.never())
+			.getReservationsAtTimeFrame(Mockito.any(), Mockito.any(), Mockito.any());
+	}
+
+	@Test
+	void create_reservationOverlapInIndex_confirmedByDatabase() {
+		Reservation reservation = createEntity();
+		Reservation overlappedReservation = createEntity();
+		Mockito
+			.when(intervalIndex.findConflict(reservation.getCourt().getUid(), reservation.getFromTime(),
+					reservation.getToTime(), reservation.getUid()))
+			.thenReturn(Optional.of(overlappedReservation.getUid()));
 		Mockito.when(reservationDao.getReservationsAtTimeFrame(reservation.getFromTime(), reservation.getToTime(),
 				reservation.getCourt().getUid()))
 			.thenReturn(List.of(overlappedReservation));
 
 		assertThatThrownBy(() -> reservationService.create(reservation)).isInstanceOf(EntityExistsException.class);
 
+		Mockito.verify(intervalIndex, Mockito.never()).remove(Mockito.any());
+		Mockito.verify(reservationDao, Mockito.never())
+			.findOverlappingUid(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any());
 		Mockito.verify(reservationDao, Mockito.never()).save(reservation);
 	}
 
+	@Test
+	void create_staleOverlapInIndex_createdAndStaleIntervalRemoved() {
+		Reservation reservation = createEntity();
+		UUID staleUid = UUID.randomUUID();
+		Mockito
+			.when(intervalIndex.findConflict(reservation.getCourt().getUid(), reservation.getFromTime(),
+					reservation.getToTime(), reservation.getUid()))
+			.thenReturn(Optional.of(staleUid));
+		Mockito.when(reservationDao.save(reservation)).thenReturn(reservation);
+
+		reservationService.create(reservation);
+
+		Mockito.verify(reservationDao, Mockito.times(1)).save(reservation);
+		Mockito.verify(intervalIndex).remove(staleUid);
+		Mockito.verify(availabilityIndex).remove(staleUid);
+	}
+
+	@Test
+	void create_allConditionsCorrect_reservationIndexed() {
+		Reservation reservation = createEntity();
+		Mockito.when(reservationDao.save(reservation)).thenReturn(reservation);
+
+		reservationService.create(reservation);
+
+		Mockito.verify(intervalIndex, Mockito.times(1)).put(reservation);
+		Mockito.verify(availabilityIndex, Mockito.times(1)).put(reservation);
+		Mockito.verify(changeBus).publish(ReservationChange.of(ReservationChange.Type.CREATED, reservation));
+	}
+
+	@Test
+	void create_allConditionsCorrect_courtLockedBeforeValidationInTransaction() {
+		Reservation reservation = createEntity();
+		Mockito.when(reservationDao.save(reservation)).thenReturn(reservation);
+
+		reservationService.create(reservation);
+
+		UUID courtUid = reservation.getCourt().getUid();
+		InOrder inOrder = Mockito.inOrder(courtLockRegistry, transactionManager, reservationDao);
+		inOrder.verify(courtLockRegistry).executeLocked(Mockito.eq(courtUid), Mockito.any());
+		inOrder.verify(transactionManager).getTransaction(Mockito.any());
+		inOrder.verify(reservationDao).lockCourt(courtUid);
+		inOrder.verify(reservationDao)
+			.findOverlappingUid(courtUid, reservation.getFromTime(), reservation.getToTime(), reservation.getUid());
+		inOrder.verify(reservationDao).save(reservation);
+		inOrder.verify(transactionManager).commit(Mockito.any());
+	}
+
+	@Test
+	void create_reservationOverlap_transactionRolledBack() {
+		Reservation reservation = createEntity();
+		Mockito
+			.when(reservationDao.findOverlappingUid(reservation.getCourt().getUid(), reservation.getFromTime(),
+					reservation.getToTime(), reservation.getUid()))
+			.thenReturn(Optional.of(UUID.randomUUID()));
+
+		assertThatThrownBy(() -> reservationService.create(reservation)).isInstanceOf(EntityExistsException.class);
+
+		Mockito.verify(transactionManager, Mockito.times(1)).rollback(Mockito.any());
+		Mockito.verify(transactionManager, Mockito.never()).commit(Mockito.any());
+	}
+
 	@Test
 	void create_reservationOverlapWithSelf_returnsResult() {
 		Reservation reservation = createEntity();
 
-		Mockito.when(reservationDao.existsById(reservation.getUid())).thenReturn(false);
+		Mockito
+			.when(intervalIndex.findConflict(reservation.getCourt().getUid(), reservation.getFromTime(),
+					reservation.getToTime(), reservation.getUid()))
+			.thenReturn(Optional.of(UUID.randomUUID()));
 		Mockito.when(reservationDao.getReservationsAtTimeFrame(reservation.getFromTime(), reservation.getToTime(),
 				reservation.getCourt().getUid()))
 			.thenReturn(List.of(reservation));
@@ -202,6 +345,262 @@ class ReservationServiceImplTest {
 		Mockito.verify(reservationDao, Mockito.times(1)).save(reservation);
 	}
 
+	@Test
+	void createAll_tooManyReservations_throwsException() {
+		List<Reservation> reservations = Collections.nCopies(ReservationServiceImpl.BATCH_MAX_SIZE + 1, createEntity());
+
+		assertThatThrownBy(() -> reservationService.createAll(reservations)).isInstanceOf(ValidationException.class);
+
+		Mockito.verifyNoInteractions(reservationDao);
+	}
+
+	@Test
+	void createAll_invalidTimeRange_throwsExceptionWithoutQuery() {
+		Reservation valid = createEntity();
+		Reservation invalid = createEntity();
+		invalid.setToTime(invalid.getFromTime());
+
+		assertThatThrownBy(() -> reservationService.createAll(List.of(valid, invalid)))
+			.isInstanceOf(ValidationException.class);
+
+		Mockito.verifyNoInteractions(reservationDao);
+	}
+
+	@Test
+	void createAll_disjointReservations_savedAtOnceWithPriceAndIndexed() {
+		Court court = CourtTestData.entity();
+		Court anotherCourt = CourtTestData.entity();
+		User user = UserTestData.entity(true);
+		OffsetDateTime startTime = OffsetDateTime.now(getFixedClock());
+		Reservation first = reservationTestData.entity(court, user, startTime);
+		Reservation second = reservationTestData.entity(court, user, startTime.plusHours(3));
+		Reservation atAnotherCourt = reservationTestData.entity(anotherCourt, user, startTime);
+		List<Reservation> reservations = List.of(second, first, atAnotherCourt);
+
+		List<Reservation> created = reservationService.createAll(reservations);
+
+		assertThat(created).containsExactlyElementsOf(reservations);
+		assertThat(created).allSatisfy(reservation -> assertThat(reservation.getTotalPrice().getAmount())
+			.isEqualByComparingTo(ReservationServiceImpl.calculateTotalPrice(reservation)));
+		Mockito.verify(reservationDao).lockCourt(court.getUid());
+		Mockito.verify(reservationDao).lockCourt(anotherCourt.getUid());
+		Mockito.verify(reservationDao)
+			.getReservationIntervalsAtTimeFrame(court.getUid(), first.getFromTime(), second.getToTime());
+		Mockito.verify(reservationDao)
+			.getReservationIntervalsAtTimeFrame(anotherCourt.getUid(), atAnotherCourt.getFromTime(),
+					atAnotherCourt.getToTime());
+		Mockito.verify(reservationDao, Mockito.never())
+			.getReservationsAtTimeFrame(Mockito.any(), Mockito.any(), Mockito.any());
+		Mockito.verify(reservationDao).saveAll(reservations);
+		Mockito.verify(reservationDao, Mockito.never()).save(Mockito.any());
+		Mockito.verify(intervalIndex, Mockito.times(3)).put(Mockito.any(Reservation.class));
+		Mockito.verify(availabilityIndex, Mockito.times(3)).put(Mockito.any(Reservation.class));
+	}
+
+	@Test
+	void createAll_touchingReservationsInBatch_throwsExceptionWithoutSave() {
+		Court court = CourtTestData.entity();
+		User user = UserTestData.entity(true);
+		Reservation first = createEntity();
+		first.setCourt(court);
+		Reservation second = reservationTestData.entity(court, user, first.getToTime().minusMinutes(1));
+
+		assertThatThrownBy(() -> reservationService.createAll(List.of(first, second)))
+			.isInstanceOf(EntityExistsException.class)
+			.hasMessageContaining("Reservations of the batch overlap");
+
+		Mockito.verify(reservationDao, Mockito.never()).saveAll(Mockito.any());
+		Mockito.verify(transactionManager, Mockito.times(1)).rollback(Mockito.any());
+	}
+
+	@Test
+	void createAll_overlapWithExistingReservation_throwsExceptionWithoutSave() {
+		Reservation first = createEntity();
+		Reservation second = reservationTestData.entity(first.getCourt(), first.getUser(),
+				first.getToTime().plusHours(1));
+		UUID courtUid = first.getCourt().getUid();
+		Mockito
+			.when(reservationDao.getReservationIntervalsAtTimeFrame(courtUid, first.getFromTime(), second.getToTime()))
+			.thenReturn(List.of(new ReservationInterval(UUID.randomUUID(), courtUid, second.getToTime(),
+					second.getToTime().plusHours(1))));
+
+		assertThatThrownBy(() -> reservationService.createAll(List.of(first, second)))
+			.isInstanceOf(EntityExistsException.class)
+			.hasMessageContaining("already existing reservation")
+			.hasMessageContaining(second.getFromTime().toString());
+
+		Mockito.verify(reservationDao, Mockito.never()).saveAll(Mockito.any());
+		Mockito.verifyNoInteractions(intervalIndex, availabilityIndex);
+	}
+
+	private ReservationSeries createSeries(int occurrences) {
+		Reservation first = createEntity();
+
+		return ReservationSeries.builder()
+			.uid(UUID.randomUUID())
+			.court(first.getCourt())
+			.user(first.getUser())
+			.fromTime(first.getFromTime())
+			.toTime(first.getToTime())
+			.isQuadGame(false)
+			.intervalWeeks(1)
+			.occurrences(occurrences)
+			.build();
+	}
+
+	private ReservationInterval existingAt(ReservationSeries series, int occurrence) {
+		Reservation conflicting = series.occurrence(occurrence);
+
+		return new ReservationInterval(UUID.randomUUID(), series.getCourt().getUid(),
+				conflicting.getFromTime().plusMinutes(30), conflicting.getToTime().plusMinutes(30));
+	}
+
+	@Test
+	void createSeries_tooManyOccurrences_throwsException() {
+		ReservationSeries series = createSeries(ReservationServiceImpl.SERIES_MAX_OCCURRENCES + 1);
+
+		assertThatThrownBy(() -> reservationService.createSeries(series, false))
+			.isInstanceOf(ValidationException.class);
+
+		Mockito.verifyNoInteractions(reservationDao, reservationSeriesDao);
+	}
+
+	@Test
+	void createSeries_noConflict_allOccurrencesCreatedWithSingleQuery() {
+		ReservationSeries series = createSeries(52);
+		series.setIntervalWeeks(2);
+		UUID courtUid = series.getCourt().getUid();
+
+		ReservationService.SeriesResult result = reservationService.createSeries(series, false);
+
+		assertThat(result.conflicts()).isEmpty();
+		assertThat(result.reservations()).hasSize(52);
+		assertThat(result.reservations().getLast().getFromTime()).isEqualTo(series.getFromTime().plusWeeks(102));
+		assertThat(result.reservations()).allSatisfy(reservation -> {
+			assertThat(reservation.getUid()).isNotNull();
+			assertThat(reservation.getSeriesUid()).isEqualTo(series.getUid());
+			assertThat(reservation.getTotalPrice()).isNotNull();
+		});
+		Mockito.verify(reservationDao)
+			.getReservationIntervalsAtTimeFrame(courtUid, series.getFromTime(), series.getToTime().plusWeeks(102));
+		Mockito.verify(reservationDao, Mockito.never())
+			.getReservationsAtTimeFrame(Mockito.any(), Mockito.any(), Mockito.any());
+		Mockito.verify(reservationSeriesDao).save(series);
+		Mockito.verify(reservationDao).saveAll(result.reservations());
+		Mockito.verify(intervalIndex, Mockito.times(52)).put(Mockito.any(Reservation.class));
+	}
+
+	@Test
+	void createSeries_conflictNotSkipped_throwsExceptionWithoutSave() {
+		ReservationSeries series = createSeries(10);
+		Mockito.when(reservationDao.getReservationIntervalsAtTimeFrame(Mockito.any(), Mockito.any(), Mockito.any()))
+			.thenReturn(List.of(existingAt(series, 3), existingAt(series, 7)));
+
+		assertThatThrownBy(() -> reservationService.createSeries(series, false))
+			.isInstanceOf(EntityExistsException.class)
+			.hasMessageContaining("2 of 10 occurrences");
+
+		Mockito.verify(reservationSeriesDao, Mockito.never()).save(Mockito.any());
+		Mockito.verify(reservationDao, Mockito.never()).saveAll(Mockito.any());
+	}
+
+	@Test
+	void createSeries_conflictSkipped_otherOccurrencesCreated() {
+		ReservationSeries series = createSeries(10);
+		ReservationInterval third = existingAt(series, 3);
+		ReservationInterval seventh = existingAt(series, 7);
+		Mockito.when(reservationDao.getReservationIntervalsAtTimeFrame(Mockito.any(), Mockito.any(), Mockito.any()))
+			.thenReturn(List.of(third, seventh));
+
+		ReservationService.SeriesResult result = reservationService.createSeries(series, true);
+
+		assertThat(result.reservations()).hasSize(8)
+			.noneMatch(reservation -> reservation.getFromTime().equals(series.occurrence(3).getFromTime()))
+			.noneMatch(reservation -> reservation.getFromTime().equals(series.occurrence(7).getFromTime()));
+		assertThat(result.conflicts()).extracting(ReservationService.SeriesConflict::reservationUid)
+			.containsExactly(third.uid(), seventh.uid());
+		Mockito.verify(reservationDao).saveAll(result.reservations());
+	}
+
+	@Test
+	void createSeries_allOccurrencesConflict_throwsException() {
+		ReservationSeries series = createSeries(2);
+		Mockito.when(reservationDao.getReservationIntervalsAtTimeFrame(Mockito.any(), Mockito.any(), Mockito.any()))
+			.thenReturn(List.of(existingAt(series, 0), existingAt(series, 1)));
+
+		assertThatThrownBy(() -> reservationService.createSeries(series, true))
+			.isInstanceOf(EntityExistsException.class);
+
+		Mockito.verify(reservationSeriesDao, Mockito.never()).save(Mockito.any());
+	}
+
+	@Test
+	void findSeriesConflicts_touchingExistingReservation_conflictReported() {
+		ReservationSeries series = createSeries(5);
+		Reservation second = series.occurrence(1);
+		ReservationInterval touching = new ReservationInterval(UUID.randomUUID(), series.getCourt().getUid(),
+				second.getToTime(), second.getToTime().plusHours(1));
+		ReservationInterval between = new ReservationInterval(UUID.randomUUID(), series.getCourt().getUid(),
+				second.getToTime().plusDays(1), second.getToTime().plusDays(1).plusHours(1));
+		Mockito.when(reservationDao.getReservationIntervalsAtTimeFrame(Mockito.any(), Mockito.any(), Mockito.any()))
+			.thenReturn(List.of(touching, between));
+
+		List<ReservationService.SeriesConflict> conflicts = reservationService.findSeriesConflicts(series);
+
+		assertThat(conflicts).containsExactly(
+				new ReservationService.SeriesConflict(second.getFromTime(), second.getToTime(), touching.uid()));
+		Mockito.verifyNoInteractions(reservationSeriesDao);
+	}
+
+	@Test
+	void deleteSeries_existing_occurrencesRemovedFromIndexes() {
+		UUID seriesUid = UUID.randomUUID();
+		OffsetDateTime fromTime = OffsetDateTime.now(getFixedClock());
+		List<ReservationInterval> occurrences = List.of(
+				new ReservationInterval(UUID.randomUUID(), UUID.randomUUID(), fromTime, fromTime.plusHours(1)),
+				new ReservationInterval(UUID.randomUUID(), UUID.randomUUID(), fromTime.plusWeeks(1),
+						fromTime.plusWeeks(1).plusHours(1)));
+		Mockito.when(reservationSeriesDao.delete(seriesUid)).thenReturn(1);
+		Mockito.when(reservationDao.deleteBySeries(seriesUid)).thenReturn(occurrences);
+
+		reservationService.deleteSeries(seriesUid);
+
+		occurrences.forEach(interval -> {
+			Mockito.verify(intervalIndex).remove(interval.uid());
+			Mockito.verify(availabilityIndex).remove(interval.uid());
+		});
+	}
+
+	@Test
+	void deleteSeries_existing_deletedEventsAddedToOutbox() {
+		UUID seriesUid = UUID.randomUUID();
+		OffsetDateTime fromTime = OffsetDateTime.now(getFixedClock());
+		ReservationInterval occurrence = new ReservationInterval(UUID.randomUUID(), UUID.randomUUID(), fromTime,
+				fromTime.plusHours(1));
+		Mockito.when(reservationSeriesDao.delete(seriesUid)).thenReturn(1);
+		Mockito.when(reservationDao.deleteBySeries(seriesUid)).thenReturn(List.of(occurrence));
+
+		reservationService.deleteSeries(seriesUid);
+
+		ArgumentCaptor<List<ReservationOutboxEvent>> events = ArgumentCaptor.captor();
+		Mockito.verify(outboxDao).saveAll(events.capture());
+		assertThat(events.getValue()).singleElement().satisfies(event -> {
+			assertThat(event.getEventType()).isEqualTo(ReservationOutboxEvent.EventType.DELETED);
+			assertThat(event.getReservationUid()).isEqualTo(occurrence.uid());
+			assertThat(event.getCourtUid()).isEqualTo(occurrence.courtUid());
+		});
+	}
+
+	@Test
+	void deleteSeries_notExisting_throwsException() {
+		UUID seriesUid = UUID.randomUUID();
+
+		assertThatThrownBy(() -> reservationService.deleteSeries(seriesUid))
+			.isInstanceOf(EntityNotExistsException.class);
+
+		Mockito.verify(reservationDao, Mockito.never()).deleteBySeries(Mockito.any());
+	}
+
 	@Test
 	void get_nullUid_throwsException() {
 		assertThatThrownBy(() -> reservationService.get(null)).isInstanceOf(ValueIsMissingException.class);
@@ -277,7 +676,7 @@ class ReservationServiceImplTest {
 	@Test
 	void update_entityNotExists_throwsException() {
 		Reservation reservation = createEntity();
-		Mockito.when(reservationDao.existsById(reservation.getUid())).thenReturn(false);
+		Mockito.when(reservationDao.updateIfExists(reservation)).thenReturn(Optional.empty());
 
 		assertThatThrownBy(() -> reservationService.update(reservation)).isInstanceOf(EntityNotExistsException.class);
 		Mockito.verify(reservationDao, Mockito.never()).update(Mockito.any());
@@ -286,13 +685,69 @@ class ReservationServiceImplTest {
 	@Test
 	void update_allConditionsCorrect_updateSuccessful() {
 		Reservation reservation = createEntity();
-		Mockito.when(reservationDao.existsById(reservation.getUid())).thenReturn(true);
-		Mockito.when(reservationDao.update(reservation)).thenReturn(reservation);
+		Mockito.when(reservationDao.updateIfExists(reservation)).thenReturn(Optional.of(reservation));
 
 		Reservation result = reservationService.update(reservation);
 
 		assertThat(result).isEqualTo(reservation);
-		Mockito.verify(reservationDao, Mockito.times(1)).update(reservation);
+		Mockito.verify(reservationDao, Mockito.times(1)).updateIfExists(reservation);
+	}
+
+	@Test
+	void update_allConditionsCorrect_courtLocked() {
+		Reservation reservation = createEntity();
+		Mockito.when(reservationDao.updateIfExists(reservation)).thenReturn(Optional.of(reservation));
+
+		reservationService.update(reservation);
+
+		Mockito.verify(courtLockRegistry, Mockito.times(1))
+			.executeLocked(Mockito.eq(reservation.getCourt().getUid()), Mockito.any());
+		Mockito.verify(reservationDao, Mockito.times(1)).lockCourt(reservation.getCourt().getUid());
+	}
+
+	@Test
+	void update_allConditionsCorrect_indexUpdated() {
+		Reservation reservation = createEntity();
+		Mockito.when(reservationDao.updateIfExists(reservation)).thenReturn(Optional.of(reservation));
+
+		reservationService.update(reservation);
+
+		Mockito.verify(intervalIndex, Mockito.times(1)).put(reservation);
+		Mockito.verify(availabilityIndex, Mockito.times(1)).put(reservation);
+		Mockito.verify(changeBus).publish(ReservationChange.of(ReservationChange.Type.UPDATED, reservation));
+	}
+
+	@Test
+	void update_allConditionsCorrect_updatedEventAddedToOutbox() {
+		Reservation reservation = createEntity();
+		Mockito.when(reservationDao.updateIfExists(reservation)).thenReturn(Optional.of(reservation));
+
+		reservationService.update(reservation);
+
+		ArgumentCaptor<List<ReservationOutboxEvent>> events = ArgumentCaptor.captor();
+		Mockito.verify(outboxDao).saveAll(events.capture());
+		assertThat(events.getValue()).singleElement().satisfies(event -> {
+			assertThat(event.getEventType()).isEqualTo(ReservationOutboxEvent.EventType.UPDATED);
+			assertThat(event.getReservationUid()).isEqualTo(reservation.getUid());
+			assertThat(event.getCourtUid()).isEqualTo(reservation.getCourt().getUid());
+			assertThat(event.getFromTime()).isEqualTo(reservation.getFromTime());
+			assertThat(event.getToTime()).isEqualTo(reservation.getToTime());
+		});
+	}
+
+	@Test
+	void update_movedToAnotherCourt_deletedAtPreviousCourtPublished() {
+		Reservation reservation = createEntity();
+		ReservationInterval previous = new ReservationInterval(reservation.getUid(), UUID.randomUUID(),
+				reservation.getFromTime(), reservation.getToTime());
+		Mockito.when(reservationDao.updateIfExists(reservation)).thenReturn(Optional.of(reservation));
+		Mockito.when(intervalIndex.get(reservation.getUid())).thenReturn(Optional.of(previous));
+
+		reservationService.update(reservation);
+
+		InOrder inOrder = Mockito.inOrder(changeBus);
+		inOrder.verify(changeBus).publish(ReservationChange.deleted(previous));
+		inOrder.verify(changeBus).publish(ReservationChange.of(ReservationChange.Type.UPDATED, reservation));
 	}
 
 	@Test
@@ -305,21 +760,92 @@ class ReservationServiceImplTest {
 	@Test
 	void delete_entityNotExists_throwsException() {
 		Reservation reservation = createEntity();
-		Mockito.when(reservationDao.existsById(reservation.getUid())).thenReturn(false);
+		Mockito.when(reservationDao.delete(reservation.getUid())).thenReturn(0);
 
 		assertThatThrownBy(() -> reservationService.delete(reservation.getUid()))
 			.isInstanceOf(EntityNotExistsException.class);
-		Mockito.verify(reservationDao, Mockito.never()).delete(Mockito.any());
+		Mockito.verifyNoInteractions(outboxDao);
 	}
 
 	@Test
 	void delete_allConditionsCorrect_deleteSuccessful() {
 		Reservation reservation = createEntity();
-		Mockito.when(reservationDao.existsById(reservation.getUid())).thenReturn(true);
+		Mockito.when(reservationDao.delete(reservation.getUid())).thenReturn(1);
 
 		reservationService.delete(reservation.getUid());
 
 		Mockito.verify(reservationDao, Mockito.times(1)).delete(reservation.getUid());
+		Mockito.verify(outboxDao, Mockito.times(1)).saveDeleted(reservation.getUid());
+		Mockito.verify(intervalIndex, Mockito.times(1)).remove(reservation.getUid());
+		Mockito.verify(availabilityIndex, Mockito.times(1)).remove(reservation.getUid());
+	}
+
+	@Test
+	void delete_indexedReservation_deletePublished() {
+		Reservation reservation = createEntity();
+		ReservationInterval interval = new ReservationInterval(reservation.getUid(), reservation.getCourt().getUid(),
+				reservation.getFromTime(), reservation.getToTime());
+		Mockito.when(reservationDao.delete(reservation.getUid())).thenReturn(1);
+		Mockito.when(intervalIndex.get(reservation.getUid())).thenReturn(Optional.of(interval));
+
+		reservationService.delete(reservation.getUid());
+
+		Mockito.verify(changeBus).publish(ReservationChange.deleted(interval));
+	}
+
+	@Test
+	void delete_notIndexedReservation_nothingPublished() {
+		Reservation reservation = createEntity();
+		Mockito.when(reservationDao.delete(reservation.getUid())).thenReturn(1);
+
+		reservationService.delete(reservation.getUid());
+
+		Mockito.verifyNoInteractions(changeBus);
+	}
+
+	@Test
+	void getFreeSlots_validTimeFrame_slotsOfEveryCourt() {
+		UUID firstCourt = UUID.randomUUID();
+		UUID secondCourt = UUID.randomUUID();
+		OffsetDateTime from = OffsetDateTime.now(getFixedClock());
+		OffsetDateTime to = from.plusHours(10);
+		List<FreeSlot> slots = List.of(new FreeSlot(from.toInstant(), to.toInstant()));
+		Mockito.when(availabilityIndex.findFreeSlots(firstCourt, from.toInstant(), to.toInstant(), Duration.ZERO))
+			.thenReturn(slots);
+		Mockito.when(availabilityIndex.findFreeSlots(secondCourt, from.toInstant(), to.toInstant(), Duration.ZERO))
+			.thenReturn(List.of());
+
+		Map<UUID, List<FreeSlot>> freeSlots = reservationService.getFreeSlots(List.of(firstCourt, secondCourt), from,
+				to, Duration.ZERO);
+
+		assertThat(freeSlots).containsEntry(firstCourt, slots).containsEntry(secondCourt, List.of());
+		Mockito.verifyNoInteractions(reservationDao);
+	}
+
+	@Test
+	void getFreeSlots_fromAfterTo_throwsException() {
+		OffsetDateTime from = OffsetDateTime.now(getFixedClock());
+
+		assertThatThrownBy(() -> reservationService.getFreeSlots(List.of(), from, from.minusHours(1), Duration.ZERO))
+			.isInstanceOf(ValidationException.class);
+	}
+
+	@Test
+	void getFreeSlots_tooLongTimeFrame_throwsException() {
+		OffsetDateTime from = OffsetDateTime.now(getFixedClock());
+
+		assertThatThrownBy(() -> reservationService.getFreeSlots(List.of(), from,
+				from.plusDays(ReservationServiceImpl.AVAILABILITY_MAX_DAYS), Duration.ZERO))
+			.isInstanceOf(ValidationException.class);
+	}
+
+	@Test
+	void getFreeSlots_durationOverMaximum_throwsException() {
+		OffsetDateTime from = OffsetDateTime.now(getFixedClock());
+
+		assertThatThrownBy(() -> reservationService.getFreeSlots(List.of(), from, from.plusDays(1),
+				Duration.ofHours(RESERVATION_MAX_HOURS).plusMinutes(1)))
+			.isInstanceOf(ValidationException.class);
 	}
 
 	@Test
@@ -1,8 +1,9 @@
 package com.github.ricaps.tennis_club.business.service;
 
-import com.github.ricaps.tennis_club.exception.EntityExistsException;
+import com.github.ricaps.tennis_club.business.catalog.CatalogVersion;
 import com.github.ricaps.tennis_club.exception.EntityNotExistsException;
 import com.github.ricaps.tennis_club.exception.ValueIsMissingException;
+import com.github.ricaps.tennis_club.peristence.dao.definition.CourtDao;
 import com.github.ricaps.tennis_club.peristence.dao.definition.SurfaceDao;
 import com.github.ricaps.tennis_club.peristence.entity.Surface;
 import com.github.ricaps.tennis_club.test_utils.MockUtils;
@@ -28,6 +29,12 @@ class SurfaceServiceImplTest {
 	@Mock
 	private SurfaceDao surfaceDao;
 
+	@Mock
+	private CourtDao courtDao;
+
+	@Mock
+	private CatalogVersion catalogVersion;
+
 	@InjectMocks
 	private SurfaceServiceImpl surfaceService;
 
@@ -48,25 +55,16 @@ class SurfaceServiceImplTest {
 		Mockito.verify(surfaceDao, Mockito.never()).save(Mockito.any());
 	}
 
-	@Test
-	void create_entityExists_throwsException() {
-		Surface surface = SurfaceTestData.createSurface();
-		Mockito.when(surfaceDao.existsById(surface.getUid())).thenReturn(true);
-
-		assertThatThrownBy(() -> surfaceService.create(surface)).isInstanceOf(EntityExistsException.class);
-		Mockito.verify(surfaceDao, Mockito.never()).save(Mockito.any());
-	}
-
 	@Test
 	void create_allConditionsCorrect_creationSuccessful() {
 		Surface surface = SurfaceTestData.createSurface();
-		Mockito.when(surfaceDao.existsById(surface.getUid())).thenReturn(false);
 		Mockito.when(surfaceDao.save(surface)).thenReturn(surface);
 
 		Surface result = surfaceService.create(surface);
 
 		assertThat(result).isEqualTo(surface);
 		Mockito.verify(surfaceDao, Mockito.times(1)).save(surface);
+		Mockito.verify(surfaceDao, Mockito.never()).existsById(Mockito.any());
 	}
 
 	@Test
@@ -144,7 +142,7 @@ class SurfaceServiceImplTest {
 	@Test
 	void update_entityNotExists_throwsException() {
 		Surface surface = SurfaceTestData.createSurface();
-		Mockito.when(surfaceDao.existsById(surface.getUid())).thenReturn(false);
+		Mockito.when(surfaceDao.updateIfExists(surface)).thenReturn(Optional.empty());
 
 		assertThatThrownBy(() -> surfaceService.update(surface)).isInstanceOf(EntityNotExistsException.class);
 		Mockito.verify(surfaceDao, Mockito.never()).update(Mockito.any());
@@ -153,13 +151,15 @@ class SurfaceServiceImplTest {
 	@Test
 	void update_allConditionsCorrect_updateSuccessful() {
 		Surface surface = SurfaceTestData.createSurface();
-		Mockito.when(surfaceDao.existsById(surface.getUid())).thenReturn(true);
-		Mockito.when(surfaceDao.update(surface)).thenReturn(surface);
+		Mockito.when(surfaceDao.updateIfExists(surface)).thenReturn(Optional.of(surface));
 
 		Surface result = surfaceService.update(surface);
 
 		assertThat(result).isEqualTo(surface);
-		Mockito.verify(surfaceDao, Mockito.times(1)).update(surface);
+		Mockito.verify(surfaceDao, Mockito.times(1)).updateIfExists(surface);
+		Mockito.verify(surfaceDao, Mockito.times(1)).evictFromCache();
+		Mockito.verify(courtDao, Mockito.times(1)).evictFromCache();
+		Mockito.verify(catalogVersion, Mockito.times(1)).increment();
 	}
 
 	@Test
@@ -172,20 +172,22 @@ class SurfaceServiceImplTest {
 	@Test
 	void delete_entityNotExists_throwsException() {
 		Surface surface = SurfaceTestData.createSurface();
-		Mockito.when(surfaceDao.existsById(surface.getUid())).thenReturn(false);
+		Mockito.when(surfaceDao.delete(surface.getUid())).thenReturn(0);
 
 		assertThatThrownBy(() -> surfaceService.delete(surface.getUid())).isInstanceOf(EntityNotExistsException.class);
-		Mockito.verify(surfaceDao, Mockito.never()).delete(Mockito.any());
 	}
 
 	@Test
 	void delete_allConditionsCorrect_deleteSuccessful() {
 		Surface surface = SurfaceTestData.createSurface();
-		Mockito.when(surfaceDao.existsById(surface.getUid())).thenReturn(true);
+		Mockito.when(surfaceDao.delete(surface.getUid())).thenReturn(1);
 
 		surfaceService.delete(surface.getUid());
 
 		Mockito.verify(surfaceDao, Mockito.times(1)).delete(surface.getUid());
+		Mockito.verify(surfaceDao, Mockito.times(1)).evictFromCache();
+		Mockito.verify(courtDao, Mockito.times(1)).evictFromCache();
+		Mockito.verify(catalogVersion, Mockito.times(1)).increment();
 	}
 
 	@Test
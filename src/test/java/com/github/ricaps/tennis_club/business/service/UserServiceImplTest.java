@@ -5,6 +5,7 @@ import com.github.ricaps.tennis_club.exception.EntityNotExistsException;
 import com.github.ricaps.tennis_club.exception.ValueIsMissingException;
 import com.github.ricaps.tennis_club.peristence.dao.definition.UserDao;
 import com.github.ricaps.tennis_club.peristence.entity.User;
+import com.github.ricaps.tennis_club.security.UserPrincipalCache;
 import com.github.ricaps.tennis_club.test_utils.MockUtils;
 import com.github.ricaps.tennis_club.test_utils.UserTestData;
 import org.junit.jupiter.api.Test;
@@ -29,6 +30,9 @@ class UserServiceImplTest {
 	@Mock
 	private UserDao userDao;
 
+	@Mock
+	private UserPrincipalCache userPrincipalCache;
+
 	@InjectMocks
 	private UserServiceImpl userService;
 
@@ -49,25 +53,16 @@ class UserServiceImplTest {
 		Mockito.verify(userDao, Mockito.never()).save(Mockito.any());
 	}
 
-	@Test
-	void create_entityExists_throwsException() {
-		User user = UserTestData.entity();
-		Mockito.when(userDao.existsById(user.getUid())).thenReturn(true);
-
-		assertThatThrownBy(() -> userService.create(user)).isInstanceOf(EntityExistsException.class);
-		Mockito.verify(userDao, Mockito.never()).save(Mockito.any());
-	}
-
 	@Test
 	void create_allConditionsCorrect_creationSuccessful() {
 		User user = UserTestData.entity();
-		Mockito.when(userDao.existsById(user.getUid())).thenReturn(false);
 		Mockito.when(userDao.save(user)).thenReturn(user);
 
 		User result = userService.create(user);
 
 		assertThat(result).isEqualTo(user);
 		Mockito.verify(userDao, Mockito.times(1)).save(user);
+		Mockito.verify(userDao, Mockito.never()).existsById(Mockito.any());
 	}
 
 	@Test
@@ -175,7 +170,7 @@ class UserServiceImplTest {
 	@Test
 	void update_entityNotExists_throwsException() {
 		User user = UserTestData.entity();
-		Mockito.when(userDao.existsById(user.getUid())).thenReturn(false);
+		Mockito.when(userDao.updateIfExists(user)).thenReturn(Optional.empty());
 
 		assertThatThrownBy(() -> userService.update(user)).isInstanceOf(EntityNotExistsException.class);
 		Mockito.verify(userDao, Mockito.never()).update(Mockito.any());
@@ -184,13 +179,13 @@ class UserServiceImplTest {
 	@Test
 	void update_allConditionsCorrect_updateSuccessful() {
 		User user = UserTestData.entity();
-		Mockito.when(userDao.existsById(user.getUid())).thenReturn(true);
-		Mockito.when(userDao.update(user)).thenReturn(user);
+		Mockito.when(userDao.updateIfExists(user)).thenReturn(Optional.of(user));
 
 		User result = userService.update(user);
 
 		assertThat(result).isEqualTo(user);
-		Mockito.verify(userDao, Mockito.times(1)).update(user);
+		Mockito.verify(userDao, Mockito.times(1)).updateIfExists(user);
+		Mockito.verify(userPrincipalCache, Mockito.times(1)).invalidate(user.getUid());
 	}
 
 	@Test
@@ -233,20 +228,20 @@ class UserServiceImplTest {
 	@Test
 	void delete_entityNotExists_throwsException() {
 		User user = UserTestData.entity();
-		Mockito.when(userDao.existsById(user.getUid())).thenReturn(false);
+		Mockito.when(userDao.delete(user.getUid())).thenReturn(0);
 
 		assertThatThrownBy(() -> userService.delete(user.getUid())).isInstanceOf(EntityNotExistsException.class);
-		Mockito.verify(userDao, Mockito.never()).delete(Mockito.any());
 	}
 
 	@Test
 	void delete_allConditionsCorrect_deleteSuccessful() {
 		User user = UserTestData.entity();
-		Mockito.when(userDao.existsById(user.getUid())).thenReturn(true);
+		Mockito.when(userDao.delete(user.getUid())).thenReturn(1);
 
 		userService.delete(user.getUid());
 
 		Mockito.verify(userDao, Mockito.times(1)).delete(user.getUid());
+		Mockito.verify(userPrincipalCache, Mockito.times(1)).invalidate(user.getUid());
 	}
 
 	@Test
@@ -0,0 +1,63 @@
+package com.github.ricaps.tennis_club.business.utils;
+
+import jakarta.validation.ValidationException;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CsvReaderTest {
+
+	private static List<List<String>> readAll(String csv) throws IOException {
+		List<List<String>> records = new ArrayList<>();
+		try (CsvReader reader = new CsvReader(new StringReader(csv))) {
+			List<String> record;
+			while ((record = reader.readRecord()) != null) {
+				records.add(record);
+			}
+		}
+
+		return records;
+	}
+
+	@Test
+	void readRecord_plainFields_splitBySeparator() throws IOException {
+		assertThat(readAll("a,b,c\n1,,3\n")).containsExactly(List.of("a", "b", "c"), List.of("1", "", "3"));
+	}
+
+	@Test
+	void readRecord_crlfWithoutTrailingLineBreak_sameRecords() throws IOException {
+		assertThat(readAll("a,b\r\n1,2")).containsExactly(List.of("a", "b"), List.of("1", "2"));
+	}
+
+	@Test
+	void readRecord_quotedFields_separatorsQuotesAndLineBreaksKept() throws IOException {
+		assertThat(readAll("\"a,b\",\"say \"\"hi\"\"\",\"x\r\ny\"\n"))
+			.containsExactly(List.of("a,b", "say \"hi\"", "x\r\ny"));
+	}
+
+	@Test
+	void getRecordLine_multilineRecord_lineOfItsStart() throws IOException {
+		try (CsvReader reader = new CsvReader(new StringReader("h\n\"a\nb\"\nc\n"))) {
+			reader.readRecord();
+			reader.readRecord();
+			assertThat(reader.getRecordLine()).isEqualTo(2);
+
+			assertThat(reader.readRecord()).containsExactly("c");
+			assertThat(reader.getRecordLine()).isEqualTo(4);
+			assertThat(reader.readRecord()).isNull();
+		}
+	}
+
+	@Test
+	void readRecord_unterminatedQuote_throwsValidationException() {
+		assertThatThrownBy(() -> readAll("a\n\"b,c\n")).isInstanceOf(ValidationException.class)
+			.hasMessageContaining("line 2");
+	}
+
+}
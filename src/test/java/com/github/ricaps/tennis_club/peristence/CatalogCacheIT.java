@@ -0,0 +1,167 @@
+package com.github.ricaps.tennis_club.peristence;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.ricaps.tennis_club.api.reservation.ReservationCreateDto;
+import com.github.ricaps.tennis_club.api.reservation.ReservationViewDto;
+import com.github.ricaps.tennis_club.business.service.definition.SurfaceService;
+import com.github.ricaps.tennis_club.peristence.dao.definition.CourtDao;
+import com.github.ricaps.tennis_club.peristence.dao.definition.SurfaceDao;
+import com.github.ricaps.tennis_club.peristence.entity.Court;
+import com.github.ricaps.tennis_club.peristence.entity.Surface;
+import com.github.ricaps.tennis_club.test_utils.CourtTestData;
+import com.github.ricaps.tennis_club.test_utils.SecuritySupport;
+import com.github.ricaps.tennis_club.test_utils.SurfaceTestData;
+import com.github.ricaps.tennis_club.test_utils.TimeConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Not transactional, the second-level cache is filled only by committed transactions.
+ */
+@SpringBootTest(properties = { "spring.datasource.url=jdbc:h2:mem:catalog-cache;DB_CLOSE_DELAY=-1",
+		"spring.jpa.properties.hibernate.generate_statistics=true",
+		"spring.jpa.properties.hibernate.session_factory.statement_inspector=com.github.ricaps.tennis_club.peristence.CatalogCacheIT$RecordingStatementInspector" })
+@Import(TimeConfig.class)
+class CatalogCacheIT {
+
+	@Autowired
+	EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	SurfaceDao surfaceDao;
+
+	@Autowired
+	CourtDao courtDao;
+
+	@Autowired
+	SurfaceService surfaceService;
+
+	@Autowired
+	SecuritySupport securitySupport;
+
+	@Autowired
+	ObjectMapper objectMapper;
+
+	@Autowired
+	MeterRegistry meterRegistry;
+
+	@Autowired
+	Clock clock;
+
+	private MockMvc mockMvc;
+
+	private Statistics statistics;
+
+	private Surface surface;
+
+	private Court court;
+
+	private OffsetDateTime startTime;
+
+	@BeforeEach
+	void setup() {
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		mockMvc = securitySupport.defineUserAndGetMvc(true).mockMvc();
+		startTime = clock.instant().atOffset(ZoneOffset.UTC).plusDays(1);
+
+		surface = surfaceDao.save(SurfaceTestData.createSurface());
+		court = courtDao.save(CourtTestData.entity(surface));
+	}
+
+	@Test
+	void create_warmCache_noCatalogLoadsOnlyCourtLock() throws Exception {
+		createReservation(startTime);
+
+		RecordingStatementInspector.STATEMENTS.clear();
+		statistics.clear();
+		double hitsBefore = courtCacheHits();
+
+		createReservation(startTime.plusHours(2));
+
+		List<String> catalogStatements = RecordingStatementInspector.STATEMENTS.stream()
+			.map(sql -> sql.toLowerCase(Locale.ROOT))
+			// Reservation queries still join the court to skip deleted ones
+			.filter(sql -> sql.matches("(?s).*\\b(from|update) (court|surface)\\b.*"))
+			.toList();
+		// Existence of the court is confirmed by its row lock, as another node may have
+		// deleted it, its data comes from the cache
+		assertThat(catalogStatements).singleElement()
+			.matches(sql -> sql.contains(".uid from court ") && sql.contains("for update"));
+		assertThat(statistics.getEntityStatistics(Court.class.getName()).getLoadCount()).isZero();
+		assertThat(statistics.getEntityStatistics(Surface.class.getName()).getLoadCount()).isZero();
+		assertThat(statistics.getSecondLevelCacheHitCount()).isPositive();
+		assertThat(courtCacheHits()).isGreaterThan(hitsBefore);
+	}
+
+	@Test
+	void create_surfaceUpdated_priceOfUpdatedSurfaceUsed() throws Exception {
+		createReservation(startTime);
+
+		Surface updated = surfaceDao.findById(surface.getUid()).orElseThrow();
+		updated.setPrice(new BigDecimal("2.00"));
+		surfaceService.update(updated);
+
+		ReservationViewDto view = createReservation(startTime.plusHours(2));
+
+		// Sixty minutes at the updated price per minute
+		assertThat(view.totalPrice().amount()).isEqualByComparingTo("120.00");
+	}
+
+	private ReservationViewDto createReservation(OffsetDateTime fromTime) throws Exception {
+		ReservationCreateDto createDto = new ReservationCreateDto(court.getUid(), fromTime, fromTime.plusHours(1),
+				false);
+
+		String response = mockMvc
+			.perform(post("/v1/reservation").contentType(MediaType.APPLICATION_JSON_VALUE)
+				.content(objectMapper.writeValueAsBytes(createDto)))
+			.andExpect(status().isCreated())
+			.andReturn()
+			.getResponse()
+			.getContentAsString();
+
+		return objectMapper.readValue(response, ReservationViewDto.class);
+	}
+
+	private double courtCacheHits() {
+		return meterRegistry.get("cache.gets")
+			.tag("cache", Court.CACHE_REGION)
+			.tag("result", "hit")
+			.functionCounter()
+			.count();
+	}
+
+	public static class RecordingStatementInspector implements StatementInspector {
+
+		static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+		@Override
+		public String inspect(String sql) {
+			STATEMENTS.add(sql);
+			return sql;
+		}
+
+	}
+
+}
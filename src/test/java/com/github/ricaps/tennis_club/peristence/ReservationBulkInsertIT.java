@@ -0,0 +1,143 @@
+package com.github.ricaps.tennis_club.peristence;
+
+import com.github.ricaps.tennis_club.peristence.dao.definition.CourtDao;
+import com.github.ricaps.tennis_club.peristence.dao.definition.ReservationDao;
+import com.github.ricaps.tennis_club.peristence.dao.definition.SurfaceDao;
+import com.github.ricaps.tennis_club.peristence.dao.definition.UserDao;
+import com.github.ricaps.tennis_club.peristence.entity.Court;
+import com.github.ricaps.tennis_club.peristence.entity.Reservation;
+import com.github.ricaps.tennis_club.peristence.entity.Surface;
+import com.github.ricaps.tennis_club.peristence.entity.User;
+import com.github.ricaps.tennis_club.test_utils.CourtTestData;
+import com.github.ricaps.tennis_club.test_utils.ReservationTestData;
+import com.github.ricaps.tennis_club.test_utils.SurfaceTestData;
+import com.github.ricaps.tennis_club.test_utils.TimeConfig;
+import com.github.ricaps.tennis_club.test_utils.UserTestData;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Not transactional, {@link ReservationDao#insertAll} called outside of a transaction
+ * commits in its own one. The database is not shared with other tests.
+ */
+@SpringBootTest(properties = { "spring.datasource.url=jdbc:h2:mem:reservation-bulk-insert;DB_CLOSE_DELAY=-1",
+		"spring.jpa.properties.hibernate.generate_statistics=true" })
+@Import(TimeConfig.class)
+class ReservationBulkInsertIT {
+
+	private static final int BATCH_SIZE = 50;
+
+	@Autowired
+	EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	ReservationDao reservationDao;
+
+	@Autowired
+	SurfaceDao surfaceDao;
+
+	@Autowired
+	CourtDao courtDao;
+
+	@Autowired
+	UserDao userDao;
+
+	@Autowired
+	ReservationTestData reservationTestData;
+
+	@Autowired
+	TransactionTemplate transactionTemplate;
+
+	@Autowired
+	Clock clock;
+
+	private Statistics statistics;
+
+	private Court court;
+
+	private User user;
+
+	@BeforeEach
+	void setup() {
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+		Surface surface = surfaceDao.save(SurfaceTestData.createSurface());
+		court = courtDao.save(CourtTestData.entity(surface));
+		user = userDao.save(UserTestData.entity(true));
+	}
+
+	@Test
+	void insertAll_moreThanBatch_insertedInBatches() {
+		List<Reservation> reservations = generateReservations(BATCH_SIZE * 2 + 1);
+		long countBefore = reservationDao.count();
+		statistics.clear();
+
+		reservationDao.insertAll(reservations);
+
+		// Insert statement prepared once and reused by every batch, nothing is loaded
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+		assertThat(statistics.getEntityInsertCount()).isEqualTo(reservations.size());
+		assertThat(statistics.getFlushCount()).isZero();
+		assertThat(reservationDao.count()).isEqualTo(countBefore + reservations.size());
+
+		Optional<Reservation> last = reservationDao.findById(reservations.getLast().getUid());
+		assertThat(last).isPresent();
+		assertThat(last.get().getFromTime()).isEqualTo(reservations.getLast().getFromTime());
+	}
+
+	@Test
+	void insertAll_callerRolledBack_nothingInserted() {
+		List<Reservation> reservations = generateReservations(BATCH_SIZE * 2 + 1);
+		long countBefore = reservationDao.count();
+
+		transactionTemplate.executeWithoutResult(status -> {
+			reservationDao.insertAll(reservations);
+			status.setRollbackOnly();
+		});
+
+		assertThat(reservationDao.count()).isEqualTo(countBefore);
+		assertThat(reservationDao.findById(reservations.getFirst().getUid())).isEmpty();
+	}
+
+	@Test
+	void saveAll_moreThanBatch_flushedInBatches() {
+		List<Reservation> reservations = generateReservations(BATCH_SIZE * 2 + 1);
+		statistics.clear();
+
+		reservationDao.saveAll(reservations);
+
+		// Insert statement for each flushed batch, the detached user is loaded again
+		// after every clear of the persistence context, the court comes from the
+		// second-level cache
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(3 + 3);
+		assertThat(statistics.getEntityInsertCount()).isEqualTo(reservations.size());
+	}
+
+	private List<Reservation> generateReservations(int count) {
+		OffsetDateTime startTime = clock.instant().atOffset(ZoneOffset.UTC);
+		List<Reservation> reservations = new ArrayList<>();
+
+		for (int i = 0; i < count; i++) {
+			reservations.add(reservationTestData.entity(court, user, startTime.plusDays(i)));
+		}
+
+		return reservations;
+	}
+
+}
@@ -0,0 +1,109 @@
+package com.github.ricaps.tennis_club.peristence;
+
+import com.github.ricaps.tennis_club.peristence.dao.definition.ReservationDao;
+import com.github.ricaps.tennis_club.utils.UUIDUtils;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = { "spring.datasource.url=jdbc:h2:mem:reservation-index;DB_CLOSE_DELAY=-1",
+		"spring.jpa.properties.hibernate.session_factory.statement_inspector=com.github.ricaps.tennis_club.peristence.ReservationIndexIT$RecordingStatementInspector" })
+@Transactional
+class ReservationIndexIT {
+
+	private static final String COURT_UID = "'8f6b2c1e-3d4a-4b5c-9e7f-1a2b3c4d5e6f'";
+
+	private static final String TIME = "TIMESTAMP WITH TIME ZONE '2025-01-01 10:00:00+00'";
+
+	private static final OffsetDateTime FROM = OffsetDateTime.parse("2025-01-01T10:00:00Z");
+
+	private static final OffsetDateTime TO = FROM.plusHours(1);
+
+	@Autowired
+	JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	ReservationDao reservationDao;
+
+	@BeforeEach
+	void setup() {
+		RecordingStatementInspector.STATEMENTS.clear();
+	}
+
+	private String explain(String query, Object... parameters) {
+		return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + query, String.class, parameters))
+			.toUpperCase(Locale.ROOT);
+	}
+
+	/**
+	 * @return the only statement Hibernate generated since the last reset
+	 */
+	private static String generatedStatement() {
+		assertThat(RecordingStatementInspector.STATEMENTS).hasSize(1);
+		return RecordingStatementInspector.STATEMENTS.getFirst();
+	}
+
+	@Test
+	void reservationsAtTimeFrame_generatedQueryUsesCourtTimeIndex() {
+		UUID courtUid = UUIDUtils.generate();
+		reservationDao.getReservationsAtTimeFrame(FROM, TO, courtUid);
+
+		// Parameters are bound in the order of the query, the end of the frame first
+		String plan = explain(generatedStatement(), TO, FROM, courtUid);
+
+		assertThat(plan).contains("IDX_RESERVATION_COURT_TIME");
+	}
+
+	@Test
+	void overlappingUid_generatedQueryUsesCourtTimeIndex() {
+		UUID courtUid = UUIDUtils.generate();
+		reservationDao.findOverlappingUid(courtUid, FROM, TO, UUIDUtils.generate());
+
+		String plan = explain(generatedStatement(), courtUid, TO, FROM, UUIDUtils.generate(), 1);
+
+		assertThat(plan).contains("IDX_RESERVATION_COURT_TIME");
+	}
+
+	@Test
+	void reservationsAtCourt_usesCourtCreatedAtIndex() {
+		// H2 does not pick an index for ordering only when an equality prefix precedes
+		// the sorted column, so the plan is checked on a created_at bounded scan
+		String plan = explain("SELECT * FROM reservation r WHERE r.court_uid = " + COURT_UID + " AND r.created_at > "
+				+ TIME + " AND r.deleted = FALSE ORDER BY r.created_at");
+
+		assertThat(plan).contains("IDX_RESERVATION_COURT_CREATED_AT");
+	}
+
+	@Test
+	void reservationsByPhoneNumber_usesUserFromTimeIndex() {
+		String plan = explain("SELECT r.* FROM reservation r JOIN user_entity u ON u.uid = r.user_uid "
+				+ "WHERE u.phone_number = '+420123456789' AND r.from_time > " + TIME + " AND r.deleted = FALSE");
+
+		assertThat(plan).contains("IDX_RESERVATION_USER_FROM_TIME");
+	}
+
+	public static class RecordingStatementInspector implements StatementInspector {
+
+		static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+		@Override
+		public String inspect(String sql) {
+			STATEMENTS.add(sql);
+			return sql;
+		}
+
+	}
+
+}
@@ -0,0 +1,185 @@
+package com.github.ricaps.tennis_club.peristence;
+
+import com.github.ricaps.tennis_club.api.reservation.ReservationPhoneDateQueryDto;
+import com.github.ricaps.tennis_club.api.reservation.ReservationViewDto;
+import com.github.ricaps.tennis_club.business.facade.definition.ReservationFacade;
+import com.github.ricaps.tennis_club.business.mapping.ReservationMapper;
+import com.github.ricaps.tennis_club.business.service.definition.ReservationService;
+import com.github.ricaps.tennis_club.peristence.dao.definition.CourtDao;
+import com.github.ricaps.tennis_club.peristence.dao.definition.ReservationDao;
+import com.github.ricaps.tennis_club.peristence.dao.definition.SurfaceDao;
+import com.github.ricaps.tennis_club.peristence.dao.definition.UserDao;
+import com.github.ricaps.tennis_club.peristence.entity.Court;
+import com.github.ricaps.tennis_club.peristence.entity.Reservation;
+import com.github.ricaps.tennis_club.peristence.entity.Surface;
+import com.github.ricaps.tennis_club.peristence.entity.User;
+import com.github.ricaps.tennis_club.peristence.projection.ReservationView;
+import com.github.ricaps.tennis_club.peristence.utils.CountStrategy;
+import com.github.ricaps.tennis_club.peristence.utils.PageableResult;
+import com.github.ricaps.tennis_club.test_utils.CourtTestData;
+import com.github.ricaps.tennis_club.test_utils.ReservationTestData;
+import com.github.ricaps.tennis_club.test_utils.SurfaceTestData;
+import com.github.ricaps.tennis_club.test_utils.TimeConfig;
+import com.github.ricaps.tennis_club.test_utils.UserTestData;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PagedModel;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = { "spring.datasource.url=jdbc:h2:mem:reservation-statements;DB_CLOSE_DELAY=-1",
+		"spring.jpa.properties.hibernate.generate_statistics=true" })
+@Transactional
+@Import(TimeConfig.class)
+class ReservationStatementCountIT {
+
+	private static final int RESERVATIONS = 30;
+
+	// Page query and count query
+	private static final long STATEMENTS_PER_PAGE = 2;
+
+	@Autowired
+	EntityManager entityManager;
+
+	@Autowired
+	EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	ReservationFacade reservationFacade;
+
+	@Autowired
+	ReservationService reservationService;
+
+	@Autowired
+	ReservationMapper reservationMapper;
+
+	@Autowired
+	ReservationDao reservationDao;
+
+	@Autowired
+	SurfaceDao surfaceDao;
+
+	@Autowired
+	CourtDao courtDao;
+
+	@Autowired
+	UserDao userDao;
+
+	@Autowired
+	ReservationTestData reservationTestData;
+
+	@Autowired
+	Clock clock;
+
+	private Statistics statistics;
+
+	private Court court;
+
+	private User user;
+
+	private OffsetDateTime startTime;
+
+	@BeforeEach
+	void setup() {
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+		startTime = clock.instant().atOffset(ZoneOffset.UTC);
+		Surface surface = surfaceDao.save(SurfaceTestData.createSurface());
+		court = courtDao.save(CourtTestData.entity(surface));
+		user = userDao.save(UserTestData.entity(true));
+
+		// Every reservation at the court is made by another user and every reservation of
+		// the user is at another court, so lazy loading would issue a query per row
+		List<Reservation> reservations = new ArrayList<>();
+		for (int i = 0; i < RESERVATIONS; i++) {
+			User anotherUser = userDao.save(UserTestData.entity(true));
+			reservations.add(reservationTestData.entity(court, anotherUser, startTime.plusDays(i)));
+
+			Surface anotherSurface = surfaceDao.save(SurfaceTestData.createSurface());
+			Court anotherCourt = courtDao.save(CourtTestData.entity(anotherSurface));
+			reservations.add(reservationTestData.entity(anotherCourt, user, startTime.plusDays(i)));
+		}
+		reservationDao.saveAll(reservations);
+
+		entityManager.flush();
+		entityManager.clear();
+		statistics.clear();
+	}
+
+	@ParameterizedTest
+	@ValueSource(ints = { 5, 10, 25 })
+	void getAllByCourt_anyPageSize_constantStatementCount(int pageSize) {
+		PagedModel<ReservationViewDto> page = reservationFacade.getAllByCourt(court.getUid(), pageable(pageSize),
+				CountStrategy.EXACT);
+
+		assertThat(page.getContent()).hasSize(pageSize);
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(STATEMENTS_PER_PAGE);
+	}
+
+	@ParameterizedTest
+	@ValueSource(ints = { 5, 10, 25 })
+	void getAllByPhoneNumber_anyPageSize_constantStatementCount(int pageSize) {
+		PagedModel<ReservationViewDto> page = reservationFacade.getAllByPhoneNumber(new ReservationPhoneDateQueryDto(
+				user.getPhoneNumber(), startTime, pageable(pageSize), CountStrategy.EXACT));
+
+		assertThat(page.getContent()).hasSize(pageSize);
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(STATEMENTS_PER_PAGE);
+	}
+
+	@ParameterizedTest
+	@ValueSource(ints = { 5, 10, 25 })
+	void getViewsByCourt_anyPageSize_constantStatementCountAndSameViews(int pageSize) {
+		PageableResult<ReservationView> views = reservationService.getViewsByCourt(court.getUid(), pageable(pageSize),
+				CountStrategy.EXACT);
+
+		assertThat(views.data()).hasSize(pageSize);
+		assertThat(views.totalCount()).isEqualTo(RESERVATIONS);
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(STATEMENTS_PER_PAGE);
+		assertThat(statistics.getEntityLoadCount()).isZero();
+
+		PageableResult<Reservation> entities = reservationService.getAllByCourt(court.getUid(), pageable(pageSize),
+				CountStrategy.EXACT);
+		assertThat(reservationMapper.fromProjectionListToView(views.data()))
+			.isEqualTo(reservationMapper.fromEntityListToView(entities.data()));
+	}
+
+	@ParameterizedTest
+	@ValueSource(ints = { 5, 10, 25 })
+	void getViewsByPhoneNumber_anyPageSize_constantStatementCountAndSameViews(int pageSize) {
+		PageableResult<ReservationView> views = reservationService.getViewsByPhoneNumber(user.getPhoneNumber(),
+				startTime, pageable(pageSize), CountStrategy.EXACT);
+
+		assertThat(views.data()).hasSize(pageSize);
+		assertThat(views.totalCount()).isEqualTo(RESERVATIONS);
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(STATEMENTS_PER_PAGE);
+		assertThat(statistics.getEntityLoadCount()).isZero();
+
+		PageableResult<Reservation> entities = reservationService.getAllByPhoneNumber(user.getPhoneNumber(), startTime,
+				pageable(pageSize), CountStrategy.EXACT);
+		assertThat(reservationMapper.fromProjectionListToView(views.data()))
+			.isEqualTo(reservationMapper.fromEntityListToView(entities.data()));
+	}
+
+	private static Pageable pageable(int pageSize) {
+		return PageRequest.of(0, pageSize, Sort.by("uid"));
+	}
+
+}
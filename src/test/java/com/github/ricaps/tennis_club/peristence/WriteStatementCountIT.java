@@ -0,0 +1,213 @@
+package com.github.ricaps.tennis_club.peristence;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.ricaps.tennis_club.api.reservation.ReservationCreateDto;
+import com.github.ricaps.tennis_club.business.service.definition.CourtService;
+import com.github.ricaps.tennis_club.business.service.definition.ReservationService;
+import com.github.ricaps.tennis_club.exception.EntityNotExistsException;
+import com.github.ricaps.tennis_club.peristence.dao.definition.CourtDao;
+import com.github.ricaps.tennis_club.peristence.dao.definition.ReservationDao;
+import com.github.ricaps.tennis_club.peristence.dao.definition.SurfaceDao;
+import com.github.ricaps.tennis_club.peristence.entity.Court;
+import com.github.ricaps.tennis_club.peristence.entity.Reservation;
+import com.github.ricaps.tennis_club.peristence.entity.Surface;
+import com.github.ricaps.tennis_club.test_utils.CourtTestData;
+import com.github.ricaps.tennis_club.test_utils.ReservationTestData;
+import com.github.ricaps.tennis_club.test_utils.SecuritySupport;
+import com.github.ricaps.tennis_club.test_utils.SurfaceTestData;
+import com.github.ricaps.tennis_club.test_utils.TimeConfig;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Clock;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Not transactional, so statements sent on commit are counted as well. Queries of the
+ * outbox id sequence are not counted, they depend on how much of its block previous tests
+ * used up.
+ */
+@SpringBootTest(properties = { "spring.datasource.url=jdbc:h2:mem:write-statements;DB_CLOSE_DELAY=-1",
+		"spring.jpa.properties.hibernate.generate_statistics=true",
+		"spring.jpa.properties.hibernate.session_factory.statement_inspector=com.github.ricaps.tennis_club.peristence.WriteStatementCountIT$SequenceQueryInspector" })
+@Import(TimeConfig.class)
+class WriteStatementCountIT {
+
+	@Autowired
+	EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	ReservationService reservationService;
+
+	@Autowired
+	CourtService courtService;
+
+	@Autowired
+	ReservationDao reservationDao;
+
+	@Autowired
+	SurfaceDao surfaceDao;
+
+	@Autowired
+	CourtDao courtDao;
+
+	@Autowired
+	SecuritySupport securitySupport;
+
+	@Autowired
+	ReservationTestData reservationTestData;
+
+	@Autowired
+	ObjectMapper objectMapper;
+
+	@Autowired
+	Clock clock;
+
+	private Statistics statistics;
+
+	private SecuritySupport.TestSecurityContext testSecurityContext;
+
+	private Court court;
+
+	private OffsetDateTime startTime;
+
+	@BeforeEach
+	void setup() {
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		testSecurityContext = securitySupport.defineUserAndGetMvc(true);
+		startTime = clock.instant().atOffset(ZoneOffset.UTC).plusDays(1);
+
+		Surface surface = surfaceDao.save(SurfaceTestData.createSurface());
+		court = courtDao.save(CourtTestData.entity(surface));
+	}
+
+	@Test
+	void create_warmCatalogCache_userCourtLockConflictCheckAndInsert() throws Exception {
+		MockMvc mockMvc = testSecurityContext.mockMvc();
+		createReservation(mockMvc, startTime);
+		clearStatistics();
+
+		createReservation(mockMvc, startTime.plusHours(2));
+
+		// User select, court row lock confirming the court exists, overlap probe, insert
+		// and outbox insert
+		assertThat(statementCount()).isEqualTo(5);
+	}
+
+	@Test
+	void createAll_manyReservations_outboxInsertsBatched() {
+		List<Reservation> reservations = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			reservations
+				.add(reservationTestData.entity(court, testSecurityContext.user(), startTime.plusHours(2L * i)));
+		}
+		clearStatistics();
+
+		reservationService.createAll(reservations);
+
+		// Court row lock, conflict query, select of the detached user, a batch of
+		// reservations and a batch of outbox events
+		assertThat(statementCount()).isEqualTo(5);
+	}
+
+	@Test
+	void update_existingReservation_singleExistenceQuery() {
+		Reservation reservation = reservationDao
+			.save(reservationTestData.entity(court, testSecurityContext.user(), startTime));
+		clearStatistics();
+
+		reservation.setToTime(reservation.getToTime().plusMinutes(30));
+		reservationService.update(reservation);
+
+		// Court row lock, overlap probe skipping the reservation itself, existence
+		// query loading it, update and outbox insert, the merge doesn't select the
+		// reservation again
+		assertThat(statementCount()).isEqualTo(5);
+	}
+
+	@Test
+	void delete_existingReservation_softDeleteAndOutboxInsert() {
+		Reservation reservation = reservationDao
+			.save(reservationTestData.entity(court, testSecurityContext.user(), startTime));
+		clearStatistics();
+
+		reservationService.delete(reservation.getUid());
+
+		// Outbox event copies the interval from the deleted row, no select is needed
+		assertThat(statementCount()).isEqualTo(2);
+	}
+
+	@Test
+	void delete_notExistingReservation_singleStatement() {
+		clearStatistics();
+
+		assertThatThrownBy(() -> reservationService.delete(UUID.randomUUID()))
+			.isInstanceOf(EntityNotExistsException.class);
+		assertThat(statementCount()).isEqualTo(1);
+	}
+
+	@Test
+	void getReferences_coldCache_singleQuery() {
+		Court another = courtDao.save(CourtTestData.entity(court.getSurface()));
+		courtDao.evictFromCache();
+		clearStatistics();
+
+		List<Court> references = courtService.getReferences(List.of(court.getUid(), another.getUid()));
+
+		assertThat(references).containsExactly(court, another);
+		assertThat(statementCount()).isEqualTo(1);
+	}
+
+	private void clearStatistics() {
+		statistics.clear();
+		SequenceQueryInspector.COUNT.set(0);
+	}
+
+	private long statementCount() {
+		return statistics.getPrepareStatementCount() - SequenceQueryInspector.COUNT.get();
+	}
+
+	private void createReservation(MockMvc mockMvc, OffsetDateTime fromTime) throws Exception {
+		ReservationCreateDto createDto = new ReservationCreateDto(court.getUid(), fromTime, fromTime.plusHours(1),
+				false);
+
+		mockMvc
+			.perform(post("/v1/reservation").contentType(MediaType.APPLICATION_JSON_VALUE)
+				.content(objectMapper.writeValueAsBytes(createDto)))
+			.andExpect(status().isCreated());
+	}
+
+	public static class SequenceQueryInspector implements StatementInspector {
+
+		static final AtomicInteger COUNT = new AtomicInteger();
+
+		@Override
+		public String inspect(String sql) {
+			if (sql.contains("reservation_outbox_event_seq")) {
+				COUNT.incrementAndGet();
+			}
+			return sql;
+		}
+
+	}
+
+}
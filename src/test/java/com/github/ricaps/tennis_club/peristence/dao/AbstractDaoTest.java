@@ -2,9 +2,17 @@ package com.github.ricaps.tennis_club.peristence.dao;
 
 import com.github.ricaps.tennis_club.peristence.dao.definition.CrudDao;
 import com.github.ricaps.tennis_club.peristence.entity.IdentifiedEntity;
+import com.github.ricaps.tennis_club.peristence.utils.CountStrategy;
+import com.github.ricaps.tennis_club.peristence.utils.CursorResult;
+import com.github.ricaps.tennis_club.peristence.utils.PageableResult;
+import com.github.ricaps.tennis_club.peristence.utils.SeekCursor;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.TypedQuery;
 import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.validation.ValidationException;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.collection.AbstractCollectionPersister;
+import org.hibernate.persister.entity.AbstractEntityPersister;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mockito;
@@ -13,14 +21,17 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.data.domain.Sort;
 import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.context.transaction.TestTransaction;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @DataJpaTest
 @ExtendWith(MockitoExtension.class)
@@ -199,21 +210,186 @@ public abstract class AbstractDaoTest<EntityType extends IdentifiedEntity> {
 		entityDao.save(entity);
 		assertThat(entityDao.existsById(entity.getUid())).isTrue();
 
-		boolean result = entityDao.delete(entity.getUid());
+		int result = entityDao.delete(entity.getUid());
 
-		assertThat(result).isTrue();
+		assertThat(result).isEqualTo(1);
 		assertThat(entityDao.existsById(entity.getUid())).isFalse();
 		assertThat(entityDao.findById(entity.getUid())).isEmpty();
 	}
 
+	@Test
+	void delete_alreadyDeletedEntity_returnsZero() {
+		EntityType entity = createEntity();
+
+		entityDao.save(entity);
+		entityDao.delete(entity.getUid());
+
+		assertThat(entityDao.delete(entity.getUid())).isZero();
+		assertThat(entityDao.delete(UUID.randomUUID())).isZero();
+	}
+
 	@Test
 	void delete_null_nothingExecuted() {
-		boolean result = entityDao.delete(null);
+		int result = entityDao.delete(null);
 
-		assertThat(result).isFalse();
+		assertThat(result).isZero();
 		Mockito.verify(entityManager, Mockito.never()).remove(Mockito.any());
 	}
 
+	@Test
+	void updateIfExists_existingEntity_updatedSuccessfully() {
+		EntityType entity = entityDao.save(createEntity());
+		entityManager.flush();
+		entityManager.clear();
+
+		EntityType updatedEntity = updateEntity(entity);
+		Optional<EntityType> result = entityDao.updateIfExists(updatedEntity);
+
+		assertThat(result).isPresent();
+		Optional<EntityType> entityOptional = entityDao.findById(entity.getUid());
+		assertThat(entityOptional).isPresent();
+		checkEntity(entityOptional.get(), updatedEntity);
+	}
+
+	@Test
+	void updateIfExists_notExistingEntity_notCreated() {
+		EntityType entity = createEntity();
+
+		Optional<EntityType> result = entityDao.updateIfExists(entity);
+
+		assertThat(result).isEmpty();
+		assertThat(entityDao.findById(entity.getUid())).isEmpty();
+		Mockito.verify(entityManager, Mockito.never()).merge(Mockito.any());
+	}
+
+	@Test
+	void updateIfExists_deletedEntity_notUpdated() {
+		EntityType entity = entityDao.save(createEntity());
+		entityDao.delete(entity.getUid());
+		entityManager.clear();
+
+		Optional<EntityType> result = entityDao.updateIfExists(updateEntity(entity));
+
+		assertThat(result).isEmpty();
+		Mockito.verify(entityManager, Mockito.never()).merge(Mockito.any());
+	}
+
+	@Test
+	void updateIfExists_deletedOnAnotherNode_notUpdated() {
+		EntityType entity = commit(entityDao.save(createEntity()));
+		try {
+			deleteOnAnotherNode(entity);
+
+			Optional<EntityType> result = entityDao.updateIfExists(updateEntity(entity));
+
+			assertThat(result).isEmpty();
+			Mockito.verify(entityManager, Mockito.never()).merge(Mockito.any());
+		}
+		finally {
+			removeCommitted(entity);
+		}
+	}
+
+	@Test
+	void existsById_deletedOnAnotherNode_returnsFalse() {
+		EntityType entity = commit(entityDao.save(createEntity()));
+		try {
+			deleteOnAnotherNode(entity);
+
+			assertThat(entityDao.existsById(entity.getUid())).isFalse();
+			assertThat(entityDao.findExistingIds(List.of(entity.getUid()))).isEmpty();
+		}
+		finally {
+			removeCommitted(entity);
+		}
+	}
+
+	/**
+	 * Commits the entity, so the second-level cache holds it when its entity is cached
+	 */
+	private EntityType commit(EntityType entity) {
+		TestTransaction.flagForCommit();
+		TestTransaction.end();
+		TestTransaction.start();
+		return entity;
+	}
+
+	private void removeCommitted(EntityType entity) {
+		TestTransaction.end();
+		TestTransaction.start();
+		AbstractEntityPersister persister = persister(entity);
+		persister.getFactory().getMappingMetamodel().forEachCollectionDescriptor(collection -> {
+			if (collection.getOwnerEntityPersister() == persister
+					&& collection instanceof AbstractCollectionPersister collectionPersister) {
+				deleteRow(collectionPersister.getTableName(), collectionPersister.getKeyColumnNames()[0], entity);
+			}
+		});
+		deleteRow(persister.getTableName(), "uid", entity);
+		TestTransaction.flagForCommit();
+		TestTransaction.end();
+		TestTransaction.start();
+		entityManager.getEntityManagerFactory().getCache().evict(entity.getClass(), entity.getUid());
+	}
+
+	private void deleteRow(String table, String uidColumn, EntityType entity) {
+		entityManager.createNativeQuery("DELETE FROM %s WHERE %s = :uid".formatted(table, uidColumn))
+			.setParameter("uid", entity.getUid())
+			.executeUpdate();
+	}
+
+	/**
+	 * Soft deletes the row without Hibernate, so the second-level cache of this node
+	 * still holds the entity
+	 */
+	private void deleteOnAnotherNode(EntityType entity) {
+		AbstractEntityPersister persister = persister(entity);
+
+		entityManager
+			.createNativeQuery("UPDATE %s SET %s = true WHERE uid = :uid".formatted(persister.getTableName(),
+					persister.getSoftDeleteMapping().getColumnName()))
+			.setParameter("uid", entity.getUid())
+			.executeUpdate();
+		entityManager.clear();
+		Mockito.clearInvocations(entityManager);
+	}
+
+	private AbstractEntityPersister persister(EntityType entity) {
+		return (AbstractEntityPersister) entityManager.getEntityManagerFactory()
+			.unwrap(SessionFactoryImplementor.class)
+			.getMappingMetamodel()
+			.getEntityDescriptor(entity.getClass());
+	}
+
+	@Test
+	void updateIfExists_null_notUpdated() {
+		assertThat(entityDao.updateIfExists(null)).isEmpty();
+
+		Mockito.verify(entityManager, Mockito.never()).merge(Mockito.any());
+	}
+
+	@Test
+	void findExistingIds_someMissing_returnsExistingWithSingleQuery() {
+		List<EntityType> entities = generateEntities(3);
+		entityDao.saveAll(entities);
+		entityDao.delete(entities.getLast().getUid());
+		Mockito.clearInvocations(entityManager);
+
+		UUID missing = UUID.randomUUID();
+		Set<UUID> result = entityDao.findExistingIds(
+				List.of(entities.get(0).getUid(), entities.get(1).getUid(), entities.get(2).getUid(), missing));
+
+		assertThat(result).containsExactlyInAnyOrder(entities.get(0).getUid(), entities.get(1).getUid());
+		Mockito.verify(entityManager, Mockito.times(1)).createQuery(Mockito.any(CriteriaQuery.class));
+	}
+
+	@Test
+	void findExistingIds_emptyOrNull_noQuery() {
+		assertThat(entityDao.findExistingIds(List.of())).isEmpty();
+		assertThat(entityDao.findExistingIds(null)).isEmpty();
+
+		Mockito.verify(entityManager, Mockito.never()).createQuery(Mockito.any(CriteriaQuery.class));
+	}
+
 	@Test
 	void count_noEntity_returnsZero() {
 		assertThat(entityDao.count()).isEqualTo(0);
@@ -305,4 +481,134 @@ public abstract class AbstractDaoTest<EntityType extends IdentifiedEntity> {
 		assertThat(result).isEmpty();
 	}
 
+	@Test
+	void findAllCounted_noneStrategyFullPage_lowerBoundTotal() {
+		entityDao.saveAll(generateEntities(25));
+
+		PageableResult<EntityType> result = entityDao.findAll(1, 10, Sort.by("uid"), CountStrategy.NONE);
+
+		assertThat(result.data()).hasSize(10);
+		assertThat(result.totalCount()).isEqualTo(21);
+	}
+
+	@Test
+	void findAllCounted_noneStrategyLastPage_exactTotal() {
+		entityDao.saveAll(generateEntities(25));
+
+		PageableResult<EntityType> result = entityDao.findAll(2, 10, Sort.by("uid"), CountStrategy.NONE);
+
+		assertThat(result.data()).hasSize(5);
+		assertThat(result.totalCount()).isEqualTo(25);
+	}
+
+	@Test
+	void findAllCounted_partialFirstPage_notCounted() {
+		entityDao.saveAll(generateEntities(5));
+		Mockito.clearInvocations(entityManager);
+
+		PageableResult<EntityType> result = entityDao.findAll(0, 10, Sort.by("uid"), CountStrategy.EXACT);
+
+		assertThat(result.totalCount()).isEqualTo(5);
+		Mockito.verify(entityManager, Mockito.times(1)).createQuery(Mockito.any(CriteriaQuery.class));
+	}
+
+	@Test
+	void findAllCounted_cachedStrategy_countReusedUntilWrite() {
+		entityDao.saveAll(generateEntities(25));
+		assertThat(entityDao.findAll(0, 10, Sort.by("uid"), CountStrategy.CACHED).totalCount()).isEqualTo(25);
+
+		// Bypasses the dao, so the cached count is not invalidated
+		entityManager.persist(createEntity());
+
+		assertThat(entityDao.findAll(0, 10, Sort.by("uid"), CountStrategy.CACHED).totalCount()).isEqualTo(25);
+		assertThat(entityDao.findAll(0, 10, Sort.by("uid"), CountStrategy.EXACT).totalCount()).isEqualTo(26);
+
+		entityDao.save(createEntity());
+
+		assertThat(entityDao.findAll(0, 10, Sort.by("uid"), CountStrategy.CACHED).totalCount()).isEqualTo(27);
+	}
+
+	@Test
+	void findAllCounted_estimatedStrategy_returnsNonNegativeTotal() {
+		entityDao.saveAll(generateEntities(25));
+
+		PageableResult<EntityType> result = entityDao.findAll(0, 10, Sort.by("uid"), CountStrategy.ESTIMATED);
+
+		assertThat(result.data()).hasSize(10);
+		assertThat(result.totalCount()).isNotNegative();
+	}
+
+	@Test
+	void findAllCursor_noEntities_emptyWithoutNextCursor() {
+		CursorResult<EntityType> result = entityDao.findAll(SeekCursor.first(Sort.by("uid")), 10);
+
+		assertThat(result.data()).isEmpty();
+		assertThat(result.nextCursor()).isNull();
+	}
+
+	@Test
+	void findAllCursor_entitiesSortedUid_walksAllPages() {
+		List<EntityType> entities = generateEntities(25);
+		entities.sort((a, b) -> Objects.compare(a.getUid().toString(), b.getUid().toString(), String::compareTo));
+		entityDao.saveAll(entities);
+
+		List<EntityType> walked = walkAllPages(SeekCursor.first(Sort.by("uid")), 10);
+
+		assertThat(walked).containsExactlyElementsOf(entities);
+	}
+
+	@Test
+	void findAllCursor_entitiesSortedUidDesc_walksAllPages() {
+		List<EntityType> entities = generateEntities(25);
+		entities.sort((a, b) -> Objects.compare(b.getUid().toString(), a.getUid().toString(), String::compareTo));
+		entityDao.saveAll(entities);
+
+		List<EntityType> walked = walkAllPages(SeekCursor.first(Sort.by("uid").descending()), 10);
+
+		assertThat(walked).containsExactlyElementsOf(entities);
+	}
+
+	@Test
+	void findAllCursor_exactlyOnePage_noNextCursor() {
+		List<EntityType> entities = generateEntities(10);
+		entityDao.saveAll(entities);
+
+		CursorResult<EntityType> result = entityDao.findAll(SeekCursor.first(Sort.unsorted()), 10);
+
+		assertThat(result.data()).hasSize(10);
+		assertThat(result.nextCursor()).isNull();
+	}
+
+	@Test
+	void findAllCursor_unknownSortProperty_sortedByUid() {
+		List<EntityType> entities = generateEntities(15);
+		entities.sort((a, b) -> Objects.compare(a.getUid().toString(), b.getUid().toString(), String::compareTo));
+		entityDao.saveAll(entities);
+
+		List<EntityType> walked = walkAllPages(SeekCursor.first(Sort.by("notExisting")), 10);
+
+		assertThat(walked).containsExactlyElementsOf(entities);
+	}
+
+	@Test
+	void findAllCursor_positionedCursorWithUnknownProperty_throwsException() {
+		SeekCursor cursor = new SeekCursor("notExisting", Sort.Direction.ASC, "value", UUID.randomUUID());
+
+		assertThatThrownBy(() -> entityDao.findAll(cursor, 10)).isInstanceOf(ValidationException.class);
+	}
+
+	private List<EntityType> walkAllPages(SeekCursor cursor, int pageSize) {
+		List<EntityType> walked = new ArrayList<>();
+		SeekCursor nextCursor = cursor;
+
+		while (nextCursor != null) {
+			// cursor is passed as a token, the same way clients do
+			CursorResult<EntityType> page = entityDao.findAll(SeekCursor.decode(nextCursor.encode()), pageSize);
+			walked.addAll(page.data());
+			nextCursor = page.nextCursor();
+		}
+
+		return walked;
+	}
+
 }
@@ -6,9 +6,15 @@ import com.github.ricaps.tennis_club.peristence.dao.definition.ReservationDao;
 import com.github.ricaps.tennis_club.peristence.entity.Court;
 import com.github.ricaps.tennis_club.peristence.entity.MoneyAmount;
 import com.github.ricaps.tennis_club.peristence.entity.Reservation;
+import com.github.ricaps.tennis_club.peristence.entity.ReservationSeries;
 import com.github.ricaps.tennis_club.peristence.entity.Surface;
 import com.github.ricaps.tennis_club.peristence.entity.User;
+import com.github.ricaps.tennis_club.peristence.projection.ReservationInterval;
+import com.github.ricaps.tennis_club.peristence.projection.ReservationView;
+import com.github.ricaps.tennis_club.peristence.utils.CountStrategy;
+import com.github.ricaps.tennis_club.peristence.utils.CursorResult;
 import com.github.ricaps.tennis_club.peristence.utils.PageableResult;
+import com.github.ricaps.tennis_club.peristence.utils.SeekCursor;
 import com.github.ricaps.tennis_club.test_utils.CourtTestData;
 import com.github.ricaps.tennis_club.test_utils.ReservationTestData;
 import com.github.ricaps.tennis_club.test_utils.SurfaceTestData;
@@ -16,6 +22,8 @@ import com.github.ricaps.tennis_club.test_utils.TimeConfig;
 import com.github.ricaps.tennis_club.test_utils.UserTestData;
 import com.github.ricaps.tennis_club.utils.UUIDUtils;
 import jakarta.persistence.EntityManager;
+import jakarta.validation.ValidationException;
+import org.hibernate.Session;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -31,8 +39,12 @@ import java.time.Instant;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.Currency;
 import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Stream;
 
 import static com.github.ricaps.tennis_club.test_utils.TimeConfig.getFixedClock;
@@ -161,6 +173,85 @@ class ReservationDaoImplTest extends AbstractDaoTest<Reservation> {
 		}
 	}
 
+	@ParameterizedTest
+	@MethodSource("provideIntervalTestArguments")
+	void findOverlappingUid_interval_uidReturnedOnOverlap(Reservation reservation, OffsetDateTime from,
+			OffsetDateTime to, boolean expectValue, String message) {
+		reservation.setUser(user);
+		reservation.setCourt(court);
+		reservationDao.save(reservation);
+
+		Optional<UUID> result = reservationDao.findOverlappingUid(court.getUid(), from, to, UUIDUtils.generate());
+
+		if (expectValue) {
+			assertThat(result).withFailMessage(message).contains(reservation.getUid());
+		}
+		else {
+			assertThat(result).withFailMessage(message).isEmpty();
+		}
+	}
+
+	@Test
+	void findOverlappingUid_onlyIgnoredReservation_returnsEmpty() {
+		Reservation reservation = reservationTestData.entity(court, user);
+		reservationDao.save(reservation);
+
+		Optional<UUID> result = reservationDao.findOverlappingUid(court.getUid(), reservation.getFromTime(),
+				reservation.getToTime(), reservation.getUid());
+
+		assertThat(result).isEmpty();
+	}
+
+	@Test
+	void lockCourt_nullUuid_throwsException() {
+		assertThatThrownBy(() -> reservationDao.lockCourt(null)).isInstanceOf(ValueIsMissingException.class);
+	}
+
+	@Test
+	void lockCourt_existingCourt_courtNotLoaded() {
+		entityManager.flush();
+		entityManager.clear();
+
+		assertThat(reservationDao.lockCourt(court.getUid())).isTrue();
+
+		// Only the row is locked, the court itself is left to the second-level cache
+		assertThat(entityManager.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+	}
+
+	@Test
+	void lockCourt_notExistingCourt_returnsFalse() {
+		assertThat(reservationDao.lockCourt(UUIDUtils.generate())).isFalse();
+	}
+
+	@Test
+	void lockCourt_deletedCourt_returnsFalse() {
+		entityManager.remove(court);
+		entityManager.flush();
+
+		assertThat(reservationDao.lockCourt(court.getUid())).isFalse();
+	}
+
+	@Test
+	void getReservationIntervalsEndingAfter_timeNull_throwsException() {
+		assertThatThrownBy(() -> reservationDao.getReservationIntervalsEndingAfter(null))
+			.isInstanceOf(ValueIsMissingException.class);
+	}
+
+	@Test
+	void getReservationIntervalsEndingAfter_pastAndFuture_returnsOnlyEndingAfter() {
+		OffsetDateTime startTime = Instant.parse("2025-01-01T14:00:00Z").atOffset(ZoneOffset.UTC);
+
+		List<Reservation> reservationsInPast = createReservations(user, startTime.minusDays(1));
+		List<Reservation> reservationsInFuture = createReservations(user, startTime.plusDays(1));
+
+		List<ReservationInterval> result = reservationDao.getReservationIntervalsEndingAfter(startTime);
+
+		assertThat(result).extracting(ReservationInterval::uid)
+			.containsExactlyInAnyOrderElementsOf(reservationsInFuture.stream().map(Reservation::getUid).toList())
+			.doesNotContainAnyElementsOf(reservationsInPast.stream().map(Reservation::getUid).toList());
+		assertThat(result).allSatisfy(interval -> assertThat(interval.courtUid()).isEqualTo(court.getUid()));
+	}
+
 	@Test
 	void getReservationAtCourt_pageable_returnsResultWithCount() {
 		// Prepare data
@@ -169,7 +260,7 @@ class ReservationDaoImplTest extends AbstractDaoTest<Reservation> {
 		List<Reservation> reservations = createReservations(anotherCourt);
 
 		PageableResult<Reservation> result = reservationDao.getReservationsAtCourt(anotherCourt.getUid(), 0, 20,
-				Sort.by("createdAt"));
+				Sort.by("createdAt"), CountStrategy.EXACT);
 		assertThat(result.totalCount()).isEqualTo(10);
 		assertThat(result.data()).containsAll(reservations);
 	}
@@ -186,12 +277,102 @@ class ReservationDaoImplTest extends AbstractDaoTest<Reservation> {
 		List<Reservation> reservations2 = createReservations(anotherCourt);
 
 		PageableResult<Reservation> result = reservationDao.getReservationsAtCourt(anotherCourt.getUid(), 0, 20,
-				Sort.by("createdAt"));
+				Sort.by("createdAt"), CountStrategy.EXACT);
 		assertThat(result.totalCount()).isEqualTo(10);
 		assertThat(result.data()).doesNotContainAnyElementsOf(reservations1);
 		assertThat(result.data()).containsAll(reservations2);
 	}
 
+	@Test
+	void getReservationAtCourt_cursorWithSameCreatedAt_walksAllPagesInOrder() {
+		Court anotherCourt = CourtTestData.entity(surface);
+		entityManager.persist(anotherCourt);
+		createReservations(court);
+
+		OffsetDateTime createdAt = Instant.parse("2025-01-01T10:00:00Z").atOffset(ZoneOffset.UTC);
+		List<Reservation> reservations = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			Reservation reservation = reservationTestData.entity(anotherCourt, user);
+			// Every second reservation shares creation time, uid breaks the tie
+			reservation.setCreatedAt(createdAt.plusMinutes(i / 2));
+			reservations.add(reservation);
+		}
+		reservationDao.saveAll(reservations);
+		reservations.sort(Comparator.comparing(Reservation::getCreatedAt)
+			.thenComparing(reservation -> reservation.getUid().toString()));
+
+		List<Reservation> result = walkAllPages(SeekCursor.first(Sort.by("createdAt")),
+				cursor -> reservationDao.getReservationsAtCourt(anotherCourt.getUid(), cursor, 3));
+
+		assertThat(result).containsExactlyElementsOf(reservations);
+	}
+
+	@Test
+	void getReservationAtCourt_cursorDescending_walksAllPagesInOrder() {
+		List<Reservation> reservations = createReservations(court);
+		reservations.sort(Comparator.comparing(Reservation::getCreatedAt)
+			.thenComparing(reservation -> reservation.getUid().toString())
+			.reversed());
+
+		List<Reservation> result = walkAllPages(SeekCursor.first(Sort.by("createdAt").descending()),
+				cursor -> reservationDao.getReservationsAtCourt(court.getUid(), cursor, 4));
+
+		assertThat(result).containsExactlyElementsOf(reservations);
+	}
+
+	@Test
+	void getReservationAtCourt_cursorByNullableSeriesUid_walksAllPagesByUid() {
+		Reservation first = reservationTestData.entity(court, user);
+		ReservationSeries series = ReservationSeries.builder()
+			.uid(UUIDUtils.generate())
+			.court(court)
+			.user(user)
+			.fromTime(first.getFromTime())
+			.toTime(first.getToTime())
+			.isQuadGame(false)
+			.intervalWeeks(1)
+			.occurrences(5)
+			.build();
+		entityManager.persist(series);
+
+		List<Reservation> reservations = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			Reservation reservation = reservationTestData.entity(court, user);
+			// Every second reservation is outside of the series
+			reservation.setSeriesUid(i % 2 == 0 ? series.getUid() : null);
+			reservations.add(reservation);
+		}
+		reservationDao.saveAll(reservations);
+		reservations.sort(Comparator.comparing(reservation -> reservation.getUid().toString()));
+
+		List<Reservation> result = walkAllPages(SeekCursor.first(Sort.by("seriesUid")),
+				cursor -> reservationDao.getReservationsAtCourt(court.getUid(), cursor, 3));
+
+		assertThat(result).containsExactlyElementsOf(reservations);
+	}
+
+	@Test
+	void getReservationAtCourt_positionedCursorByNullableColumn_throwsException() {
+		SeekCursor cursor = new SeekCursor("seriesUid", Sort.Direction.ASC, null, UUIDUtils.generate());
+
+		assertThatThrownBy(() -> reservationDao.getReservationsAtCourt(court.getUid(), cursor, 3))
+			.isInstanceOf(ValidationException.class);
+	}
+
+	private List<Reservation> walkAllPages(SeekCursor firstCursor,
+			Function<SeekCursor, CursorResult<Reservation>> pageLoader) {
+		List<Reservation> walked = new ArrayList<>();
+		SeekCursor cursor = firstCursor;
+
+		while (cursor != null) {
+			CursorResult<Reservation> page = pageLoader.apply(SeekCursor.decode(cursor.encode()));
+			walked.addAll(page.data());
+			cursor = page.nextCursor();
+		}
+
+		return walked;
+	}
+
 	private List<Reservation> createReservations(Court court) {
 		List<Reservation> reservations = new ArrayList<>();
 		for (int i = 0; i < 10; i++) {
@@ -211,7 +392,7 @@ class ReservationDaoImplTest extends AbstractDaoTest<Reservation> {
 
 		List<Reservation> reservations = createReservations(user, startTime.plusDays(1));
 		PageableResult<Reservation> result = reservationDao.getReservationsByPhoneNumber(user.getPhoneNumber(),
-				startTime, 0, 20, Sort.by("createdAt"));
+				startTime, 0, 20, Sort.by("createdAt"), CountStrategy.EXACT);
 
 		assertThat(result.data()).containsAll(reservations);
 		assertThat(result.totalCount()).isEqualTo(reservations.size());
@@ -226,7 +407,7 @@ class ReservationDaoImplTest extends AbstractDaoTest<Reservation> {
 		List<Reservation> reservationsInPast = createReservations(user, startTime.minusDays(1));
 		List<Reservation> reservationsInFuture = createReservations(user, startTime.plusDays(1));
 		PageableResult<Reservation> result = reservationDao.getReservationsByPhoneNumber(user.getPhoneNumber(),
-				startTime, 0, 20, Sort.by("createdAt"));
+				startTime, 0, 20, Sort.by("createdAt"), CountStrategy.EXACT);
 
 		assertThat(result.data()).containsAll(reservationsInFuture);
 		assertThat(result.data()).doesNotContainAnyElementsOf(reservationsInPast);
@@ -245,7 +426,7 @@ class ReservationDaoImplTest extends AbstractDaoTest<Reservation> {
 		List<Reservation> reservationsInFuture = createReservations(user1, startTime.plusDays(1));
 		List<Reservation> reservationsInFutureUser2 = createReservations(user2, startTime.plusDays(1));
 		PageableResult<Reservation> result = reservationDao.getReservationsByPhoneNumber(user1.getPhoneNumber(),
-				startTime, 0, 20, Sort.by("createdAt"));
+				startTime, 0, 20, Sort.by("createdAt"), CountStrategy.EXACT);
 
 		assertThat(result.data()).containsAll(reservationsInFuture);
 		assertThat(result.data()).doesNotContainAnyElementsOf(reservationsInPast);
@@ -253,6 +434,22 @@ class ReservationDaoImplTest extends AbstractDaoTest<Reservation> {
 		assertThat(result.totalCount()).isEqualTo(reservationsInFuture.size());
 	}
 
+	@Test
+	void getReservationsByPhoneNumber_cursor_walksOnlyFutureReservations() {
+		OffsetDateTime startTime = Instant.parse("2025-01-01T14:00:00Z").atOffset(ZoneOffset.UTC);
+		User user = UserTestData.entity(true);
+		entityManager.persist(user);
+
+		List<Reservation> reservationsInPast = createReservations(user, startTime.minusDays(1));
+		List<Reservation> reservationsInFuture = createReservations(user, startTime.plusDays(1));
+
+		List<Reservation> result = walkAllPages(SeekCursor.first(Sort.by("fromTime")),
+				cursor -> reservationDao.getReservationsByPhoneNumber(user.getPhoneNumber(), startTime, cursor, 4));
+
+		assertThat(result).containsExactlyInAnyOrderElementsOf(reservationsInFuture)
+			.doesNotContainAnyElementsOf(reservationsInPast);
+	}
+
 	private List<Reservation> createReservations(User user, OffsetDateTime referenceTime) {
 		List<Reservation> reservations = new ArrayList<>();
 		for (int i = 0; i < 10; i++) {
@@ -264,4 +461,42 @@ class ReservationDaoImplTest extends AbstractDaoTest<Reservation> {
 		return reservations;
 	}
 
-}
\ No newline at end of file
+	@Test
+	void streamViews_allFilters_matchingViewsOrderedByStart() {
+		OffsetDateTime startTime = Instant.parse("2025-01-01T14:00:00Z").atOffset(ZoneOffset.UTC);
+		User anotherUser = UserTestData.entity(true);
+		entityManager.persist(anotherUser);
+
+		// Saved from the latest, so the order is not given by insertion
+		List<Reservation> expected = new ArrayList<>();
+		List<Reservation> reservations = new ArrayList<>();
+		for (int i = 4; i >= 0; i--) {
+			Reservation reservation = reservationTestData.entity(court, user, startTime.plusDays(i));
+			reservations.add(reservation);
+			reservations.add(reservationTestData.entity(court, anotherUser, startTime.plusDays(i)));
+			if (i >= 1 && i <= 3) {
+				expected.addFirst(reservation);
+			}
+		}
+		reservationDao.saveAll(reservations);
+
+		List<ReservationView> views = new ArrayList<>();
+		reservationDao.streamViews(court.getUid(), user.getUid(), startTime.plusDays(1), startTime.plusDays(4),
+				views::add);
+
+		assertThat(views).extracting(ReservationView::uid)
+			.containsExactlyElementsOf(expected.stream().map(Reservation::getUid).toList());
+		assertThat(views).allSatisfy(view -> assertThat(view.courtName()).isEqualTo(court.getName()));
+	}
+
+	@Test
+	void streamViews_noFilter_allViews() {
+		createReservations(court);
+
+		List<ReservationView> views = new ArrayList<>();
+		reservationDao.streamViews(null, null, null, null, views::add);
+
+		assertThat(views).hasSize(10);
+	}
+
+}
@@ -0,0 +1,117 @@
+package com.github.ricaps.tennis_club.peristence.datasource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@ExtendWith(MockitoExtension.class)
+class AdmissionLimitedDataSourceTest {
+
+	@Mock
+	private DataSource targetDataSource;
+
+	private AdmissionLimitedDataSource dataSource;
+
+	@BeforeEach
+	void setup() throws SQLException {
+		Mockito.lenient()
+			.when(targetDataSource.getConnection())
+			.thenAnswer(invocation -> Mockito.mock(Connection.class));
+		dataSource = new AdmissionLimitedDataSource(targetDataSource, 2, Duration.ofMillis(50));
+	}
+
+	@Test
+	void getConnection_belowLimit_admitted() throws SQLException {
+		Connection first = dataSource.getConnection();
+		Connection second = dataSource.getConnection();
+
+		assertThat(first).isNotEqualTo(second);
+		assertThat(dataSource.getActive()).isEqualTo(2);
+	}
+
+	@Test
+	void getConnection_limitReached_rejectedAfterTimeout() throws SQLException {
+		dataSource.getConnection();
+		dataSource.getConnection();
+
+		assertThatThrownBy(dataSource::getConnection).isInstanceOf(AdmissionTimeoutException.class);
+		Mockito.verify(targetDataSource, Mockito.times(2)).getConnection();
+	}
+
+	@Test
+	void close_connection_closedAndPermitReleased() throws SQLException {
+		Connection targetConnection = Mockito.mock(Connection.class);
+		Mockito.when(targetDataSource.getConnection()).thenReturn(targetConnection);
+		Connection connection = dataSource.getConnection();
+
+		connection.close();
+
+		assertThat(dataSource.getActive()).isZero();
+		Mockito.verify(targetConnection).close();
+	}
+
+	@Test
+	void close_calledTwice_permitReleasedOnce() throws SQLException {
+		Connection connection = dataSource.getConnection();
+		dataSource.getConnection();
+
+		connection.close();
+		connection.close();
+
+		assertThat(dataSource.getActive()).isEqualTo(1);
+	}
+
+	@Test
+	void getConnection_targetFails_permitReleased() throws SQLException {
+		Mockito.when(targetDataSource.getConnection()).thenThrow(new SQLException("Pool exhausted"));
+
+		assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLException.class).hasMessage("Pool exhausted");
+		assertThat(dataSource.getActive()).isZero();
+	}
+
+	@Test
+	void getConnection_connectionClosedWhileWaiting_admitted() throws Exception {
+		dataSource = new AdmissionLimitedDataSource(targetDataSource, 1, Duration.ofSeconds(5));
+		Connection connection = dataSource.getConnection();
+
+		CompletableFuture<Connection> waiting = CompletableFuture.supplyAsync(() -> {
+			try {
+				return dataSource.getConnection();
+			}
+			catch (SQLException ex) {
+				throw new IllegalStateException(ex);
+			}
+		});
+		connection.close();
+
+		assertThat(waiting.get(5, TimeUnit.SECONDS)).isNotNull();
+		assertThat(dataSource.getActive()).isEqualTo(1);
+	}
+
+	@Test
+	void bindTo_meterRegistry_activeConnectionsPublished() throws SQLException {
+		MeterRegistry meterRegistry = new SimpleMeterRegistry();
+		dataSource.bindTo(meterRegistry);
+
+		dataSource.getConnection();
+
+		assertThat(meterRegistry.get("db.admission.active").gauge().value()).isEqualTo(1);
+		assertThat(meterRegistry.get("db.admission.waiting").gauge().value()).isZero();
+	}
+
+}
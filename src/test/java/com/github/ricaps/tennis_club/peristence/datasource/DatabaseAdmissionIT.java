@@ -0,0 +1,50 @@
+package com.github.ricaps.tennis_club.peristence.datasource;
+
+import com.github.ricaps.tennis_club.test_utils.SecuritySupport;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = { "spring.datasource.url=jdbc:h2:mem:database-admission;DB_CLOSE_DELAY=-1",
+		"application.database-max-concurrency=1", "application.database-admission-timeout=200ms" })
+class DatabaseAdmissionIT {
+
+	@Autowired
+	SecuritySupport securitySupport;
+
+	@Autowired
+	DataSource dataSource;
+
+	@Test
+	void dataSource_limitConfigured_wrapped() {
+		assertThat(dataSource).isInstanceOf(AdmissionLimitedDataSource.class);
+	}
+
+	@Test
+	void request_allConnectionsInUse_serviceUnavailable() throws Exception {
+		MockMvc mockMvc = securitySupport.defineUserAndGetMvc(true).mockMvc();
+		// Caches the principal, so only the listing itself needs the database
+		mockMvc.perform(get("/v1/court")).andExpect(status().isOk());
+
+		try (Connection ignored = dataSource.getConnection()) {
+			mockMvc.perform(get("/v1/court"))
+				.andExpect(status().isServiceUnavailable())
+				.andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+				.andExpect(jsonPath("$.message").value("Database is overloaded, try again later!"));
+		}
+
+		mockMvc.perform(get("/v1/court")).andExpect(status().isOk());
+	}
+
+}
@@ -0,0 +1,110 @@
+package com.github.ricaps.tennis_club.peristence.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@ExtendWith({ MockitoExtension.class, OutputCaptureExtension.class })
+class StatementTimingDataSourceTest {
+
+	private static final String SQL = "select * from app_user where phone_number = ? and uid = ?";
+
+	@Mock
+	private DataSource targetDataSource;
+
+	@Mock
+	private Connection targetConnection;
+
+	@Mock
+	private PreparedStatement targetStatement;
+
+	@AfterEach
+	void tearDown() {
+		StatementStatistics.stop();
+	}
+
+	private Connection connection(Duration slowThreshold) throws SQLException {
+		Mockito.when(targetDataSource.getConnection()).thenReturn(targetConnection);
+		return new StatementTimingDataSource(targetDataSource, slowThreshold).getConnection();
+	}
+
+	@Test
+	void execute_statisticsStarted_countedAndTimed() throws SQLException {
+		Mockito.when(targetConnection.prepareStatement(SQL)).thenReturn(targetStatement);
+		Statement plainStatement = Mockito.mock(Statement.class);
+		Mockito.when(targetConnection.createStatement()).thenReturn(plainStatement);
+		StatementStatistics statistics = StatementStatistics.start();
+
+		Connection connection = connection(Duration.ZERO);
+		connection.prepareStatement(SQL).executeQuery();
+		connection.prepareStatement(SQL).executeUpdate();
+		connection.createStatement().execute("delete from reservation");
+
+		assertThat(statistics.getCount()).isEqualTo(3);
+		assertThat(statistics.getDuration()).isPositive();
+		Mockito.verify(plainStatement).execute("delete from reservation");
+	}
+
+	@Test
+	void execute_statisticsStopped_notCounted() throws SQLException {
+		Mockito.when(targetConnection.prepareStatement(SQL)).thenReturn(targetStatement);
+		StatementStatistics statistics = StatementStatistics.start();
+		StatementStatistics.stop();
+
+		connection(Duration.ZERO).prepareStatement(SQL).executeQuery();
+
+		assertThat(statistics.getCount()).isZero();
+	}
+
+	@Test
+	void execute_failingStatement_countedAndRethrown() throws SQLException {
+		Mockito.when(targetConnection.prepareStatement(SQL)).thenReturn(targetStatement);
+		Mockito.when(targetStatement.executeQuery()).thenThrow(new SQLException("timeout"));
+		StatementStatistics statistics = StatementStatistics.start();
+
+		PreparedStatement statement = connection(Duration.ZERO).prepareStatement(SQL);
+
+		assertThatThrownBy(statement::executeQuery).isInstanceOf(SQLException.class).hasMessage("timeout");
+		assertThat(statistics.getCount()).isEqualTo(1);
+	}
+
+	@Test
+	void execute_slowStatement_loggedWithoutBindValues(CapturedOutput output) throws SQLException {
+		Mockito.when(targetConnection.prepareStatement(SQL)).thenReturn(targetStatement);
+
+		PreparedStatement statement = connection(Duration.ofNanos(1)).prepareStatement(SQL);
+		statement.setString(1, "+420777888999");
+		statement.setNull(2, Types.OTHER);
+		statement.executeQuery();
+
+		assertThat(output).contains("Slow SQL statement", "binds=[1:String, 2:null]", SQL)
+			.doesNotContain("+420777888999");
+		Mockito.verify(targetStatement).setString(1, "+420777888999");
+	}
+
+	@Test
+	void execute_thresholdZero_notLogged(CapturedOutput output) throws SQLException {
+		Mockito.when(targetConnection.prepareStatement(SQL)).thenReturn(targetStatement);
+
+		connection(Duration.ZERO).prepareStatement(SQL).executeQuery();
+
+		assertThat(output).doesNotContain("Slow SQL statement");
+	}
+
+}
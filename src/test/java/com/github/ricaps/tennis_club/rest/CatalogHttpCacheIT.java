@@ -0,0 +1,151 @@
+package com.github.ricaps.tennis_club.rest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.ricaps.tennis_club.peristence.dao.definition.CourtDao;
+import com.github.ricaps.tennis_club.peristence.dao.definition.SurfaceDao;
+import com.github.ricaps.tennis_club.peristence.entity.Court;
+import com.github.ricaps.tennis_club.peristence.entity.Surface;
+import com.github.ricaps.tennis_club.test_utils.CourtTestData;
+import com.github.ricaps.tennis_club.test_utils.SecuritySupport;
+import com.github.ricaps.tennis_club.test_utils.SurfaceTestData;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Not transactional, the catalog version is increased only after commit
+ */
+@SpringBootTest(properties = { "spring.datasource.url=jdbc:h2:mem:catalog-http-cache;DB_CLOSE_DELAY=-1",
+		"spring.jpa.properties.hibernate.generate_statistics=true" })
+class CatalogHttpCacheIT {
+
+	@Autowired
+	EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	SecuritySupport securitySupport;
+
+	@Autowired
+	SurfaceDao surfaceDao;
+
+	@Autowired
+	CourtDao courtDao;
+
+	@Autowired
+	ObjectMapper objectMapper;
+
+	private MockMvc mockMvc;
+
+	private Statistics statistics;
+
+	private Surface surface;
+
+	private Court court;
+
+	@BeforeEach
+	void setup() {
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		mockMvc = securitySupport.defineUserAndGetMvc(true).mockMvc();
+		surface = surfaceDao.save(SurfaceTestData.createSurface());
+		court = courtDao.save(CourtTestData.entity(surface));
+	}
+
+	private String getETag(String url, Object... uriVariables) throws Exception {
+		return mockMvc.perform(get(url, uriVariables))
+			.andExpect(status().isOk())
+			.andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("private")))
+			.andExpect(header().string(HttpHeaders.CACHE_CONTROL, not(containsString("public"))))
+			.andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("max-age=10")))
+			.andReturn()
+			.getResponse()
+			.getHeader(HttpHeaders.ETAG);
+	}
+
+	@Test
+	void get_matchingETag_notModifiedWithoutStatements() throws Exception {
+		String eTag = getETag("/v1/court/{uid}", court.getUid());
+		statistics.clear();
+
+		mockMvc.perform(get("/v1/court/{uid}", court.getUid()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+			.andExpect(status().isNotModified())
+			.andExpect(header().string(HttpHeaders.ETAG, eTag))
+			.andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("private")))
+			.andExpect(content().string(""));
+
+		assertThat(eTag).startsWith("\"");
+		assertThat(statistics.getPrepareStatementCount()).isZero();
+	}
+
+	@Test
+	void getAll_matchingETag_notModifiedWithoutStatements() throws Exception {
+		String courtsETag = getETag("/v1/court");
+		String surfacesETag = getETag("/v1/surface");
+		statistics.clear();
+
+		mockMvc.perform(get("/v1/court").header(HttpHeaders.IF_NONE_MATCH, courtsETag))
+			.andExpect(status().isNotModified());
+		mockMvc.perform(get("/v1/surface").header(HttpHeaders.IF_NONE_MATCH, surfacesETag))
+			.andExpect(status().isNotModified());
+
+		assertThat(statistics.getPrepareStatementCount()).isZero();
+	}
+
+	@Test
+	void get_courtUpdated_newETag() throws Exception {
+		String eTag = getETag("/v1/court/{uid}", court.getUid());
+
+		mockMvc
+			.perform(put("/v1/court/{uid}", court.getUid()).contentType(MediaType.APPLICATION_JSON_VALUE)
+				.content(objectMapper.writeValueAsBytes(CourtTestData.createCourt(surface.getUid()))))
+			.andExpect(status().isOk());
+
+		mockMvc.perform(get("/v1/court/{uid}", court.getUid()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+			.andExpect(status().isOk())
+			.andExpect(content().string(containsString("\"name\":\"Name\"")));
+		assertThat(getETag("/v1/court/{uid}", court.getUid())).isNotEqualTo(eTag);
+	}
+
+	@Test
+	void getAll_surfaceCreated_newETag() throws Exception {
+		String eTag = getETag("/v1/surface");
+
+		mockMvc
+			.perform(post("/v1/surface").contentType(MediaType.APPLICATION_JSON_VALUE)
+				.content(objectMapper.writeValueAsBytes(SurfaceTestData.createSurfaceCreate())))
+			.andExpect(status().isCreated());
+
+		mockMvc.perform(get("/v1/surface").header(HttpHeaders.IF_NONE_MATCH, eTag)).andExpect(status().isOk());
+	}
+
+	@Test
+	void getAvailability_notCatalog_noETag() throws Exception {
+		OffsetDateTime fromTime = OffsetDateTime.now(ZoneOffset.UTC).plusDays(1);
+
+		mockMvc
+			.perform(get("/v1/court/availability").param("fromTime", fromTime.toString())
+				.param("toTime", fromTime.plusHours(2).toString()))
+			.andExpect(status().isOk())
+			.andExpect(header().doesNotExist(HttpHeaders.ETAG));
+	}
+
+}
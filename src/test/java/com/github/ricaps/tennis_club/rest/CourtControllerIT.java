@@ -6,15 +6,18 @@ import com.github.ricaps.tennis_club.api.court.CourtViewDto;
 import com.github.ricaps.tennis_club.api.shared.ErrorDto;
 import com.github.ricaps.tennis_club.api.shared.FieldErrorDto;
 import com.github.ricaps.tennis_club.business.facade.definition.CourtFacade;
+import com.github.ricaps.tennis_club.business.index.CourtAvailabilityIndex;
 import com.github.ricaps.tennis_club.peristence.dao.definition.CourtDao;
 import com.github.ricaps.tennis_club.peristence.dao.definition.SurfaceDao;
 import com.github.ricaps.tennis_club.peristence.entity.Court;
 import com.github.ricaps.tennis_club.peristence.entity.Role;
 import com.github.ricaps.tennis_club.peristence.entity.Surface;
+import com.github.ricaps.tennis_club.peristence.projection.ReservationInterval;
 import com.github.ricaps.tennis_club.test_utils.CourtTestData;
 import com.github.ricaps.tennis_club.test_utils.SecuritySupport;
 import com.github.ricaps.tennis_club.test_utils.SurfaceTestData;
 import com.github.ricaps.tennis_club.utils.UUIDUtils;
+import org.hamcrest.Matchers;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -26,6 +29,7 @@ import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
@@ -57,6 +61,9 @@ class CourtControllerIT {
 	@Autowired
 	SecuritySupport securitySupport;
 
+	@Autowired
+	CourtAvailabilityIndex availabilityIndex;
+
 	@BeforeEach
 	void setup() {
 		mockMvc = securitySupport.createFakeAuthMvc(Set.of(Role.USER, Role.ADMIN));
@@ -177,6 +184,57 @@ class CourtControllerIT {
 			.andExpect(jsonPath("$.page.totalPages").value(1));
 	}
 
+	@Test
+	void getAll_countNone_totalOnlyRevealsNextPage() throws Exception {
+		Surface surface = saveSurface();
+		courtDao.saveAll(List.of(CourtTestData.entity(surface), CourtTestData.entity(surface),
+				CourtTestData.entity(surface), CourtTestData.entity(surface), CourtTestData.entity(surface)));
+
+		mockMvc.perform(get("/v1/court").queryParam("page", "0").queryParam("size", "2").queryParam("count", "NONE"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.content.length()").value(2))
+			.andExpect(jsonPath("$.page.totalElements").value(3))
+			.andExpect(jsonPath("$.page.totalPages").value(2));
+	}
+
+	@Test
+	void getAll_invalidCount_returns400() throws Exception {
+		mockMvc.perform(get("/v1/court").queryParam("page", "0").queryParam("size", "2").queryParam("count", "FOO"))
+			.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void getAvailability_reservedCourt_freeSlotsAroundReservation() throws Exception {
+		Surface surface = saveSurface();
+		Court reserved = courtDao.save(CourtTestData.entity(surface));
+		Court free = courtDao.save(CourtTestData.entity(surface));
+		courtDao.save(CourtTestData.entity(saveSurface()));
+		// Index is maintained after commit, which never happens in the test transaction
+		availabilityIndex.put(new ReservationInterval(UUID.randomUUID(), reserved.getUid(),
+				OffsetDateTime.parse("2030-01-01T10:00:00Z"), OffsetDateTime.parse("2030-01-01T11:00:00Z")));
+
+		mockMvc
+			.perform(get("/v1/court/availability").queryParam("fromTime", "2030-01-01T08:00:00Z")
+				.queryParam("toTime", "2030-01-01T14:00:00Z")
+				.queryParam("surface", surface.getUid().toString())
+				.queryParam("durationMinutes", "60"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.length()").value(2))
+			.andExpect(jsonPath("$[?(@.court.uid == '%s')].freeSlots.length()".formatted(free.getUid())).value(1))
+			.andExpect(jsonPath("$[?(@.court.uid == '%s')].freeSlots[*].fromTime".formatted(reserved.getUid()))
+				.value(Matchers.contains("2030-01-01T08:00:00Z", "2030-01-01T11:15:00Z")))
+			.andExpect(jsonPath("$[?(@.court.uid == '%s')].freeSlots[*].toTime".formatted(reserved.getUid()))
+				.value(Matchers.contains("2030-01-01T09:45:00Z", "2030-01-01T14:00:00Z")));
+	}
+
+	@Test
+	void getAvailability_tooLongRange_returns400() throws Exception {
+		mockMvc
+			.perform(get("/v1/court/availability").queryParam("fromTime", "2030-01-01T08:00:00Z")
+				.queryParam("toTime", "2030-01-08T08:00:00Z"))
+			.andExpect(status().isBadRequest());
+	}
+
 	@Test
 	void update_notExisting_returns404() throws Exception {
 		UUID uuid = UUIDUtils.generate();
@@ -0,0 +1,129 @@
+package com.github.ricaps.tennis_club.rest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.ricaps.tennis_club.api.reservation.ReservationCreateDto;
+import com.github.ricaps.tennis_club.peristence.dao.definition.CourtDao;
+import com.github.ricaps.tennis_club.peristence.dao.definition.SurfaceDao;
+import com.github.ricaps.tennis_club.peristence.entity.Court;
+import com.github.ricaps.tennis_club.peristence.entity.Role;
+import com.github.ricaps.tennis_club.peristence.entity.Surface;
+import com.github.ricaps.tennis_club.test_utils.CourtTestData;
+import com.github.ricaps.tennis_club.test_utils.SecuritySupport;
+import com.github.ricaps.tennis_club.test_utils.SurfaceTestData;
+import com.github.ricaps.tennis_club.test_utils.TimeConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:metrics;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@Import(TimeConfig.class)
+class MetricsIT {
+
+	@Autowired
+	MockMvc mockMvc;
+
+	@Autowired
+	SecuritySupport securitySupport;
+
+	@Autowired
+	SurfaceDao surfaceDao;
+
+	@Autowired
+	CourtDao courtDao;
+
+	@Autowired
+	ObjectMapper objectMapper;
+
+	@Autowired
+	Clock clock;
+
+	private Court court;
+
+	private MockMvc adminMockMvc;
+
+	@BeforeEach
+	void setup() {
+		Surface surface = surfaceDao.save(SurfaceTestData.createSurface());
+		court = courtDao.save(CourtTestData.entity(surface));
+		adminMockMvc = securitySupport.defineUserAndGetMvc(true, Set.of(Role.ADMIN)).mockMvc();
+	}
+
+	private String scrape() throws Exception {
+		return adminMockMvc.perform(get("/actuator/prometheus"))
+			.andExpect(status().isOk())
+			.andReturn()
+			.getResponse()
+			.getContentAsString();
+	}
+
+	@Test
+	void prometheus_afterRequests_hotPathTimersPublished() throws Exception {
+		MockMvc userMockMvc = securitySupport.defineUserAndGetMvc(true).mockMvc();
+		OffsetDateTime fromTime = clock.instant().atOffset(ZoneOffset.UTC).plusDays(1);
+		ReservationCreateDto createDto = new ReservationCreateDto(court.getUid(), fromTime, fromTime.plusHours(1),
+				false);
+		userMockMvc
+			.perform(post("/v1/reservation").contentType(MediaType.APPLICATION_JSON_VALUE)
+				.content(objectMapper.writeValueAsBytes(createDto)))
+			.andExpect(status().isCreated());
+
+		String credentials = Base64.getEncoder().encodeToString("123456789:pwd".getBytes(StandardCharsets.UTF_8));
+		mockMvc.perform(post("/v1/auth/login").header(HttpHeaders.AUTHORIZATION, "Basic " + credentials))
+			.andExpect(status().isUnauthorized());
+
+		String scrape = scrape();
+
+		assertThat(scrape).contains(
+				"dao_operation_seconds_bucket{entity=\"Court\",exception=\"none\",operation=\"save\",le=\"0.001\"}",
+				"dao_operation_seconds_count{entity=\"Reservation\",exception=\"none\",operation=\"save\"}",
+				"reservation_write_seconds_count{operation=\"create\"} 1", "security_jwt_authentication_seconds_count",
+				"security_login_seconds_count{outcome=\"failure\"} 1");
+	}
+
+	@Test
+	void prometheus_connectionPoolGaugesPublished() throws Exception {
+		String scrape = scrape();
+
+		assertThat(scrape).contains("hikaricp_connections_active", "hikaricp_connections_pending",
+				"jdbc_connections_max", "db_admission_waiting");
+	}
+
+	@Test
+	void prometheus_withoutToken_unauthorized() throws Exception {
+		mockMvc.perform(get("/actuator/prometheus")).andExpect(status().isUnauthorized());
+	}
+
+	@Test
+	void prometheus_userWithoutAdminRole_forbidden() throws Exception {
+		MockMvc userMockMvc = securitySupport.defineUserAndGetMvc(true, Set.of(Role.USER)).mockMvc();
+
+		userMockMvc.perform(get("/actuator/prometheus")).andExpect(status().isForbidden());
+	}
+
+	@Test
+	void health_withoutToken_returnsUp() throws Exception {
+		mockMvc.perform(get("/actuator/health")).andExpect(status().isOk());
+	}
+
+}
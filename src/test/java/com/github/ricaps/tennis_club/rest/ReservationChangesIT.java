@@ -0,0 +1,131 @@
+package com.github.ricaps.tennis_club.rest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.ricaps.tennis_club.api.reservation.ReservationCreateDto;
+import com.github.ricaps.tennis_club.api.reservation.ReservationViewDto;
+import com.github.ricaps.tennis_club.configuration.model.ApplicationConfiguration;
+import com.github.ricaps.tennis_club.peristence.dao.definition.CourtDao;
+import com.github.ricaps.tennis_club.peristence.dao.definition.SurfaceDao;
+import com.github.ricaps.tennis_club.peristence.entity.Court;
+import com.github.ricaps.tennis_club.peristence.entity.Surface;
+import com.github.ricaps.tennis_club.test_utils.CourtTestData;
+import com.github.ricaps.tennis_club.test_utils.SecuritySupport;
+import com.github.ricaps.tennis_club.test_utils.SurfaceTestData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.UnsupportedEncodingException;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Not transactional, changes are published only after commit
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:reservation-changes;DB_CLOSE_DELAY=-1")
+class ReservationChangesIT {
+
+	@Autowired
+	SecuritySupport securitySupport;
+
+	@Autowired
+	SurfaceDao surfaceDao;
+
+	@Autowired
+	CourtDao courtDao;
+
+	@Autowired
+	ObjectMapper objectMapper;
+
+	@Autowired
+	ApplicationConfiguration applicationConfiguration;
+
+	private MockMvc mockMvc;
+
+	private Surface surface;
+
+	private Court court;
+
+	@BeforeEach
+	void setup() {
+		mockMvc = securitySupport.defineUserAndGetMvc(true).mockMvc();
+		surface = surfaceDao.save(SurfaceTestData.createSurface());
+		court = courtDao.save(CourtTestData.entity(surface));
+	}
+
+	private MvcResult openChanges(UUID courtUid) throws Exception {
+		return mockMvc.perform(get("/v1/reservation/court/{courtUID}/changes", courtUid))
+			.andExpect(request().asyncStarted())
+			.andReturn();
+	}
+
+	private UUID createReservation(UUID courtUid, OffsetDateTime fromTime) throws Exception {
+		ReservationCreateDto createDto = new ReservationCreateDto(courtUid, fromTime, fromTime.plusHours(1), false);
+		String response = mockMvc
+			.perform(post("/v1/reservation").contentType(MediaType.APPLICATION_JSON_VALUE)
+				.content(objectMapper.writeValueAsBytes(createDto)))
+			.andExpect(status().isCreated())
+			.andReturn()
+			.getResponse()
+			.getContentAsString();
+
+		return objectMapper.readValue(response, ReservationViewDto.class).uid();
+	}
+
+	private String awaitContent(MvcResult changes, String expected)
+			throws UnsupportedEncodingException, InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		String content = changes.getResponse().getContentAsString();
+		while (!content.contains(expected) && System.nanoTime() < deadline) {
+			Thread.sleep(10);
+			content = changes.getResponse().getContentAsString();
+		}
+
+		return content;
+	}
+
+	@Test
+	void changes_reservationCreatedAndDeleted_pushedToCourtSubscriber() throws Exception {
+		Court anotherCourt = courtDao.save(CourtTestData.entity(surface));
+		MvcResult changes = openChanges(court.getUid());
+		OffsetDateTime fromTime = OffsetDateTime.now(ZoneOffset.UTC).plusDays(1);
+
+		UUID anotherCourtReservation = createReservation(anotherCourt.getUid(), fromTime);
+		UUID reservation = createReservation(court.getUid(), fromTime);
+		assertThat(awaitContent(changes, reservation.toString())).contains("event:created", "\"type\":\"CREATED\"");
+
+		mockMvc.perform(delete("/v1/reservation/{uid}", reservation)).andExpect(status().isNoContent());
+
+		String content = awaitContent(changes, "\"type\":\"DELETED\"");
+		assertThat(content).contains("event:deleted").doesNotContain(anotherCourtReservation.toString());
+		assertThat(changes.getResponse().getContentType()).startsWith(MediaType.TEXT_EVENT_STREAM_VALUE);
+	}
+
+	@Test
+	void changes_streamOpened_timesOutAfterConfiguredTimeout() throws Exception {
+		MvcResult changes = openChanges(court.getUid());
+
+		assertThat(changes.getRequest().getAsyncContext().getTimeout())
+			.isEqualTo(applicationConfiguration.getReservationChangeTimeout().toMillis());
+	}
+
+	@Test
+	void changes_notExistingCourt_notFound() throws Exception {
+		mockMvc.perform(get("/v1/reservation/court/{courtUID}/changes", UUID.randomUUID()))
+			.andExpect(status().isNotFound());
+	}
+
+}
@@ -1,7 +1,11 @@
 package com.github.ricaps.tennis_club.rest;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.ricaps.tennis_club.api.reservation.ReservationBatchCreateDto;
 import com.github.ricaps.tennis_club.api.reservation.ReservationCreateDto;
+import com.github.ricaps.tennis_club.api.reservation.ReservationSeriesCreateDto;
+import com.github.ricaps.tennis_club.api.reservation.ReservationSeriesViewDto;
 import com.github.ricaps.tennis_club.api.reservation.ReservationViewDto;
 import com.github.ricaps.tennis_club.api.shared.ErrorDto;
 import com.github.ricaps.tennis_club.api.shared.FieldErrorDto;
@@ -35,7 +39,9 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Clock;
+import java.time.LocalDate;
 import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Stream;
@@ -186,6 +192,207 @@ class ReservationControllerIT {
 		assertThat(reservationDao.count()).isEqualTo(0);
 	}
 
+	@Test
+	void createAll_disjointReservations_allCreated() throws Exception {
+		Court court = saveCourt();
+		Court anotherCourt = saveCourt();
+		ReservationCreateDto first = reservationTestData.createReservation(court.getUid());
+		ReservationCreateDto second = new ReservationCreateDto(court.getUid(), first.toTime().plusHours(1),
+				first.toTime().plusHours(2), true);
+		ReservationCreateDto atAnotherCourt = reservationTestData.createReservation(anotherCourt.getUid());
+		ReservationBatchCreateDto batchCreateDto = new ReservationBatchCreateDto(
+				List.of(first, second, atAnotherCourt));
+
+		String response = mockMvc
+			.perform(post("/v1/reservation/batch").contentType(MediaType.APPLICATION_JSON_VALUE)
+				.content(objectMapper.writeValueAsBytes(batchCreateDto)))
+			.andExpect(status().isCreated())
+			.andReturn()
+			.getResponse()
+			.getContentAsString();
+
+		List<ReservationViewDto> returnedViews = objectMapper.readValue(response, new TypeReference<>() {
+		});
+		assertThat(returnedViews).hasSize(3);
+		reservationTestData.compareViewAndCreate(returnedViews.get(0), first, court, testSecurityContext.user());
+		reservationTestData.compareViewAndCreate(returnedViews.get(1), second, court, testSecurityContext.user());
+		reservationTestData.compareViewAndCreate(returnedViews.get(2), atAnotherCourt, anotherCourt,
+				testSecurityContext.user());
+		assertThat(reservationDao.count()).isEqualTo(3);
+	}
+
+	@Test
+	void createAll_overlapWithExistingReservation_returns409NothingCreated() throws Exception {
+		Court court = saveCourt();
+		Reservation reservation = reservationTestData.entity(court, testSecurityContext.user());
+		entityManager.persist(reservation);
+
+		ReservationCreateDto free = new ReservationCreateDto(court.getUid(), reservation.getToTime().plusHours(1),
+				reservation.getToTime().plusHours(2), false);
+		ReservationCreateDto conflicting = new ReservationCreateDto(court.getUid(), reservation.getFromTime(),
+				reservation.getToTime().minusMinutes(30), false);
+
+		mockMvc
+			.perform(post("/v1/reservation/batch").contentType(MediaType.APPLICATION_JSON_VALUE)
+				.content(objectMapper.writeValueAsBytes(new ReservationBatchCreateDto(List.of(free, conflicting)))))
+			.andExpect(status().isConflict());
+
+		assertThat(reservationDao.count()).isEqualTo(1);
+	}
+
+	@Test
+	void createAll_overlapWithinBatch_returns409() throws Exception {
+		Court court = saveCourt();
+		ReservationCreateDto first = reservationTestData.createReservation(court.getUid());
+		ReservationCreateDto second = new ReservationCreateDto(court.getUid(), first.fromTime().plusMinutes(10),
+				first.toTime().plusMinutes(10), false);
+
+		String response = mockMvc
+			.perform(post("/v1/reservation/batch").contentType(MediaType.APPLICATION_JSON_VALUE)
+				.content(objectMapper.writeValueAsBytes(new ReservationBatchCreateDto(List.of(first, second)))))
+			.andExpect(status().isConflict())
+			.andReturn()
+			.getResponse()
+			.getContentAsString();
+
+		ErrorDto error = objectMapper.readValue(response, ErrorDto.class);
+		assertThat(error.message()).startsWith("Reservations of the batch overlap");
+		assertThat(reservationDao.count()).isEqualTo(0);
+	}
+
+	@Test
+	void createAll_nonExistingCourt_returns404() throws Exception {
+		Court court = saveCourt();
+		ReservationCreateDto existing = reservationTestData.createReservation(court.getUid());
+		ReservationCreateDto nonExisting = reservationTestData.createReservation(UUID.randomUUID());
+
+		mockMvc
+			.perform(post("/v1/reservation/batch").contentType(MediaType.APPLICATION_JSON_VALUE)
+				.content(objectMapper.writeValueAsBytes(new ReservationBatchCreateDto(List.of(existing, nonExisting)))))
+			.andExpect(status().isNotFound());
+
+		assertThat(reservationDao.count()).isEqualTo(0);
+	}
+
+	@Test
+	void createAll_emptyBatch_returns400() throws Exception {
+		mockMvc
+			.perform(post("/v1/reservation/batch").contentType(MediaType.APPLICATION_JSON_VALUE)
+				.content(objectMapper.writeValueAsBytes(new ReservationBatchCreateDto(List.of()))))
+			.andExpect(status().isBadRequest());
+	}
+
+	private ReservationSeriesCreateDto createSeries(Court court, Integer occurrences, LocalDate untilDate) {
+		ReservationCreateDto first = reservationTestData.createReservation(court.getUid());
+
+		return new ReservationSeriesCreateDto(court.getUid(), first.fromTime(), first.toTime(), false, 1, occurrences,
+				untilDate);
+	}
+
+	@Test
+	void createSeries_yearOfOccurrences_allCreated() throws Exception {
+		Court court = saveCourt();
+		ReservationSeriesCreateDto createDto = createSeries(court, 60, null);
+
+		String response = mockMvc
+			.perform(post("/v1/reservation/series").contentType(MediaType.APPLICATION_JSON_VALUE)
+				.content(objectMapper.writeValueAsBytes(createDto)))
+			.andExpect(status().isCreated())
+			.andReturn()
+			.getResponse()
+			.getContentAsString();
+
+		ReservationSeriesViewDto seriesView = objectMapper.readValue(response, ReservationSeriesViewDto.class);
+		assertThat(seriesView.occurrences()).isEqualTo(60);
+		assertThat(seriesView.conflicts()).isEmpty();
+		assertThat(seriesView.reservations()).hasSize(60);
+		assertThat(seriesView.reservations().getLast().fromTime())
+			.isEqualTo(createDto.fromTime().plusWeeks(59).withOffsetSameInstant(ZoneOffset.UTC));
+		assertThat(seriesView.reservations().getLast().user().phoneNumber())
+			.isEqualTo(testSecurityContext.user().getPhoneNumber());
+		assertThat(reservationDao.count()).isEqualTo(60);
+	}
+
+	@Test
+	void createSeries_untilDate_occurrencesCounted() throws Exception {
+		Court court = saveCourt();
+		ReservationSeriesCreateDto createDto = createSeries(court, null, null);
+		createDto = new ReservationSeriesCreateDto(createDto.courtUid(), createDto.fromTime(), createDto.toTime(),
+				false, 2, null, createDto.fromTime().toLocalDate().plusWeeks(9));
+
+		mockMvc
+			.perform(post("/v1/reservation/series").contentType(MediaType.APPLICATION_JSON_VALUE)
+				.content(objectMapper.writeValueAsBytes(createDto)))
+			.andExpect(status().isCreated())
+			.andExpect(jsonPath("$.occurrences").value(5))
+			.andExpect(jsonPath("$.reservations.length()").value(5));
+	}
+
+	@Test
+	void createSeries_occurrencesAndUntilDate_returns400() throws Exception {
+		Court court = saveCourt();
+		ReservationSeriesCreateDto createDto = createSeries(court, 5, LocalDate.now(clock).plusWeeks(5));
+
+		mockMvc
+			.perform(post("/v1/reservation/series").contentType(MediaType.APPLICATION_JSON_VALUE)
+				.content(objectMapper.writeValueAsBytes(createDto)))
+			.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void createSeries_conflict_returns409OrSkipsOccurrence() throws Exception {
+		Court court = saveCourt();
+		ReservationSeriesCreateDto createDto = createSeries(court, 10, null);
+		Reservation existing = reservationTestData.entity(court, testSecurityContext.user(),
+				createDto.fromTime().plusWeeks(4));
+		entityManager.persist(existing);
+
+		mockMvc
+			.perform(post("/v1/reservation/series/conflicts").contentType(MediaType.APPLICATION_JSON_VALUE)
+				.content(objectMapper.writeValueAsBytes(createDto)))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.length()").value(1))
+			.andExpect(jsonPath("$[0].reservationUid").value(existing.getUid().toString()));
+
+		mockMvc
+			.perform(post("/v1/reservation/series").contentType(MediaType.APPLICATION_JSON_VALUE)
+				.content(objectMapper.writeValueAsBytes(createDto)))
+			.andExpect(status().isConflict());
+		assertThat(reservationDao.count()).isEqualTo(1);
+
+		mockMvc
+			.perform(post("/v1/reservation/series").queryParam("skipConflicts", "true")
+				.contentType(MediaType.APPLICATION_JSON_VALUE)
+				.content(objectMapper.writeValueAsBytes(createDto)))
+			.andExpect(status().isCreated())
+			.andExpect(jsonPath("$.reservations.length()").value(9))
+			.andExpect(jsonPath("$.conflicts.length()").value(1))
+			.andExpect(jsonPath("$.conflicts[0].reservationUid").value(existing.getUid().toString()));
+		assertThat(reservationDao.count()).isEqualTo(10);
+	}
+
+	@Test
+	void deleteSeries_existing_allOccurrencesDeleted() throws Exception {
+		Court court = saveCourt();
+		Reservation single = reservationTestData.entity(court, testSecurityContext.user(),
+				OffsetDateTime.now(clock).minusWeeks(1));
+		entityManager.persist(single);
+
+		String response = mockMvc
+			.perform(post("/v1/reservation/series").contentType(MediaType.APPLICATION_JSON_VALUE)
+				.content(objectMapper.writeValueAsBytes(createSeries(court, 5, null))))
+			.andExpect(status().isCreated())
+			.andReturn()
+			.getResponse()
+			.getContentAsString();
+		UUID seriesUid = objectMapper.readValue(response, ReservationSeriesViewDto.class).uid();
+
+		mockMvc.perform(delete("/v1/reservation/series/{uid}", seriesUid)).andExpect(status().isNoContent());
+
+		assertThat(reservationDao.count()).isEqualTo(1);
+		mockMvc.perform(delete("/v1/reservation/series/{uid}", seriesUid)).andExpect(status().isNotFound());
+	}
+
 	@Test
 	void get_notExist_returns404() throws Exception {
 		UUID uuid = UUIDUtils.generate();
@@ -408,4 +615,68 @@ class ReservationControllerIT {
 			.andExpect(jsonPath("$.content[1].uid").value(entity2User1.getUid().toString()));
 	}
 
-}
\ No newline at end of file
+	@Test
+	void seekByCourt_twoPages_walkedWithCursor() throws Exception {
+		Court court = saveCourt();
+		Court court2 = saveCourt();
+
+		Reservation entity1 = reservationTestData.entity(court, testSecurityContext.user());
+		Reservation entity2 = reservationTestData.entity(court, testSecurityContext.user());
+		Reservation entity3 = reservationTestData.entity(court, testSecurityContext.user());
+		Reservation entityCourt2 = reservationTestData.entity(court2, testSecurityContext.user());
+		entity1.setCreatedAt(OffsetDateTime.now(clock).minusMinutes(3));
+		entity2.setCreatedAt(OffsetDateTime.now(clock).minusMinutes(2));
+		entity3.setCreatedAt(OffsetDateTime.now(clock).minusMinutes(1));
+		reservationDao.saveAll(List.of(entity1, entity2, entity3, entityCourt2));
+
+		String firstPage = mockMvc
+			.perform(get("/v1/reservation/court/{courtUID}/seek", court.getUid()).queryParam("size", "2")
+				.queryParam("sort", "createdAt,DESC"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.content.length()").value(2))
+			.andExpect(jsonPath("$.content[0].uid").value(entity3.getUid().toString()))
+			.andExpect(jsonPath("$.content[1].uid").value(entity2.getUid().toString()))
+			.andExpect(jsonPath("$.nextCursor").isNotEmpty())
+			.andReturn()
+			.getResponse()
+			.getContentAsString();
+
+		String nextCursor = objectMapper.readTree(firstPage).get("nextCursor").asText();
+
+		mockMvc
+			.perform(get("/v1/reservation/court/{courtUID}/seek", court.getUid()).queryParam("size", "2")
+				.queryParam("cursor", nextCursor))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.content.length()").value(1))
+			.andExpect(jsonPath("$.content[0].uid").value(entity1.getUid().toString()))
+			.andExpect(jsonPath("$.nextCursor").doesNotExist());
+	}
+
+	@Test
+	void seek_invalidCursor_returns400() throws Exception {
+		mockMvc.perform(get("/v1/reservation/seek").queryParam("cursor", "not-a-cursor"))
+			.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void seekByPhone_returnedData_onlyFutureReservations() throws Exception {
+		Court court = saveCourt();
+		User user = UserTestData.entity(true);
+		entityManager.persist(user);
+
+		Reservation entityInFuture = reservationTestData.entity(court, user);
+		Reservation entityInPast = reservationTestData.entity(court, user);
+		entityInPast.setFromTime(OffsetDateTime.now(clock).minusDays(1));
+		entityInPast.setToTime(OffsetDateTime.now(clock).minusHours(11));
+		reservationDao.saveAll(List.of(entityInFuture, entityInPast));
+
+		mockMvc
+			.perform(get("/v1/reservation/user/{phoneNumber}/seek", user.getPhoneNumber()).queryParam("size", "20")
+				.queryParam("fromTime", OffsetDateTime.now(clock).toString()))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.content.length()").value(1))
+			.andExpect(jsonPath("$.content[0].uid").value(entityInFuture.getUid().toString()))
+			.andExpect(jsonPath("$.nextCursor").doesNotExist());
+	}
+
+}
@@ -0,0 +1,192 @@
+package com.github.ricaps.tennis_club.rest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.ricaps.tennis_club.api.reservation.ReservationViewDto;
+import com.github.ricaps.tennis_club.configuration.model.ApplicationConfiguration;
+import com.github.ricaps.tennis_club.peristence.dao.definition.CourtDao;
+import com.github.ricaps.tennis_club.peristence.dao.definition.ReservationDao;
+import com.github.ricaps.tennis_club.peristence.dao.definition.SurfaceDao;
+import com.github.ricaps.tennis_club.peristence.entity.Court;
+import com.github.ricaps.tennis_club.peristence.entity.Reservation;
+import com.github.ricaps.tennis_club.peristence.entity.Role;
+import com.github.ricaps.tennis_club.peristence.entity.Surface;
+import com.github.ricaps.tennis_club.peristence.entity.User;
+import com.github.ricaps.tennis_club.test_utils.CourtTestData;
+import com.github.ricaps.tennis_club.test_utils.ReservationTestData;
+import com.github.ricaps.tennis_club.test_utils.SecuritySupport;
+import com.github.ricaps.tennis_club.test_utils.SurfaceTestData;
+import com.github.ricaps.tennis_club.test_utils.TimeConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.Clock;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Not transactional, rows are streamed on another thread which only sees committed data.
+ * The database is not shared with other tests, every test exports reservations of its own
+ * court.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:reservation-export;DB_CLOSE_DELAY=-1")
+@Import(TimeConfig.class)
+class ReservationExportIT {
+
+	private static final int RESERVATIONS = 5;
+
+	MockMvc mockMvc;
+
+	SecuritySupport.TestSecurityContext testSecurityContext;
+
+	@Autowired
+	ReservationDao reservationDao;
+
+	@Autowired
+	SurfaceDao surfaceDao;
+
+	@Autowired
+	CourtDao courtDao;
+
+	@Autowired
+	ObjectMapper objectMapper;
+
+	@Autowired
+	SecuritySupport securitySupport;
+
+	@Autowired
+	ReservationTestData reservationTestData;
+
+	@Autowired
+	Clock clock;
+
+	@Autowired
+	ApplicationConfiguration applicationConfiguration;
+
+	private Court court;
+
+	private OffsetDateTime startTime;
+
+	private List<Reservation> reservations;
+
+	@BeforeEach
+	void setup() {
+		testSecurityContext = securitySupport.defineUserAndGetMvc(true);
+		mockMvc = testSecurityContext.mockMvc();
+		startTime = clock.instant().atOffset(ZoneOffset.UTC);
+
+		Surface surface = surfaceDao.save(SurfaceTestData.createSurface());
+		court = courtDao.save(CourtTestData.entity(surface));
+		User user = testSecurityContext.user();
+
+		// Saved in reverse order, export is ordered by start
+		reservations = new ArrayList<>();
+		for (int i = RESERVATIONS - 1; i >= 0; i--) {
+			reservations.addFirst(reservationTestData.entity(court, user, startTime.plusDays(i)));
+		}
+		reservationDao.saveAll(reservations.reversed());
+	}
+
+	private String export(String... params) throws Exception {
+		var requestBuilder = get("/v1/reservation/export");
+		for (int i = 0; i < params.length; i += 2) {
+			requestBuilder.param(params[i], params[i + 1]);
+		}
+
+		MvcResult result = mockMvc.perform(requestBuilder).andExpect(request().asyncStarted()).andReturn();
+
+		return mockMvc.perform(asyncDispatch(result))
+			.andExpect(status().isOk())
+			.andReturn()
+			.getResponse()
+			.getContentAsString();
+	}
+
+	@Test
+	void export_ndjsonByCourt_allReservationsOrderedByStart() throws Exception {
+		String response = export("courtUid", court.getUid().toString());
+
+		List<ReservationViewDto> rows = new ArrayList<>();
+		for (String line : response.split("\n")) {
+			rows.add(objectMapper.readValue(line, ReservationViewDto.class));
+		}
+
+		assertThat(response).endsWith("\n");
+		assertThat(rows).extracting(ReservationViewDto::uid)
+			.containsExactlyElementsOf(reservations.stream().map(Reservation::getUid).toList());
+		reservationTestData.compareViewAndEntity(rows.getFirst(), reservations.getFirst());
+	}
+
+	@Test
+	void export_csvByUserAndTimeFrame_filteredRowsWithHeader() throws Exception {
+		String response = export("userUid", testSecurityContext.user().getUid().toString(), "fromTime",
+				startTime.plusDays(1).toString(), "toTime", startTime.plusDays(3).toString(), "format", "CSV");
+
+		String[] lines = response.split("\r\n");
+
+		assertThat(lines).hasSize(3);
+		assertThat(lines[0]).startsWith("uid,fromTime,toTime");
+		assertThat(lines[1]).startsWith(reservations.get(1).getUid() + ",");
+		assertThat(lines[2]).startsWith(reservations.get(2).getUid() + ",");
+		assertThat(lines[1]).contains(court.getName(), testSecurityContext.user().getPhoneNumber());
+	}
+
+	@Test
+	void export_csvNoMatch_onlyHeader() throws Exception {
+		String response = export("courtUid", court.getUid().toString(), "fromTime", startTime.plusYears(1).toString(),
+				"format", "CSV");
+
+		assertThat(response.split("\r\n")).hasSize(1);
+	}
+
+	@Test
+	void export_streamStarted_timesOutAfterConfiguredTimeout() throws Exception {
+		MvcResult result = mockMvc.perform(get("/v1/reservation/export"))
+			.andExpect(request().asyncStarted())
+			.andReturn();
+
+		assertThat(result.getRequest().getAsyncContext().getTimeout())
+			.isEqualTo(applicationConfiguration.getReservationExportTimeout().toMillis());
+		mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+	}
+
+	@Test
+	void export_format_contentTypeAndFileName() throws Exception {
+		mockMvc.perform(get("/v1/reservation/export").param("format", "CSV"))
+			.andExpect(request().asyncStarted())
+			.andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"reservations.csv\""))
+			.andExpect(content().contentType("text/csv"));
+	}
+
+	@Test
+	void export_fromAfterTo_returns400() throws Exception {
+		mockMvc
+			.perform(get("/v1/reservation/export").param("fromTime", startTime.plusDays(1).toString())
+				.param("toTime", startTime.toString()))
+			.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void export_notAdmin_returns403() throws Exception {
+		MockMvc userMockMvc = securitySupport.defineUserAndGetMvc(true, Set.of(Role.USER)).mockMvc();
+
+		userMockMvc.perform(get("/v1/reservation/export")).andExpect(status().isForbidden());
+	}
+
+}
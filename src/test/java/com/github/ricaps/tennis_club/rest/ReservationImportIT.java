@@ -0,0 +1,279 @@
+package com.github.ricaps.tennis_club.rest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.ricaps.tennis_club.api.reservation.ReservationImportErrorDto;
+import com.github.ricaps.tennis_club.api.reservation.ReservationImportReportDto;
+import com.github.ricaps.tennis_club.api.reservation.ReservationImportStageDto;
+import com.github.ricaps.tennis_club.business.service.ReservationImportServiceImpl;
+import com.github.ricaps.tennis_club.peristence.dao.definition.CourtDao;
+import com.github.ricaps.tennis_club.peristence.dao.definition.ReservationDao;
+import com.github.ricaps.tennis_club.peristence.dao.definition.SurfaceDao;
+import com.github.ricaps.tennis_club.peristence.dao.definition.UserDao;
+import com.github.ricaps.tennis_club.peristence.entity.Court;
+import com.github.ricaps.tennis_club.peristence.entity.Reservation;
+import com.github.ricaps.tennis_club.peristence.entity.Role;
+import com.github.ricaps.tennis_club.peristence.entity.Surface;
+import com.github.ricaps.tennis_club.peristence.entity.User;
+import com.github.ricaps.tennis_club.test_utils.CourtTestData;
+import com.github.ricaps.tennis_club.test_utils.ReservationTestData;
+import com.github.ricaps.tennis_club.test_utils.SecuritySupport;
+import com.github.ricaps.tennis_club.test_utils.SurfaceTestData;
+import com.github.ricaps.tennis_club.test_utils.TimeConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Not transactional, an import is committed by its own transaction. The database is not
+ * shared with other tests, every test imports into courts of its own.
+ */
+@SpringBootTest(properties = { "spring.datasource.url=jdbc:h2:mem:reservation-import;DB_CLOSE_DELAY=-1",
+		"application.reservation-import-max-size=" + ReservationImportIT.MAX_SIZE })
+@Import(TimeConfig.class)
+class ReservationImportIT {
+
+	private static final String HEADER = "courtName,surfaceName,phoneNumber,firstName,familyName,fromTime,toTime,isQuadGame\n";
+
+	static final String MAX_SIZE = "4MB";
+
+	private static final OffsetDateTime HISTORY = OffsetDateTime.of(2024, 6, 1, 10, 0, 0, 0, ZoneOffset.UTC);
+
+	MockMvc mockMvc;
+
+	SecuritySupport.TestSecurityContext testSecurityContext;
+
+	@MockitoSpyBean
+	ReservationDao reservationDao;
+
+	@Autowired
+	SurfaceDao surfaceDao;
+
+	@Autowired
+	CourtDao courtDao;
+
+	@Autowired
+	UserDao userDao;
+
+	@Autowired
+	ObjectMapper objectMapper;
+
+	@Autowired
+	SecuritySupport securitySupport;
+
+	@Autowired
+	ReservationTestData reservationTestData;
+
+	@Autowired
+	TransactionTemplate transactionTemplate;
+
+	private Surface surface;
+
+	private Court court;
+
+	private User user;
+
+	private Reservation existing;
+
+	@BeforeEach
+	void setup() {
+		testSecurityContext = securitySupport.defineUserAndGetMvc(true);
+		mockMvc = testSecurityContext.mockMvc();
+		user = testSecurityContext.user();
+
+		surface = SurfaceTestData.createSurface();
+		surface.setName("Import " + UUID.randomUUID());
+		surfaceDao.save(surface);
+
+		court = CourtTestData.entity(surface);
+		court.setName("Court " + UUID.randomUUID());
+		courtDao.save(court);
+
+		existing = reservationDao.save(reservationTestData.entity(court, user, HISTORY));
+	}
+
+	private ReservationImportReportDto importCsv(String csv, boolean dryRun, ResultMatcher expectedStatus)
+			throws Exception {
+		String response = mockMvc
+			.perform(post("/v1/reservation/import").param("dryRun", String.valueOf(dryRun))
+				.contentType("text/csv")
+				.content(csv))
+			.andExpect(expectedStatus)
+			.andReturn()
+			.getResponse()
+			.getContentAsString();
+
+		return objectMapper.readValue(response, ReservationImportReportDto.class);
+	}
+
+	private static String row(String courtName, String surfaceName, String phoneNumber, String firstName,
+			OffsetDateTime fromTime, OffsetDateTime toTime, boolean isQuadGame) {
+		String familyName = firstName == null ? "" : "Doe";
+
+		return String.join(",", courtName, Objects.toString(surfaceName, ""), phoneNumber,
+				Objects.toString(firstName, ""), familyName, fromTime.toString(), toTime.toString(),
+				String.valueOf(isQuadGame)) + "\n";
+	}
+
+	@Test
+	void importReservations_validRows_reservationsUsersAndCourtsCreated() throws Exception {
+		String newCourtName = "Court " + UUID.randomUUID();
+		String newPhoneNumber = "+420%09d".formatted(ThreadLocalRandom.current().nextInt(1_000_000_000));
+		String csv = HEADER
+				+ row(court.getName(), null, user.getPhoneNumber(), null, HISTORY.plusDays(1),
+						HISTORY.plusDays(1).plusHours(1), false)
+				+ row(court.getName(), null, newPhoneNumber, "Jane", HISTORY.plusDays(2),
+						HISTORY.plusDays(2).plusHours(1), true)
+				+ row(newCourtName, surface.getName(), newPhoneNumber, "Jane", HISTORY, HISTORY.plusMinutes(30), false);
+		long countBefore = reservationDao.count();
+
+		ReservationImportReportDto report = importCsv(csv, false, status().isCreated());
+
+		assertThat(report.rows()).isEqualTo(3);
+		assertThat(report.errorCount()).isZero();
+		assertThat(report.written()).isTrue();
+		assertThat(report.createdReservations()).isEqualTo(3);
+		assertThat(report.createdUsers()).isEqualTo(1);
+		assertThat(report.createdCourts()).isEqualTo(1);
+		assertThat(report.stages()).extracting(ReservationImportStageDto::name)
+			.containsExactly("read", "resolve", "validate", "write");
+		assertThat(reservationDao.count()).isEqualTo(countBefore + 3);
+
+		Optional<User> newUser = userDao.findByPhoneNumber(newPhoneNumber);
+		assertThat(newUser).isPresent();
+		assertThat(newUser.get().getFirstName()).isEqualTo("Jane");
+		// Roles are a lazy collection, inserted by the stateless session as well
+		Set<Role> roles = transactionTemplate
+			.execute(status -> Set.copyOf(userDao.findReferenceById(newUser.get().getUid()).getRoles()));
+		assertThat(roles).containsExactly(Role.USER);
+		assertThat(courtDao.findAllBySurface(surface.getUid())).extracting(Court::getName)
+			.containsExactlyInAnyOrder(court.getName(), newCourtName);
+	}
+
+	@Test
+	void importReservations_overlappingRows_nothingWritten() throws Exception {
+		String csv = HEADER
+				+ row(court.getName(), null, user.getPhoneNumber(), null, existing.getFromTime().plusMinutes(30),
+						existing.getToTime().plusMinutes(30), false)
+				+ row(court.getName(), null, user.getPhoneNumber(), null, HISTORY.plusDays(1),
+						HISTORY.plusDays(1).plusHours(1), false)
+				+ row(court.getName(), null, user.getPhoneNumber(), null, HISTORY.plusDays(1).plusMinutes(30),
+						HISTORY.plusDays(1).plusHours(2), false)
+				+ row(court.getName(), null, user.getPhoneNumber(), null, HISTORY.plusDays(3),
+						HISTORY.plusDays(3).plusHours(4), false);
+		long countBefore = reservationDao.count();
+
+		ReservationImportReportDto report = importCsv(csv, false, status().isBadRequest());
+
+		assertThat(report.written()).isFalse();
+		assertThat(report.errorCount()).isEqualTo(3);
+		assertThat(report.errors()).extracting(ReservationImportErrorDto::line).containsExactly(2L, 4L, 5L);
+		assertThat(report.errors().getFirst().message()).contains(existing.getUid().toString());
+		assertThat(report.errors().get(1).message()).contains("line 3");
+		assertThat(reservationDao.count()).isEqualTo(countBefore);
+	}
+
+	@Test
+	void importReservations_middleChunkFails_nothingWritten() throws Exception {
+		String newCourtName = "Court " + UUID.randomUUID();
+		String newPhoneNumber = "+420%09d".formatted(ThreadLocalRandom.current().nextInt(1_000_000_000));
+		StringBuilder csv = new StringBuilder(HEADER)
+			.append(row(newCourtName, surface.getName(), newPhoneNumber, "Jane", HISTORY, HISTORY.plusHours(1), false));
+		// Two full chunks and the new court's row, the second chunk fails
+		for (int i = 0; i < ReservationImportServiceImpl.WRITE_CHUNK_SIZE * 2; i++) {
+			OffsetDateTime fromTime = HISTORY.plusDays(1).plusHours(2L * i);
+			csv.append(row(court.getName(), null, user.getPhoneNumber(), null, fromTime, fromTime.plusHours(1), false));
+		}
+		long countBefore = reservationDao.count();
+		Mockito.doCallRealMethod()
+			.doThrow(new IllegalStateException("Chunk cannot be written"))
+			.when(reservationDao)
+			.insertAll(Mockito.any());
+
+		mockMvc.perform(post("/v1/reservation/import").contentType("text/csv").content(csv.toString()))
+			.andExpect(status().isInternalServerError());
+
+		Mockito.verify(reservationDao, Mockito.times(2)).insertAll(Mockito.any());
+		assertThat(reservationDao.count()).isEqualTo(countBefore);
+		assertThat(userDao.findByPhoneNumber(newPhoneNumber)).isEmpty();
+		assertThat(courtDao.findAllBySurface(surface.getUid())).extracting(Court::getName)
+			.containsExactly(court.getName());
+	}
+
+	@Test
+	void importReservations_unknownCourtAndUser_rowsRejected() throws Exception {
+		String csv = HEADER
+				+ row("Unknown " + UUID.randomUUID(), "Unknown surface", user.getPhoneNumber(), null, HISTORY,
+						HISTORY.plusHours(1), false)
+				+ row(court.getName(), null, "+420000000000", null, HISTORY.plusDays(1),
+						HISTORY.plusDays(1).plusHours(1), false);
+
+		ReservationImportReportDto report = importCsv(csv, false, status().isBadRequest());
+
+		assertThat(report.errors()).extracting(ReservationImportErrorDto::line).containsExactly(2L, 3L);
+		assertThat(report.errors().getFirst().message()).contains("doesn't exist");
+		assertThat(report.errors().getLast().message()).contains("+420000000000");
+	}
+
+	@Test
+	void importReservations_dryRun_validatedOnly() throws Exception {
+		String csv = HEADER + row(court.getName(), null, user.getPhoneNumber(), null, HISTORY.plusDays(1),
+				HISTORY.plusDays(1).plusHours(1), false);
+		long countBefore = reservationDao.count();
+
+		ReservationImportReportDto report = importCsv(csv, true, status().isOk());
+
+		assertThat(report.written()).isFalse();
+		assertThat(report.errorCount()).isZero();
+		assertThat(report.createdReservations()).isZero();
+		assertThat(report.stages()).extracting(ReservationImportStageDto::name)
+			.containsExactly("read", "resolve", "validate");
+		assertThat(reservationDao.count()).isEqualTo(countBefore);
+	}
+
+	@Test
+	void importReservations_missingColumn_returns400() throws Exception {
+		mockMvc
+			.perform(post("/v1/reservation/import").contentType("text/csv").content("courtName,phoneNumber,fromTime\n"))
+			.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void importReservations_overMaxSize_returns413() throws Exception {
+		String csv = HEADER + "x".repeat((int) DataSize.parse(MAX_SIZE).toBytes());
+		long countBefore = reservationDao.count();
+
+		mockMvc.perform(post("/v1/reservation/import").contentType("text/csv").content(csv))
+			.andExpect(status().isPayloadTooLarge());
+
+		assertThat(reservationDao.count()).isEqualTo(countBefore);
+	}
+
+	@Test
+	void importReservations_notAdmin_returns403() throws Exception {
+		MockMvc userMockMvc = securitySupport.defineUserAndGetMvc(true, Set.of(Role.USER)).mockMvc();
+
+		userMockMvc.perform(post("/v1/reservation/import").contentType("text/csv").content(HEADER))
+			.andExpect(status().isForbidden());
+	}
+
+}
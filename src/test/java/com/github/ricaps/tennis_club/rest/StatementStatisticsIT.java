@@ -0,0 +1,104 @@
+package com.github.ricaps.tennis_club.rest;
+
+import com.github.ricaps.tennis_club.peristence.dao.definition.CourtDao;
+import com.github.ricaps.tennis_club.peristence.dao.definition.SurfaceDao;
+import com.github.ricaps.tennis_club.peristence.entity.Court;
+import com.github.ricaps.tennis_club.peristence.entity.Surface;
+import com.github.ricaps.tennis_club.rest.filter.StatementStatisticsFilter;
+import com.github.ricaps.tennis_club.test_utils.CourtTestData;
+import com.github.ricaps.tennis_club.test_utils.SecuritySupport;
+import com.github.ricaps.tennis_club.test_utils.SurfaceTestData;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.UUID;
+
+import static com.github.ricaps.tennis_club.rest.filter.StatementStatisticsFilter.STATEMENT_COUNT_HEADER;
+import static com.github.ricaps.tennis_club.rest.filter.StatementStatisticsFilter.STATEMENT_TIME_HEADER;
+import static com.github.ricaps.tennis_club.security.filter.JwtFilter.BEARER_PREFIX;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Not transactional, statements of the test itself would be counted otherwise
+ */
+@SpringBootTest(properties = { "spring.datasource.url=jdbc:h2:mem:statement-statistics;DB_CLOSE_DELAY=-1",
+		"application.statement-debug-headers=true", "jwt.claims-only=true" })
+class StatementStatisticsIT {
+
+	@Autowired
+	SecuritySupport securitySupport;
+
+	@Autowired
+	SurfaceDao surfaceDao;
+
+	@Autowired
+	CourtDao courtDao;
+
+	@Autowired
+	MeterRegistry meterRegistry;
+
+	@Autowired
+	WebApplicationContext context;
+
+	@Autowired
+	StatementStatisticsFilter statementStatisticsFilter;
+
+	private MockMvc mockMvc;
+
+	private Court court;
+
+	@BeforeEach
+	void setup() {
+		String token = securitySupport.defineUserAndGetMvc(true).token();
+		mockMvc = MockMvcBuilders.webAppContextSetup(context)
+			.addFilters(statementStatisticsFilter)
+			.defaultRequest(get("/").header(HttpHeaders.AUTHORIZATION, BEARER_PREFIX + token))
+			.apply(SecurityMockMvcConfigurers.springSecurity())
+			.build();
+		Surface surface = surfaceDao.save(SurfaceTestData.createSurface());
+		court = courtDao.save(CourtTestData.entity(surface));
+		courtDao.evictFromCache();
+	}
+
+	@Test
+	void get_coldCatalogCache_statementsInHeadersAndMetrics() throws Exception {
+		MockHttpServletResponse response = mockMvc.perform(get("/v1/court/{uid}", court.getUid()))
+			.andExpect(status().isOk())
+			.andReturn()
+			.getResponse();
+
+		// Court with its eagerly fetched surface
+		assertThat(response.getHeader(STATEMENT_COUNT_HEADER)).isEqualTo("1");
+		assertThat(Double.parseDouble(response.getHeader(STATEMENT_TIME_HEADER))).isPositive();
+
+		DistributionSummary statements = meterRegistry.get("http.server.requests.db.statements")
+			.tag("method", "GET")
+			.tag("uri", "/v1/court/{uid}")
+			.summary();
+		assertThat(statements.count()).isPositive();
+		assertThat(meterRegistry.get("http.server.requests.db").tag("uri", "/v1/court/{uid}").timer().count())
+			.isPositive();
+	}
+
+	@Test
+	void get_notExistingCourt_headersOfResponseWithoutBody() throws Exception {
+		mockMvc.perform(get("/v1/court/{uid}", UUID.randomUUID()))
+			.andExpect(status().isNotFound())
+			.andExpect(header().string(STATEMENT_COUNT_HEADER, "1"))
+			.andExpect(header().exists(STATEMENT_TIME_HEADER));
+	}
+
+}
@@ -0,0 +1,69 @@
+package com.github.ricaps.tennis_club.rest.export;
+
+import com.github.ricaps.tennis_club.api.court.CourtViewDto;
+import com.github.ricaps.tennis_club.api.reservation.ReservationViewDto;
+import com.github.ricaps.tennis_club.api.shared.MoneyAmountDto;
+import com.github.ricaps.tennis_club.api.surface.SurfaceViewDto;
+import com.github.ricaps.tennis_club.api.user.UserBasicView;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.Currency;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReservationCsvExportWriterTest {
+
+	private static final OffsetDateTime FROM = OffsetDateTime.parse("2025-01-01T14:00:00+01:00");
+
+	@Test
+	void escape_plainValue_unchanged() {
+		assertThat(ReservationCsvExportWriter.escape("Court 1")).isEqualTo("Court 1");
+		assertThat(ReservationCsvExportWriter.escape(null)).isEmpty();
+	}
+
+	@Test
+	void escape_separatorQuoteOrLineBreak_quoted() {
+		assertThat(ReservationCsvExportWriter.escape("Doe, John")).isEqualTo("\"Doe, John\"");
+		assertThat(ReservationCsvExportWriter.escape("\"Center\" court")).isEqualTo("\"\"\"Center\"\" court\"");
+		assertThat(ReservationCsvExportWriter.escape("first\nsecond")).isEqualTo("\"first\nsecond\"");
+	}
+
+	@Test
+	void write_row_headerAndEscapedValues() throws Exception {
+		UUID uid = UUID.randomUUID();
+		ReservationViewDto row = new ReservationViewDto(uid,
+				new CourtViewDto(UUID.randomUUID(), "Court, east",
+						new SurfaceViewDto(UUID.randomUUID(), "Clay", new BigDecimal("1.50"),
+								Currency.getInstance("CZK"))),
+				new UserBasicView(UUID.randomUUID(), "John", "Doe", "+420111111111"), FROM, FROM.plusHours(1),
+				FROM.minusDays(1), false, new MoneyAmountDto(new BigDecimal("90.00"), Currency.getInstance("CZK")));
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+		try (ReservationCsvExportWriter writer = new ReservationCsvExportWriter(outputStream)) {
+			writer.write(row);
+		}
+
+		String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\r\n");
+		assertThat(lines).hasSize(2);
+		assertThat(lines[0]).isEqualTo("uid,fromTime,toTime,createdAt,isQuadGame,courtUid,courtName,surfaceName,"
+				+ "userUid,firstName,familyName,phoneNumber,totalAmount,currency");
+		assertThat(lines[1]).startsWith(uid + ",2025-01-01T14:00+01:00,2025-01-01T15:00+01:00,")
+			.contains(",\"Court, east\",Clay,")
+			.endsWith(",John,Doe,+420111111111,90.00,CZK");
+	}
+
+	@Test
+	void close_noRows_onlyHeader() throws Exception {
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+		new ReservationCsvExportWriter(outputStream).close();
+
+		assertThat(outputStream.toString(StandardCharsets.UTF_8)).startsWith("uid,").endsWith("currency\r\n");
+	}
+
+}
@@ -0,0 +1,28 @@
+package com.github.ricaps.tennis_club.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BCryptStrengthCalibratorTest {
+
+	@Test
+	void calibrate_noTarget_minimalStrength() {
+		assertThat(BCryptStrengthCalibrator.calibrate(10, Duration.ZERO)).isEqualTo(10);
+	}
+
+	@Test
+	void calibrate_targetBelowMinimalStrength_minimalStrength() {
+		assertThat(BCryptStrengthCalibrator.calibrate(4, Duration.ofNanos(1))).isEqualTo(4);
+	}
+
+	@Test
+	void calibrate_targetAboveMinimalStrength_strengthRaised() {
+		int strength = BCryptStrengthCalibrator.calibrate(4, Duration.ofHours(1));
+
+		assertThat(strength).isGreaterThan(4).isLessThanOrEqualTo(BCryptStrengthCalibrator.MAX_STRENGTH);
+	}
+
+}
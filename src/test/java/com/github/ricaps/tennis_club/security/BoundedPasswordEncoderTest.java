@@ -0,0 +1,135 @@
+package com.github.ricaps.tennis_club.security;
+
+import com.github.ricaps.tennis_club.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BoundedPasswordEncoderTest {
+
+	private final CountDownLatch started = new CountDownLatch(1);
+
+	private final CountDownLatch release = new CountDownLatch(1);
+
+	private MeterRegistry meterRegistry;
+
+	private BoundedPasswordEncoder passwordEncoder;
+
+	@BeforeEach
+	void setup() {
+		meterRegistry = new SimpleMeterRegistry();
+	}
+
+	private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (!condition.getAsBoolean()) {
+			assertThat(System.nanoTime()).withFailMessage("Condition not met in time").isLessThan(deadline);
+			Thread.sleep(10);
+		}
+	}
+
+	@AfterEach
+	void tearDown() {
+		release.countDown();
+		passwordEncoder.destroy();
+	}
+
+	@Test
+	void encode_bcrypt_matchesAndTimed() {
+		passwordEncoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), 2, 4, meterRegistry);
+
+		String encoded = passwordEncoder.encode("password");
+
+		assertThat(passwordEncoder.matches("password", encoded)).isTrue();
+		assertThat(passwordEncoder.matches("another", encoded)).isFalse();
+		assertThat(meterRegistry.get("security.password.hash").tag("operation", "encode").timer().count()).isEqualTo(1);
+		assertThat(meterRegistry.get("security.password.hash").tag("operation", "matches").timer().count())
+			.isEqualTo(2);
+	}
+
+	@Test
+	void encode_runsOnHashingThread() {
+		passwordEncoder = new BoundedPasswordEncoder(new ThreadNameEncoder(), 1, 1, meterRegistry);
+
+		assertThat(passwordEncoder.encode("password")).startsWith("password-hashing-");
+	}
+
+	@Test
+	void encode_queueFull_rejected() throws InterruptedException {
+		passwordEncoder = new BoundedPasswordEncoder(new BlockingEncoder(), 1, 1, meterRegistry);
+
+		CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> passwordEncoder.encode("first"));
+		assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+		CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> passwordEncoder.encode("second"));
+		waitUntil(() -> meterRegistry.get("security.password.hashing.queue").gauge().value() == 1);
+
+		assertThatThrownBy(() -> passwordEncoder.matches("third", "encoded"))
+			.isInstanceOfSatisfying(TooManyRequestsException.class, ex -> {
+				assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+				assertThat(ex.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+			});
+		assertThat(meterRegistry.get("security.password.hashing.rejected").counter().count()).isEqualTo(1);
+
+		release.countDown();
+		assertThat(running.join()).isEqualTo("first");
+		assertThat(queued.join()).isEqualTo("second");
+	}
+
+	@Test
+	void encode_delegateFails_exceptionPropagated() {
+		passwordEncoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), 1, 1, meterRegistry);
+
+		assertThatThrownBy(() -> passwordEncoder.encode(null)).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	private static class ThreadNameEncoder implements PasswordEncoder {
+
+		@Override
+		public String encode(CharSequence rawPassword) {
+			return Thread.currentThread().getName();
+		}
+
+		@Override
+		public boolean matches(CharSequence rawPassword, String encodedPassword) {
+			return false;
+		}
+
+	}
+
+	private class BlockingEncoder implements PasswordEncoder {
+
+		@Override
+		public String encode(CharSequence rawPassword) {
+			started.countDown();
+			try {
+				release.await();
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+
+			return rawPassword.toString();
+		}
+
+		@Override
+		public boolean matches(CharSequence rawPassword, String encodedPassword) {
+			return false;
+		}
+
+	}
+
+}
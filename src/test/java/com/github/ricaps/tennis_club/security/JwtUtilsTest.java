@@ -0,0 +1,110 @@
+package com.github.ricaps.tennis_club.security;
+
+import com.github.ricaps.tennis_club.configuration.model.JwtConfiguration;
+import com.github.ricaps.tennis_club.peristence.entity.User;
+import com.github.ricaps.tennis_club.test_utils.UserTestData;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtUtilsTest {
+
+	private static final String SECRET = "mySuperLongSecretKeyValueThatHasAtLeastThirtyTwoCharacters";
+
+	private MeterRegistry meterRegistry;
+
+	private User user;
+
+	private static JwtConfiguration configuration(long expiration, long verifiedTokenCacheSize) {
+		JwtConfiguration jwtConfiguration = new JwtConfiguration();
+		jwtConfiguration.setSecret(SECRET);
+		jwtConfiguration.setExpiration(expiration);
+		jwtConfiguration.setVerifiedTokenCacheSize(verifiedTokenCacheSize);
+
+		return jwtConfiguration;
+	}
+
+	private double cacheHits() {
+		return meterRegistry.get("cache.gets")
+			.tag("cache", "verified-token")
+			.tag("result", "hit")
+			.functionCounter()
+			.count();
+	}
+
+	@BeforeEach
+	void setup() {
+		meterRegistry = new SimpleMeterRegistry();
+		user = UserTestData.entity();
+	}
+
+	@Test
+	void extractClaims_generatedToken_subjectExtracted() {
+		JwtUtils jwtUtils = new JwtUtils(configuration(900_000, 100), meterRegistry);
+
+		Optional<Claims> claims = jwtUtils.extractClaims(jwtUtils.generateAccessToken(user));
+
+		assertThat(claims).isPresent();
+		assertThat(claims.get().getSubject()).isEqualTo(user.getUid().toString());
+	}
+
+	@Test
+	void extractClaims_repeatedToken_verifiedOnce() {
+		JwtUtils jwtUtils = new JwtUtils(configuration(900_000, 100), meterRegistry);
+		String token = jwtUtils.generateAccessToken(user);
+
+		Claims first = jwtUtils.extractClaims(token).orElseThrow();
+		Claims second = jwtUtils.extractClaims(token).orElseThrow();
+
+		assertThat(second).isSameAs(first);
+		assertThat(cacheHits()).isEqualTo(1);
+	}
+
+	@Test
+	void extractClaims_tamperedSignatureOfCachedToken_empty() {
+		JwtUtils jwtUtils = new JwtUtils(configuration(900_000, 100), meterRegistry);
+		String token = jwtUtils.generateAccessToken(user);
+		jwtUtils.extractClaims(token);
+
+		char last = token.charAt(token.length() - 1);
+		String tampered = token.substring(0, token.length() - 1) + (last == 'A' ? 'B' : 'A');
+
+		assertThat(jwtUtils.extractClaims(tampered)).isEmpty();
+	}
+
+	@Test
+	void extractClaims_tokenSignedByAnotherKey_empty() {
+		JwtUtils jwtUtils = new JwtUtils(configuration(900_000, 100), meterRegistry);
+		JwtConfiguration anotherConfiguration = configuration(900_000, 100);
+		anotherConfiguration.setSecret(SECRET.toUpperCase());
+		String foreignToken = new JwtUtils(anotherConfiguration, new SimpleMeterRegistry()).generateAccessToken(user);
+
+		assertThat(jwtUtils.extractClaims(foreignToken)).isEmpty();
+	}
+
+	@Test
+	void extractClaims_expiredToken_empty() {
+		JwtUtils jwtUtils = new JwtUtils(configuration(-1000, 100), meterRegistry);
+
+		assertThat(jwtUtils.extractClaims(jwtUtils.generateAccessToken(user))).isEmpty();
+	}
+
+	@Test
+	void extractClaims_cacheDisabled_verifiedEveryTime() {
+		JwtUtils jwtUtils = new JwtUtils(configuration(900_000, 0), meterRegistry);
+		String token = jwtUtils.generateAccessToken(user);
+
+		Claims first = jwtUtils.extractClaims(token).orElseThrow();
+		Claims second = jwtUtils.extractClaims(token).orElseThrow();
+
+		assertThat(second).isNotSameAs(first).isEqualTo(first);
+		assertThat(cacheHits()).isZero();
+	}
+
+}
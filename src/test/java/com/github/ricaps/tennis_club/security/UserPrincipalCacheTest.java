@@ -0,0 +1,92 @@
+package com.github.ricaps.tennis_club.security;
+
+import com.github.ricaps.tennis_club.configuration.model.JwtConfiguration;
+import com.github.ricaps.tennis_club.peristence.entity.User;
+import com.github.ricaps.tennis_club.test_utils.UserTestData;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserPrincipalCacheTest {
+
+	private final AtomicInteger loads = new AtomicInteger();
+
+	private MeterRegistry meterRegistry;
+
+	private User user;
+
+	private Function<UUID, Optional<User>> loader;
+
+	private static JwtConfiguration configuration(Duration ttl) {
+		JwtConfiguration jwtConfiguration = new JwtConfiguration();
+		jwtConfiguration.setPrincipalCacheTtl(ttl);
+		jwtConfiguration.setPrincipalCacheSize(100);
+
+		return jwtConfiguration;
+	}
+
+	@BeforeEach
+	void setup() {
+		meterRegistry = new SimpleMeterRegistry();
+		user = UserTestData.entity();
+		loader = uid -> {
+			loads.incrementAndGet();
+			return uid.equals(user.getUid()) ? Optional.of(user) : Optional.empty();
+		};
+	}
+
+	@Test
+	void get_repeatedLookup_loadedOnce() {
+		UserPrincipalCache cache = new UserPrincipalCache(configuration(Duration.ofMinutes(1)), meterRegistry);
+
+		assertThat(cache.get(user.getUid(), loader)).contains(user);
+		assertThat(cache.get(user.getUid(), loader)).contains(user);
+		assertThat(cache.get(user.getUid(), loader)).contains(user);
+
+		assertThat(loads).hasValue(1);
+		assertThat(meterRegistry.get("security.principal.cache.hit.ratio").gauge().value()).isEqualTo(2.0 / 3);
+		assertThat(meterRegistry.get("security.principal.load").timer().count()).isEqualTo(1);
+	}
+
+	@Test
+	void get_missingUser_notCached() {
+		UserPrincipalCache cache = new UserPrincipalCache(configuration(Duration.ofMinutes(1)), meterRegistry);
+		UUID missingUid = UUID.randomUUID();
+
+		assertThat(cache.get(missingUid, loader)).isEmpty();
+		assertThat(cache.get(missingUid, loader)).isEmpty();
+
+		assertThat(loads).hasValue(2);
+	}
+
+	@Test
+	void invalidate_cachedUser_loadedAgain() {
+		UserPrincipalCache cache = new UserPrincipalCache(configuration(Duration.ofMinutes(1)), meterRegistry);
+		cache.get(user.getUid(), loader);
+
+		cache.invalidate(user.getUid());
+
+		assertThat(cache.get(user.getUid(), loader)).contains(user);
+		assertThat(loads).hasValue(2);
+	}
+
+	@Test
+	void get_zeroTtl_alwaysLoaded() {
+		UserPrincipalCache cache = new UserPrincipalCache(configuration(Duration.ZERO), meterRegistry);
+
+		cache.get(user.getUid(), loader);
+		cache.get(user.getUid(), loader);
+
+		assertThat(loads).hasValue(2);
+	}
+
+}
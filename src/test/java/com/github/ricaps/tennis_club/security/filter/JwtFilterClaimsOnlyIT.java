@@ -0,0 +1,45 @@
+package com.github.ricaps.tennis_club.security.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.ricaps.tennis_club.business.service.definition.UserService;
+import com.github.ricaps.tennis_club.test_utils.SecuritySupport;
+import com.github.ricaps.tennis_club.test_utils.SurfaceTestData;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(
+		properties = { "spring.datasource.url=jdbc:h2:mem:jwt-claims-only;DB_CLOSE_DELAY=-1", "jwt.claims-only=true" })
+@Transactional
+class JwtFilterClaimsOnlyIT {
+
+	@Autowired
+	SecuritySupport securitySupport;
+
+	@Autowired
+	ObjectMapper objectMapper;
+
+	@MockitoSpyBean
+	UserService userService;
+
+	@Test
+	void authenticatedRequest_claimsOnly_userNotLoaded() throws Exception {
+		// User is not saved, the principal is built purely from the signed claims
+		SecuritySupport.TestSecurityContext testSecurityContext = securitySupport.defineUserAndGetMvc(false);
+
+		testSecurityContext.mockMvc()
+			.perform(post("/v1/surface").contentType(MediaType.APPLICATION_JSON_VALUE)
+				.content(objectMapper.writeValueAsBytes(SurfaceTestData.createSurfaceCreate())))
+			.andExpect(status().isCreated());
+
+		Mockito.verify(userService, Mockito.never()).get(Mockito.any());
+	}
+
+}
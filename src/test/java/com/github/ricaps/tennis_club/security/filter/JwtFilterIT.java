@@ -112,6 +112,19 @@ class JwtFilterIT {
 		assertThat(contextSpy.getAuthentication()).isInstanceOf(JwtAuthenticationToken.class);
 	}
 
+	@Test
+	void repeatedRequests_sameUser_userLoadedOnce() throws Exception {
+		for (int i = 0; i < 3; i++) {
+			testSecurityContext.mockMvc()
+				.perform(post("/v1/surface").contentType(MediaType.APPLICATION_JSON_VALUE)
+					.content(objectMapper.writeValueAsBytes(SurfaceTestData.createSurfaceCreate())))
+				.andExpect(status().isCreated());
+		}
+
+		Claims claims = jwtUtils.extractClaims(testSecurityContext.token()).orElseThrow();
+		Mockito.verify(userService, Mockito.times(1)).get(UUID.fromString(claims.getSubject()));
+	}
+
 	private JwtAuthenticationToken getJwtAuthenticationToken(Claims claims,
 			SecuritySupport.TestSecurityContext testSecurityContext) {
 		User user = userDao.findById(UUID.fromString(claims.getSubject())).orElseThrow();
@@ -0,0 +1,38 @@
+package com.github.ricaps.tennis_club.utils;
+
+import com.github.ricaps.tennis_club.exception.PayloadTooLargeException;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SizeLimitedInputStreamTest {
+
+	@Test
+	void readAllBytes_atLimit_wholeContentRead() throws IOException {
+		InputStream stream = new SizeLimitedInputStream(new ByteArrayInputStream(new byte[10]), 10);
+
+		assertThat(stream.readAllBytes()).hasSize(10);
+	}
+
+	@Test
+	void readAllBytes_overLimit_throwsPayloadTooLarge() {
+		InputStream stream = new SizeLimitedInputStream(new ByteArrayInputStream(new byte[11]), 10);
+
+		assertThatThrownBy(stream::readAllBytes).isInstanceOf(PayloadTooLargeException.class);
+	}
+
+	@Test
+	void read_singleBytesOverLimit_throwsPayloadTooLarge() throws IOException {
+		InputStream stream = new SizeLimitedInputStream(new ByteArrayInputStream(new byte[3]), 2);
+
+		assertThat(stream.read()).isZero();
+		assertThat(stream.read()).isZero();
+		assertThatThrownBy(stream::read).isInstanceOf(PayloadTooLargeException.class);
+	}
+
+}
@@ -0,0 +1,106 @@
+package com.github.ricaps.tennis_club.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimeOrderedUuidGeneratorTest {
+
+	private static final long NOW = 1735689600000L;
+
+	private static long timestamp(UUID uuid) {
+		return uuid.getMostSignificantBits() >>> 16;
+	}
+
+	@Test
+	void generate_versionAndVariantSet() {
+		UUID uuid = new TimeOrderedUuidGenerator(() -> NOW).generate();
+
+		assertThat(uuid.version()).isEqualTo(7);
+		assertThat(uuid.variant()).isEqualTo(2);
+		assertThat(timestamp(uuid)).isEqualTo(NOW);
+	}
+
+	@Test
+	void generate_sameMillisecond_strictlyIncreasing() {
+		TimeOrderedUuidGenerator generator = new TimeOrderedUuidGenerator(() -> NOW);
+
+		UUID previous = generator.generate();
+		for (int i = 0; i < 1000; i++) {
+			UUID next = generator.generate();
+
+			assertThat(next).isGreaterThan(previous);
+			assertThat(next.toString()).isGreaterThan(previous.toString());
+			assertThat(timestamp(next)).isEqualTo(NOW);
+			previous = next;
+		}
+	}
+
+	@Test
+	void generate_counterOverflow_timestampAdvanced() {
+		TimeOrderedUuidGenerator generator = new TimeOrderedUuidGenerator(() -> NOW);
+
+		UUID last = null;
+		for (int i = 0; i <= 4096; i++) {
+			last = generator.generate();
+		}
+
+		assertThat(timestamp(last)).isEqualTo(NOW + 1);
+		assertThat(last.version()).isEqualTo(7);
+	}
+
+	@Test
+	void generate_clockMovedBackwards_stillIncreasing() {
+		AtomicLong clock = new AtomicLong(NOW);
+		TimeOrderedUuidGenerator generator = new TimeOrderedUuidGenerator(clock::get);
+
+		UUID beforeAdjustment = generator.generate();
+		clock.set(NOW - 1000);
+		UUID afterAdjustment = generator.generate();
+
+		assertThat(afterAdjustment).isGreaterThan(beforeAdjustment);
+	}
+
+	@Test
+	void generate_manyThreads_uniqueAndIncreasingPerThread() throws Exception {
+		TimeOrderedUuidGenerator generator = new TimeOrderedUuidGenerator(System::currentTimeMillis);
+		Set<UUID> generated = ConcurrentHashMap.newKeySet();
+		List<Future<Boolean>> results = new ArrayList<>();
+
+		try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+			for (int thread = 0; thread < 8; thread++) {
+				results.add(executor.submit(() -> {
+					UUID previous = generator.generate();
+					generated.add(previous);
+					boolean increasing = true;
+
+					for (int i = 0; i < 10_000; i++) {
+						UUID next = generator.generate();
+						increasing &= next.compareTo(previous) > 0;
+						generated.add(next);
+						previous = next;
+					}
+
+					return increasing;
+				}));
+			}
+
+			for (Future<Boolean> result : results) {
+				assertThat(result.get()).isTrue();
+			}
+		}
+
+		assertThat(generated).hasSize(8 * 10_001);
+	}
+
+}